@@ -1,6 +1,6 @@
 /*
- * This file is part of ProDisFuzz, modified on 04.04.20, 23:34.
- * Copyright (c) 2013-2020 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This file is part of ProDisFuzz, modified on 18.10.26, 04:55.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
  * This work is free. You can redistribute it and/or modify it under the
  * terms of the Do What The Fuck You Want To Public License, Version 2,
  * as published by Sam Hocevar. See the COPYING file for more details.
@@ -8,21 +8,32 @@
 
 package internal.commands;
 
-import internal.parameters.AbstractParameter;
 import main.Command;
 import main.Parameter;
-import main.ParsedCommand;
 import main.Subcommand;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * This class is a command of the command line string. The format of this string is as follows: COMMAND SUBCOMMAND
  * --key1 value1 --key2 value2 ...
+ * <p>
+ * Subcommands and parameters can be added by several threads at once. Like parameters, subcommands are held in a
+ * concurrent map by name, so of several threads that add subcommands with the same name, exactly one succeeds. Whether
+ * the command has subcommands or parameters is decided by the first successful addition, so of several threads that
+ * add subcommands and parameters to an empty command at the same time, only the threads that add the same kind as the
+ * first one succeed.
  */
-public class InternalCommand extends InternalSubcommand implements Command, ParsedCommand {
+public class InternalCommand extends InternalSubcommand implements Command {
 
-    private Set<InternalSubcommand> subcommands = new HashSet<>();
+    private static final int NONE = 0;
+    private static final int PARAMETERS = 1;
+    private static final int SUBCOMMANDS = 2;
+    private final Map<String, InternalSubcommand> subcommands = new ConcurrentHashMap<>();
+    private final AtomicInteger kind = new AtomicInteger(NONE);
+    private volatile Set<Subcommand> sortedSubcommands = Collections.emptySet();
 
     /**
      * Instantiates a new command.
@@ -39,40 +50,52 @@ public class InternalCommand extends InternalSubcommand implements Command, Pars
         if (subcommand == null) {
             throw new IllegalArgumentException("Subcommand must not be null");
         }
-        if (!getParameters().isEmpty()) {
-            throw new IllegalStateException("Subcommand cannot be added because this command already has parameters");
-        }
         if (subcommand.getClass() != InternalSubcommand.class) {
             throw new IllegalArgumentException("Parameter was not created by the command line parser");
         }
+        if (!claim(SUBCOMMANDS)) {
+            throw new IllegalStateException("Subcommand cannot be added because this command already has parameters");
+        }
         InternalSubcommand castSubcommand = (InternalSubcommand) subcommand;
-        return subcommands.add(castSubcommand);
+        if (subcommands.putIfAbsent(castSubcommand.getName(), castSubcommand) != null) {
+            return false;
+        }
+        incrementVersion();
+        return true;
     }
 
+    /**
+     * Returns the version of this command. The version also includes the versions of the command's subcommands, so it
+     * increases whenever a subcommand, a parameter of the command or a parameter of a subcommand is added or changed.
+     *
+     * @return the command's version
+     */
     @Override
-    public boolean add(Parameter<?> parameter) {
-        if (!subcommands.isEmpty()) {
-            throw new IllegalStateException("Parameter cannot be added because this command already has subcommands");
+    public long getVersion() {
+        long result = super.getVersion();
+        for (InternalSubcommand subcommand : subcommands.values()) {
+            result += subcommand.getVersion();
         }
-        return super.add(parameter);
+        return result;
     }
 
     @Override
-    public Set<Subcommand> getSubcommands() {
-        Set<InternalSubcommand> result = new TreeSet<>(Comparator.comparing(InternalSubcommand::getName));
-        result.addAll(subcommands);
-        return Collections.unmodifiableSet(result);
+    void checkParameterAddition() {
+        if (!claim(PARAMETERS)) {
+            throw new IllegalStateException("Parameter cannot be added because this command already has subcommands");
+        }
     }
 
-    /**
-     * Returns a copy of this command, that is a newly instantiated command with the same name, the same description,
-     * and the same parameters. Note that subcommands are not copied.
-     *
-     * @return the copied command
-     */
-    public InternalCommand copy() {
-        InternalCommand result = new InternalCommand(getName(), getDescription());
-        getParameters().forEach(parameter -> result.add(((AbstractParameter<?>) parameter).copy()));
+    @Override
+    public Set<Subcommand> getSubcommands() {
+        // Subcommands are never removed, so the view is up to date as long as it has as many elements as the map
+        Set<Subcommand> result = sortedSubcommands;
+        if (result.size() != subcommands.size()) {
+            Set<InternalSubcommand> sorted = new TreeSet<>(Comparator.comparing(InternalSubcommand::getName));
+            sorted.addAll(subcommands.values());
+            result = Collections.unmodifiableSet(sorted);
+            sortedSubcommands = result;
+        }
         return result;
     }
 
@@ -83,11 +106,18 @@ public class InternalCommand extends InternalSubcommand implements Command, Pars
      * @return the subcommand or null if a subcommand with the given name cannot be found
      */
     public InternalSubcommand getSubcommand(String name) {
-        return subcommands.stream().filter(subcommand -> subcommand.getName().equals(name)).findFirst().orElse(null);
+        return name == null ? null : subcommands.get(name);
     }
 
-    @Override
-    public InternalSubcommand getSubcommand() {
-        return subcommands.stream().findFirst().orElse(null);
+    /**
+     * Claims this command for either subcommands or parameters. The first claim decides the kind, every later claim
+     * only succeeds if it is for the same kind.
+     *
+     * @param kind the kind that is claimed
+     * @return true if this command has or may have children of the claimed kind
+     */
+    private boolean claim(int kind) {
+        int current = this.kind.compareAndExchange(NONE, kind);
+        return current == NONE || current == kind;
     }
 }
@@ -1,6 +1,6 @@
 /*
- * This file is part of ProDisFuzz, modified on 31.10.24, 00:33.
- * Copyright (c) 2013-2024 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This file is part of ProDisFuzz, modified on 18.10.26, 05:14.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
  * This work is free. You can redistribute it and/or modify it under the
  * terms of the Do What The Fuck You Want To Public License, Version 2,
  * as published by Sam Hocevar. See the COPYING file for more details.
@@ -11,23 +11,29 @@ package internal.commands;
 import internal.parameters.*;
 import main.Parameter;
 import main.ParsedParameter;
-import main.ParsedSubcommand;
 import main.Subcommand;
 
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * This class is a subcommand of the command line string. The format of this string is as follows: COMMAND SUBCOMMAND
  * --key1 value1 --key2 value2 ...
+ * <p>
+ * Parameters can be added by several threads at once. The parameters are held in a concurrent map by name, so whether a
+ * parameter's name is already used is decided atomically: of several threads that add parameters with the same name,
+ * exactly one succeeds.
+ * <p>
+ * The subcommand has a version that increases whenever it or one of its parameters is changed, so everything derived
+ * from it, like a rendered help text, is still valid as long as the version it was derived at is the current version.
  */
-public class InternalSubcommand implements Subcommand, ParsedSubcommand {
+public class InternalSubcommand implements Subcommand {
 
-    private Set<AbstractParameter<Integer>> integerParameters = new HashSet<>();
-    private Set<AbstractParameter<String>> stringParameters = new HashSet<>();
-    private Set<AbstractParameter<Boolean>> booleanParameters = new HashSet<>();
-    private Set<AbstractParameter<Path>> pathParameters = new HashSet<>();
-    private Set<AbstractParameter<Double>> doubleParameters = new HashSet<>();
+    private final Map<String, AbstractParameter<?>> parametersByName = new ConcurrentHashMap<>();
+    private volatile Set<Parameter<?>> sortedParameters = Collections.emptySet();
+    private final AtomicLong version = new AtomicLong();
     private String description;
     private String name;
 
@@ -56,31 +62,49 @@ public class InternalSubcommand implements Subcommand, ParsedSubcommand {
 
     @Override
     public Set<Parameter<?>> getParameters() {
-        Set<AbstractParameter<?>> results = new TreeSet<>(Comparator.comparing(AbstractParameter::getName));
-        results.addAll(integerParameters);
-        results.addAll(stringParameters);
-        results.addAll(booleanParameters);
-        results.addAll(pathParameters);
-        results.addAll(doubleParameters);
-        return Collections.unmodifiableSet(results);
+        // Parameters are never removed, so the view is up to date as long as it has as many elements as the map
+        Set<Parameter<?>> result = sortedParameters;
+        if (result.size() != parametersByName.size()) {
+            Set<AbstractParameter<?>> parameters = new TreeSet<>(Comparator.comparing(AbstractParameter::getName));
+            parameters.addAll(parametersByName.values());
+            result = Collections.unmodifiableSet(parameters);
+            sortedParameters = result;
+        }
+        return result;
     }
 
     @Override
     public boolean add(Parameter<?> parameter) {
-        if (parameter == null) {
-            throw new IllegalArgumentException("Parameter must not be null");
+        AbstractParameter<?> castParameter = cast(parameter);
+        checkParameterAddition();
+        if (!put(castParameter)) {
+            return false;
         }
-        if (getParameters().contains(parameter)) {
+        incrementVersion();
+        return true;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends Parameter<?>> parameters) {
+        if (parameters == null) {
+            throw new IllegalArgumentException("Parameters must not be null");
+        }
+        List<AbstractParameter<?>> castParameters = new ArrayList<>(parameters.size());
+        for (Parameter<?> parameter : parameters) {
+            castParameters.add(cast(parameter));
+        }
+        if (castParameters.isEmpty()) {
             return false;
         }
-        return switch (parameter) {
-            case IntegerParameter integerParameter -> integerParameters.add(integerParameter);
-            case BooleanParameter booleanParameter -> booleanParameters.add(booleanParameter);
-            case StringParameter stringParameter -> stringParameters.add(stringParameter);
-            case PathParameter pathParameter -> pathParameters.add(pathParameter);
-            case DoubleParameter doubleParameter -> doubleParameters.add(doubleParameter);
-            default -> throw new IllegalArgumentException("Parameter was not created by the command line parser");
-        };
+        checkParameterAddition();
+        boolean result = false;
+        for (AbstractParameter<?> parameter : castParameters) {
+            result |= put(parameter);
+        }
+        if (result) {
+            incrementVersion();
+        }
+        return result;
     }
 
     @Override
@@ -88,31 +112,76 @@ public class InternalSubcommand implements Subcommand, ParsedSubcommand {
         return description;
     }
 
-    @Override
+    /**
+     * Returns the version of this subcommand. The version is the sum of the number of changes of this subcommand and
+     * the versions of its parameters, so it increases whenever a parameter is added or the default value of a
+     * parameter is changed.
+     *
+     * @return the subcommand's version
+     */
+    public long getVersion() {
+        long result = version.get();
+        for (AbstractParameter<?> parameter : parametersByName.values()) {
+            result += parameter.getVersion();
+        }
+        return result;
+    }
+
+    /**
+     * Increments the number of changes of this subcommand after a child has been added.
+     */
+    void incrementVersion() {
+        version.incrementAndGet();
+    }
+
+    /**
+     * Returns the integer parameter with the given name that are assigned to this subcommand.
+     *
+     * @param name the parameter's name
+     * @return the integer parameter with the given name or null if no integer parameter is found
+     */
     public ParsedParameter<Integer> getIntegerParameter(String name) {
-        return integerParameters.stream().filter(parameter -> parameter.getName().equals(name)).findFirst()
-                .orElse(null);
+        return parametersByName.get(name) instanceof IntegerParameter parameter ? parameter : null;
     }
 
-    @Override
+    /**
+     * Returns the boolean parameter with the given name that are assigned to this subcommand.
+     *
+     * @param name the parameter's name
+     * @return the boolean parameter with the given name or null if no boolean parameter is found
+     */
     public ParsedParameter<Boolean> getBooleanParameter(String name) {
-        return booleanParameters.stream().filter(parameter -> parameter.getName().equals(name)).findFirst()
-                .orElse(null);
+        return parametersByName.get(name) instanceof BooleanParameter parameter ? parameter : null;
     }
 
-    @Override
+    /**
+     * Returns the string parameter with the given name that are assigned to this subcommand.
+     *
+     * @param name the parameter's name
+     * @return the string parameter with the given name or null if no string parameter is found
+     */
     public ParsedParameter<String> getStringParameter(String name) {
-        return stringParameters.stream().filter(parameter -> parameter.getName().equals(name)).findFirst().orElse(null);
+        return parametersByName.get(name) instanceof StringParameter parameter ? parameter : null;
     }
 
-    @Override
+    /**
+     * Returns the path parameter with the given name that are assigned to this subcommand.
+     *
+     * @param name the parameter's name
+     * @return the path parameter with the given name or null if no path parameter is found
+     */
     public ParsedParameter<Path> getPathParameter(String name) {
-        return pathParameters.stream().filter(parameter -> parameter.getName().equals(name)).findFirst().orElse(null);
+        return parametersByName.get(name) instanceof PathParameter parameter ? parameter : null;
     }
 
-    @Override
+    /**
+     * Returns the double parameter with the given name that are assigned to this subcommand.
+     *
+     * @param name the parameter's name
+     * @return the double parameter with the given name or null if no double parameter is found
+     */
     public ParsedParameter<Double> getDoubleParameter(String name) {
-        return doubleParameters.stream().filter(parameter -> parameter.getName().equals(name)).findFirst().orElse(null);
+        return parametersByName.get(name) instanceof DoubleParameter parameter ? parameter : null;
     }
 
     @Override
@@ -121,21 +190,43 @@ public class InternalSubcommand implements Subcommand, ParsedSubcommand {
     }
 
     /**
-     * Returns a copy of this subcommand, that is a newly instantiated subcommand with the same name, the same
-     * description, and the same parameters.
+     * Checks whether parameters can be added to this subcommand. This is called after the parameters to be added are
+     * validated and before they are added. A subcommand accepts parameters at any time.
      *
-     * @return the copied subcommand
+     * @throws IllegalStateException if no parameters can be added
      */
-    public InternalSubcommand copy() {
-        InternalSubcommand result = new InternalSubcommand(name, description);
-        booleanParameters.forEach(parameter -> result.booleanParameters.add(parameter.copy()));
-        integerParameters.forEach(parameter -> result.integerParameters.add(parameter.copy()));
-        stringParameters.forEach(parameter -> result.stringParameters.add(parameter.copy()));
-        pathParameters.forEach(parameter -> result.pathParameters.add(parameter.copy()));
-        doubleParameters.forEach(parameter -> result.doubleParameters.add(parameter.copy()));
+    void checkParameterAddition() {
+    }
+
+    /**
+     * Checks that the given parameter was created by the command line parser and casts it.
+     *
+     * @param parameter the parameter
+     * @return the cast parameter
+     * @throws IllegalArgumentException if the parameter is null or was not created by the command line parser
+     */
+    private static AbstractParameter<?> cast(Parameter<?> parameter) {
+        if (parameter == null) {
+            throw new IllegalArgumentException("Parameter must not be null");
+        }
+        if (!(parameter instanceof AbstractParameter<?> result)) {
+            throw new IllegalArgumentException("Parameter was not created by the command line parser");
+        }
         return result;
     }
 
+    /**
+     * Adds the given parameter to this subcommand unless this subcommand already contains a parameter with the same
+     * name. Whether the name is already used is decided atomically by name, so adding a parameter takes constant time
+     * regardless of the number of parameters, even if other threads add parameters at the same time.
+     *
+     * @param parameter the parameter to be added
+     * @return true if this subcommand did not already contain the given parameter
+     */
+    private boolean put(AbstractParameter<?> parameter) {
+        return parametersByName.putIfAbsent(parameter.getName(), parameter) == null;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -0,0 +1,237 @@
+/*
+ * This file is part of ProDisFuzz, modified on 18.10.26, 04:41.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package internal.corpus;
+
+import internal.parameters.AbstractParameter;
+import internal.parameters.ValueSink;
+import internal.schema.CompiledCommand;
+import internal.schema.CompiledSubcommand;
+
+import java.io.IOException;
+
+/**
+ * This class walks through the arguments of one command line and remembers the index of the current argument, the
+ * current argument itself and the first argument, which is all that is needed to describe an error after the cursor
+ * has moved on. The current argument is a region of a string, so an argument that is part of a longer text can be
+ * looked up and converted without creating a substring of it.
+ * <p>
+ * The parser only accesses the current argument through the lookup and conversion methods of this class, so a cursor
+ * whose arguments are not held in strings, like a {@link ByteCursor}, overrides them to work on its own arguments.
+ */
+public abstract class ArgumentCursor {
+
+    private int index = -1;
+    private String text;
+    private int from;
+    private int to;
+    private String firstText;
+    private int firstFrom;
+    private int firstTo;
+
+    /**
+     * Moves to the next argument.
+     *
+     * @return true if the cursor moved to the next argument, false if there is no further argument
+     * @throws IOException if the arguments cannot be read
+     */
+    public abstract boolean advance() throws IOException;
+
+    /**
+     * Returns whether there is an argument after the current argument.
+     *
+     * @return true if the cursor can advance
+     * @throws IOException if the arguments cannot be read
+     */
+    public abstract boolean hasMore() throws IOException;
+
+    /**
+     * Returns the index of the current argument.
+     *
+     * @return the index of the current argument or -1 if the cursor has not advanced yet
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns the string that contains the current argument.
+     *
+     * @return the string that contains the current argument or null if the current argument is null or the cursor has
+     *         not advanced yet
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Returns the index of the current argument's first character in the string returned by {@link #getText()}.
+     *
+     * @return the start index of the current argument
+     */
+    public int getFrom() {
+        return from;
+    }
+
+    /**
+     * Returns the index after the current argument's last character in the string returned by {@link #getText()}.
+     *
+     * @return the end index of the current argument
+     */
+    public int getTo() {
+        return to;
+    }
+
+    /**
+     * Returns the current argument.
+     *
+     * @return the current argument or null if the current argument is null or the cursor has not advanced yet
+     */
+    public String getCurrent() {
+        return text == null ? null : text.substring(from, to);
+    }
+
+    /**
+     * Returns the first argument.
+     *
+     * @return the first argument or null if the first argument is null or the cursor has not advanced yet
+     */
+    public String getFirstArgument() {
+        return firstText == null ? null : firstText.substring(firstFrom, firstTo);
+    }
+
+    /**
+     * Returns whether the current argument has the format of a parameter's key, that is "--" followed by at least one
+     * character that is not a line terminator.
+     *
+     * @return true if the current argument is a parameter's key
+     */
+    public boolean isParameterFormat() {
+        return text != null && isParameterFormat(text, from, to);
+    }
+
+    /**
+     * Returns the compiled subcommand whose name is the current argument.
+     *
+     * @param compiled the compiled command
+     * @return the compiled subcommand or null if the command has no subcommand with the current argument's name
+     */
+    public CompiledSubcommand findSubcommand(CompiledCommand compiled) {
+        return compiled.getSubcommand(text, from, to);
+    }
+
+    /**
+     * Returns the ordinal of the parameter whose key is the current argument, which must have the format of a key.
+     *
+     * @param schema the compiled command or subcommand
+     * @return the parameter's ordinal or -1 if the command or subcommand has no parameter with the key's name
+     */
+    public int findParameter(CompiledSubcommand schema) {
+        return schema.getNameIndex().find(text, from + 2, to);
+    }
+
+    /**
+     * Returns the name of the parameter whose key is the current argument, which must have the format of a key.
+     *
+     * @return the name, which is the key without the leading "--"
+     */
+    public String getParameterName() {
+        return text.substring(from + 2, to);
+    }
+
+    /**
+     * Returns the current argument as a string that is recorded as a parameter's value and converted later. The
+     * string does not refer to any buffer of the cursor.
+     *
+     * @return the current argument or null if the argument is null or cannot be represented as a string
+     */
+    public String getValue() {
+        return getCurrent();
+    }
+
+    /**
+     * Converts the current argument to the given parameter's type and stores it in the given sink.
+     *
+     * @param parameter the parameter whose value is the current argument
+     * @param sink      the sink the converted value is stored in
+     * @param ordinal   the parameter's ordinal
+     * @return true if the value was converted and stored, false if the value cannot be cast to the parameter's type
+     */
+    public boolean tryConvert(AbstractParameter<?> parameter, ValueSink sink, int ordinal) {
+        return text == null ? parameter.tryConvert(null, sink, ordinal) :
+                parameter.tryConvert(text, from, to, sink, ordinal);
+    }
+
+    /**
+     * Returns whether the given region of the given string has the format of a parameter's key, that is "--" followed
+     * by at least one character that is not a line terminator.
+     *
+     * @param arg  the string containing the argument
+     * @param from the start index of the argument
+     * @param to   the end index of the argument
+     * @return true if the argument is a parameter's key
+     */
+    public static boolean isParameterFormat(String arg, int from, int to) {
+        if (to - from < 3 || arg.charAt(from) != '-' || arg.charAt(from + 1) != '-') {
+            return false;
+        }
+        for (int i = from + 2; i < to; i++) {
+            char c = arg.charAt(i);
+            if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the index of the first argument's first character.
+     *
+     * @return the start index of the first argument
+     */
+    protected int getFirstFrom() {
+        return firstFrom;
+    }
+
+    /**
+     * Returns the index after the first argument's last character.
+     *
+     * @return the end index of the first argument
+     */
+    protected int getFirstTo() {
+        return firstTo;
+    }
+
+    /**
+     * Positions the cursor before the first argument again, so that it can be reused for other arguments.
+     */
+    protected void reset() {
+        index = -1;
+        text = null;
+        firstText = null;
+    }
+
+    /**
+     * Moves to the argument that is the given region of the given string.
+     *
+     * @param text the string that contains the argument or null if the argument is null
+     * @param from the start index of the argument
+     * @param to   the end index of the argument
+     */
+    protected void moveTo(String text, int from, int to) {
+        this.text = text;
+        this.from = from;
+        this.to = to;
+        index++;
+        if (index == 0) {
+            firstText = text;
+            firstFrom = from;
+            firstTo = to;
+        }
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * This file is part of ProDisFuzz, modified on 18.10.26, 04:49.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package internal.corpus;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.util.NoSuchElementException;
+
+/**
+ * This class reads the arguments of one command line from a channel. The arguments are UTF-8 encoded and either
+ * terminated by NUL bytes, like the output of "find -print0" that is passed to "xargs -0", or written as text lines
+ * that are split into their arguments by a {@link ByteTokenizer}, like an argument file. The arguments are read one
+ * at a time, so they are never collected for the whole channel.
+ * <p>
+ * A file channel that supports positioning is mapped into memory in windows of 1 GiB starting at its current position,
+ * so its bytes are scanned where the operating system pages them in and are never copied into a buffer of the reader.
+ * Any other channel, like a pipe or a file of procfs or sysfs that reports a size of 0 although it has content, is read
+ * in chunks of 64 KiB into a buffer until its end. Only the bytes of one NUL terminated
+ * argument or one line are copied before they are decoded, and they must not be longer than
+ * {@link #MAX_SEGMENT_LENGTH} bytes.
+ */
+public class ArgumentReader implements ArgumentSource {
+
+    /**
+     * The maximum number of bytes of a NUL terminated argument or a line, excluding the terminator.
+     */
+    public static final int MAX_SEGMENT_LENGTH = 1 << 20;
+    private static final int DEFAULT_WINDOW_SIZE = 1 << 30;
+    private static final int DEFAULT_CHUNK_SIZE = 1 << 16;
+    private static final String[] NO_ARGUMENTS = {};
+    private final ReadableByteChannel channel;
+    private final FileChannel file;
+    private final long size;
+    private final int windowSize;
+    private final boolean nullDelimited;
+    private final ByteTokenizer tokenizer = new ByteTokenizer(true);
+    private ByteBuffer buffer;
+    private long offset;
+    private int position;
+    private boolean endOfInput;
+    private byte[] scratch = new byte[256];
+    private String[] arguments = NO_ARGUMENTS;
+    private int argumentIndex;
+    private String next;
+
+    /**
+     * Instantiates a new argument reader for the given channel.
+     *
+     * @param channel       the channel that contains the arguments
+     * @param nullDelimited true if the arguments are terminated by NUL bytes, false if they are written as lines
+     * @throws IOException if the size or position of a file channel cannot be read
+     */
+    public ArgumentReader(ReadableByteChannel channel, boolean nullDelimited) throws IOException {
+        this(channel, nullDelimited, DEFAULT_WINDOW_SIZE, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Instantiates a new argument reader for the given channel that maps windows and reads chunks of the given sizes.
+     *
+     * @param channel       the channel that contains the arguments
+     * @param nullDelimited true if the arguments are terminated by NUL bytes, false if they are written as lines
+     * @param windowSize    the number of bytes of a file channel that are mapped at once
+     * @param chunkSize     the number of bytes of any other channel that are read at once
+     * @throws IOException if the size or position of a file channel cannot be read
+     */
+    ArgumentReader(ReadableByteChannel channel, boolean nullDelimited, int windowSize, int chunkSize)
+            throws IOException {
+        if (channel == null) {
+            throw new IllegalArgumentException("Channel must not be null");
+        }
+        if (windowSize < 1 || chunkSize < 1) {
+            throw new IllegalArgumentException("Window and chunk size must be positive");
+        }
+        this.channel = channel;
+        this.nullDelimited = nullDelimited;
+        this.windowSize = windowSize;
+        if (channel instanceof FileChannel fileChannel && isMappable(fileChannel)) {
+            file = fileChannel;
+            offset = fileChannel.position();
+            size = fileChannel.size();
+            buffer = ByteBuffer.allocate(0);
+        } else {
+            file = null;
+            size = -1;
+            buffer = ByteBuffer.allocate(chunkSize).flip();
+        }
+    }
+
+    @Override
+    public boolean hasNext() throws IOException {
+        if (next == null) {
+            next = read();
+        }
+        return next != null;
+    }
+
+    @Override
+    public String next() throws IOException {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No further argument");
+        }
+        String result = next;
+        next = null;
+        return result;
+    }
+
+    /**
+     * Reads the next argument.
+     *
+     * @return the next argument or null if the end of the channel is reached
+     * @throws IOException if the channel cannot be read, an argument is not valid UTF-8 or an argument or line is too
+     *                     long
+     */
+    private String read() throws IOException {
+        if (argumentIndex < arguments.length) {
+            return arguments[argumentIndex++];
+        }
+        while (true) {
+            int length = nextSegment();
+            if (length < 0) {
+                return null;
+            }
+            if (nullDelimited) {
+                return tokenizer.decode(scratch, 0, length);
+            }
+            arguments = tokenizer.tokenize(scratch, 0, length);
+            if (arguments.length > 0) {
+                argumentIndex = 1;
+                return arguments[0];
+            }
+        }
+    }
+
+    /**
+     * Copies the bytes up to the next terminator into the scratch buffer and moves behind the terminator. The last
+     * segment may also be terminated by the end of the channel.
+     *
+     * @return the number of copied bytes or -1 if the end of the channel is reached
+     * @throws IOException if the channel cannot be read or the segment is too long
+     */
+    private int nextSegment() throws IOException {
+        byte terminator = nullDelimited ? 0 : (byte) '\n';
+        int searched = position;
+        while (true) {
+            int end = tokenizer.indexOf(buffer, searched, buffer.limit(), terminator);
+            if (end >= 0) {
+                return copySegment(end, end + 1);
+            }
+            if (buffer.limit() - position > MAX_SEGMENT_LENGTH) {
+                throw new IOException("Argument or line is longer than " + MAX_SEGMENT_LENGTH + " bytes");
+            }
+            if (endOfInput) {
+                return position == buffer.limit() ? -1 : copySegment(buffer.limit(), buffer.limit());
+            }
+            searched = buffer.limit() - position;
+            if (file == null) {
+                fill();
+            } else {
+                map();
+            }
+        }
+    }
+
+    /**
+     * Copies the bytes from the current position up to the given index into the scratch buffer.
+     *
+     * @param end  the index after the segment's last byte
+     * @param next the index of the next segment's first byte
+     * @return the number of copied bytes
+     */
+    private int copySegment(int end, int next) {
+        int length = end - position;
+        if (length > scratch.length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        buffer.get(position, scratch, 0, length);
+        position = next;
+        return length;
+    }
+
+    /**
+     * Maps the next window of the file, which starts at the current position. A window is large enough to hold the
+     * unterminated bytes of the previous window and at least as many new bytes.
+     *
+     * @throws IOException if the file cannot be mapped
+     */
+    private void map() throws IOException {
+        offset += position;
+        long length = Math.min(size - offset, Math.max(windowSize, (buffer.limit() - position) * 2L + 1));
+        buffer = file.map(FileChannel.MapMode.READ_ONLY, offset, length);
+        position = 0;
+        endOfInput = offset + length == size;
+    }
+
+    /**
+     * Moves the unread bytes to the beginning of the buffer, grows the buffer if it is full, and reads the next chunk
+     * from the channel.
+     *
+     * @throws IOException if the channel cannot be read
+     */
+    private void fill() throws IOException {
+        buffer.position(position).compact();
+        position = 0;
+        if (!buffer.hasRemaining()) {
+            ByteBuffer grown = ByteBuffer.allocate(Math.min(buffer.capacity() * 2, MAX_SEGMENT_LENGTH + 1));
+            grown.put(buffer.flip());
+            buffer = grown;
+        }
+        if (channel.read(buffer) < 0) {
+            endOfInput = true;
+        }
+        buffer.flip();
+    }
+
+    /**
+     * Returns whether the given file channel can be mapped into memory. A file channel of a pipe or a terminal does not
+     * support positioning, and a file of procfs or sysfs, like "/proc/self/cmdline", reports a size of 0 because its
+     * content is generated while it is read, so neither can be mapped. An empty regular file is read like a stream.
+     *
+     * @param fileChannel the file channel
+     * @return true if the file channel's position can be read and its size is positive
+     */
+    private static boolean isMappable(FileChannel fileChannel) {
+        try {
+            fileChannel.position();
+            return fileChannel.size() > 0;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * This file is part of ProDisFuzz, modified on 18.10.26, 04:05.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package internal.corpus;
+
+import java.io.IOException;
+
+/**
+ * This interface represents the arguments of one command line that are read one after another, so a command line whose
+ * arguments come from a file or a stream is parsed without collecting all of its arguments first.
+ */
+public interface ArgumentSource {
+
+    /**
+     * Returns whether there is another argument.
+     *
+     * @return true if there is another argument
+     * @throws IOException if the arguments cannot be read
+     */
+    boolean hasNext() throws IOException;
+
+    /**
+     * Returns the next argument.
+     *
+     * @return the next argument
+     * @throws IOException                      if the arguments cannot be read
+     * @throws java.util.NoSuchElementException if there is no further argument
+     */
+    String next() throws IOException;
+}
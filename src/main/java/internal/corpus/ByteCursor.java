@@ -0,0 +1,163 @@
+/*
+ * This file is part of ProDisFuzz, modified on 18.10.26, 04:41.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package internal.corpus;
+
+import internal.parameters.AbstractParameter;
+import internal.parameters.ValueSink;
+import internal.schema.CompiledCommand;
+import internal.schema.CompiledSubcommand;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * This class walks the arguments of one command line that are UTF-8 encoded and terminated by NUL bytes in a buffer,
+ * like the arguments of a process in "/proc/&lt;pid&gt;/cmdline". The last argument does not need to be terminated,
+ * and two consecutive NUL bytes are an empty argument. Every argument is a region of the buffer, so the arguments are
+ * neither copied nor decoded while the cursor moves over them. The buffer's position and limit are neither read nor
+ * changed.
+ * <p>
+ * The regions returned by {@link #getFrom()} and {@link #getTo()} are regions of the buffer, and {@link #getText()}
+ * always returns null. The subcommand and the keys are looked up by their UTF-8 encoding, and the values are converted
+ * from their bytes, so an argument is only decoded if a parameter's type requires a string.
+ */
+public class ByteCursor extends ArgumentCursor {
+
+    // The tokenizer keeps no state when it searches for a byte, so one instance is shared by all cursors
+    private static final ByteTokenizer SCANNER = new ByteTokenizer(true);
+    private final ByteBuffer bytes;
+    private final int end;
+    private int position;
+
+    /**
+     * Instantiates a new cursor that is positioned before the first argument in the given region of the given buffer.
+     *
+     * @param bytes the buffer that contains the arguments
+     * @param from  the index of the region's first byte
+     * @param to    the index after the region's last byte
+     * @throws IndexOutOfBoundsException if the region is not within the buffer's limit
+     */
+    public ByteCursor(ByteBuffer bytes, int from, int to) {
+        if (bytes == null) {
+            throw new IllegalArgumentException("Bytes must not be null");
+        }
+        Objects.checkFromToIndex(from, to, bytes.limit());
+        this.bytes = bytes;
+        position = from;
+        end = to;
+    }
+
+    @Override
+    public boolean advance() {
+        if (position >= end) {
+            return false;
+        }
+        int terminator = SCANNER.indexOf(bytes, position, end, (byte) 0);
+        int to = terminator < 0 ? end : terminator;
+        moveTo(null, position, to);
+        position = to + 1;
+        return true;
+    }
+
+    @Override
+    public boolean hasMore() {
+        return position < end;
+    }
+
+    /**
+     * Returns the buffer that contains the arguments.
+     *
+     * @return the buffer
+     */
+    public ByteBuffer getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Decodes the current argument. Malformed bytes are replaced, because the argument is only meant to be shown.
+     *
+     * @return the current argument or null if the cursor has not advanced yet
+     */
+    @Override
+    public String getCurrent() {
+        return getIndex() < 0 ? null : Utf8.decodeLenient(bytes, getFrom(), getTo());
+    }
+
+    /**
+     * Decodes the first argument. Malformed bytes are replaced, because the argument is only meant to be shown.
+     *
+     * @return the first argument or null if the cursor has not advanced yet
+     */
+    @Override
+    public String getFirstArgument() {
+        return getIndex() < 0 ? null : Utf8.decodeLenient(bytes, getFirstFrom(), getFirstTo());
+    }
+
+    /**
+     * Returns whether the current argument has the format of a parameter's key like
+     * {@link ArgumentCursor#isParameterFormat(String, int, int)}. The line terminators are matched as UTF-8 byte
+     * sequences.
+     *
+     * @return true if the current argument is a parameter's key
+     */
+    @Override
+    public boolean isParameterFormat() {
+        int from = getFrom();
+        int to = getTo();
+        if (to - from < 3 || bytes.get(from) != '-' || bytes.get(from + 1) != '-') {
+            return false;
+        }
+        for (int i = from + 2; i < to; i++) {
+            byte b = bytes.get(i);
+            if (b == '\n' || b == '\r') {
+                return false;
+            }
+            // U+0085 is encoded as C2 85, U+2028 and U+2029 are encoded as E2 80 A8 and E2 80 A9
+            if (b == (byte) 0xC2 && i + 1 < to && bytes.get(i + 1) == (byte) 0x85) {
+                return false;
+            }
+            if (b == (byte) 0xE2 && i + 2 < to && bytes.get(i + 1) == (byte) 0x80 &&
+                    (bytes.get(i + 2) == (byte) 0xA8 || bytes.get(i + 2) == (byte) 0xA9)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public CompiledSubcommand findSubcommand(CompiledCommand compiled) {
+        return compiled.getSubcommand(bytes, getFrom(), getTo());
+    }
+
+    @Override
+    public int findParameter(CompiledSubcommand schema) {
+        return schema.getNameIndex().find(bytes, getFrom() + 2, getTo());
+    }
+
+    @Override
+    public String getParameterName() {
+        return Utf8.decodeLenient(bytes, getFrom() + 2, getTo());
+    }
+
+    /**
+     * Decodes the current argument. The buffer may be reused by the caller, so a value that is converted later must
+     * not refer to its bytes.
+     *
+     * @return the current argument or null if it is not valid UTF-8
+     */
+    @Override
+    public String getValue() {
+        return Utf8.decode(bytes, getFrom(), getTo());
+    }
+
+    @Override
+    public boolean tryConvert(AbstractParameter<?> parameter, ValueSink sink, int ordinal) {
+        return parameter.tryConvert(bytes, getFrom(), getTo(), sink, ordinal);
+    }
+}
@@ -0,0 +1,370 @@
+/*
+ * This file is part of ProDisFuzz, modified on 18.10.26, 04:53.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package internal.corpus;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class splits UTF-8 encoded command lines into their arguments without decoding the bytes that separate them.
+ * A range of bytes is split with exactly the rules of a {@link LineCursor}: arguments are separated by spaces, tabs,
+ * carriage returns and line feeds, text in single quotes is taken literally, text in double quotes is taken literally
+ * except that a backslash escapes a dollar sign, a backtick, a double quote, a backslash or a line feed, and outside
+ * of quotes a backslash escapes the following byte. An escaped line feed is removed, a backslash at the end of the
+ * range is kept, and a quote that is not closed extends to the end of the range. The readers that split a channel
+ * into lines, {@link CorpusReader} and {@link ArgumentReader}, end a line at every line feed before it is tokenized,
+ * so unlike in a line that is given to a {@link LineCursor}, a backslash or a quote never continues an argument on the
+ * next line there. Only the bytes of an argument are decoded, and an argument that consists of ASCII bytes only is
+ * copied without running a decoder.
+ * <p>
+ * The bytes are scanned eight at a time: eight bytes are read as one long word, and a few arithmetic operations mark
+ * the bytes of the word that are below '(' or equal a backslash, which includes all delimiters. Only a word with a
+ * marked byte is compared byte by byte, starting at the first marked byte. The remaining bytes at the end of a range
+ * that do not fill a word, and all bytes if the tokenizer is created without word scanning, are compared one by one.
+ */
+public class ByteTokenizer {
+
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle BUFFER_LONGS =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final long ONES = 0x0101010101010101L;
+    private static final long HIGHS = 0x8080808080808080L;
+    private static final long BELOW_PARENTHESIS = '(' * ONES;
+    private static final long BACKSLASHES = '\\' * ONES;
+    private static final String[] NO_ARGUMENTS = {};
+    private final boolean wordScanning;
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPORT).onUnmappableCharacter(CodingErrorAction.REPORT);
+    private final List<String> arguments = new ArrayList<>();
+    private byte[] scratch = new byte[64];
+    private int scratchLength;
+
+    /**
+     * Instantiates a new tokenizer.
+     *
+     * @param wordScanning true if delimiters shall be searched eight bytes at a time, false if they shall be searched
+     *                     byte by byte
+     */
+    public ByteTokenizer(boolean wordScanning) {
+        this.wordScanning = wordScanning;
+    }
+
+    /**
+     * Returns the index of the first occurrence of the given byte in the given range.
+     *
+     * @param bytes the bytes
+     * @param from  the index of the range's first byte
+     * @param to    the index after the range's last byte
+     * @param value the byte to search for
+     * @return the index of the byte or -1 if the range does not contain the byte
+     */
+    public int indexOf(byte[] bytes, int from, int to, byte value) {
+        int i = from;
+        if (wordScanning) {
+            long pattern = (value & 0xFF) * ONES;
+            for (; i <= to - Long.BYTES; i += Long.BYTES) {
+                long matches = matches((long) LONGS.get(bytes, i), pattern);
+                if (matches != 0) {
+                    return i + (Long.numberOfTrailingZeros(matches) >>> 3);
+                }
+            }
+        }
+        for (; i < to; i++) {
+            if (bytes[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the first occurrence of the given byte in the given range of a buffer. The buffer may be a
+     * direct buffer, such as a mapped file, and its position and limit are ignored. This method keeps no state, so it
+     * may be called by several threads at once.
+     *
+     * @param bytes the buffer
+     * @param from  the index of the range's first byte
+     * @param to    the index after the range's last byte
+     * @param value the byte to search for
+     * @return the index of the byte or -1 if the range does not contain the byte
+     */
+    public int indexOf(ByteBuffer bytes, int from, int to, byte value) {
+        int i = from;
+        if (wordScanning) {
+            long pattern = (value & 0xFF) * ONES;
+            for (; i <= to - Long.BYTES; i += Long.BYTES) {
+                long matches = matches((long) BUFFER_LONGS.get(bytes, i), pattern);
+                if (matches != 0) {
+                    return i + (Long.numberOfTrailingZeros(matches) >>> 3);
+                }
+            }
+        }
+        for (; i < to; i++) {
+            if (bytes.get(i) == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Splits the given range of bytes into its arguments.
+     *
+     * @param bytes the bytes of a UTF-8 encoded command line
+     * @param from  the index of the command line's first byte
+     * @param to    the index after the command line's last byte
+     * @return the arguments
+     * @throws CharacterCodingException if an argument is not valid UTF-8
+     */
+    public String[] tokenize(byte[] bytes, int from, int to) throws CharacterCodingException {
+        int i = from;
+        while (true) {
+            while (i < to && isBlank(bytes[i])) {
+                i++;
+            }
+            if (i == to) {
+                break;
+            }
+            int end = findDelimiter(bytes, i, to);
+            if (end == to || isBlank(bytes[end])) {
+                arguments.add(decode(bytes, i, end));
+                i = end;
+            } else {
+                scratchLength = 0;
+                append(bytes, i, end);
+                i = readQuoted(bytes, end, to);
+                arguments.add(decode(scratch, 0, scratchLength));
+            }
+        }
+        if (arguments.isEmpty()) {
+            return NO_ARGUMENTS;
+        }
+        String[] result = arguments.toArray(NO_ARGUMENTS);
+        arguments.clear();
+        return result;
+    }
+
+    /**
+     * Reads the rest of an argument that contains quotes or backslashes into the scratch buffer.
+     *
+     * @param bytes the bytes of the command line
+     * @param from  the index of the first quote or backslash
+     * @param to    the index after the command line's last byte
+     * @return the index after the argument's last byte
+     */
+    private int readQuoted(byte[] bytes, int from, int to) {
+        int i = from;
+        while (i < to) {
+            switch (bytes[i]) {
+                case ' ', '\t', '\r', '\n' -> {
+                    return i;
+                }
+                case '\\' -> i = readEscaped(bytes, i, to);
+                case '\'' -> {
+                    int close = indexOf(bytes, i + 1, to, (byte) '\'');
+                    int end = close < 0 ? to : close;
+                    append(bytes, i + 1, end);
+                    i = end + 1;
+                }
+                case '"' -> {
+                    i++;
+                    while (i < to && bytes[i] != '"') {
+                        if (bytes[i] == '\\' && i + 1 < to && isEscapable(bytes[i + 1])) {
+                            // An escaped line feed is removed
+                            i++;
+                            if (bytes[i] == '\n') {
+                                i++;
+                                continue;
+                            }
+                        }
+                        append(bytes, i, i + 1);
+                        i++;
+                    }
+                    i++;
+                }
+                default -> {
+                    int end = findDelimiter(bytes, i, to);
+                    append(bytes, i, end);
+                    i = end;
+                }
+            }
+        }
+        return Math.min(i, to);
+    }
+
+    /**
+     * Reads a backslash outside of quotes and the byte it escapes into the scratch buffer. A backslash at the end of
+     * the range is kept, and an escaped line feed, also in the form of a carriage return and a line feed, is removed.
+     *
+     * @param bytes the bytes of the command line
+     * @param from  the index of the backslash
+     * @param to    the index after the command line's last byte
+     * @return the index after the escaped byte
+     */
+    private int readEscaped(byte[] bytes, int from, int to) {
+        if (from + 1 == to) {
+            append(bytes, from, to);
+            return to;
+        }
+        if (bytes[from + 1] == '\r' && from + 2 < to && bytes[from + 2] == '\n') {
+            return from + 3;
+        }
+        if (bytes[from + 1] != '\n') {
+            append(bytes, from + 1, from + 2);
+        }
+        return from + 2;
+    }
+
+    /**
+     * Returns the index of the first blank, quote or backslash in the given range. With word
+     * scanning, a word is only compared byte by byte if it contains a byte below '(' or a backslash.
+     *
+     * @param bytes the bytes
+     * @param from  the index of the range's first byte
+     * @param to    the index after the range's last byte
+     * @return the index of the first delimiter or the end of the range if it contains no delimiter
+     */
+    private int findDelimiter(byte[] bytes, int from, int to) {
+        int i = from;
+        if (wordScanning) {
+            for (; i <= to - Long.BYTES; i += Long.BYTES) {
+                long word = (long) LONGS.get(bytes, i);
+                long candidates = (word - BELOW_PARENTHESIS) & ~word & HIGHS | matches(word, BACKSLASHES);
+                if (candidates != 0) {
+                    // All delimiters except the backslash are below '(', so only the rare other bytes below '(' make
+                    // a word a candidate without containing a delimiter
+                    for (int j = i + (Long.numberOfTrailingZeros(candidates) >>> 3); j < i + Long.BYTES; j++) {
+                        if (isDelimiter(bytes[j])) {
+                            return j;
+                        }
+                    }
+                }
+            }
+        }
+        for (; i < to; i++) {
+            if (isDelimiter(bytes[i])) {
+                return i;
+            }
+        }
+        return to;
+    }
+
+    /**
+     * Returns a word whose lowest set bit is the highest bit of the first byte of the given word that equals the byte
+     * repeated in the given pattern. The subtraction marks every byte that is zero after the exclusive or, but its
+     * borrow may also mark bytes after the first marked byte, so only the lowest set bit is exact.
+     *
+     * @param word    the word
+     * @param pattern the byte to search for repeated in all eight bytes
+     * @return 0 if no byte matches, otherwise a word whose lowest set bit marks the first matching byte
+     */
+    private static long matches(long word, long pattern) {
+        long zeroes = word ^ pattern;
+        return (zeroes - ONES) & ~zeroes & HIGHS;
+    }
+
+    /**
+     * Returns whether the given byte separates arguments.
+     *
+     * @param value the byte
+     * @return true if the byte is a space, tab, carriage return or line feed
+     */
+    private static boolean isBlank(byte value) {
+        return value == ' ' || value == '\t' || value == '\r' || value == '\n';
+    }
+
+    /**
+     * Returns whether the given byte ends the plain part of an argument.
+     *
+     * @param value the byte
+     * @return true if the byte is a blank, a quote or a backslash
+     */
+    private static boolean isDelimiter(byte value) {
+        return isBlank(value) || value == '"' || value == '\'' || value == '\\';
+    }
+
+    /**
+     * Returns whether the given byte can be escaped by a backslash in double quotes.
+     *
+     * @param value the byte
+     * @return true if the byte is a dollar sign, a backtick, a double quote, a backslash or a line feed
+     */
+    private static boolean isEscapable(byte value) {
+        return value == '$' || value == '`' || value == '"' || value == '\\' || value == '\n';
+    }
+
+    /**
+     * Appends the given range of bytes to the scratch buffer.
+     *
+     * @param bytes the bytes
+     * @param from  the index of the range's first byte
+     * @param to    the index after the range's last byte
+     */
+    private void append(byte[] bytes, int from, int to) {
+        int length = to - from;
+        if (scratchLength + length > scratch.length) {
+            scratch = Arrays.copyOf(scratch, Math.max(scratch.length * 2, scratchLength + length));
+        }
+        System.arraycopy(bytes, from, scratch, scratchLength, length);
+        scratchLength += length;
+    }
+
+    /**
+     * Decodes the given range of UTF-8 bytes as one argument without splitting it. A range of ASCII bytes is copied
+     * directly.
+     *
+     * @param bytes the bytes
+     * @param from  the index of the range's first byte
+     * @param to    the index after the range's last byte
+     * @return the decoded string
+     * @throws CharacterCodingException if the bytes are not valid UTF-8
+     */
+    public String decode(byte[] bytes, int from, int to) throws CharacterCodingException {
+        if (isAscii(bytes, from, to)) {
+            return new String(bytes, from, to - from, StandardCharsets.ISO_8859_1);
+        }
+        return decoder.decode(ByteBuffer.wrap(bytes, from, to - from)).toString();
+    }
+
+    /**
+     * Returns whether the given range only contains ASCII bytes.
+     *
+     * @param bytes the bytes
+     * @param from  the index of the range's first byte
+     * @param to    the index after the range's last byte
+     * @return true if no byte has its highest bit set
+     */
+    private boolean isAscii(byte[] bytes, int from, int to) {
+        int i = from;
+        if (wordScanning) {
+            long highs = 0;
+            for (; i <= to - Long.BYTES; i += Long.BYTES) {
+                highs |= (long) LONGS.get(bytes, i);
+            }
+            if ((highs & HIGHS) != 0) {
+                return false;
+            }
+        }
+        for (; i < to; i++) {
+            if (bytes[i] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
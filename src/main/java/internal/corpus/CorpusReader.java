@@ -0,0 +1,137 @@
+/*
+ * This file is part of ProDisFuzz, modified on 18.10.26, 03:58.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package internal.corpus;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * This class reads a corpus of recorded command lines from a channel. The corpus is UTF-8 encoded text with one command
+ * line per line, and every line is split into its arguments by a {@link ByteTokenizer}, so arguments may be quoted.
+ * The channel is read in chunks into a buffer, and the lines are found and split in the buffer's bytes, so only the
+ * arguments themselves are ever decoded. The buffer has the chunk size and only grows if a line is longer than that,
+ * so the memory that is used does not depend on the size of the corpus. A line must not be longer than
+ * {@link #MAX_LINE_LENGTH} bytes.
+ */
+public class CorpusReader {
+
+    /**
+     * The maximum number of bytes of a line, excluding the line terminator.
+     */
+    public static final int MAX_LINE_LENGTH = 1 << 20;
+    private static final int DEFAULT_CHUNK_SIZE = 1 << 16;
+    private final ReadableByteChannel channel;
+    private final ByteTokenizer tokenizer;
+    private ByteBuffer buffer;
+    private int position;
+    private boolean endOfInput;
+    private long lineNumber;
+
+    /**
+     * Instantiates a new corpus reader that reads the given channel in chunks of 64 KiB.
+     *
+     * @param channel the channel that contains the corpus
+     */
+    public CorpusReader(ReadableByteChannel channel) {
+        this(channel, DEFAULT_CHUNK_SIZE, true);
+    }
+
+    /**
+     * Instantiates a new corpus reader that reads the given channel in chunks of the given size.
+     *
+     * @param channel      the channel that contains the corpus
+     * @param chunkSize    the number of bytes that are read from the channel at once
+     * @param wordScanning true if the tokenizer shall search delimiters eight bytes at a time, false if it shall search
+     *                     them byte by byte
+     */
+    public CorpusReader(ReadableByteChannel channel, int chunkSize, boolean wordScanning) {
+        if (channel == null) {
+            throw new IllegalArgumentException("Channel must not be null");
+        }
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.channel = channel;
+        tokenizer = new ByteTokenizer(wordScanning);
+        buffer = ByteBuffer.allocate(chunkSize);
+    }
+
+    /**
+     * Reads the next line of the corpus and returns its arguments. The line is terminated by a line feed or by the end
+     * of the corpus, a carriage return before the line feed is ignored. A line without arguments results in an empty
+     * array. If the last line is terminated by a line feed, no further empty line follows it.
+     *
+     * @return the arguments of the next line or null if the end of the corpus is reached
+     * @throws IOException if the channel cannot be read, an argument is not valid UTF-8 or a line is too long
+     */
+    public String[] next() throws IOException {
+        byte[] bytes = buffer.array();
+        int searched = position;
+        while (true) {
+            int end = tokenizer.indexOf(bytes, searched, buffer.position(), (byte) '\n');
+            if (end >= 0) {
+                return finishLine(end, end + 1);
+            }
+            if (buffer.position() - position > MAX_LINE_LENGTH) {
+                throw new IOException("Line " + (lineNumber + 1) + " is longer than " + MAX_LINE_LENGTH + " bytes");
+            }
+            if (endOfInput) {
+                return position == buffer.position() ? null : finishLine(buffer.position(), buffer.position());
+            }
+            searched = buffer.position() - position;
+            fill();
+            bytes = buffer.array();
+        }
+    }
+
+    /**
+     * Returns the number of lines that have been read.
+     *
+     * @return the number of read lines
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Splits the current line into its arguments and moves to the next line.
+     *
+     * @param end  the index after the current line's last byte
+     * @param next the index of the next line's first byte
+     * @return the arguments of the current line
+     * @throws IOException if an argument is not valid UTF-8
+     */
+    private String[] finishLine(int end, int next) throws IOException {
+        String[] result = tokenizer.tokenize(buffer.array(), position, end);
+        position = next;
+        lineNumber++;
+        return result;
+    }
+
+    /**
+     * Moves the unread bytes to the beginning of the buffer, grows the buffer if it is full, and reads the next chunk
+     * from the channel.
+     *
+     * @throws IOException if the channel cannot be read
+     */
+    private void fill() throws IOException {
+        buffer.flip().position(position);
+        buffer.compact();
+        position = 0;
+        if (!buffer.hasRemaining()) {
+            ByteBuffer grown = ByteBuffer.allocate(Math.min(buffer.capacity() * 2, MAX_LINE_LENGTH + 1));
+            grown.put(buffer.flip());
+            buffer = grown;
+        }
+        if (channel.read(buffer) < 0) {
+            endOfInput = true;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * This file is part of ProDisFuzz, modified on 18.10.26, 04:15.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package internal.corpus;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * This class is the subscription of a subscriber to the parse results of a corpus. Lines are only read from the corpus
+ * when the subscriber requests results, and every line is parsed and delivered to the subscriber in the thread that
+ * requested it. If the subscriber requests further results while it is being delivered a result, the request only
+ * raises the demand and the results are delivered by the outer call, so the call stack does not grow. The channel the
+ * corpus is read from is closed when the subscription ends, that is when all lines are delivered, when reading a line
+ * fails, or when the subscription is cancelled.
+ *
+ * @param <T> the type of the parse results
+ */
+public class CorpusSubscription<T> implements Flow.Subscription {
+
+    private final CorpusReader reader;
+    private final Closeable channel;
+    private final Function<String[], T> parser;
+    private final Flow.Subscriber<? super T> subscriber;
+    private final AtomicLong demand = new AtomicLong();
+    private volatile boolean done;
+
+    /**
+     * Instantiates a new subscription.
+     *
+     * @param reader     the reader of the corpus
+     * @param channel    the channel the reader reads from
+     * @param parser     the function that parses the arguments of a line
+     * @param subscriber the subscriber the results are delivered to
+     */
+    public CorpusSubscription(CorpusReader reader, Closeable channel, Function<String[], T> parser,
+                              Flow.Subscriber<? super T> subscriber) {
+        this.reader = reader;
+        this.channel = channel;
+        this.parser = parser;
+        this.subscriber = subscriber;
+    }
+
+    /**
+     * Starts this subscription by handing it to the subscriber.
+     */
+    public void start() {
+        subscriber.onSubscribe(this);
+    }
+
+    @Override
+    public void request(long n) {
+        if (done) {
+            return;
+        }
+        if (n <= 0) {
+            fail(new IllegalArgumentException("The number of requested results must be positive"));
+            return;
+        }
+        // Only the call that raises the demand from zero delivers results
+        if (demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added) ==
+                0) {
+            deliver();
+        }
+    }
+
+    @Override
+    public void cancel() {
+        if (!done) {
+            done = true;
+            close();
+        }
+    }
+
+    /**
+     * Reads, parses and delivers lines until the demand is met, the corpus ends, or this subscription ends.
+     */
+    private void deliver() {
+        long requested = demand.get();
+        while (true) {
+            long delivered = 0;
+            while (delivered != requested) {
+                if (done) {
+                    return;
+                }
+                String[] args;
+                try {
+                    args = reader.next();
+                } catch (IOException e) {
+                    fail(e);
+                    return;
+                }
+                if (args == null) {
+                    complete();
+                    return;
+                }
+                subscriber.onNext(parser.apply(args));
+                delivered++;
+            }
+            requested = demand.addAndGet(-delivered);
+            if (requested == 0) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Ends this subscription after all lines are delivered.
+     */
+    private void complete() {
+        done = true;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            subscriber.onError(e);
+            return;
+        }
+        subscriber.onComplete();
+    }
+
+    /**
+     * Ends this subscription because of the given error. If the subscription has been cancelled in the meantime, for
+     * example while a line was read, the error is not reported.
+     *
+     * @param error the error
+     */
+    private void fail(Exception error) {
+        if (done) {
+            return;
+        }
+        done = true;
+        close();
+        subscriber.onError(error);
+    }
+
+    /**
+     * Closes the channel and ignores any error, because the subscriber is not interested in further signals.
+     */
+    private void close() {
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // Nothing can be done about it
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * This file is part of ProDisFuzz, modified on 18.10.26, 05:17.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package internal.corpus;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.InvalidPathException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.NoSuchElementException;
+
+/**
+ * This class is an argument source that expands argument files. An argument that starts with '@' and is followed by a
+ * path is replaced by the arguments of the file at that path, which is read by an {@link ArgumentReader} with one or
+ * more arguments per line. An argument that starts with "@@" is not a file but a literal argument that starts with '@',
+ * so "@@x" is passed as "@x" and "@@" as "@". All other arguments, including a lone '@', are passed unchanged. Argument
+ * files are not expanded recursively, so the arguments in a file are never unescaped either, and a file is only opened
+ * when its arguments are reached and closed as soon as they are read.
+ */
+public class ExpandedArguments implements ArgumentSource, Closeable {
+
+    private final String[] args;
+    private int index;
+    private FileChannel channel;
+    private ArgumentReader reader;
+    private String file;
+
+    /**
+     * Instantiates a new argument source for the given arguments.
+     *
+     * @param args the arguments, which may contain argument files
+     */
+    public ExpandedArguments(String... args) {
+        this.args = args;
+    }
+
+    /**
+     * Returns whether the given arguments contain an argument file or an argument whose leading '@' is escaped, that
+     * is whether they differ from their expansion.
+     *
+     * @param args the arguments
+     * @return true if an argument starts with '@' and is followed by a path or by another '@'
+     */
+    public static boolean containsFile(String... args) {
+        for (String arg : args) {
+            if (isFile(arg) || isEscaped(arg)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean hasNext() throws IOException {
+        while (true) {
+            if (reader != null) {
+                if (reader.hasNext()) {
+                    return true;
+                }
+                close();
+            }
+            if (index == args.length) {
+                return false;
+            }
+            if (!isFile(args[index])) {
+                return true;
+            }
+            open(args[index++].substring(1));
+        }
+    }
+
+    @Override
+    public String next() throws IOException {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No further argument");
+        }
+        if (reader != null) {
+            return reader.next();
+        }
+        String arg = args[index++];
+        return isEscaped(arg) ? arg.substring(1) : arg;
+    }
+
+    /**
+     * Returns the path of the argument file that is read or was read last.
+     *
+     * @return the path of the argument file or null if no argument file was opened
+     */
+    public String getFile() {
+        return file;
+    }
+
+    /**
+     * Closes the argument file that is currently read.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        reader = null;
+        if (channel != null) {
+            FileChannel open = channel;
+            channel = null;
+            open.close();
+        }
+    }
+
+    /**
+     * Opens the argument file at the given path.
+     *
+     * @param path the path of the argument file
+     * @throws IOException if the file cannot be opened
+     */
+    private void open(String path) throws IOException {
+        file = path;
+        try {
+            channel = FileChannel.open(Path.of(path), StandardOpenOption.READ);
+        } catch (InvalidPathException e) {
+            throw new NoSuchFileException(path, null, e.getMessage());
+        }
+        reader = new ArgumentReader(channel, false);
+    }
+
+    /**
+     * Returns whether the given argument names an argument file.
+     *
+     * @param arg the argument
+     * @return true if the argument starts with '@' and is followed by a path
+     */
+    private static boolean isFile(String arg) {
+        return arg != null && arg.length() > 1 && arg.charAt(0) == '@' && arg.charAt(1) != '@';
+    }
+
+    /**
+     * Returns whether the given argument starts with an escaped '@'.
+     *
+     * @param arg the argument
+     * @return true if the argument starts with "@@"
+     */
+    private static boolean isEscaped(String arg) {
+        return arg != null && arg.startsWith("@@");
+    }
+}
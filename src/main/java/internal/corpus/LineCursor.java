@@ -0,0 +1,287 @@
+/*
+ * This file is part of ProDisFuzz, modified on 18.10.26, 05:13.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package internal.corpus;
+
+import java.util.function.Supplier;
+
+/**
+ * This class is an argument cursor that splits one line of text into its arguments with the quoting and escaping rules
+ * of a POSIX shell, without expanding variables, commands or globs. Arguments are separated by spaces, tabs and line
+ * breaks. Text in single quotes is taken literally. Text in double quotes is taken literally, except that a backslash
+ * escapes a dollar sign, a backtick, a double quote, a backslash or a line feed, and any other backslash is kept.
+ * Outside of quotes, a backslash escapes the following character and a backslash at the end of the line is kept. An
+ * escaped line feed is removed, so a backslash continues an argument on the next line. A quote that is not closed
+ * extends to the end of the line.
+ * <p>
+ * A {@link ByteTokenizer} splits the bytes of a line with the same rules. The readers of corpora and argument files end
+ * a line at every line feed before it is tokenized, though, so there a backslash or a quote at the end of a line does
+ * not continue an argument on the next line like it does in a line that is split by this cursor.
+ * <p>
+ * An argument is a region of the line wherever its characters are contiguous in the line, which is the case for an
+ * argument without quotes and escapes and for an argument that consists of one quoted text without escapes, like
+ * "/data/my file". Only the other arguments are copied into a new string.
+ * <p>
+ * A line can be given together with a source of continuation lines, like an interactive shell reads them. If the line
+ * ends in the middle of an argument, the argument is continued on the next line of the source as if the lines were
+ * joined by a line feed, so every line is split exactly once and the lines read before are not split again.
+ */
+public class LineCursor extends ArgumentCursor {
+
+    private String line;
+    private final StringBuilder builder = new StringBuilder();
+    private int position;
+    private int regionFrom;
+    private int regionTo;
+    private boolean building;
+    private boolean incomplete;
+    private Supplier<String> continuation;
+
+    /**
+     * Instantiates a new cursor that is positioned before the first argument of the given line.
+     *
+     * @param line the line
+     */
+    public LineCursor(CharSequence line) {
+        if (line == null) {
+            throw new IllegalArgumentException("Line must not be null");
+        }
+        this.line = line.toString();
+    }
+
+    /**
+     * Positions the cursor before the first argument of the given line. The cursor keeps its buffer for arguments that
+     * are copied, so one cursor can split any number of lines one after another.
+     *
+     * @param line the line
+     */
+    public void reset(CharSequence line) {
+        reset(line, null);
+    }
+
+    /**
+     * Positions the cursor before the first argument of the given line like {@link #reset(CharSequence)}. If the line
+     * ends in the middle of an argument, the next line is taken from the given source and the argument is continued on
+     * it. The source returns null at the end of its lines, and then the last line is followed by a line feed only.
+     *
+     * @param line         the line
+     * @param continuation the source of the lines that continue the line or null if the line is not continued
+     */
+    public void reset(CharSequence line, Supplier<String> continuation) {
+        if (line == null) {
+            throw new IllegalArgumentException("Line must not be null");
+        }
+        reset();
+        this.line = line.toString();
+        this.continuation = continuation;
+        position = 0;
+        incomplete = false;
+    }
+
+    @Override
+    public boolean advance() {
+        if (!hasMore()) {
+            return false;
+        }
+        regionFrom = position;
+        regionTo = position;
+        building = false;
+        while (position < line.length() && !isBlank(line.charAt(position))) {
+            switch (line.charAt(position)) {
+                case '\\' -> readEscaped();
+                case '\'' -> readSingleQuoted();
+                case '"' -> readDoubleQuoted();
+                default -> readPlain();
+            }
+        }
+        if (building) {
+            moveTo(builder.toString(), 0, builder.length());
+        } else {
+            moveTo(line, regionFrom, regionTo);
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether the line ends in the middle of an argument, that is with a backslash that escapes no character or
+     * inside a quote that is not closed. A shell continues such a line on the next line. The result is only final
+     * after all arguments of the line have been read. A line that is continued by a source of continuation lines is
+     * only incomplete if its last line is.
+     *
+     * @return true if the last argument that has been read ends with a trailing backslash or an unclosed quote
+     */
+    public boolean isIncomplete() {
+        return incomplete;
+    }
+
+    @Override
+    public boolean hasMore() {
+        while (position < line.length() && isBlank(line.charAt(position))) {
+            position++;
+        }
+        return position < line.length();
+    }
+
+    /**
+     * Reads the characters up to the next blank, quote or backslash.
+     */
+    private void readPlain() {
+        int end = position;
+        while (end < line.length() && !isDelimiter(line.charAt(end))) {
+            end++;
+        }
+        append(position, end);
+        position = end;
+    }
+
+    /**
+     * Reads a backslash outside of quotes and the character it escapes.
+     */
+    private void readEscaped() {
+        if (position + 1 == line.length()) {
+            if (continueLine("\\")) {
+                return;
+            }
+            append(position, position + 1);
+            position++;
+            incomplete = true;
+        } else if (line.startsWith("\r\n", position + 1)) {
+            position += 3;
+        } else {
+            if (line.charAt(position + 1) != '\n') {
+                append(position + 1, position + 2);
+            }
+            position += 2;
+        }
+    }
+
+    /**
+     * Reads a text in single quotes including the quotes.
+     */
+    private void readSingleQuoted() {
+        int close = line.indexOf('\'', position + 1);
+        int end = close < 0 ? line.length() : close;
+        append(position + 1, end);
+        if (close < 0 && continueLine("'")) {
+            return;
+        }
+        position = close < 0 ? end : close + 1;
+        incomplete = close < 0;
+    }
+
+    /**
+     * Reads a text in double quotes including the quotes.
+     */
+    private void readDoubleQuoted() {
+        int i = position + 1;
+        int start = i;
+        boolean escaping = false;
+        while (i < line.length() && line.charAt(i) != '"') {
+            if (line.charAt(i) == '\\' && i + 1 == line.length()) {
+                // The backslash may escape the line feed that joins a continuation line
+                escaping = true;
+                i++;
+            } else if (line.charAt(i) == '\\' && i + 1 < line.length() && isEscapable(line.charAt(i + 1))) {
+                append(start, i);
+                if (line.charAt(i + 1) != '\n') {
+                    append(i + 1, i + 2);
+                }
+                i += 2;
+                start = i;
+            } else {
+                i++;
+            }
+        }
+        if (i == line.length() && continuation != null) {
+            append(start, escaping ? i - 1 : i);
+            continueLine(escaping ? "\"\\" : "\"");
+            return;
+        }
+        append(start, i);
+        position = i < line.length() ? i + 1 : i;
+        incomplete = i == line.length();
+    }
+
+    /**
+     * Continues the current argument on the next line of the continuation source. The part of the argument that has
+     * been read is moved into the builder, and the cursor is positioned at the given text that reenters the argument's
+     * pending escape or open quote, followed by a line feed and the next line.
+     *
+     * @param reentry the text that reenters the pending escape or open quote
+     * @return true if the argument is continued, false if there is no continuation source
+     */
+    private boolean continueLine(String reentry) {
+        if (continuation == null) {
+            return false;
+        }
+        String next = continuation.get();
+        if (next == null) {
+            continuation = null;
+        }
+        if (!building) {
+            builder.setLength(0);
+            builder.append(line, regionFrom, regionTo);
+            building = true;
+        }
+        line = next == null ? reentry + '\n' : reentry + '\n' + next;
+        position = 0;
+        return true;
+    }
+
+    /**
+     * Appends the given region of the line to the current argument. As long as all appended regions are contiguous,
+     * the argument remains a region of the line, otherwise it is copied into the builder.
+     *
+     * @param from the start index of the region
+     * @param to   the end index of the region
+     */
+    private void append(int from, int to) {
+        if (building) {
+            builder.append(line, from, to);
+        } else if (regionFrom == regionTo) {
+            regionFrom = from;
+            regionTo = to;
+        } else if (from == regionTo) {
+            regionTo = to;
+        } else if (from < to) {
+            builder.setLength(0);
+            builder.append(line, regionFrom, regionTo).append(line, from, to);
+            building = true;
+        }
+    }
+
+    /**
+     * Returns whether the given character separates arguments.
+     *
+     * @param c the character
+     * @return true if the character is a space, tab, carriage return or line feed
+     */
+    private static boolean isBlank(char c) {
+        return c == ' ' || c == '\t' || c == '\r' || c == '\n';
+    }
+
+    /**
+     * Returns whether the given character ends the plain part of an argument.
+     *
+     * @param c the character
+     * @return true if the character is a blank, a quote or a backslash
+     */
+    private static boolean isDelimiter(char c) {
+        return isBlank(c) || c == '"' || c == '\'' || c == '\\';
+    }
+
+    /**
+     * Returns whether the given character can be escaped by a backslash in double quotes.
+     *
+     * @param c the character
+     * @return true if the character is a dollar sign, a backtick, a double quote, a backslash or a line feed
+     */
+    private static boolean isEscapable(char c) {
+        return c == '$' || c == '`' || c == '"' || c == '\\' || c == '\n';
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * This file is part of ProDisFuzz, modified on 18.10.26, 04:10.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package internal.corpus;
+
+import java.io.IOException;
+
+/**
+ * This class is an argument cursor that walks through the arguments of an argument source.
+ */
+public class SourceCursor extends ArgumentCursor {
+
+    private final ArgumentSource source;
+
+    /**
+     * Instantiates a new cursor that is positioned before the first argument of the given source.
+     *
+     * @param source the argument source
+     */
+    public SourceCursor(ArgumentSource source) {
+        if (source == null) {
+            throw new IllegalArgumentException("Source must not be null");
+        }
+        this.source = source;
+    }
+
+    @Override
+    public boolean advance() throws IOException {
+        if (!source.hasNext()) {
+            return false;
+        }
+        String argument = source.next();
+        moveTo(argument, 0, argument == null ? 0 : argument.length());
+        return true;
+    }
+
+    @Override
+    public boolean hasMore() throws IOException {
+        return source.hasNext();
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * This file is part of ProDisFuzz, modified on 18.10.26, 04:16.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package internal.corpus;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * This class decodes regions of UTF-8 encoded buffers. The regions are given as absolute indexes, so the position and
+ * limit of a buffer are neither read nor changed, and a buffer may be decoded by several threads at once. A region that
+ * consists of ASCII bytes only is copied without running a decoder.
+ */
+public final class Utf8 {
+
+    /**
+     * Prevents instantiating this class.
+     */
+    private Utf8() {
+    }
+
+    /**
+     * Returns whether the given region only contains ASCII bytes.
+     *
+     * @param bytes the buffer
+     * @param from  the index of the region's first byte
+     * @param to    the index after the region's last byte
+     * @return true if no byte has its highest bit set
+     */
+    public static boolean isAscii(ByteBuffer bytes, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (bytes.get(i) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Decodes the given region of UTF-8 bytes.
+     *
+     * @param bytes the buffer
+     * @param from  the index of the region's first byte
+     * @param to    the index after the region's last byte
+     * @return the decoded string or null if the bytes are not valid UTF-8
+     */
+    public static String decode(ByteBuffer bytes, int from, int to) {
+        if (isAscii(bytes, from, to)) {
+            return copyAscii(bytes, from, to);
+        }
+        try {
+            return StandardCharsets.UTF_8.newDecoder().decode(bytes.slice(from, to - from)).toString();
+        } catch (CharacterCodingException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Decodes the given region of UTF-8 bytes and replaces every malformed sequence with the replacement character.
+     * This is meant for names and arguments that are only shown in messages.
+     *
+     * @param bytes the buffer
+     * @param from  the index of the region's first byte
+     * @param to    the index after the region's last byte
+     * @return the decoded string
+     */
+    public static String decodeLenient(ByteBuffer bytes, int from, int to) {
+        if (isAscii(bytes, from, to)) {
+            return copyAscii(bytes, from, to);
+        }
+        return StandardCharsets.UTF_8.decode(bytes.slice(from, to - from)).toString();
+    }
+
+    /**
+     * Copies the given region of ASCII bytes into a string. The bytes of a buffer that is backed by an array are copied
+     * only once.
+     *
+     * @param bytes the buffer
+     * @param from  the index of the region's first byte
+     * @param to    the index after the region's last byte
+     * @return the string
+     */
+    private static String copyAscii(ByteBuffer bytes, int from, int to) {
+        if (bytes.hasArray()) {
+            return new String(bytes.array(), bytes.arrayOffset() + from, to - from, StandardCharsets.ISO_8859_1);
+        }
+        byte[] copy = new byte[to - from];
+        bytes.get(from, copy);
+        return new String(copy, StandardCharsets.ISO_8859_1);
+    }
+}
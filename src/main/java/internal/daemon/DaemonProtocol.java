@@ -0,0 +1,253 @@
+/*
+ * This file is part of ProDisFuzz, modified on 18.10.26, 05:16.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+package internal.daemon;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class reads and writes the messages that a parser daemon exchanges with its clients. Every message consists of
+ * frames, and a frame is a 32-bit big-endian length followed by that many bytes. All text is UTF-8 encoded.
+ * <p>
+ * A request consists of three frames: the arguments, each terminated by a NUL byte like the arguments of a process in
+ * "/proc/&lt;pid&gt;/cmdline", the client's absolute working directory, and the client's environment, each variable
+ * written as "NAME=value" and terminated by a NUL byte like "/proc/&lt;pid&gt;/environ". A response consists of the
+ * exit status as a 32-bit big-endian integer followed by one frame with the output text. An output that does not fit
+ * into a frame is truncated and ends with {@link #TRUNCATION_NOTE}, so a client always gets the status. Every message
+ * is written
+ * from a single buffer, so a client can be implemented in a few lines of any language that supports Unix domain
+ * sockets.
+ */
+public final class DaemonProtocol {
+
+    /**
+     * The maximum number of bytes of a frame's content.
+     */
+    public static final int MAX_FRAME_LENGTH = 1 << 24;
+    /**
+     * The text that ends an output that has been truncated to fit into a frame.
+     */
+    public static final String TRUNCATION_NOTE = "\n[Output truncated]\n";
+    private static final byte[] TRUNCATION_NOTE_BYTES = TRUNCATION_NOTE.getBytes(StandardCharsets.UTF_8);
+    private static final int INITIAL_FRAME_CAPACITY = 1 << 13;
+
+    /**
+     * Prevents instantiating this class.
+     */
+    private DaemonProtocol() {
+    }
+
+    /**
+     * Writes a request with the given arguments, working directory and environment.
+     *
+     * @param channel          the channel the request is written to
+     * @param arguments        the arguments
+     * @param workingDirectory the client's working directory
+     * @param environment      the client's environment variables
+     * @throws IOException if the request cannot be written or a frame is longer than {@link #MAX_FRAME_LENGTH} bytes
+     */
+    public static void writeRequest(WritableByteChannel channel, List<String> arguments, Path workingDirectory,
+                                    Map<String, String> environment) throws IOException {
+        StringBuilder variables = new StringBuilder();
+        environment.forEach((name, value) -> variables.append(name).append('=').append(value).append('\0'));
+        byte[][] frames = {encodeNullTerminated(arguments),
+                workingDirectory.toAbsolutePath().toString().getBytes(StandardCharsets.UTF_8),
+                variables.toString().getBytes(StandardCharsets.UTF_8)};
+        int length = 0;
+        for (byte[] frame : frames) {
+            length += Integer.BYTES + checkLength(frame.length);
+        }
+        ByteBuffer message = ByteBuffer.allocate(length);
+        for (byte[] frame : frames) {
+            message.putInt(frame.length).put(frame);
+        }
+        write(channel, message.flip());
+    }
+
+    /**
+     * Writes a response with the given exit status and output. An output that is longer than
+     * {@link #MAX_FRAME_LENGTH} bytes is cut at a character boundary and ends with {@link #TRUNCATION_NOTE}.
+     *
+     * @param channel the channel the response is written to
+     * @param status  the exit status
+     * @param output  the output text
+     * @throws IOException if the response cannot be written
+     */
+    public static void writeResponse(WritableByteChannel channel, int status, CharSequence output) throws IOException {
+        byte[] frame = output.toString().getBytes(StandardCharsets.UTF_8);
+        if (frame.length <= MAX_FRAME_LENGTH) {
+            ByteBuffer message = ByteBuffer.allocate(2 * Integer.BYTES + frame.length);
+            write(channel, message.putInt(status).putInt(frame.length).put(frame).flip());
+            return;
+        }
+        int length = MAX_FRAME_LENGTH - TRUNCATION_NOTE_BYTES.length;
+        // A continuation byte of a multi-byte character is not cut off from the character's first byte
+        while ((frame[length] & 0xC0) == 0x80) {
+            length--;
+        }
+        ByteBuffer message = ByteBuffer.allocate(2 * Integer.BYTES + length + TRUNCATION_NOTE_BYTES.length);
+        write(channel, message.putInt(status).putInt(length + TRUNCATION_NOTE_BYTES.length).put(frame, 0, length)
+                .put(TRUNCATION_NOTE_BYTES).flip());
+    }
+
+    /**
+     * Reads a 32-bit big-endian integer.
+     *
+     * @param channel the channel
+     * @return the integer
+     * @throws IOException if the integer cannot be read or the channel ends before it
+     */
+    public static int readInt(ReadableByteChannel channel) throws IOException {
+        return read(channel, ByteBuffer.allocate(Integer.BYTES)).getInt(0);
+    }
+
+    /**
+     * Reads a frame and returns its content. The returned buffer's position and limit are the bounds of the content.
+     * The buffer grows while the content arrives, so a peer that announces a long frame without sending it does not
+     * make the reader allocate the announced length.
+     *
+     * @param channel the channel
+     * @return the frame's content
+     * @throws IOException if the frame cannot be read, the channel ends before the frame's end or the frame is longer
+     *                     than {@link #MAX_FRAME_LENGTH} bytes
+     */
+    public static ByteBuffer readFrame(ReadableByteChannel channel) throws IOException {
+        int length = readInt(channel);
+        if (length < 0 || length > MAX_FRAME_LENGTH) {
+            throw new IOException("Frame length " + Integer.toUnsignedString(length) + " is not allowed");
+        }
+        ByteBuffer result = ByteBuffer.allocate(Math.min(length, INITIAL_FRAME_CAPACITY));
+        while (true) {
+            read(channel, result);
+            if (result.capacity() == length) {
+                return result.flip();
+            }
+            result = ByteBuffer.allocate((int) Math.min(length, 2L * result.capacity())).put(result.flip());
+        }
+    }
+
+    /**
+     * Decodes the content of a frame as UTF-8 text.
+     *
+     * @param frame the frame's content
+     * @return the text
+     * @throws CharacterCodingException if the content is not valid UTF-8
+     */
+    public static String decode(ByteBuffer frame) throws CharacterCodingException {
+        return StandardCharsets.UTF_8.newDecoder().onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT).decode(frame.duplicate()).toString();
+    }
+
+    /**
+     * Decodes the content of a frame as an absolute working directory.
+     *
+     * @param frame the frame's content
+     * @return the working directory
+     * @throws IOException if the content is not valid UTF-8 or not an absolute path
+     */
+    public static Path decodeWorkingDirectory(ByteBuffer frame) throws IOException {
+        Path result;
+        try {
+            result = Path.of(decode(frame));
+        } catch (InvalidPathException e) {
+            throw new IOException("Working directory is not a valid path", e);
+        }
+        if (!result.isAbsolute()) {
+            throw new IOException("Working directory is not absolute");
+        }
+        return result;
+    }
+
+    /**
+     * Decodes the content of a frame as environment variables. A variable without '=' is ignored, and a variable
+     * that is given more than once keeps its last value.
+     *
+     * @param frame the frame's content
+     * @return the environment variables
+     * @throws CharacterCodingException if the content is not valid UTF-8
+     */
+    public static Map<String, String> decodeEnvironment(ByteBuffer frame) throws CharacterCodingException {
+        Map<String, String> result = new HashMap<>();
+        for (String variable : decode(frame).split("\0")) {
+            int separator = variable.indexOf('=');
+            if (separator > 0) {
+                result.put(variable.substring(0, separator), variable.substring(separator + 1));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Encodes the given strings as UTF-8, each terminated by a NUL byte.
+     *
+     * @param strings the strings
+     * @return the encoded strings
+     */
+    private static byte[] encodeNullTerminated(List<String> strings) {
+        StringBuilder result = new StringBuilder();
+        for (String string : strings) {
+            result.append(string).append('\0');
+        }
+        return result.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Checks that the given length of a frame's content is allowed.
+     *
+     * @param length the length
+     * @return the length
+     * @throws IOException if the length is greater than {@link #MAX_FRAME_LENGTH}
+     */
+    private static int checkLength(int length) throws IOException {
+        if (length > MAX_FRAME_LENGTH) {
+            throw new IOException("Frame length " + length + " is not allowed");
+        }
+        return length;
+    }
+
+    /**
+     * Reads bytes from the given channel until the given buffer is full.
+     *
+     * @param channel the channel
+     * @param buffer  the buffer
+     * @return the buffer
+     * @throws IOException if the channel cannot be read or ends before the buffer is full
+     */
+    private static ByteBuffer read(ReadableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Channel ended in the middle of a message");
+            }
+        }
+        return buffer;
+    }
+
+    /**
+     * Writes all remaining bytes of the given buffer to the given channel.
+     *
+     * @param channel the channel
+     * @param buffer  the buffer
+     * @throws IOException if the channel cannot be written
+     */
+    private static void write(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
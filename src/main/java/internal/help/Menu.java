@@ -1,6 +1,6 @@
 /*
- * This file is part of ProDisFuzz, modified on 28.04.25, 22:13.
- * Copyright (c) 2013-2025 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This file is part of ProDisFuzz, modified on 18.10.26, 05:14.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
  * This work is free. You can redistribute it and/or modify it under the
  * terms of the Do What The Fuck You Want To Public License, Version 2,
  * as published by Sam Hocevar. See the COPYING file for more details.
@@ -8,20 +8,40 @@
 
 package internal.help;
 
+import internal.commands.InternalSubcommand;
+import internal.schema.CompiledCommand;
+import internal.schema.CompiledSubcommand;
 import main.Command;
 import main.Parameter;
 import main.Subcommand;
 
-import java.util.*;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * This class is the help menu printer that is responsible for printing information about the correct usage of command
- * line options to the terminal.
+ * line options to the terminal. The usage blocks of commands and subcommands are rendered once and are then cached
+ * until the version of the command or subcommand changes, which happens when it or one of its parameters is changed.
+ * Changing one command does not invalidate the usage blocks of other commands. The rendering is done in a single
+ * pass: words are wrapped while they are written to the output, without building intermediate lines or word lists.
+ * The usage blocks of compiled commands and subcommands describe the immutable snapshot a command line was parsed
+ * against, so they are cached without a version. The cache holds the usage blocks of every command it has rendered
+ * until it is cleared, which the parser does whenever its command is set. The cache can be used by several threads at
+ * once; threads that miss the cache at the same time may each render the same usage block.
  */
 public class Menu {
 
     @SuppressWarnings("FieldCanBeLocal")
     private static final int TERMINAL_WIDTH = 80;
+    private final Map<Subcommand, CachedUsage> usages = Collections.synchronizedMap(new IdentityHashMap<>());
+    private final Map<CompiledSubcommand, String> compiledUsages =
+            Collections.synchronizedMap(new IdentityHashMap<>());
 
     /**
      * Instantiates a new help menu that prints out usage help menus.
@@ -29,6 +49,15 @@ public class Menu {
     public Menu() {
     }
 
+    /**
+     * Removes all cached usage blocks, so the commands and subcommands they were rendered for are no longer referenced
+     * by this help menu.
+     */
+    public void clear() {
+        usages.clear();
+        compiledUsages.clear();
+    }
+
     /**
      * Prints a given error message to the returned string.
      *
@@ -61,29 +90,24 @@ public class Menu {
      * @return the error message and usage help
      */
     public String printUsage(Command command, Subcommand subcommand, String error) {
-        StringBuilder result = new StringBuilder();
-        result.append(printError(error));
-
-        List<String> strings = new LinkedList<>();
-        strings.add(command.getName());
-        strings.add(subcommand.getName());
-        subcommand.getParameters().stream().filter(parameter -> !parameter.isOptional())
-                .map(p -> String.format("--%s " + "<%s>", p.getName(),
-                        p.getAllowedValues().isEmpty() ? "value" : p.getAllowedValues())).forEach(strings::add);
-        subcommand.getParameters().stream().filter(Parameter::isOptional)
-                .map(p -> String.format("[--%s <%s>]", p.getName(),
-                        p.getAllowedValues().isEmpty() ? "value" : p.getAllowedValues())).forEach(strings::add);
-
-        result.append(System.lineSeparator());
-        result.append(printUsage(strings));
-
-        result.append(System.lineSeparator());
-        result.append(printIntendedBlock(Arrays.asList(subcommand.getDescription().split(" ")), 0));
-
-        result.append(System.lineSeparator());
-        result.append(printParameters(subcommand.getParameters()));
+        return printError(error) + getUsage(command, subcommand);
+    }
 
-        return result.toString();
+    /**
+     * Prints a given error message for a given compiled command or one of its compiled subcommands to the returned
+     * string. Additionally a usage block is printed that lists the possible parameters, and for the command also the
+     * possible subcommands, as they were when the command was compiled.
+     *
+     * @param command    the compiled command
+     * @param subcommand the compiled subcommand or the compiled command itself if the error refers to the command
+     * @param error      the error message
+     * @return the error message and usage help
+     */
+    public String printUsage(CompiledCommand command, CompiledSubcommand subcommand, String error) {
+        if (subcommand == command) {
+            return printError(error) + System.lineSeparator() + getUsage(command, command);
+        }
+        return printError(error) + getUsage(command, subcommand);
     }
 
     /**
@@ -94,141 +118,484 @@ public class Menu {
      * @return the error message and usage help
      */
     public String printUsage(Command command) {
-        StringBuilder result = new StringBuilder();
-
         if (command == null) {
-            return result.toString();
+            return "";
         }
+        return getUsage(command, command);
+    }
 
-        List<String> strings = new LinkedList<>();
-        strings.add(command.getName());
-        command.getParameters().stream().filter(parameter -> !parameter.isOptional())
-                .map(p -> String.format("--%s " + "<%s>", p.getName(),
-                        p.getAllowedValues().isEmpty() ? "value" : p.getAllowedValues())).forEach(strings::add);
-        command.getParameters().stream().filter(Parameter::isOptional)
-                .map(p -> String.format("[--%s <%s>]", p.getName(),
-                        p.getAllowedValues().isEmpty() ? "value" : p.getAllowedValues())).forEach(strings::add);
-        if (!command.getSubcommands().isEmpty()) {
-            strings.add("<subcommand>");
-            strings.add("[<args>]");
+    /**
+     * Prints a usage block to the given output that lists all of the given command's possible parameters and
+     * subcommands. If the usage block is cached, the cached usage block is written. Otherwise the usage block is
+     * written to the output while it is rendered, without building it as a string first.
+     *
+     * @param command the command
+     * @param out     the output the usage help is written to
+     * @throws IOException if the usage help cannot be written to the output
+     */
+    public void printUsage(Command command, Appendable out) throws IOException {
+        if (command == null) {
+            return;
         }
-        result.append(printUsage(strings));
-
-        result.append(System.lineSeparator());
-        result.append(printIntendedBlock(Arrays.asList(command.getDescription().split(" ")), 0));
+        CachedUsage cached = usages.get(command);
+        if (cached != null && cached.command() == command && cached.version() == getVersion(command)) {
+            out.append(cached.usage());
+        } else {
+            writeUsage(command, new LineWrapper(out));
+        }
+    }
 
-        if (!command.getParameters().isEmpty()) {
-            result.append(System.lineSeparator());
-            result.append(printParameters(command.getParameters()));
+    /**
+     * Returns the cached usage block of the given command and subcommand. If there is no cached usage block or if the
+     * subcommand, which is the command itself for the command's usage block, has been changed since the usage block was
+     * rendered, the usage block is rendered again and cached.
+     *
+     * @param command    the command
+     * @param subcommand the subcommand or the command itself if the usage block is the command's usage block
+     * @return the usage help
+     */
+    private String getUsage(Command command, Subcommand subcommand) {
+        long version = getVersion(subcommand);
+        CachedUsage cached = usages.get(subcommand);
+        if (cached != null && cached.command() == command && cached.version() == version) {
+            return cached.usage();
         }
-        if (!command.getSubcommands().isEmpty()) {
-            result.append(System.lineSeparator());
-            result.append(printSubcommands(command.getSubcommands()));
+        StringBuilder result = new StringBuilder();
+        try {
+            if (subcommand == command) {
+                writeUsage(command, new LineWrapper(result));
+            } else {
+                writeUsage(command, subcommand, new LineWrapper(result));
+            }
+        } catch (IOException e) {
+            // A string builder never throws an I/O exception
+            throw new UncheckedIOException(e);
         }
-
-        return result.toString();
+        String usage = result.toString();
+        usages.put(subcommand, new CachedUsage(command, version, usage));
+        return usage;
     }
 
     /**
-     * Prints the usage block of given "command subcommand parameter" strings with indented lines (except for the first)
-     * to the returned string.
+     * Returns the cached usage block of the given compiled command and compiled subcommand. If there is no cached usage
+     * block, the usage block is rendered from the compiled snapshot and cached.
      *
-     * @param strings the "command subcommand parameter" strings
+     * @param command    the compiled command
+     * @param subcommand the compiled subcommand or the compiled command itself if the usage block is the command's
+     *                   usage block
      * @return the usage help
      */
-    private String printUsage(List<String> strings) {
+    private String getUsage(CompiledCommand command, CompiledSubcommand subcommand) {
+        String usage = compiledUsages.get(subcommand);
+        if (usage != null) {
+            return usage;
+        }
         StringBuilder result = new StringBuilder();
+        try {
+            if (subcommand == command) {
+                List<Subcommand> subcommands = new ArrayList<>();
+                for (CompiledSubcommand each : command.getSubcommands()) {
+                    subcommands.add(each.getSource());
+                }
+                writeUsage(Block.of(command), subcommands, new LineWrapper(result));
+            } else {
+                writeUsage(command.getName(), Block.of(subcommand), new LineWrapper(result));
+            }
+        } catch (IOException e) {
+            // A string builder never throws an I/O exception
+            throw new UncheckedIOException(e);
+        }
+        usage = result.toString();
+        compiledUsages.put(subcommand, usage);
+        return usage;
+    }
 
-        List<String> parts = new LinkedList<>();
-        parts.add("Usage: java -jar");
-        parts.addAll(strings);
+    /**
+     * Writes the usage block of a given command and subcommand that lists all of the subcommand's possible parameters.
+     *
+     * @param command    the command
+     * @param subcommand the subcommand
+     * @param out        the output the usage help is written to
+     * @throws IOException if the usage help cannot be written to the output
+     */
+    private void writeUsage(Command command, Subcommand subcommand, LineWrapper out) throws IOException {
+        writeUsage(command.getName(), Block.of(subcommand), out);
+    }
 
-        result.append(printIntendedBlock(parts, 10));
+    /**
+     * Writes the usage block of a given subcommand of the command with the given name that lists all of the
+     * subcommand's possible parameters.
+     *
+     * @param commandName the command's name
+     * @param subcommand  the subcommand's block
+     * @param out         the output the usage help is written to
+     * @throws IOException if the usage help cannot be written to the output
+     */
+    private void writeUsage(String commandName, Block subcommand, LineWrapper out) throws IOException {
+        out.newLine();
+        out.start(10);
+        out.part("Usage: java -jar");
+        out.part(commandName);
+        out.part(subcommand.name());
+        writeParameterUsages(subcommand, out);
+        out.newLine();
+
+        out.newLine();
+        out.start(0);
+        out.words(subcommand.description());
+        out.newLine();
+
+        if (subcommand.parameters().length > 0) {
+            out.newLine();
+            writeParameters(subcommand, out);
+        }
+    }
 
-        return result.toString();
+    /**
+     * Writes the usage block of the given command that lists all of the command's possible parameters and subcommands.
+     *
+     * @param command the command
+     * @param out     the output the usage help is written to
+     * @throws IOException if the usage help cannot be written to the output
+     */
+    private void writeUsage(Command command, LineWrapper out) throws IOException {
+        writeUsage(Block.of(command), command.getSubcommands(), out);
     }
 
     /**
-     * Prints an block of given strings to the returned string with the given indent.  The first line is not indented. A
-     * line has maximum TERMINAL_WIDTH characters.
+     * Writes the usage block of a command that lists all of the command's possible parameters and the given
+     * subcommands.
      *
-     * @param indent the indent in spaces
-     * @param parts  the string parts that are printed indented
-     * @return the intended block
+     * @param command     the command's block
+     * @param subcommands the command's subcommands
+     * @param out         the output the usage help is written to
+     * @throws IOException if the usage help cannot be written to the output
      */
-    private String printIntendedBlock(List<String> parts, int indent) {
-        StringBuilder result = new StringBuilder();
+    private void writeUsage(Block command, Collection<? extends Subcommand> subcommands, LineWrapper out)
+            throws IOException {
+        out.start(10);
+        out.part("Usage: java -jar");
+        out.part(command.name());
+        writeParameterUsages(command, out);
+        if (!subcommands.isEmpty()) {
+            out.part("<subcommand>");
+            out.part("[<args>]");
+        }
+        out.newLine();
+
+        out.newLine();
+        out.start(0);
+        out.words(command.description());
+        out.newLine();
+
+        if (command.parameters().length > 0) {
+            out.newLine();
+            writeParameters(command, out);
+        }
+        if (!subcommands.isEmpty()) {
+            out.newLine();
+            writeSubcommands(subcommands, out);
+        }
+    }
 
-        String spaces = indent == 0 ? "" : String.format("%" + indent + "s", "");
-        StringBuilder line = new StringBuilder();
-        for (String part : parts) {
-            if (line.length() + 1 + part.length() > TERMINAL_WIDTH) {
-                result.append(line).append(System.lineSeparator());
-                line.setLength(0);
-                line.append(spaces);
+    /**
+     * Writes the "--key <value>" parts of the usage block for the parameters of the given block, first the mandatory
+     * parameters and then the optional parameters in brackets.
+     *
+     * @param block the command's or subcommand's block
+     * @param out   the output the parts are written to
+     * @throws IOException if the parts cannot be written to the output
+     */
+    private void writeParameterUsages(Block block, LineWrapper out) throws IOException {
+        for (int i = 0; i < block.parameters().length; i++) {
+            Parameter<?> parameter = block.parameters()[i];
+            if (block.defaults()[i] == null) {
+                String value = parameter.getAllowedValues().isEmpty() ? "value" : parameter.getAllowedValues();
+                out.beginPart(parameter.getName().length() + value.length() + 5);
+                out.append("--").append(parameter.getName()).append(" <").append(value).append(">");
             }
-            if (!line.isEmpty() && line.charAt(line.length() - 1) != ' ') {
-                line.append(" ");
+        }
+        for (int i = 0; i < block.parameters().length; i++) {
+            Parameter<?> parameter = block.parameters()[i];
+            if (block.defaults()[i] != null) {
+                String value = parameter.getAllowedValues().isEmpty() ? "value" : parameter.getAllowedValues();
+                out.beginPart(parameter.getName().length() + value.length() + 7);
+                out.append("[--").append(parameter.getName()).append(" <").append(value).append(">]");
             }
-            line.append(part);
         }
-        result.append(line).append(System.lineSeparator());
-
-        return result.toString();
     }
 
     /**
-     * Prints the parameter block with a list of all possible parameters and their descriptions. The description of the
-     * parameters is indented.
+     * Writes the parameter block with a list of all possible parameters of the given block and their descriptions. The
+     * description of the parameters is indented.
      *
-     * @param parameters the parameters
-     * @return the parameter block
+     * @param block the command's or subcommand's block
+     * @param out   the output the parameter block is written to
+     * @throws IOException if the parameter block cannot be written to the output
      */
-    private String printParameters(Set<Parameter<?>> parameters) {
-        StringBuilder result = new StringBuilder();
-        result.append("Options:").append(System.lineSeparator());
-
-        //noinspection OptionalGetWithoutIsPresent
-        int maxNameWidth = parameters.stream().map(Parameter::getName).map(String::length)
-                .max(Comparator.comparing(Integer::intValue)).get();
-        for (Parameter<?> parameter : parameters) {
-            List<String> parts = new LinkedList<>();
-            parts.add(String.format("  --%1$-" + maxNameWidth + "s  ", parameter.getName()));
-            if (parameter.isOptional()) {
-                parts.add("(Optional)");
+    private void writeParameters(Block block, LineWrapper out) throws IOException {
+        out.start(0);
+        out.append("Options:");
+        out.newLine();
+
+        int maxNameWidth = 0;
+        for (Parameter<?> parameter : block.parameters()) {
+            maxNameWidth = Math.max(maxNameWidth, parameter.getName().length());
+        }
+        for (int i = 0; i < block.parameters().length; i++) {
+            Parameter<?> parameter = block.parameters()[i];
+            out.start(maxNameWidth + 6);
+            out.beginPart(maxNameWidth + 6);
+            out.append("  --").append(parameter.getName()).spaces(maxNameWidth - parameter.getName().length() + 2);
+            if (block.defaults()[i] != null) {
+                out.part("(Optional)");
             }
-            parts.addAll(Arrays.asList(parameter.getDescription().split(" ")));
-            if (parameter.isOptional()) {
-                parts.addAll(Arrays.asList(("The default value is '" + parameter.getValue() + "'.").split(" ")));
+            out.words(parameter.getDescription());
+            if (block.defaults()[i] != null) {
+                out.words("The default value is '" + block.defaults()[i] + "'.");
             }
-            result.append(printIntendedBlock(parts, maxNameWidth + 6));
+            out.newLine();
         }
-
-        return result.toString();
     }
 
     /**
-     * Prints the subcommand block with a list of all possible subcommands and their descriptions. The description of
+     * Writes the subcommand block with a list of all possible subcommands and their descriptions. The description of
      * the subcommands is indented.
      *
      * @param subcommands the subcommands
-     * @return the subcommand block
+     * @param out         the output the subcommand block is written to
+     * @throws IOException if the subcommand block cannot be written to the output
      */
-    private String printSubcommands(Set<Subcommand> subcommands) {
-        StringBuilder result = new StringBuilder();
-        result.append("Subcommands:").append(System.lineSeparator());
+    private void writeSubcommands(Collection<? extends Subcommand> subcommands, LineWrapper out) throws IOException {
+        out.start(0);
+        out.append("Subcommands:");
+        out.newLine();
 
-        //noinspection OptionalGetWithoutIsPresent
-        int maxNameWidth = subcommands.stream().map(Subcommand::getName).map(String::length)
-                .max(Comparator.comparing(Integer::intValue)).get();
+        int maxNameWidth = 0;
+        for (Subcommand subcommand : subcommands) {
+            maxNameWidth = Math.max(maxNameWidth, subcommand.getName().length());
+        }
         for (Subcommand subcommand : subcommands) {
-            List<String> parts = new LinkedList<>();
-            parts.add(String.format("  %1$-" + maxNameWidth + "s  ", subcommand.getName()));
-            parts.addAll(Arrays.asList(subcommand.getDescription().split(" ")));
-            result.append(printIntendedBlock(parts, maxNameWidth + 4));
+            out.start(maxNameWidth + 4);
+            out.beginPart(maxNameWidth + 4);
+            out.append("  ").append(subcommand.getName()).spaces(maxNameWidth - subcommand.getName().length() + 2);
+            out.words(subcommand.getDescription());
+            out.newLine();
         }
+    }
 
-        return result.toString();
+    /**
+     * Returns the version of the given command or subcommand that a cached usage block is valid for.
+     *
+     * @param subcommand the command or subcommand
+     * @return the version
+     */
+    private static long getVersion(Subcommand subcommand) {
+        return ((InternalSubcommand) subcommand).getVersion();
+    }
+
+    /**
+     * This record is a rendered usage block together with the command it was rendered for and the version of the
+     * command or subcommand it was rendered at.
+     *
+     * @param command the command
+     * @param version the version of the command or subcommand
+     * @param usage   the usage help
+     */
+    private record CachedUsage(Command command, long version, String usage) {
     }
 
+    /**
+     * This record is the part of a command or subcommand that a usage block is rendered from: its name, its
+     * description, its parameters and their default values, which are null for mandatory parameters. Reading the
+     * parameters and their default values once keeps them consistent while the block is written.
+     *
+     * @param name        the command's or subcommand's name
+     * @param description the command's or subcommand's description
+     * @param parameters  the parameters ordered by their name
+     * @param defaults    the parameters' default values
+     */
+    private record Block(String name, String description, Parameter<?>[] parameters, Object[] defaults) {
+
+        /**
+         * Creates the block of the given command or subcommand from its current parameters.
+         *
+         * @param subcommand the command or subcommand
+         * @return the block
+         */
+        private static Block of(Subcommand subcommand) {
+            Parameter<?>[] parameters = subcommand.getParameters().toArray(new Parameter<?>[0]);
+            Object[] defaults = new Object[parameters.length];
+            for (int i = 0; i < parameters.length; i++) {
+                defaults[i] = parameters[i].getValue();
+            }
+            return new Block(subcommand.getName(), subcommand.getDescription(), parameters, defaults);
+        }
+
+        /**
+         * Creates the block of the given compiled command or subcommand from the parameters and default values it was
+         * compiled with.
+         *
+         * @param subcommand the compiled command or subcommand
+         * @return the block
+         */
+        private static Block of(CompiledSubcommand subcommand) {
+            Parameter<?>[] parameters = new Parameter<?>[subcommand.size()];
+            Object[] defaults = new Object[parameters.length];
+            for (int i = 0; i < parameters.length; i++) {
+                parameters[i] = subcommand.getParameter(i);
+                defaults[i] = subcommand.getDefault(i);
+            }
+            return new Block(subcommand.getName(), subcommand.getDescription(), parameters, defaults);
+        }
+    }
+
+    /**
+     * This class writes parts of a block to an output and wraps the lines of the block while they are written. A part
+     * is appended to the current line separated by a space. If the line would then be longer than TERMINAL_WIDTH
+     * characters, the part is written to a new line that is indented by the block's indent. Only the length and the
+     * last character of the current line are tracked, the line itself is never built.
+     */
+    private static final class LineWrapper {
+
+        private final Appendable out;
+        private int indent;
+        private int length;
+        private char last;
+
+        /**
+         * Instantiates a new line wrapper.
+         *
+         * @param out the output the lines are written to
+         */
+        private LineWrapper(Appendable out) {
+            this.out = out;
+        }
+
+        /**
+         * Starts a new block at the beginning of a line. All lines of the block except for the first are indented by
+         * the given indent.
+         *
+         * @param indent the indent in spaces
+         */
+        private void start(int indent) {
+            this.indent = indent;
+            length = 0;
+        }
+
+        /**
+         * Prepares the current line for a part of the given length. If the part does not fit into the current line,
+         * the line is ended and a new, indented line is started. Otherwise a separating space is written if the line
+         * does not already end with a space. The part itself must then be written with the append methods.
+         *
+         * @param partLength the length of the part
+         * @throws IOException if the line cannot be written to the output
+         */
+        private void beginPart(int partLength) throws IOException {
+            if (length + 1 + partLength > TERMINAL_WIDTH) {
+                newLine();
+                spaces(indent);
+            }
+            if (length > 0 && last != ' ') {
+                append(" ");
+            }
+        }
+
+        /**
+         * Writes the given part to the current line.
+         *
+         * @param part the part
+         * @throws IOException if the part cannot be written to the output
+         */
+        private void part(String part) throws IOException {
+            beginPart(part.length());
+            append(part);
+        }
+
+        /**
+         * Writes the words of the given text to the current line, each of them as a separate part. The text is split
+         * into words at single spaces like {@link String#split(String)} does, so consecutive spaces result in empty
+         * words and trailing spaces are ignored.
+         *
+         * @param text the text
+         * @throws IOException if the words cannot be written to the output
+         */
+        private void words(String text) throws IOException {
+            int end = text.length();
+            while (end > 0 && text.charAt(end - 1) == ' ') {
+                end--;
+            }
+            if (end == 0 && !text.isEmpty()) {
+                return;
+            }
+            int from = 0;
+            while (true) {
+                int to = text.indexOf(' ', from);
+                if (to < 0 || to > end) {
+                    to = end;
+                }
+                beginPart(to - from);
+                append(text, from, to);
+                if (to == end) {
+                    return;
+                }
+                from = to + 1;
+            }
+        }
+
+        /**
+         * Writes the given characters to the current line.
+         *
+         * @param chars the characters
+         * @return this line wrapper
+         * @throws IOException if the characters cannot be written to the output
+         */
+        private LineWrapper append(String chars) throws IOException {
+            return append(chars, 0, chars.length());
+        }
+
+        /**
+         * Writes the given region of the given characters to the current line.
+         *
+         * @param chars the characters
+         * @param from  the index of the first character
+         * @param to    the index after the last character
+         * @return this line wrapper
+         * @throws IOException if the characters cannot be written to the output
+         */
+        private LineWrapper append(String chars, int from, int to) throws IOException {
+            if (from < to) {
+                out.append(chars, from, to);
+                length += to - from;
+                last = chars.charAt(to - 1);
+            }
+            return this;
+        }
+
+        /**
+         * Writes the given number of spaces to the current line.
+         *
+         * @param count the number of spaces
+         * @throws IOException if the spaces cannot be written to the output
+         */
+        private void spaces(int count) throws IOException {
+            for (int i = 0; i < count; i++) {
+                out.append(' ');
+            }
+            length += count;
+            if (count > 0) {
+                last = ' ';
+            }
+        }
+
+        /**
+         * Ends the current line.
+         *
+         * @throws IOException if the line separator cannot be written to the output
+         */
+        private void newLine() throws IOException {
+            out.append(System.lineSeparator());
+            length = 0;
+        }
+    }
 }
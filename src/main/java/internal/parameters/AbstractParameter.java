@@ -1,6 +1,6 @@
 /*
- * This file is part of ProDisFuzz, modified on 12.10.24, 23:00.
- * Copyright (c) 2013-2024 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This file is part of ProDisFuzz, modified on 18.10.26, 04:50.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
  * This work is free. You can redistribute it and/or modify it under the
  * terms of the Do What The Fuck You Want To Public License, Version 2,
  * as published by Sam Hocevar. See the COPYING file for more details.
@@ -8,11 +8,15 @@
 
 package internal.parameters;
 
+import internal.corpus.Utf8;
+import main.ErrorCode;
 import main.Parameter;
 import main.ParameterException;
 import main.ParsedParameter;
 
+import java.nio.ByteBuffer;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * This class is an abstract parameter of the command line string used in the command line call. The format of this
@@ -26,6 +30,8 @@ public abstract class AbstractParameter<V> implements Parameter<V>, ParsedParame
     private V value;
     private final String description;
     private final String name;
+    private int ordinal = -1;
+    private final AtomicInteger version = new AtomicInteger();
 
     /**
      * Instantiates a new mandatory parameter with a given description.
@@ -64,6 +70,11 @@ public abstract class AbstractParameter<V> implements Parameter<V>, ParsedParame
         return value;
     }
 
+    @Override
+    public V getCheckedValue() {
+        return value;
+    }
+
     /**
      * Sets the value of the parameter. If the given value cannot be cast to the parameter's type, a
      * ParameterException is thrown.
@@ -71,7 +82,90 @@ public abstract class AbstractParameter<V> implements Parameter<V>, ParsedParame
      * @param value the new parameter's value
      * @throws ParameterException if the given value cannot be cast to the parameter's type
      */
-    public abstract void setValue(String value) throws ParameterException;
+    public void setValue(String value) throws ParameterException {
+        setCastedValue(convert(value));
+    }
+
+    /**
+     * Converts the given value to the parameter's type without changing the parameter itself. If the given value
+     * cannot be cast to the parameter's type, a ParameterException is thrown.
+     *
+     * @param value the value to be converted
+     * @return the converted value
+     * @throws ParameterException if the given value cannot be cast to the parameter's type
+     */
+    public abstract V convert(String value) throws ParameterException;
+
+    /**
+     * Converts the given value to the parameter's type and stores it under the given ordinal in the given sink. If the
+     * given value cannot be cast to the parameter's type, a ParameterException is thrown.
+     *
+     * @param value   the value to be converted
+     * @param sink    the sink the converted value is stored in
+     * @param ordinal the parameter's ordinal
+     * @throws ParameterException if the given value cannot be cast to the parameter's type
+     */
+    public void convert(String value, ValueSink sink, int ordinal) throws ParameterException {
+        sink.setValue(ordinal, convert(value));
+    }
+
+    /**
+     * Converts the given value to the parameter's type and stores it under the given ordinal in the given sink like
+     * {@link #convert(String, ValueSink, int)}, but reports an invalid value by returning false instead of throwing an
+     * exception. Nothing is stored in the sink if the value is invalid.
+     *
+     * @param value   the value to be converted
+     * @param sink    the sink the converted value is stored in
+     * @param ordinal the parameter's ordinal
+     * @return true if the value was converted and stored, false if the value cannot be cast to the parameter's type
+     */
+    public abstract boolean tryConvert(String value, ValueSink sink, int ordinal);
+
+    /**
+     * Converts the value that is the given region of the given string like {@link #tryConvert(String, ValueSink, int)}.
+     * Parameters whose values can be converted without a string of their own override this method to convert the
+     * region in place, all others convert a substring of it.
+     *
+     * @param chars   the string containing the value
+     * @param from    the start index of the value
+     * @param to      the end index of the value
+     * @param sink    the sink the converted value is stored in
+     * @param ordinal the parameter's ordinal
+     * @return true if the value was converted and stored, false if the value cannot be cast to the parameter's type
+     */
+    public boolean tryConvert(String chars, int from, int to, ValueSink sink, int ordinal) {
+        return tryConvert(chars.substring(from, to), sink, ordinal);
+    }
+
+    /**
+     * Converts the value whose UTF-8 encoding is the given region of the given buffer like
+     * {@link #tryConvert(String, ValueSink, int)}. Parameters whose values can be converted without decoding them
+     * override this method to convert the bytes in place, all others decode the region. A value that is not valid
+     * UTF-8 cannot be converted.
+     *
+     * @param bytes   the buffer containing the UTF-8 encoded value
+     * @param from    the index of the value's first byte
+     * @param to      the index after the value's last byte
+     * @param sink    the sink the converted value is stored in
+     * @param ordinal the parameter's ordinal
+     * @return true if the value was converted and stored, false if the value cannot be cast to the parameter's type
+     */
+    public boolean tryConvert(ByteBuffer bytes, int from, int to, ValueSink sink, int ordinal) {
+        String value = Utf8.decode(bytes, from, to);
+        return value != null && tryConvert(value, sink, ordinal);
+    }
+
+    /**
+     * Creates a parameter exception for a value of this parameter that cannot be cast to the parameter's type. The
+     * exception's message is formatted with the given format string and arguments when it is requested.
+     *
+     * @param format the format string of the exception's message
+     * @param args   the arguments referenced by the format specifiers in the format string
+     * @return the parameter exception
+     */
+    ParameterException createException(String format, Object... args) {
+        return new ParameterException(ErrorCode.INVALID_VALUE, -1, name, () -> String.format(format, args), true);
+    }
 
     /**
      * Sets the value of the parameter to the given value.
@@ -82,6 +176,34 @@ public abstract class AbstractParameter<V> implements Parameter<V>, ParsedParame
         this.value = value;
     }
 
+    /**
+     * Returns the ordinal this parameter was given by the last compiled subcommand it is part of. The ordinal is only a
+     * hint, because the same parameter can be part of several subcommands with different ordinals.
+     *
+     * @return the parameter's ordinal or -1 if the parameter is not part of any compiled subcommand
+     */
+    public int getOrdinal() {
+        return ordinal;
+    }
+
+    /**
+     * Returns the version of this parameter, which is incremented whenever the parameter's default value is changed.
+     *
+     * @return the parameter's version
+     */
+    public int getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Sets the ordinal of this parameter in a compiled subcommand.
+     *
+     * @param ordinal the parameter's ordinal
+     */
+    public void setOrdinal(int ordinal) {
+        this.ordinal = ordinal;
+    }
+
     @Override
     public boolean isOptional() {
         return value != null;
@@ -98,6 +220,7 @@ public abstract class AbstractParameter<V> implements Parameter<V>, ParsedParame
             throw new IllegalArgumentException("Default value must not be null");
         }
         this.value = value;
+        version.incrementAndGet();
         return this;
     }
 
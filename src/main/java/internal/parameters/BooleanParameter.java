@@ -1,6 +1,6 @@
 /*
- * This file is part of ProDisFuzz, modified on 30.04.25, 20:01.
- * Copyright (c) 2013-2025 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This file is part of ProDisFuzz, modified on 18.10.26, 04:16.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
  * This work is free. You can redistribute it and/or modify it under the
  * terms of the Do What The Fuck You Want To Public License, Version 2,
  * as published by Sam Hocevar. See the COPYING file for more details.
@@ -8,8 +8,11 @@
 
 package internal.parameters;
 
+import internal.corpus.Utf8;
 import main.ParameterException;
 
+import java.nio.ByteBuffer;
+
 /**
  * This class is a boolean parameter of the command line.
  */
@@ -26,17 +29,64 @@ public class BooleanParameter extends AbstractParameter<Boolean> {
     }
 
     @Override
-    public void setValue(String value) throws ParameterException {
+    public Boolean convert(String value) throws ParameterException {
+        return convertBoolean(value);
+    }
+
+    @Override
+    public void convert(String value, ValueSink sink, int ordinal) throws ParameterException {
+        sink.setBoolean(ordinal, convertBoolean(value));
+    }
+
+    /**
+     * Converts the given value to a boolean without boxing it. If the given value is neither "true" nor "false"
+     * (ignoring the case), a ParameterException is thrown.
+     *
+     * @param value the value to be converted
+     * @return the converted value
+     * @throws ParameterException if the given value cannot be cast to a boolean
+     */
+    public boolean convertBoolean(String value) throws ParameterException {
         if (value == null) {
-            throw new ParameterException("The parameter '%s's value must not be null", getName());
+            throw createException("The parameter '%s's value must not be null", getName());
         }
         if (value.isBlank()) {
-            throw new ParameterException("The parameter '%s's value must not be empty", getName());
+            throw createException("The parameter '%s's value must not be empty", getName());
         }
         if (!value.equalsIgnoreCase("true") && !value.equalsIgnoreCase("false")) {
-            throw new ParameterException("The parameter '%s's value is not a valid boolean", getName());
+            throw createException("The parameter '%s's value is not a valid boolean", getName());
         }
-        setCastedValue(Boolean.valueOf(value.toLowerCase()));
+        return value.equalsIgnoreCase("true");
+    }
+
+    @Override
+    public boolean tryConvert(String value, ValueSink sink, int ordinal) {
+        if (value == null || !value.equalsIgnoreCase("true") && !value.equalsIgnoreCase("false")) {
+            return false;
+        }
+        sink.setBoolean(ordinal, value.equalsIgnoreCase("true"));
+        return true;
+    }
+
+    @Override
+    public boolean tryConvert(String chars, int from, int to, ValueSink sink, int ordinal) {
+        boolean value = to - from == 4 && chars.regionMatches(true, from, "true", 0, 4);
+        if (!value && (to - from != 5 || !chars.regionMatches(true, from, "false", 0, 5))) {
+            return false;
+        }
+        sink.setBoolean(ordinal, value);
+        return true;
+    }
+
+    @Override
+    public boolean tryConvert(ByteBuffer bytes, int from, int to, ValueSink sink, int ordinal) {
+        boolean value = to - from == 4 && matchesIgnoreCase(bytes, from, "true");
+        if (!value && (to - from != 5 || !matchesIgnoreCase(bytes, from, "false"))) {
+            // Some other letters equal the ASCII letters if the case is ignored, so they are decoded first
+            return !Utf8.isAscii(bytes, from, to) && super.tryConvert(bytes, from, to, sink, ordinal);
+        }
+        sink.setBoolean(ordinal, value);
+        return true;
     }
 
     @Override
@@ -50,4 +100,23 @@ public class BooleanParameter extends AbstractParameter<Boolean> {
     public String getAllowedValues() {
         return "false|true";
     }
+
+    /**
+     * Returns whether the bytes at the given index of the given buffer equal the given lower case ASCII word if the
+     * case of ASCII letters is ignored.
+     *
+     * @param bytes the buffer
+     * @param from  the index of the first byte to compare
+     * @param word  the lower case word
+     * @return true if the bytes equal the word
+     */
+    private static boolean matchesIgnoreCase(ByteBuffer bytes, int from, String word) {
+        for (int i = 0; i < word.length(); i++) {
+            // Setting the bit 0x20 turns an upper case ASCII letter into its lower case letter
+            if ((bytes.get(from + i) | 0x20) != word.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
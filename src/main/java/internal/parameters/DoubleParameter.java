@@ -1,6 +1,6 @@
 /*
- * This file is part of ProDisFuzz, modified on 30.04.25, 20:22.
- * Copyright (c) 2013-2025 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This file is part of ProDisFuzz, modified on 18.10.26, 03:37.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
  * This work is free. You can redistribute it and/or modify it under the
  * terms of the Do What The Fuck You Want To Public License, Version 2,
  * as published by Sam Hocevar. See the COPYING file for more details.
@@ -47,26 +47,56 @@ public class DoubleParameter extends AbstractParameter<Double> {
     }
 
     @Override
-    public void setValue(String value) throws ParameterException {
+    public Double convert(String value) throws ParameterException {
+        return convertDouble(value);
+    }
+
+    @Override
+    public void convert(String value, ValueSink sink, int ordinal) throws ParameterException {
+        sink.setDouble(ordinal, convertDouble(value));
+    }
+
+    /**
+     * Converts the given value to a double without boxing it. If the given value is not a valid double or is out of
+     * the parameter's range, a ParameterException is thrown.
+     *
+     * @param value the value to be converted
+     * @return the converted value
+     * @throws ParameterException if the given value cannot be cast to a double
+     */
+    public double convertDouble(String value) throws ParameterException {
         if (value == null) {
-            throw new ParameterException("The parameter '%s's value must not be null", getName());
+            throw createException("The parameter '%s's value must not be null", getName());
         }
         if (value.isBlank()) {
-            throw new ParameterException("The parameter '%s's value must not be empty", getName());
+            throw createException("The parameter '%s's value must not be empty", getName());
         }
-        try {
-            setCastedValue(Double.valueOf(value));
-        } catch (NumberFormatException ignored) {
-            throw new ParameterException("The parameter '%s's value is not a valid double", getName());
+        if (!isDouble(value)) {
+            throw createException("The parameter '%s's value is not a valid double", getName());
         }
-        if (getValue() < minInclusive) {
-            throw new ParameterException("The parameter '%s's value must not be lower than %f", getName(),
+        double result = Double.parseDouble(value);
+        if (result < minInclusive) {
+            throw createException("The parameter '%s's value must not be lower than %f", getName(),
                     minInclusive);
         }
-        if (getValue() > maxInclusive) {
-            throw new ParameterException("The parameter '%s's value must not be greater than %f", getName(),
+        if (result > maxInclusive) {
+            throw createException("The parameter '%s's value must not be greater than %f", getName(),
                     maxInclusive);
         }
+        return result;
+    }
+
+    @Override
+    public boolean tryConvert(String value, ValueSink sink, int ordinal) {
+        if (value == null || value.isBlank() || !isDouble(value)) {
+            return false;
+        }
+        double result = Double.parseDouble(value);
+        if (result < minInclusive || result > maxInclusive) {
+            return false;
+        }
+        sink.setDouble(ordinal, result);
+        return true;
     }
 
     @Override
@@ -83,4 +113,75 @@ public class DoubleParameter extends AbstractParameter<Double> {
         }
         return minInclusive + " to " + maxInclusive;
     }
+
+    /**
+     * Returns whether the given value has the syntax accepted by {@link Double#parseDouble(String)}, so that it can be
+     * parsed without catching an exception. Leading and trailing whitespace is ignored like in the parsing itself.
+     *
+     * @param value the value to be checked
+     * @return true if the value is a valid double
+     */
+    private static boolean isDouble(String value) {
+        String trimmed = value.trim();
+        int length = trimmed.length();
+        int i = 0;
+        if (i < length && (trimmed.charAt(i) == '+' || trimmed.charAt(i) == '-')) {
+            i++;
+        }
+        if (trimmed.startsWith("NaN", i) || trimmed.startsWith("Infinity", i)) {
+            return trimmed.length() - i == (trimmed.charAt(i) == 'N' ? 3 : 8);
+        }
+        boolean hex = trimmed.startsWith("0x", i) || trimmed.startsWith("0X", i);
+        if (hex) {
+            i += 2;
+        }
+        int digits = skipDigits(trimmed, i, hex);
+        boolean mantissa = digits > i;
+        i = digits;
+        if (i < length && trimmed.charAt(i) == '.') {
+            digits = skipDigits(trimmed, i + 1, hex);
+            mantissa |= digits > i + 1;
+            i = digits;
+        }
+        if (!mantissa) {
+            return false;
+        }
+        if (i < length && (hex ? "pP" : "eE").indexOf(trimmed.charAt(i)) >= 0) {
+            i++;
+            if (i < length && (trimmed.charAt(i) == '+' || trimmed.charAt(i) == '-')) {
+                i++;
+            }
+            digits = skipDigits(trimmed, i, false);
+            if (digits == i) {
+                return false;
+            }
+            i = digits;
+        } else if (hex) {
+            return false;
+        }
+        if (i < length && "fFdD".indexOf(trimmed.charAt(i)) >= 0) {
+            i++;
+        }
+        return i == length;
+    }
+
+    /**
+     * Returns the index of the first character at or after the given index that is not an ASCII digit.
+     *
+     * @param value the value to be scanned
+     * @param from  the index of the first character to be scanned
+     * @param hex   true if hexadecimal digits are allowed
+     * @return the index of the first non-digit character or the value's length
+     */
+    private static int skipDigits(String value, int from, boolean hex) {
+        int i = from;
+        while (i < value.length()) {
+            char c = value.charAt(i);
+            if (!(c >= '0' && c <= '9') && !(hex && (c >= 'a' && c <= 'f' || c >= 'A' && c <= 'F'))) {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
 }
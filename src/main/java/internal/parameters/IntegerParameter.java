@@ -1,6 +1,6 @@
 /*
- * This file is part of ProDisFuzz, modified on 30.04.25, 20:56.
- * Copyright (c) 2013-2025 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This file is part of ProDisFuzz, modified on 18.10.26, 04:16.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
  * This work is free. You can redistribute it and/or modify it under the
  * terms of the Do What The Fuck You Want To Public License, Version 2,
  * as published by Sam Hocevar. See the COPYING file for more details.
@@ -8,13 +8,17 @@
 
 package internal.parameters;
 
+import internal.corpus.Utf8;
 import main.ParameterException;
 
+import java.nio.ByteBuffer;
+
 /**
  * This class is an integer parameter of the command line.
  */
 public class IntegerParameter extends AbstractParameter<Integer> {
 
+    private static final long INVALID = Long.MIN_VALUE;
     private final int minInclusive;
     private final int maxInclusive;
 
@@ -47,26 +51,75 @@ public class IntegerParameter extends AbstractParameter<Integer> {
     }
 
     @Override
-    public void setValue(String value) throws ParameterException {
+    public Integer convert(String value) throws ParameterException {
+        return convertInt(value);
+    }
+
+    @Override
+    public void convert(String value, ValueSink sink, int ordinal) throws ParameterException {
+        sink.setInt(ordinal, convertInt(value));
+    }
+
+    /**
+     * Converts the given value to an integer without boxing it. If the given value is not a valid integer or is out of
+     * the parameter's range, a ParameterException is thrown.
+     *
+     * @param value the value to be converted
+     * @return the converted value
+     * @throws ParameterException if the given value cannot be cast to an integer
+     */
+    public int convertInt(String value) throws ParameterException {
         if (value == null) {
-            throw new ParameterException("The parameter '%s's value must not be null", getName());
+            throw createException("The parameter '%s's value must not be null", getName());
         }
         if (value.isBlank()) {
-            throw new ParameterException("The parameter '%s's value must not be empty", getName());
+            throw createException("The parameter '%s's value must not be empty", getName());
         }
-        try {
-            setCastedValue(Integer.valueOf(value));
-        } catch (NumberFormatException ignored) {
-            throw new ParameterException("The parameter '%s's value is not a valid integer", getName());
+        long result = parse(value, 0, value.length());
+        if (result == INVALID) {
+            throw createException("The parameter '%s's value is not a valid integer", getName());
         }
-        if (getValue() < minInclusive) {
-            throw new ParameterException("The parameter '%s's value must not be lower than %d", getName(),
+        if (result < minInclusive) {
+            throw createException("The parameter '%s's value must not be lower than %d", getName(),
                     minInclusive);
         }
-        if (getValue() > maxInclusive) {
-            throw new ParameterException("The parameter '%s's value must not be greater than %d", getName(),
+        if (result > maxInclusive) {
+            throw createException("The parameter '%s's value must not be greater than %d", getName(),
                     maxInclusive);
         }
+        return (int) result;
+    }
+
+    @Override
+    public boolean tryConvert(String value, ValueSink sink, int ordinal) {
+        if (value == null || value.isBlank()) {
+            return false;
+        }
+        return tryConvert(value, 0, value.length(), sink, ordinal);
+    }
+
+    @Override
+    public boolean tryConvert(String chars, int from, int to, ValueSink sink, int ordinal) {
+        long result = parse(chars, from, to);
+        if (result == INVALID || result < minInclusive || result > maxInclusive) {
+            return false;
+        }
+        sink.setInt(ordinal, (int) result);
+        return true;
+    }
+
+    @Override
+    public boolean tryConvert(ByteBuffer bytes, int from, int to, ValueSink sink, int ordinal) {
+        long result = parse(bytes, from, to);
+        if (result == INVALID) {
+            // Digits of other scripts are valid as well, but they are rare enough to be decoded first
+            return !Utf8.isAscii(bytes, from, to) && super.tryConvert(bytes, from, to, sink, ordinal);
+        }
+        if (result < minInclusive || result > maxInclusive) {
+            return false;
+        }
+        sink.setInt(ordinal, (int) result);
+        return true;
     }
 
     @Override
@@ -83,4 +136,70 @@ public class IntegerParameter extends AbstractParameter<Integer> {
         }
         return minInclusive + " to " + maxInclusive;
     }
+
+    /**
+     * Parses the given region of the given string as a signed decimal integer with the same syntax as
+     * {@link Integer#parseInt(String)}, but without throwing an exception for an invalid value.
+     *
+     * @param value the string containing the value to be parsed
+     * @param from  the start index of the value
+     * @param to    the end index of the value
+     * @return the parsed integer or {@link #INVALID} if the value is not a valid integer
+     */
+    private static long parse(String value, int from, int to) {
+        if (from == to) {
+            return INVALID;
+        }
+        boolean negative = value.charAt(from) == '-';
+        int start = negative || value.charAt(from) == '+' ? from + 1 : from;
+        if (start == to) {
+            return INVALID;
+        }
+        long limit = negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE;
+        long result = 0;
+        for (int i = start; i < to; i++) {
+            int digit = Character.digit(value.charAt(i), 10);
+            if (digit < 0) {
+                return INVALID;
+            }
+            result = result * 10 + digit;
+            if (result > limit) {
+                return INVALID;
+            }
+        }
+        return negative ? -result : result;
+    }
+
+    /**
+     * Parses the given region of the given buffer as a signed decimal integer of ASCII digits like
+     * {@link #parse(String, int, int)}.
+     *
+     * @param bytes the buffer containing the value to be parsed
+     * @param from  the index of the value's first byte
+     * @param to    the index after the value's last byte
+     * @return the parsed integer or {@link #INVALID} if the value is not a valid integer of ASCII digits
+     */
+    private static long parse(ByteBuffer bytes, int from, int to) {
+        if (from == to) {
+            return INVALID;
+        }
+        boolean negative = bytes.get(from) == '-';
+        int start = negative || bytes.get(from) == '+' ? from + 1 : from;
+        if (start == to) {
+            return INVALID;
+        }
+        long limit = negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE;
+        long result = 0;
+        for (int i = start; i < to; i++) {
+            int digit = bytes.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return INVALID;
+            }
+            result = result * 10 + digit;
+            if (result > limit) {
+                return INVALID;
+            }
+        }
+        return negative ? -result : result;
+    }
 }
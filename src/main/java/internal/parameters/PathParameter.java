@@ -1,6 +1,6 @@
 /*
- * This file is part of ProDisFuzz, modified on 30.04.25, 20:55.
- * Copyright (c) 2013-2025 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This file is part of ProDisFuzz, modified on 18.10.26, 04:46.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
  * This work is free. You can redistribute it and/or modify it under the
  * terms of the Do What The Fuck You Want To Public License, Version 2,
  * as published by Sam Hocevar. See the COPYING file for more details.
@@ -11,10 +11,13 @@ package internal.parameters;
 import main.ParameterException;
 
 import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 
 /**
- * This class is a path parameter of the command line.
+ * This class is a path parameter of the command line. A relative path is resolved against the working directory of
+ * the process, or against the working directory of the sink it is converted into, like the working directory of a
+ * client that is served by a parser daemon.
  */
 public class PathParameter extends AbstractParameter<Path> {
 
@@ -35,23 +38,65 @@ public class PathParameter extends AbstractParameter<Path> {
     }
 
     @Override
-    public void setValue(String value) throws ParameterException {
+    public Path convert(String value) throws ParameterException {
+        return convert(value, null);
+    }
+
+    /**
+     * Converts the given value like {@link #convert(String)}, but resolves a relative path against the given working
+     * directory.
+     *
+     * @param value            the value to be converted
+     * @param workingDirectory the absolute working directory or null if a relative path shall be resolved against the
+     *                         working directory of the process
+     * @return the converted value
+     * @throws ParameterException if the value cannot be cast to a path that fulfills the parameter's requirements
+     */
+    public Path convert(String value, Path workingDirectory) throws ParameterException {
         if (value == null) {
-            throw new ParameterException("The parameter '%s's value must not be null", getName());
+            throw createException("The parameter '%s's value must not be null", getName());
         }
         if (value.isEmpty()) {
-            throw new ParameterException("The parameter '%s's value must not be empty", getName());
+            throw createException("The parameter '%s's value must not be empty", getName());
+        }
+        Path path;
+        try {
+            path = resolve(value, workingDirectory);
+        } catch (InvalidPathException ignored) {
+            throw createException("The parameter '%s's value is not a valid path", getName());
         }
-        Path path = Path.of(value).toAbsolutePath().normalize();
         if (existing && !Files.exists(path)) {
-            throw new ParameterException("The parameter '%s's value must point to an existing file or directory",
+            throw createException("The parameter '%s's value must point to an existing file or directory",
                     getName());
         }
         if (!existing && Files.exists(path)) {
-            throw new ParameterException("The parameter '%s's value must point to a non-existing file or directory",
+            throw createException("The parameter '%s's value must point to a non-existing file or directory",
                     getName());
         }
-        setCastedValue(path);
+        return path;
+    }
+
+    @Override
+    public void convert(String value, ValueSink sink, int ordinal) throws ParameterException {
+        sink.setValue(ordinal, convert(value, sink.getWorkingDirectory()));
+    }
+
+    @Override
+    public boolean tryConvert(String value, ValueSink sink, int ordinal) {
+        if (value == null || value.isEmpty()) {
+            return false;
+        }
+        Path path;
+        try {
+            path = resolve(value, sink.getWorkingDirectory());
+        } catch (InvalidPathException ignored) {
+            return false;
+        }
+        if (existing != Files.exists(path)) {
+            return false;
+        }
+        sink.setValue(ordinal, path);
+        return true;
     }
 
     @Override
@@ -65,4 +110,17 @@ public class PathParameter extends AbstractParameter<Path> {
     public String getAllowedValues() {
         return "";
     }
+
+    /**
+     * Resolves the given value against the given working directory.
+     *
+     * @param value            the value
+     * @param workingDirectory the absolute working directory or null for the working directory of the process
+     * @return the normalized absolute path
+     * @throws InvalidPathException if the value is not a valid path
+     */
+    private static Path resolve(String value, Path workingDirectory) {
+        Path path = Path.of(value);
+        return (workingDirectory == null ? path : workingDirectory.resolve(path)).toAbsolutePath().normalize();
+    }
 }
@@ -1,6 +1,6 @@
 /*
- * This file is part of ProDisFuzz, modified on 30.04.25, 20:35.
- * Copyright (c) 2013-2025 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This file is part of ProDisFuzz, modified on 18.10.26, 03:37.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
  * This work is free. You can redistribute it and/or modify it under the
  * terms of the Do What The Fuck You Want To Public License, Version 2,
  * as published by Sam Hocevar. See the COPYING file for more details.
@@ -43,19 +43,28 @@ public class StringParameter extends AbstractParameter<String> {
     }
 
     @Override
-    public void setValue(String value) throws ParameterException {
+    public String convert(String value) throws ParameterException {
         if (value == null) {
-            throw new ParameterException("The parameter '%s's value must not be null", getName());
+            throw createException("The parameter '%s's value must not be null", getName());
         }
         if (value.isEmpty()) {
-            throw new ParameterException("The parameter '%s's value must not be empty", getName());
+            throw createException("The parameter '%s's value must not be empty", getName());
         }
         if (!allowedValues.isEmpty() && !allowedValues.contains(value)) {
             String allowed = "{" + String.join(",", allowedValues) + "}";
-            throw new ParameterException("The parameter '%s's value is not one of the allowed values %s", getName(),
+            throw createException("The parameter '%s's value is not one of the allowed values %s", getName(),
                     allowed);
         }
-        setCastedValue(value);
+        return value;
+    }
+
+    @Override
+    public boolean tryConvert(String value, ValueSink sink, int ordinal) {
+        if (value == null || value.isEmpty() || !allowedValues.isEmpty() && !allowedValues.contains(value)) {
+            return false;
+        }
+        sink.setValue(ordinal, value);
+        return true;
     }
 
     @Override
@@ -0,0 +1,60 @@
+/*
+ * This file is part of ProDisFuzz, modified on 18.10.26, 04:46.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package internal.parameters;
+
+import java.nio.file.Path;
+
+/**
+ * This interface represents the target of converted parameter values. Every value is stored under the ordinal of its
+ * parameter. Integer, double and boolean values are handed over without boxing them. The sink also provides the
+ * working directory that relative path values are resolved against.
+ */
+public interface ValueSink {
+
+    /**
+     * Stores the given value of the parameter with the given ordinal.
+     *
+     * @param ordinal the parameter's ordinal
+     * @param value   the parameter's converted value
+     */
+    void setValue(int ordinal, Object value);
+
+    /**
+     * Stores the given integer value of the parameter with the given ordinal.
+     *
+     * @param ordinal the parameter's ordinal
+     * @param value   the parameter's converted value
+     */
+    void setInt(int ordinal, int value);
+
+    /**
+     * Stores the given double value of the parameter with the given ordinal.
+     *
+     * @param ordinal the parameter's ordinal
+     * @param value   the parameter's converted value
+     */
+    void setDouble(int ordinal, double value);
+
+    /**
+     * Stores the given boolean value of the parameter with the given ordinal.
+     *
+     * @param ordinal the parameter's ordinal
+     * @param value   the parameter's converted value
+     */
+    void setBoolean(int ordinal, boolean value);
+
+    /**
+     * Returns the working directory that relative path values are resolved against.
+     *
+     * @return the absolute working directory or null if relative paths are resolved against the working directory of
+     * the process
+     */
+    Path getWorkingDirectory();
+
+}
@@ -0,0 +1,79 @@
+/*
+ * This file is part of ProDisFuzz, modified on 18.10.26, 04:28.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+package internal.parsing;
+
+import main.ParsedChain;
+import main.ParsedCommand;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class is the result of parsing a command line that chains several invocations of the command. The parsed
+ * segments are added in the order of the command line, together with the mark whether a segment is independent of the
+ * segment before it.
+ */
+public class InternalParsedChain implements ParsedChain {
+
+    private final List<ParsedCommand> commands = new ArrayList<>();
+    private final BitSet parallel = new BitSet();
+
+    /**
+     * Appends the given parsed segment to the chain.
+     *
+     * @param command    the parsed segment
+     * @param isParallel true if the segment may be run in parallel with the segment before it
+     * @throws IllegalArgumentException if the segment is the first segment and marked as parallel
+     */
+    public void add(ParsedCommand command, boolean isParallel) {
+        if (isParallel && commands.isEmpty()) {
+            throw new IllegalArgumentException("First segment must not be parallel");
+        }
+        parallel.set(commands.size(), isParallel);
+        commands.add(command);
+    }
+
+    @Override
+    public int size() {
+        return commands.size();
+    }
+
+    @Override
+    public ParsedCommand get(int index) {
+        return commands.get(index);
+    }
+
+    @Override
+    public List<ParsedCommand> getCommands() {
+        return Collections.unmodifiableList(commands);
+    }
+
+    @Override
+    public boolean isParallel(int index) {
+        if (index < 0 || index >= commands.size()) {
+            throw new IndexOutOfBoundsException("Segment " + index + " is out of bounds for " + commands.size() +
+                    " segments");
+        }
+        return parallel.get(index);
+    }
+
+    @Override
+    public List<List<ParsedCommand>> getStages() {
+        List<List<ParsedCommand>> stages = new ArrayList<>();
+        int from = 0;
+        for (int i = 1; i <= commands.size(); i++) {
+            if (i == commands.size() || !parallel.get(i)) {
+                stages.add(Collections.unmodifiableList(commands.subList(from, i)));
+                from = i;
+            }
+        }
+        return Collections.unmodifiableList(stages);
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * This file is part of ProDisFuzz, modified on 18.10.26, 05:04.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package internal.parsing;
+
+import internal.parameters.BooleanParameter;
+import internal.parameters.DoubleParameter;
+import internal.parameters.IntegerParameter;
+import internal.parameters.PathParameter;
+import internal.parameters.StringParameter;
+import internal.schema.CompiledCommand;
+import internal.schema.CompiledSubcommand;
+import main.ParseResult;
+import main.Parameter;
+import main.ParsedColumns;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * This class is the columnar result of parsing many command lines. Every column remembers the compiled command or
+ * subcommand its parameter was last found in and the parameter's ordinal there, so a parsed command line is usually
+ * copied into the columns without looking up any names. A parameter that is shared by several subcommands is looked up
+ * again whenever a command line chose a different subcommand. Integer, double and boolean values are stored unboxed.
+ * The command lines that could not be parsed are stored in a bitmap, and their failures are stored sparsely in the
+ * order of the command lines.
+ */
+public class InternalParsedColumns implements ParsedColumns {
+
+    private final int size;
+    private final Parameter<?>[] parameters;
+    private final CompiledSubcommand[] schemas;
+    private final int[] ordinals;
+    private final Object[] columns;
+    private final long[][] presence;
+    private final long[] failed;
+    private int[] failedRows = new int[8];
+    private ParseResult.Failure[] failures = new ParseResult.Failure[8];
+    private int failureCount;
+
+    /**
+     * Instantiates new, empty columns for the given number of command lines and the given parameters.
+     *
+     * @param compiled   the compiled command the command lines are parsed against
+     * @param size       the number of command lines
+     * @param parameters the parameters that get a column
+     * @throws IllegalArgumentException if a parameter is null, is given more than once or is not part of the command
+     *                                  or one of its subcommands
+     */
+    public InternalParsedColumns(CompiledCommand compiled, int size, Parameter<?>... parameters) {
+        this.size = size;
+        this.parameters = parameters.clone();
+        schemas = new CompiledSubcommand[parameters.length];
+        ordinals = new int[parameters.length];
+        columns = new Object[parameters.length];
+        presence = new long[parameters.length][];
+        failed = new long[(size + 63) >>> 6];
+        for (int i = 0; i < parameters.length; i++) {
+            if (parameters[i] == null) {
+                throw new IllegalArgumentException("Parameter must not be null");
+            }
+            for (int j = 0; j < i; j++) {
+                if (parameters[j] == parameters[i]) {
+                    throw new IllegalArgumentException("Parameter '" + parameters[i].getName() + "' is given twice");
+                }
+            }
+            schemas[i] = compiled.findSchema(parameters[i]);
+            if (schemas[i] == null) {
+                throw new IllegalArgumentException("Unknown parameter '" + parameters[i].getName() + "'");
+            }
+            ordinals[i] = schemas[i].getOrdinal(parameters[i]);
+            columns[i] = switch (parameters[i]) {
+                case IntegerParameter ignored -> new int[size];
+                case DoubleParameter ignored -> new double[size];
+                case BooleanParameter ignored -> new boolean[size];
+                case StringParameter ignored -> new String[size];
+                case PathParameter ignored -> new Path[size];
+                default -> throw new IllegalArgumentException("Parameter was not created by the command line parser");
+            };
+            presence[i] = new long[(size + 63) >>> 6];
+        }
+    }
+
+    /**
+     * Copies the values of the given parsed command line into the columns of the parameters of the command or
+     * subcommand the command line was parsed against. The ordinal of a column's parameter is resolved again if the
+     * command line chose a different schema than the one the column was last resolved against.
+     *
+     * @param row    the index of the command line
+     * @param parsed the parsed command line
+     */
+    public void set(int row, InternalParsedCommand parsed) {
+        InternalParsedSubcommand result = parsed.getSubcommand() == null ? parsed : parsed.getSubcommand();
+        for (int i = 0; i < columns.length; i++) {
+            if (schemas[i] != result.getSchema()) {
+                int ordinal = result.getSchema().getOrdinal(parameters[i]);
+                if (ordinal < 0) {
+                    continue;
+                }
+                schemas[i] = result.getSchema();
+                ordinals[i] = ordinal;
+            }
+            switch (columns[i]) {
+                case int[] ints -> ints[row] = (int) result.getPrimitive(ordinals[i]);
+                case double[] doubles -> doubles[row] = Double.longBitsToDouble(result.getPrimitive(ordinals[i]));
+                case boolean[] booleans -> booleans[row] = result.getPrimitive(ordinals[i]) != 0;
+                case Object[] objects -> objects[row] = result.getValue(ordinals[i]);
+                default -> throw new IllegalStateException("Unsupported column");
+            }
+            presence[i][row >>> 6] |= 1L << row;
+        }
+    }
+
+    /**
+     * Records the failure of the command line with the given index. Failures must be recorded in the order of the
+     * command lines.
+     *
+     * @param row     the index of the command line
+     * @param failure the failure that describes why the command line could not be parsed
+     */
+    public void setFailure(int row, ParseResult.Failure failure) {
+        if (failureCount == failedRows.length) {
+            failedRows = Arrays.copyOf(failedRows, failureCount * 2);
+            failures = Arrays.copyOf(failures, failureCount * 2);
+        }
+        failedRows[failureCount] = row;
+        failures[failureCount] = failure;
+        failureCount++;
+        failed[row >>> 6] |= 1L << row;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isSuccess(int row) {
+        checkRow(row);
+        return (failed[row >>> 6] & 1L << row) == 0;
+    }
+
+    @Override
+    public ParseResult.Failure getFailure(int row) {
+        if (isSuccess(row)) {
+            return null;
+        }
+        return failures[Arrays.binarySearch(failedRows, 0, failureCount, row)];
+    }
+
+    @Override
+    public int getFailureCount() {
+        return failureCount;
+    }
+
+    @Override
+    public long[] getPresence(Parameter<?> parameter) {
+        return presence[getColumn(parameter)];
+    }
+
+    @Override
+    public boolean isPresent(Parameter<?> parameter, int row) {
+        checkRow(row);
+        return (presence[getColumn(parameter)][row >>> 6] & 1L << row) != 0;
+    }
+
+    @Override
+    public int[] getInts(Parameter<Integer> parameter) {
+        return (int[]) columns[getColumn(parameter)];
+    }
+
+    @Override
+    public double[] getDoubles(Parameter<Double> parameter) {
+        return (double[]) columns[getColumn(parameter)];
+    }
+
+    @Override
+    public boolean[] getBooleans(Parameter<Boolean> parameter) {
+        return (boolean[]) columns[getColumn(parameter)];
+    }
+
+    @Override
+    public String[] getStrings(Parameter<String> parameter) {
+        return (String[]) columns[getColumn(parameter)];
+    }
+
+    @Override
+    public Path[] getPaths(Parameter<Path> parameter) {
+        return (Path[]) columns[getColumn(parameter)];
+    }
+
+    /**
+     * Returns the index of the given parameter's column.
+     *
+     * @param parameter the parameter
+     * @return the column's index
+     * @throws IllegalArgumentException if the given parameter has no column
+     */
+    private int getColumn(Parameter<?> parameter) {
+        for (int i = 0; i < parameters.length; i++) {
+            if (parameters[i] == parameter) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Parameter has no column");
+    }
+
+    /**
+     * Checks that the given index of a command line is valid.
+     *
+     * @param row the index of the command line
+     * @throws IndexOutOfBoundsException if the index is negative or not less than the number of command lines
+     */
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " is out of bounds for " + size + " rows");
+        }
+    }
+}
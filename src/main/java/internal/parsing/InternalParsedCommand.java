@@ -0,0 +1,51 @@
+/*
+ * This file is part of ProDisFuzz, modified on 18.10.26, 04:46.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package internal.parsing;
+
+import internal.schema.CompiledCommand;
+import main.ParsedCommand;
+
+import java.nio.file.Path;
+
+/**
+ * This class is the result of parsing a command line. Depending on the compiled command, it either holds the values of
+ * the command's own parameters or the result of the parsed subcommand.
+ */
+public class InternalParsedCommand extends InternalParsedSubcommand implements ParsedCommand {
+
+    private final InternalParsedSubcommand subcommand;
+
+    /**
+     * Instantiates a new parse result for the given compiled command and the given parsed subcommand.
+     *
+     * @param schema     the compiled command
+     * @param subcommand the parsed subcommand or null if the command has no subcommands
+     */
+    public InternalParsedCommand(CompiledCommand schema, InternalParsedSubcommand subcommand) {
+        this(schema, subcommand, null);
+    }
+
+    /**
+     * Instantiates a new parse result for the given compiled command and the given parsed subcommand that resolves
+     * relative paths of the command's own parameters against the given working directory.
+     *
+     * @param schema           the compiled command
+     * @param subcommand       the parsed subcommand or null if the command has no subcommands
+     * @param workingDirectory the absolute working directory or null for the working directory of the process
+     */
+    public InternalParsedCommand(CompiledCommand schema, InternalParsedSubcommand subcommand, Path workingDirectory) {
+        super(schema, workingDirectory);
+        this.subcommand = subcommand;
+    }
+
+    @Override
+    public InternalParsedSubcommand getSubcommand() {
+        return subcommand;
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * This file is part of ProDisFuzz, modified on 18.10.26, 03:32.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package internal.parsing;
+
+import main.ParameterException;
+import main.ParsedParameter;
+
+/**
+ * This class is a parameter that was parsed from the user-provided command line string. It is a simple view on a
+ * parameter of a single parse result, so a value that is converted lazily is converted on the first access through any
+ * view and is then shared by all views.
+ *
+ * @param <V> the class of the parameter's value
+ */
+public class InternalParsedParameter<V> implements ParsedParameter<V> {
+
+    private final InternalParsedSubcommand result;
+    private final int ordinal;
+
+    /**
+     * Instantiates a new parsed parameter.
+     *
+     * @param result  the parse result the parameter belongs to
+     * @param ordinal the parameter's ordinal
+     */
+    public InternalParsedParameter(InternalParsedSubcommand result, int ordinal) {
+        this.result = result;
+        this.ordinal = ordinal;
+    }
+
+    @Override
+    public String getName() {
+        return result.getSchema().getParameter(ordinal).getName();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V getValue() {
+        return (V) result.getValue(ordinal);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V getCheckedValue() throws ParameterException {
+        return (V) result.getCheckedValue(ordinal);
+    }
+}
@@ -0,0 +1,410 @@
+/*
+ * This file is part of ProDisFuzz, modified on 18.10.26, 04:46.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package internal.parsing;
+
+import internal.parameters.*;
+import internal.schema.CompiledSubcommand;
+import main.Parameter;
+import main.ParameterException;
+import main.ParsedParameter;
+import main.ParsedSubcommand;
+
+import java.nio.file.Path;
+
+/**
+ * This class is the result of parsing the parameters of a subcommand. It shares the immutable compiled subcommand with
+ * all other results and only stores the values that were provided by the user in the slots the compiled subcommand
+ * assigned to the parameters. Integer, double and boolean values are stored unboxed in a primitive array that also
+ * holds a bitmap of the parameters that were provided by the user, all other values are stored in a reference array
+ * that only has as many elements as there are such parameters. Values that were not provided by the user are taken
+ * from the compiled subcommand's default values. If the command line is parsed with lazy conversion, the user-provided
+ * strings are recorded instead and are converted into the slots on first access. The conversion and the subsequent
+ * read are done while holding this result's lock, so a lazily converted result can be read by several threads at once.
+ * A result that is converted during parsing is never changed after parsing and is read without locking. Relative path
+ * values are resolved against the result's working directory, also when they are converted lazily.
+ */
+public class InternalParsedSubcommand implements ParsedSubcommand, ValueSink {
+
+    private static final Object[] NO_REFERENCES = {};
+    private static final long[] NO_PRIMITIVES = {};
+    private final CompiledSubcommand schema;
+    private final Object[] references;
+    private final long[] primitives;
+    private final Path workingDirectory;
+    private String[] raw;
+    private int mandatoryCount;
+
+    /**
+     * Instantiates a new, empty parse result for the given compiled subcommand that resolves relative paths against
+     * the working directory of the process.
+     *
+     * @param schema the compiled subcommand
+     */
+    public InternalParsedSubcommand(CompiledSubcommand schema) {
+        this(schema, null);
+    }
+
+    /**
+     * Instantiates a new, empty parse result for the given compiled subcommand that resolves relative paths against
+     * the given working directory.
+     *
+     * @param schema           the compiled subcommand
+     * @param workingDirectory the absolute working directory or null for the working directory of the process
+     */
+    public InternalParsedSubcommand(CompiledSubcommand schema, Path workingDirectory) {
+        this.schema = schema;
+        this.workingDirectory = workingDirectory;
+        int referenceCount = schema.getReferenceCount();
+        int primitiveCount = schema.size() == 0 ? 0 : schema.getPrimitiveCount() + ((schema.size() + 63) >>> 6);
+        references = referenceCount == 0 ? NO_REFERENCES : new Object[referenceCount];
+        primitives = primitiveCount == 0 ? NO_PRIMITIVES : new long[primitiveCount];
+    }
+
+    /**
+     * Returns the compiled subcommand of this result.
+     *
+     * @return the compiled subcommand
+     */
+    public CompiledSubcommand getSchema() {
+        return schema;
+    }
+
+    @Override
+    public void setValue(int ordinal, Object value) {
+        int slot = schema.getSlot(ordinal);
+        if (slot >= 0) {
+            setPresent(ordinal);
+            references[slot] = value;
+            return;
+        }
+        switch (value) {
+            case Integer integer -> setInt(ordinal, integer);
+            case Double doubleValue -> setDouble(ordinal, doubleValue);
+            case Boolean booleanValue -> setBoolean(ordinal, booleanValue);
+            default -> throw new IllegalArgumentException("Value has no primitive representation");
+        }
+    }
+
+    @Override
+    public void setInt(int ordinal, int value) {
+        setPrimitive(ordinal, value);
+    }
+
+    @Override
+    public void setDouble(int ordinal, double value) {
+        setPrimitive(ordinal, Double.doubleToRawLongBits(value));
+    }
+
+    @Override
+    public void setBoolean(int ordinal, boolean value) {
+        setPrimitive(ordinal, value ? 1 : 0);
+    }
+
+    @Override
+    public Path getWorkingDirectory() {
+        return workingDirectory;
+    }
+
+    /**
+     * Records the user-provided string of the parameter with the given ordinal without converting it. The string is
+     * converted to the parameter's type on the first access to the parameter's value.
+     *
+     * @param ordinal the parameter's ordinal
+     * @param value   the user-provided string
+     */
+    public void setRaw(int ordinal, String value) {
+        if (raw == null) {
+            raw = new String[schema.size()];
+        }
+        setPresent(ordinal);
+        raw[ordinal] = value;
+    }
+
+    /**
+     * Returns the value of the parameter with the given ordinal. If the user did not provide a value, the parameter's
+     * default value is returned. Integer, double and boolean values are boxed.
+     *
+     * @param ordinal the parameter's ordinal
+     * @return the parameter's value or null if the parameter is mandatory and was not provided by the user
+     * @throws IllegalStateException if the value is converted lazily and cannot be cast to the parameter's type
+     */
+    public Object getValue(int ordinal) {
+        if (raw == null) {
+            return getResolvedValue(ordinal);
+        }
+        synchronized (this) {
+            resolveUnchecked(ordinal);
+            return getResolvedValue(ordinal);
+        }
+    }
+
+    /**
+     * Returns the value of the parameter with the given ordinal. If the user did not provide a value, the parameter's
+     * default value is returned. Integer, double and boolean values are boxed.
+     *
+     * @param ordinal the parameter's ordinal
+     * @return the parameter's value or null if the parameter is mandatory and was not provided by the user
+     * @throws ParameterException if the value is converted lazily and cannot be cast to the parameter's type
+     */
+    public Object getCheckedValue(int ordinal) throws ParameterException {
+        if (raw == null) {
+            return getResolvedValue(ordinal);
+        }
+        synchronized (this) {
+            resolve(ordinal);
+            return getResolvedValue(ordinal);
+        }
+    }
+
+    /**
+     * Returns the name of the first mandatory parameter, ordered by name, that was not provided by the user.
+     *
+     * @return the name of the missing parameter or null if all mandatory parameters are provided
+     */
+    public String getMissingParameter() {
+        if (mandatoryCount == schema.getMandatoryCount()) {
+            return null;
+        }
+        for (int i = 0; i < schema.size(); i++) {
+            if (!isPresent(i) && schema.isMandatory(i)) {
+                return schema.getParameter(i).getName();
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public ParsedParameter<Integer> getIntegerParameter(String name) {
+        return getParameter(name, IntegerParameter.class);
+    }
+
+    @Override
+    public ParsedParameter<Boolean> getBooleanParameter(String name) {
+        return getParameter(name, BooleanParameter.class);
+    }
+
+    @Override
+    public ParsedParameter<String> getStringParameter(String name) {
+        return getParameter(name, StringParameter.class);
+    }
+
+    @Override
+    public ParsedParameter<Path> getPathParameter(String name) {
+        return getParameter(name, PathParameter.class);
+    }
+
+    @Override
+    public ParsedParameter<Double> getDoubleParameter(String name) {
+        return getParameter(name, DoubleParameter.class);
+    }
+
+    @Override
+    public int getInt(String name) {
+        return (int) getPrimitive(name, IntegerParameter.class);
+    }
+
+    @Override
+    public double getDouble(String name) {
+        return Double.longBitsToDouble(getPrimitive(name, DoubleParameter.class));
+    }
+
+    @Override
+    public boolean getBoolean(String name) {
+        return getPrimitive(name, BooleanParameter.class) != 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <V> V get(Parameter<V> parameter) {
+        return (V) getValue(getOrdinal(parameter, AbstractParameter.class));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <V> V getChecked(Parameter<V> parameter) throws ParameterException {
+        return (V) getCheckedValue(getOrdinal(parameter, AbstractParameter.class));
+    }
+
+    @Override
+    public int getInt(Parameter<Integer> parameter) {
+        return (int) getPrimitive(getOrdinal(parameter, IntegerParameter.class));
+    }
+
+    @Override
+    public double getDouble(Parameter<Double> parameter) {
+        return Double.longBitsToDouble(getPrimitive(getOrdinal(parameter, DoubleParameter.class)));
+    }
+
+    @Override
+    public boolean getBoolean(Parameter<Boolean> parameter) {
+        return getPrimitive(getOrdinal(parameter, BooleanParameter.class)) != 0;
+    }
+
+    @Override
+    public String getName() {
+        return schema.getName();
+    }
+
+    /**
+     * Returns the value of the parameter with the given ordinal, assuming that a lazily converted value is already
+     * converted.
+     *
+     * @param ordinal the parameter's ordinal
+     * @return the parameter's value or null if the parameter is mandatory and was not provided by the user
+     */
+    private Object getResolvedValue(int ordinal) {
+        if (!isPresent(ordinal)) {
+            return schema.getDefault(ordinal);
+        }
+        int slot = schema.getSlot(ordinal);
+        if (slot >= 0) {
+            return references[slot];
+        }
+        return switch (schema.getParameter(ordinal)) {
+            case IntegerParameter ignored -> (int) primitives[~slot];
+            case DoubleParameter ignored -> Double.longBitsToDouble(primitives[~slot]);
+            case BooleanParameter ignored -> primitives[~slot] != 0;
+            default -> throw new IllegalStateException("Parameter has no primitive value");
+        };
+    }
+
+    /**
+     * Converts the recorded user-provided string of the parameter with the given ordinal if the parameter's value is
+     * converted lazily and has not been converted yet. The converted value is cached in the parameter's slot.
+     *
+     * @param ordinal the parameter's ordinal
+     * @throws ParameterException if the recorded string cannot be cast to the parameter's type
+     */
+    private void resolve(int ordinal) throws ParameterException {
+        if (raw == null || raw[ordinal] == null) {
+            return;
+        }
+        schema.getParameter(ordinal).convert(raw[ordinal], this, ordinal);
+        raw[ordinal] = null;
+    }
+
+    /**
+     * Converts the recorded user-provided string of the parameter with the given ordinal like {@link #resolve(int)},
+     * but reports a failed conversion as an unchecked exception.
+     *
+     * @param ordinal the parameter's ordinal
+     * @throws IllegalStateException if the recorded string cannot be cast to the parameter's type
+     */
+    private void resolveUnchecked(int ordinal) {
+        try {
+            resolve(ordinal);
+        } catch (ParameterException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Stores the given primitive representation of the value of the parameter with the given ordinal.
+     *
+     * @param ordinal the parameter's ordinal
+     * @param value   the parameter's value as its numeric value or its raw long bits
+     */
+    private void setPrimitive(int ordinal, long value) {
+        setPresent(ordinal);
+        primitives[~schema.getSlot(ordinal)] = value;
+    }
+
+    /**
+     * Marks the parameter with the given ordinal as provided by the user.
+     *
+     * @param ordinal the parameter's ordinal
+     */
+    private void setPresent(int ordinal) {
+        int word = schema.getPrimitiveCount() + (ordinal >>> 6);
+        long bit = 1L << ordinal;
+        if ((primitives[word] & bit) == 0) {
+            primitives[word] |= bit;
+            if (schema.isMandatory(ordinal)) {
+                mandatoryCount++;
+            }
+        }
+    }
+
+    /**
+     * Returns whether the user provided a value for the parameter with the given ordinal.
+     *
+     * @param ordinal the parameter's ordinal
+     * @return true if the parameter was provided by the user
+     */
+    private boolean isPresent(int ordinal) {
+        return (primitives[schema.getPrimitiveCount() + (ordinal >>> 6)] & 1L << ordinal) != 0;
+    }
+
+    /**
+     * Returns the primitive representation of the value of the parameter with the given name if the parameter is of
+     * the given type. If the user did not provide a value, the parameter's default value is returned.
+     *
+     * @param name the parameter's name
+     * @param type the parameter's type
+     * @return the parameter's value as its numeric value or its raw long bits
+     * @throws IllegalArgumentException if no parameter with the given name and type is found
+     */
+    private long getPrimitive(String name, Class<? extends AbstractParameter<?>> type) {
+        int ordinal = schema.getOrdinal(name);
+        if (ordinal < 0 || !type.isInstance(schema.getParameter(ordinal))) {
+            throw new IllegalArgumentException("Unknown parameter '" + name + "'");
+        }
+        return getPrimitive(ordinal);
+    }
+
+    /**
+     * Returns the primitive representation of the value of the parameter with the given ordinal. If the user did not
+     * provide a value, the parameter's default value is returned.
+     *
+     * @param ordinal the parameter's ordinal
+     * @return the parameter's value as its numeric value or its raw long bits
+     */
+    long getPrimitive(int ordinal) {
+        if (raw == null) {
+            return isPresent(ordinal) ? primitives[~schema.getSlot(ordinal)] : schema.getPrimitiveDefault(ordinal);
+        }
+        synchronized (this) {
+            resolveUnchecked(ordinal);
+            return isPresent(ordinal) ? primitives[~schema.getSlot(ordinal)] : schema.getPrimitiveDefault(ordinal);
+        }
+    }
+
+    /**
+     * Returns the ordinal of the given parameter if the parameter is of the given type.
+     *
+     * @param parameter the parameter
+     * @param type      the parameter's type
+     * @return the parameter's ordinal
+     * @throws IllegalArgumentException if the parameter is not part of the subcommand or is not of the given type
+     */
+    private int getOrdinal(Parameter<?> parameter, Class<?> type) {
+        int result = schema.getOrdinal(parameter);
+        if (result < 0 || !type.isInstance(parameter)) {
+            throw new IllegalArgumentException(
+                    "Unknown parameter '" + (parameter == null ? null : parameter.getName()) + "'");
+        }
+        return result;
+    }
+
+    /**
+     * Returns the parsed parameter with the given name if the parameter is of the given type.
+     *
+     * @param name the parameter's name
+     * @param type the parameter's type
+     * @param <V>  the class of the parameter's value
+     * @return the parsed parameter or null if no parameter with the given name and type is found
+     */
+    private <V> ParsedParameter<V> getParameter(String name, Class<? extends AbstractParameter<V>> type) {
+        int ordinal = schema.getOrdinal(name);
+        if (ordinal < 0 || !type.isInstance(schema.getParameter(ordinal))) {
+            return null;
+        }
+        return new InternalParsedParameter<>(this, ordinal);
+    }
+}
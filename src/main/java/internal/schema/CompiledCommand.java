@@ -0,0 +1,125 @@
+/*
+ * This file is part of ProDisFuzz, modified on 18.10.26, 05:08.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package internal.schema;
+
+import internal.commands.InternalCommand;
+import internal.commands.InternalSubcommand;
+import main.Parameter;
+import main.Subcommand;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * This class is the compiled, immutable form of a command. Besides the command's own parameters it holds the compiled
+ * forms of all of the command's subcommands.
+ */
+public class CompiledCommand extends CompiledSubcommand {
+
+    private final InternalCommand source;
+    private final CompiledSubcommand[] subcommands;
+    private final NameIndex subcommandIndex;
+
+    /**
+     * Instantiates a new compiled command. The parameters and subcommands of the given command are copied, so later
+     * changes to the command are not visible in the compiled command.
+     *
+     * @param command the command to be compiled
+     */
+    public CompiledCommand(InternalCommand command) {
+        super(command);
+        source = command;
+        // Subcommands may be added concurrently, so the array and the index are built from the same snapshot
+        Set<Subcommand> snapshot = command.getSubcommands();
+        subcommands = snapshot.stream().map(subcommand -> new CompiledSubcommand((InternalSubcommand) subcommand))
+                .toArray(CompiledSubcommand[]::new);
+        subcommandIndex = new NameIndex(snapshot.stream().map(Subcommand::getName).toArray(String[]::new));
+    }
+
+    @Override
+    public InternalCommand getSource() {
+        return source;
+    }
+
+    /**
+     * Returns whether the command has subcommands. If so, the user must provide one of them on the command line.
+     *
+     * @return true if the command has at least one subcommand
+     */
+    public boolean hasSubcommands() {
+        return subcommands.length > 0;
+    }
+
+    /**
+     * Returns the compiled subcommands of the command in the order of the command's subcommands.
+     *
+     * @return the unmodifiable list of compiled subcommands
+     */
+    public List<CompiledSubcommand> getSubcommands() {
+        return List.of(subcommands);
+    }
+
+    /**
+     * Returns the compiled subcommand with the given name.
+     *
+     * @param name the subcommand's name
+     * @return the compiled subcommand or null if a subcommand with the given name cannot be found
+     */
+    public CompiledSubcommand getSubcommand(String name) {
+        int ordinal = subcommandIndex.find(name);
+        return ordinal < 0 ? null : subcommands[ordinal];
+    }
+
+    /**
+     * Returns the compiled subcommand whose name is the given region of the given string.
+     *
+     * @param chars the string containing the subcommand's name
+     * @param from  the start index of the name
+     * @param to    the end index of the name
+     * @return the compiled subcommand or null if a subcommand with the given name cannot be found
+     */
+    public CompiledSubcommand getSubcommand(String chars, int from, int to) {
+        int ordinal = subcommandIndex.find(chars, from, to);
+        return ordinal < 0 ? null : subcommands[ordinal];
+    }
+
+    /**
+     * Returns the compiled subcommand whose UTF-8 encoded name is the given region of the given buffer.
+     *
+     * @param bytes the buffer containing the subcommand's UTF-8 encoded name
+     * @param from  the index of the name's first byte
+     * @param to    the index after the name's last byte
+     * @return the compiled subcommand or null if a subcommand with the given name cannot be found
+     */
+    public CompiledSubcommand getSubcommand(ByteBuffer bytes, int from, int to) {
+        int ordinal = subcommandIndex.find(bytes, from, to);
+        return ordinal < 0 ? null : subcommands[ordinal];
+    }
+
+    /**
+     * Returns the compiled form of the command or subcommand that the given parameter was added to. The parameter must
+     * be the same instance that was added, a different parameter with the same name is not found.
+     *
+     * @param parameter the parameter
+     * @return this compiled command, one of its compiled subcommands, or null if the parameter is not part of any of
+     *         them
+     */
+    public CompiledSubcommand findSchema(Parameter<?> parameter) {
+        if (getOrdinal(parameter) >= 0) {
+            return this;
+        }
+        for (CompiledSubcommand subcommand : subcommands) {
+            if (subcommand.getOrdinal(parameter) >= 0) {
+                return subcommand;
+            }
+        }
+        return null;
+    }
+}
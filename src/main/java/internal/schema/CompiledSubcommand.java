@@ -0,0 +1,238 @@
+/*
+ * This file is part of ProDisFuzz, modified on 18.10.26, 05:08.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package internal.schema;
+
+import internal.commands.InternalSubcommand;
+import internal.parameters.AbstractParameter;
+import internal.parameters.BooleanParameter;
+import internal.parameters.DoubleParameter;
+import internal.parameters.IntegerParameter;
+import main.Parameter;
+
+/**
+ * This class is the compiled, immutable form of a subcommand. It is created once from a subcommand and is then shared
+ * by all parse calls, which only write their own values into a per-parse result. Every parameter of the subcommand is
+ * identified by its ordinal, which is the parameter's position in the list of parameters ordered by their name. In
+ * addition, every parameter is assigned a slot in a per-parse result: integer, double and boolean parameters get a slot
+ * in a primitive array, all other parameters get a slot in a reference array.
+ */
+public class CompiledSubcommand {
+
+    private final InternalSubcommand source;
+    private final AbstractParameter<?>[] parameters;
+    private final Object[] defaults;
+    private final long[] primitiveDefaults;
+    private final int[] slots;
+    private final int primitiveCount;
+    private final NameIndex ordinals;
+    private final int mandatoryCount;
+
+    /**
+     * Instantiates a new compiled subcommand. The parameters and default values of the given subcommand are copied, so
+     * later changes to the subcommand are not visible in the compiled subcommand.
+     *
+     * @param subcommand the subcommand to be compiled
+     */
+    public CompiledSubcommand(InternalSubcommand subcommand) {
+        source = subcommand;
+        parameters = subcommand.getParameters().stream().map(parameter -> (AbstractParameter<?>) parameter)
+                .toArray(AbstractParameter<?>[]::new);
+        defaults = new Object[parameters.length];
+        primitiveDefaults = new long[parameters.length];
+        slots = new int[parameters.length];
+        String[] names = new String[parameters.length];
+        int mandatory = 0;
+        int primitives = 0;
+        int references = 0;
+        for (int i = 0; i < parameters.length; i++) {
+            slots[i] = isPrimitive(parameters[i]) ? ~primitives++ : references++;
+            defaults[i] = parameters[i].getValue();
+            if (defaults[i] == null) {
+                mandatory++;
+            } else {
+                primitiveDefaults[i] = switch (parameters[i]) {
+                    case IntegerParameter ignored -> (Integer) defaults[i];
+                    case DoubleParameter ignored -> Double.doubleToRawLongBits((Double) defaults[i]);
+                    case BooleanParameter ignored -> (Boolean) defaults[i] ? 1 : 0;
+                    default -> 0;
+                };
+            }
+            names[i] = parameters[i].getName();
+            parameters[i].setOrdinal(i);
+        }
+        ordinals = new NameIndex(names);
+        mandatoryCount = mandatory;
+        primitiveCount = primitives;
+    }
+
+    /**
+     * Returns the subcommand this compiled subcommand was created from.
+     *
+     * @return the source subcommand
+     */
+    public InternalSubcommand getSource() {
+        return source;
+    }
+
+    /**
+     * Returns the name of the subcommand.
+     *
+     * @return the subcommand's name
+     */
+    public String getName() {
+        return source.getName();
+    }
+
+    /**
+     * Returns the description of the subcommand.
+     *
+     * @return the subcommand's description
+     */
+    public String getDescription() {
+        return source.getDescription();
+    }
+
+    /**
+     * Returns the number of parameters of this subcommand.
+     *
+     * @return the number of parameters
+     */
+    public int size() {
+        return parameters.length;
+    }
+
+    /**
+     * Returns the ordinal of the parameter with the given name.
+     *
+     * @param name the parameter's name
+     * @return the parameter's ordinal or -1 if there is no parameter with the given name
+     */
+    public int getOrdinal(String name) {
+        return ordinals.find(name);
+    }
+
+    /**
+     * Returns the ordinal of the given parameter. The parameter must be the same instance that was added to the
+     * subcommand, a different parameter with the same name is not found. Usually the ordinal is resolved through the
+     * hint stored in the parameter without comparing or hashing names.
+     *
+     * @param parameter the parameter
+     * @return the parameter's ordinal or -1 if the parameter is not part of this subcommand
+     */
+    public int getOrdinal(Parameter<?> parameter) {
+        if (!(parameter instanceof AbstractParameter<?> abstractParameter)) {
+            return -1;
+        }
+        int result = abstractParameter.getOrdinal();
+        if (result >= 0 && result < parameters.length && parameters[result] == parameter) {
+            return result;
+        }
+        result = getOrdinal(parameter.getName());
+        return result >= 0 && parameters[result] == parameter ? result : -1;
+    }
+
+    /**
+     * Returns the index of the names of this subcommand's parameters.
+     *
+     * @return the parameters' name index
+     */
+    public NameIndex getNameIndex() {
+        return ordinals;
+    }
+
+    /**
+     * Returns the parameter with the given ordinal.
+     *
+     * @param ordinal the parameter's ordinal
+     * @return the parameter
+     */
+    public AbstractParameter<?> getParameter(int ordinal) {
+        return parameters[ordinal];
+    }
+
+    /**
+     * Returns the default value of the parameter with the given ordinal as it was when this subcommand was compiled.
+     *
+     * @param ordinal the parameter's ordinal
+     * @return the parameter's default value or null if the parameter is mandatory
+     */
+    public Object getDefault(int ordinal) {
+        return defaults[ordinal];
+    }
+
+    /**
+     * Returns the default value of the parameter with the given ordinal in its primitive representation. Integer and
+     * boolean values are stored as their numeric value (1 for true), double values are stored as their raw long bits.
+     *
+     * @param ordinal the parameter's ordinal
+     * @return the parameter's primitive default value or 0 if the parameter is mandatory or has no primitive value
+     */
+    public long getPrimitiveDefault(int ordinal) {
+        return primitiveDefaults[ordinal];
+    }
+
+    /**
+     * Returns whether the parameter with the given ordinal is mandatory, that is it has no default value.
+     *
+     * @param ordinal the parameter's ordinal
+     * @return true if the parameter is mandatory
+     */
+    public boolean isMandatory(int ordinal) {
+        return defaults[ordinal] == null;
+    }
+
+    /**
+     * Returns the number of mandatory parameters of this subcommand.
+     *
+     * @return the number of mandatory parameters
+     */
+    public int getMandatoryCount() {
+        return mandatoryCount;
+    }
+
+    /**
+     * Returns the slot of the parameter with the given ordinal in a per-parse result. A non-negative slot is an index
+     * in the reference array, a negative slot is the bitwise complement of an index in the primitive array.
+     *
+     * @param ordinal the parameter's ordinal
+     * @return the parameter's slot
+     */
+    public int getSlot(int ordinal) {
+        return slots[ordinal];
+    }
+
+    /**
+     * Returns the number of parameters whose values are stored in their primitive representation.
+     *
+     * @return the number of primitive slots
+     */
+    public int getPrimitiveCount() {
+        return primitiveCount;
+    }
+
+    /**
+     * Returns the number of parameters whose values are stored as references.
+     *
+     * @return the number of reference slots
+     */
+    public int getReferenceCount() {
+        return parameters.length - primitiveCount;
+    }
+
+    /**
+     * Returns whether the given parameter's value is stored in its primitive representation.
+     *
+     * @param parameter the parameter
+     * @return true if the parameter is an integer, double or boolean parameter
+     */
+    private static boolean isPrimitive(AbstractParameter<?> parameter) {
+        return parameter instanceof IntegerParameter || parameter instanceof DoubleParameter ||
+                parameter instanceof BooleanParameter;
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * This file is part of ProDisFuzz, modified on 18.10.26, 04:16.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package internal.schema;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * This class is an immutable index that maps names to their position in the array the index was built from. It is an
+ * open-addressing hash table with linear probing that is filled at most to half of its capacity, so a lookup resolves
+ * in constant time. Names can be looked up as a region of a character sequence, which avoids creating substrings for
+ * keys like "--name". Names can also be looked up as a region of UTF-8 encoded bytes: a second table holds the UTF-8
+ * encoding of every name, so the bytes are matched without decoding them.
+ */
+public class NameIndex {
+
+    private final String[] names;
+    private final int[] hashes;
+    private final int[] ordinals;
+    private final byte[][] encodedNames;
+    private final int[] encodedHashes;
+    private final int[] encodedOrdinals;
+    private final int mask;
+
+    /**
+     * Instantiates a new name index. The ordinal of every name is its position in the given array.
+     *
+     * @param names the distinct names to be indexed
+     */
+    public NameIndex(String... names) {
+        int capacity = 2;
+        while (capacity < names.length * 2) {
+            capacity <<= 1;
+        }
+        this.names = new String[capacity];
+        hashes = new int[capacity];
+        ordinals = new int[capacity];
+        mask = capacity - 1;
+        for (int i = 0; i < names.length; i++) {
+            int hash = hash(names[i], 0, names[i].length());
+            int slot = hash & mask;
+            while (this.names[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            this.names[slot] = names[i];
+            hashes[slot] = hash;
+            ordinals[slot] = i;
+        }
+        encodedNames = new byte[capacity][];
+        encodedHashes = new int[capacity];
+        encodedOrdinals = new int[capacity];
+        for (int i = 0; i < names.length; i++) {
+            byte[] encoded = names[i].getBytes(StandardCharsets.UTF_8);
+            int hash = hash(ByteBuffer.wrap(encoded), 0, encoded.length);
+            int slot = hash & mask;
+            while (encodedNames[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            encodedNames[slot] = encoded;
+            encodedHashes[slot] = hash;
+            encodedOrdinals[slot] = i;
+        }
+    }
+
+    /**
+     * Returns the ordinal of the given name.
+     *
+     * @param name the name
+     * @return the name's ordinal or -1 if the name is not indexed
+     */
+    public int find(CharSequence name) {
+        return find(name, 0, name.length());
+    }
+
+    /**
+     * Returns the ordinal of the name that is the region of the given character sequence from the given start index
+     * (inclusive) to the given end index (exclusive).
+     *
+     * @param chars the character sequence containing the name
+     * @param from  the start index of the name
+     * @param to    the end index of the name
+     * @return the name's ordinal or -1 if the name is not indexed
+     */
+    public int find(CharSequence chars, int from, int to) {
+        int hash = hash(chars, from, to);
+        int slot = hash & mask;
+        String candidate;
+        while ((candidate = names[slot]) != null) {
+            if (hashes[slot] == hash && matches(candidate, chars, from, to)) {
+                return ordinals[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the ordinal of the name whose UTF-8 encoding is the given region of the given buffer. The buffer's
+     * position and limit are neither read nor changed.
+     *
+     * @param bytes the buffer containing the UTF-8 encoded name
+     * @param from  the index of the name's first byte
+     * @param to    the index after the name's last byte
+     * @return the name's ordinal or -1 if the name is not indexed
+     */
+    public int find(ByteBuffer bytes, int from, int to) {
+        int hash = hash(bytes, from, to);
+        int slot = hash & mask;
+        byte[] candidate;
+        while ((candidate = encodedNames[slot]) != null) {
+            if (encodedHashes[slot] == hash && matches(candidate, bytes, from, to)) {
+                return encodedOrdinals[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns whether the given name equals the region of the given character sequence.
+     *
+     * @param name  the name
+     * @param chars the character sequence
+     * @param from  the start index of the region
+     * @param to    the end index of the region
+     * @return true if the name equals the region
+     */
+    private static boolean matches(String name, CharSequence chars, int from, int to) {
+        if (name.length() != to - from) {
+            return false;
+        }
+        if (chars instanceof String string) {
+            return name.regionMatches(0, string, from, to - from);
+        }
+        for (int i = from; i < to; i++) {
+            if (name.charAt(i - from) != chars.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether the given encoded name equals the region of the given buffer.
+     *
+     * @param name  the UTF-8 encoded name
+     * @param bytes the buffer
+     * @param from  the index of the region's first byte
+     * @param to    the index after the region's last byte
+     * @return true if the encoded name equals the region
+     */
+    private static boolean matches(byte[] name, ByteBuffer bytes, int from, int to) {
+        if (name.length != to - from) {
+            return false;
+        }
+        for (int i = from; i < to; i++) {
+            if (name[i - from] != bytes.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the hash of the region of the given character sequence. The bits of the hash are spread so that names
+     * that only differ in their last characters do not end up in neighbouring slots.
+     *
+     * @param chars the character sequence
+     * @param from  the start index of the region
+     * @param to    the end index of the region
+     * @return the region's hash
+     */
+    private static int hash(CharSequence chars, int from, int to) {
+        int result = 0;
+        for (int i = from; i < to; i++) {
+            result = 31 * result + chars.charAt(i);
+        }
+        result *= 0x9E3779B9;
+        return result ^ (result >>> 16);
+    }
+
+    /**
+     * Returns the hash of the region of the given buffer. The bits of the hash are spread like the bits of the hash of
+     * a character sequence.
+     *
+     * @param bytes the buffer
+     * @param from  the index of the region's first byte
+     * @param to    the index after the region's last byte
+     * @return the region's hash
+     */
+    private static int hash(ByteBuffer bytes, int from, int to) {
+        int result = 0;
+        for (int i = from; i < to; i++) {
+            result = 31 * result + (bytes.get(i) & 0xFF);
+        }
+        result *= 0x9E3779B9;
+        return result ^ (result >>> 16);
+    }
+}
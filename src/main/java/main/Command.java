@@ -1,6 +1,6 @@
 /*
- * This file is part of ProDisFuzz, modified on 19.10.24, 23:58.
- * Copyright (c) 2013-2024 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This file is part of ProDisFuzz, modified on 18.10.26, 03:47.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
  * This work is free. You can redistribute it and/or modify it under the
  * terms of the Do What The Fuck You Want To Public License, Version 2,
  * as published by Sam Hocevar. See the COPYING file for more details.
@@ -8,6 +8,7 @@
 
 package main;
 
+import java.util.Collection;
 import java.util.Set;
 
 /**
@@ -22,6 +23,8 @@ public interface Command extends Subcommand {
      * Adds a subcommand to this command. The given parameter is now part of the set of subcommands that a user must use
      * (depending on the given parameter's default value) during executing the command line. Because a command can have
      * either subcommands or parameters, an illegal state exception is thrown if this command has parameters.
+     * Subcommands can be added by several threads at once; of several threads that add subcommands with the same name,
+     * exactly one succeeds.
      *
      * @param subcommand the subcommand to be added
      * @return true if this command did not already contain the given subcommand
@@ -37,6 +40,19 @@ public interface Command extends Subcommand {
      */
     boolean add(Parameter<?> parameter);
 
+    /**
+     * Adds all given parameters to this command. This is equivalent to adding the parameters one by one, but all
+     * parameters are checked before any of them is added. Because a command can have either subcommands or
+     * parameters, an illegal state exception is thrown if this command has subcommands.
+     *
+     * @param parameters the parameters to be added
+     * @return true if this command did not already contain at least one of the given parameters
+     * @throws IllegalArgumentException if the given collection is null or contains a parameter that is null or was not
+     *                                  created by the command line parser
+     * @throws IllegalStateException    if this command already has subcommands
+     */
+    boolean addAll(Collection<? extends Parameter<?>> parameters);
+
     /**
      * Returns the subcommands of this command ordered by their name. If the command has no subcommands, an empty set
      * is returned.
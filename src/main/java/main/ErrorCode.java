@@ -0,0 +1,55 @@
+/*
+ * This file is part of ProDisFuzz, modified on 18.10.26, 04:05.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package main;
+
+/**
+ * This enum represents the reasons why a command line could not be parsed.
+ */
+public enum ErrorCode {
+
+    /**
+     * The command has subcommands, but the command line does not contain a subcommand.
+     */
+    NO_SUBCOMMAND,
+
+    /**
+     * The command line's subcommand is not a subcommand of the command.
+     */
+    UNKNOWN_SUBCOMMAND,
+
+    /**
+     * An argument at the position of a parameter's key does not have the format "--key".
+     */
+    INVALID_FORMAT,
+
+    /**
+     * The last argument of the command line is a parameter's key that is not followed by a value.
+     */
+    MISSING_VALUE,
+
+    /**
+     * A parameter's key does not name a parameter of the command or subcommand.
+     */
+    UNKNOWN_PARAMETER,
+
+    /**
+     * A parameter's value cannot be cast to the parameter's type or is not allowed for the parameter.
+     */
+    INVALID_VALUE,
+
+    /**
+     * A mandatory parameter is not contained in the command line.
+     */
+    MISSING_PARAMETER,
+
+    /**
+     * An argument file cannot be read, is not valid UTF-8 or has a line that is too long.
+     */
+    INVALID_ARGUMENT_FILE
+}
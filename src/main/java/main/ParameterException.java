@@ -1,6 +1,6 @@
 /*
- * This file is part of ProDisFuzz, modified on 04.04.20, 09:54.
- * Copyright (c) 2013-2020 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This file is part of ProDisFuzz, modified on 18.10.26, 05:05.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
  * This work is free. You can redistribute it and/or modify it under the
  * terms of the Do What The Fuck You Want To Public License, Version 2,
  * as published by Sam Hocevar. See the COPYING file for more details.
@@ -8,29 +8,127 @@
 
 package main;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
 import java.util.IllegalFormatException;
+import java.util.function.Supplier;
 
 /**
- * This class is a parameter exception that is thrown when a parameter could not be cast into the expected class.
+ * This class is a parameter exception that is thrown when a parameter could not be cast into the expected class or
+ * when a command line could not be parsed. Besides its message, the exception describes the error in a structured way
+ * by an error code, the index of the offending argument and the name of the offending subcommand or parameter. The
+ * message is only rendered when it is requested for the first time, so callers that only check the error code do not
+ * pay for formatting the message and the usage guidance it may contain.
  */
 public class ParameterException extends Exception {
 
+    private final ErrorCode errorCode;
+    private final int index;
+    private final String name;
+    private transient Supplier<String> renderer;
+    private volatile String message;
+
     /**
      * Instantiates a new parameter exception with a given parameter value that could not be cast to the parameter's
-     * class of the parameter type.
+     * class of the parameter type. The message is formatted when it is requested for the first time.
      *
      * @param format A format string
      * @param args   Arguments referenced by the format specifiers in the format string. If there are more
      *               arguments than format specifiers, the extra arguments are ignored. The number of arguments is
      *               variable and may be zero. The maximum number of arguments is limited by the maximum dimension of
      *               a Java array as defined by The Java™ Virtual Machine Specification. The behaviour on a null
-     *               argument depends on the conversion.
-     * @throws IllegalFormatException If a format string contains an illegal syntax, a format specifier that is
-     *                                incompatible with the given arguments, insufficient arguments given the format
-     *                                string, or other illegal conditions. For specification of all possible
-     *                                formatting errors, see the Details section of the formatter class specification.
+     *               argument depends on the conversion. If a format string contains an illegal syntax, a format
+     *               specifier that is incompatible with the given arguments, insufficient arguments given the format
+     *               string, or other illegal conditions, an {@link IllegalFormatException} is thrown when the message
+     *               is requested. For specification of all possible formatting errors, see the Details section of the
+     *               formatter class specification.
      */
     public ParameterException(String format, Object... args) {
-        super(String.format(format, args));
+        this(null, -1, null, () -> String.format(format, args), true);
+    }
+
+    /**
+     * Instantiates a new parameter exception that describes the given error. The message is rendered by the given
+     * renderer when it is requested for the first time.
+     *
+     * @param errorCode          the reason of the error or null if the error has no specific reason
+     * @param index              the index of the offending argument in the command line or -1 if the error is not
+     *                           caused by a single argument
+     * @param name               the name of the offending subcommand or parameter or null if the error does not refer
+     *                           to a name
+     * @param renderer           the renderer of the exception's message
+     * @param writableStackTrace true if the stack trace shall be captured, false if capturing it shall be skipped to
+     *                           make creating the exception cheaper
+     */
+    public ParameterException(ErrorCode errorCode, int index, String name, Supplier<String> renderer,
+                              boolean writableStackTrace) {
+        super(null, null, true, writableStackTrace);
+        this.errorCode = errorCode;
+        this.index = index;
+        this.name = name;
+        this.renderer = renderer;
+    }
+
+    /**
+     * Returns the reason of the error.
+     *
+     * @return the error code or null if the error has no specific reason
+     */
+    public ErrorCode getErrorCode() {
+        return errorCode;
+    }
+
+    /**
+     * Returns the index of the offending argument in the command line.
+     *
+     * @return the argument's index or -1 if the error is not caused by a single argument or the index is unknown
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns the name of the offending subcommand or parameter.
+     *
+     * @return the subcommand's or parameter's name or null if the error does not refer to a name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the message of this exception. The message is rendered when it is requested for the first time and is
+     * then cached. Threads that request the message concurrently wait for a single rendering.
+     *
+     * @return the exception's message
+     * @throws IllegalFormatException if the exception was created with a format string that cannot be formatted
+     */
+    @Override
+    public String getMessage() {
+        String result = message;
+        if (result == null) {
+            synchronized (this) {
+                result = message;
+                if (result == null && renderer != null) {
+                    result = renderer.get();
+                    message = result;
+                    renderer = null;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Renders the message before the exception is serialized, because the renderer itself is not serialized.
+     *
+     * @param out the stream the exception is written to
+     * @throws IOException if an I/O error occurs
+     */
+    @Serial
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        getMessage();
+        out.defaultWriteObject();
     }
 }
@@ -0,0 +1,55 @@
+/*
+ * This file is part of ProDisFuzz, modified on 18.10.26, 04:00.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package main;
+
+/**
+ * This interface represents the outcome of parsing a command line without throwing an exception. It is either a
+ * {@link Success} that holds the parsed command or a {@link Failure} that describes why the command line could not be
+ * parsed.
+ */
+public sealed interface ParseResult {
+
+    /**
+     * Returns whether the command line was parsed successfully.
+     *
+     * @return true if this result is a success
+     */
+    boolean isSuccess();
+
+    /**
+     * This record is the result of a command line that was parsed successfully.
+     *
+     * @param command the parsed command
+     */
+    record Success(ParsedCommand command) implements ParseResult {
+
+        @Override
+        public boolean isSuccess() {
+            return true;
+        }
+    }
+
+    /**
+     * This record is the result of a command line that could not be parsed. It only describes the error, a message and
+     * usage guidance are not created.
+     *
+     * @param errorCode the reason why the command line could not be parsed
+     * @param index     the index of the offending argument in the command line or -1 if the error is not caused by a
+     *                  single argument, like a missing mandatory parameter
+     * @param name      the name of the offending subcommand or parameter or null if the error does not refer to a
+     *                  name, like an argument with an invalid format
+     */
+    record Failure(ErrorCode errorCode, int index, String name) implements ParseResult {
+
+        @Override
+        public boolean isSuccess() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * This file is part of ProDisFuzz, modified on 18.10.26, 04:28.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+package main;
+
+import java.util.List;
+
+/**
+ * This interface represents a parsed command line that chains several invocations of the command, like "fetch --id 1 +
+ * transform --mode x ++ store --path y". Every segment between two delimiters is parsed like a command line of its
+ * own, so it has its own subcommand and is validated against that subcommand's parameters. The segments keep the order
+ * of the command line. A segment that follows the delimiter "+" depends on the segment before it, a segment that
+ * follows the delimiter "++" is independent of it, so the two segments may be run in parallel.
+ */
+public interface ParsedChain {
+
+    /**
+     * Returns the number of segments, which is at least 1.
+     *
+     * @return the number of segments
+     */
+    int size();
+
+    /**
+     * Returns the parsed segment with the given index.
+     *
+     * @param index the index of the segment
+     * @return the parsed segment
+     * @throws IndexOutOfBoundsException if the index is negative or not less than the number of segments
+     */
+    ParsedCommand get(int index);
+
+    /**
+     * Returns all parsed segments in the order of the command line.
+     *
+     * @return the unmodifiable list of parsed segments
+     */
+    List<ParsedCommand> getCommands();
+
+    /**
+     * Returns whether the segment with the given index may be run in parallel with the segment before it, because the
+     * two segments are separated by the delimiter "++". The first segment is never parallel.
+     *
+     * @param index the index of the segment
+     * @return true if the segment is independent of the segment before it
+     * @throws IndexOutOfBoundsException if the index is negative or not less than the number of segments
+     */
+    boolean isParallel(int index);
+
+    /**
+     * Returns the segments grouped into stages that must be run one after another. A stage consists of a segment and
+     * all parallel segments that directly follow it, so the segments of one stage may be run in parallel.
+     *
+     * @return the unmodifiable list of stages in the order of the command line
+     */
+    List<List<ParsedCommand>> getStages();
+}
@@ -0,0 +1,118 @@
+/*
+ * This file is part of ProDisFuzz, modified on 18.10.26, 04:25.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package main;
+
+import java.nio.file.Path;
+
+/**
+ * This interface represents the values of selected parameters of many parsed command lines, stored in columns. Every
+ * selected parameter has one column, which is an array with one element per command line, and a presence bitmap. The
+ * bit of a command line is set in the presence bitmap if the command line was parsed successfully against the command
+ * or subcommand the parameter belongs to. In that case the column holds the parameter's value, which is either the
+ * user-provided value or the parameter's default value. Otherwise the column holds 0, false or null. The bit of the
+ * command line with the index i is stored in the word i / 64 of the bitmap, as the bit 1L &lt;&lt; i.
+ * <p>
+ * The returned columns and bitmaps are not copied, so they must not be changed.
+ */
+public interface ParsedColumns {
+
+    /**
+     * Returns the number of command lines, which is the length of every column.
+     *
+     * @return the number of command lines
+     */
+    int size();
+
+    /**
+     * Returns whether the command line with the given index was parsed successfully.
+     *
+     * @param row the index of the command line
+     * @return true if the command line was parsed successfully
+     */
+    boolean isSuccess(int row);
+
+    /**
+     * Returns the failure that describes why the command line with the given index could not be parsed.
+     *
+     * @param row the index of the command line
+     * @return the failure or null if the command line was parsed successfully
+     */
+    ParseResult.Failure getFailure(int row);
+
+    /**
+     * Returns the number of command lines that could not be parsed.
+     *
+     * @return the number of failures
+     */
+    int getFailureCount();
+
+    /**
+     * Returns the presence bitmap of the given parameter's column.
+     *
+     * @param parameter the parameter
+     * @return the presence bitmap
+     * @throws IllegalArgumentException if the given parameter has no column
+     */
+    long[] getPresence(Parameter<?> parameter);
+
+    /**
+     * Returns whether the given parameter's column holds a value for the command line with the given index.
+     *
+     * @param parameter the parameter
+     * @param row       the index of the command line
+     * @return true if the column holds a value for the command line
+     * @throws IllegalArgumentException if the given parameter has no column
+     */
+    boolean isPresent(Parameter<?> parameter, int row);
+
+    /**
+     * Returns the column of the given integer parameter.
+     *
+     * @param parameter the parameter
+     * @return the parameter's values
+     * @throws IllegalArgumentException if the given parameter has no column
+     */
+    int[] getInts(Parameter<Integer> parameter);
+
+    /**
+     * Returns the column of the given double parameter.
+     *
+     * @param parameter the parameter
+     * @return the parameter's values
+     * @throws IllegalArgumentException if the given parameter has no column
+     */
+    double[] getDoubles(Parameter<Double> parameter);
+
+    /**
+     * Returns the column of the given boolean parameter.
+     *
+     * @param parameter the parameter
+     * @return the parameter's values
+     * @throws IllegalArgumentException if the given parameter has no column
+     */
+    boolean[] getBooleans(Parameter<Boolean> parameter);
+
+    /**
+     * Returns the column of the given string parameter.
+     *
+     * @param parameter the parameter
+     * @return the parameter's values
+     * @throws IllegalArgumentException if the given parameter has no column
+     */
+    String[] getStrings(Parameter<String> parameter);
+
+    /**
+     * Returns the column of the given path parameter.
+     *
+     * @param parameter the parameter
+     * @return the parameter's values
+     * @throws IllegalArgumentException if the given parameter has no column
+     */
+    Path[] getPaths(Parameter<Path> parameter);
+}
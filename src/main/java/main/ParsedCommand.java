@@ -1,6 +1,6 @@
 /*
- * This file is part of ProDisFuzz, modified on 30.10.24, 23:14.
- * Copyright (c) 2013-2024 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This file is part of ProDisFuzz, modified on 18.10.26, 03:32.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
  * This work is free. You can redistribute it and/or modify it under the
  * terms of the Do What The Fuck You Want To Public License, Version 2,
  * as published by Sam Hocevar. See the COPYING file for more details.
@@ -63,4 +63,94 @@ public interface ParsedCommand extends ParsedSubcommand {
      */
     ParsedParameter<Double> getDoubleParameter(String name);
 
+    /**
+     * Returns the value of the integer parameter with the given name that is assigned to this command. Other than
+     * {@link #getIntegerParameter(String)}, the value is returned without boxing it.
+     *
+     * @param name the parameter's name
+     * @return the integer parameter's value
+     * @throws IllegalArgumentException if no integer parameter with the given name is found
+     * @throws IllegalStateException    if the value is converted lazily and cannot be cast to the parameter's type
+     */
+    int getInt(String name);
+
+    /**
+     * Returns the value of the double parameter with the given name that is assigned to this command. Other than
+     * {@link #getDoubleParameter(String)}, the value is returned without boxing it.
+     *
+     * @param name the parameter's name
+     * @return the double parameter's value
+     * @throws IllegalArgumentException if no double parameter with the given name is found
+     * @throws IllegalStateException    if the value is converted lazily and cannot be cast to the parameter's type
+     */
+    double getDouble(String name);
+
+    /**
+     * Returns the value of the boolean parameter with the given name that is assigned to this command. Other than
+     * {@link #getBooleanParameter(String)}, the value is returned without boxing it.
+     *
+     * @param name the parameter's name
+     * @return the boolean parameter's value
+     * @throws IllegalArgumentException if no boolean parameter with the given name is found
+     * @throws IllegalStateException    if the value is converted lazily and cannot be cast to the parameter's type
+     */
+    boolean getBoolean(String name);
+
+    /**
+     * Returns the value of the given parameter that is assigned to this command. The parameter is used as a typed key:
+     * it must be the same instance that was added to the command and is resolved without comparing names.
+     *
+     * @param parameter the parameter
+     * @param <V>       the class of the parameter's value
+     * @return the parameter's value
+     * @throws IllegalArgumentException if the parameter is not assigned to this command
+     * @throws IllegalStateException    if the value is converted lazily and cannot be cast to the parameter's type
+     */
+    <V> V get(Parameter<V> parameter);
+
+    /**
+     * Returns the value of the given parameter that is assigned to this command. Unlike {@link #get(Parameter)}, a
+     * failed lazy conversion is reported as a parameter exception.
+     *
+     * @param parameter the parameter
+     * @param <V>       the class of the parameter's value
+     * @return the parameter's value
+     * @throws IllegalArgumentException if the parameter is not assigned to this command
+     * @throws ParameterException       if the value is converted lazily and cannot be cast to the parameter's type
+     */
+    <V> V getChecked(Parameter<V> parameter) throws ParameterException;
+
+    /**
+     * Returns the value of the given integer parameter that is assigned to this command without boxing it. The
+     * parameter is used as a typed key: it must be the same instance that was added to the command.
+     *
+     * @param parameter the integer parameter
+     * @return the parameter's value
+     * @throws IllegalArgumentException if the parameter is not an integer parameter assigned to this command
+     * @throws IllegalStateException    if the value is converted lazily and cannot be cast to the parameter's type
+     */
+    int getInt(Parameter<Integer> parameter);
+
+    /**
+     * Returns the value of the given double parameter that is assigned to this command without boxing it. The parameter
+     * is used as a typed key: it must be the same instance that was added to the command.
+     *
+     * @param parameter the double parameter
+     * @return the parameter's value
+     * @throws IllegalArgumentException if the parameter is not a double parameter assigned to this command
+     * @throws IllegalStateException    if the value is converted lazily and cannot be cast to the parameter's type
+     */
+    double getDouble(Parameter<Double> parameter);
+
+    /**
+     * Returns the value of the given boolean parameter that is assigned to this command without boxing it. The
+     * parameter is used as a typed key: it must be the same instance that was added to the command.
+     *
+     * @param parameter the boolean parameter
+     * @return the parameter's value
+     * @throws IllegalArgumentException if the parameter is not a boolean parameter assigned to this command
+     * @throws IllegalStateException    if the value is converted lazily and cannot be cast to the parameter's type
+     */
+    boolean getBoolean(Parameter<Boolean> parameter);
+
 }
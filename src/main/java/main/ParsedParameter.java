@@ -1,6 +1,6 @@
 /*
- * This file is part of ProDisFuzz, modified on 04.04.20, 22:47.
- * Copyright (c) 2013-2020 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This file is part of ProDisFuzz, modified on 18.10.26, 03:32.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
  * This work is free. You can redistribute it and/or modify it under the
  * terms of the Do What The Fuck You Want To Public License, Version 2,
  * as published by Sam Hocevar. See the COPYING file for more details.
@@ -23,10 +23,23 @@ public interface ParsedParameter<V> {
     String getName();
 
     /**
-     * Returns the value of the parameter.
+     * Returns the value of the parameter. If the command line was parsed with lazy conversion, the value is converted
+     * on the first access and then cached.
      *
      * @return the parameter's value
+     * @throws IllegalStateException if the value is converted lazily and cannot be cast to the parameter's type, the
+     *                               cause is the parameter exception
      */
     V getValue();
 
+    /**
+     * Returns the value of the parameter. If the command line was parsed with lazy conversion, the value is converted
+     * on the first access and then cached. Unlike {@link #getValue()}, a failed conversion is reported as a parameter
+     * exception.
+     *
+     * @return the parameter's value
+     * @throws ParameterException if the value is converted lazily and cannot be cast to the parameter's type
+     */
+    V getCheckedValue() throws ParameterException;
+
 }
@@ -0,0 +1,89 @@
+/*
+ * This file is part of ProDisFuzz, modified on 18.10.26, 04:21.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+package main;
+
+import internal.daemon.DaemonProtocol;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * This class is the client of a {@link ParserDaemon}. It sends a command line together with a working directory and
+ * environment variables to the daemon and returns the daemon's response. Started as a program, it sends its own
+ * arguments, working directory and environment, prints the daemon's output and exits with the daemon's exit status:
+ * "java main.ParserClient SOCKET [ARGUMENT]...". A client that is compiled ahead of time or written in another language
+ * avoids starting a JVM at all; the protocol is described in {@link DaemonProtocol}.
+ */
+public class ParserClient {
+
+    private ParserClient() {
+    }
+
+    /**
+     * Sends the given command line to the daemon that listens on the given socket and waits for its response.
+     *
+     * @param socket           the path of the daemon's socket file
+     * @param workingDirectory the working directory that relative paths are resolved against
+     * @param environment      the environment variables
+     * @param args             the user-provided arguments
+     * @return the daemon's response
+     * @throws IOException if the daemon cannot be reached or the connection is closed before the response is read
+     */
+    public static Response send(Path socket, Path workingDirectory, Map<String, String> environment, String... args)
+            throws IOException {
+        if (socket == null || workingDirectory == null || environment == null || args == null) {
+            throw new IllegalArgumentException("Socket, working directory, environment and arguments must not be null");
+        }
+        try (SocketChannel channel = SocketChannel.open(UnixDomainSocketAddress.of(socket))) {
+            DaemonProtocol.writeRequest(channel, Arrays.asList(args), workingDirectory, environment);
+            int status = DaemonProtocol.readInt(channel);
+            return new Response(status, DaemonProtocol.decode(DaemonProtocol.readFrame(channel)));
+        }
+    }
+
+    /**
+     * Sends the given arguments after the socket's path to the daemon together with the working directory and the
+     * environment of the process, prints the daemon's output and exits with the daemon's exit status. The output is
+     * printed to the standard output if the status is 0, otherwise to the standard error.
+     *
+     * @param args the path of the daemon's socket file followed by the user-provided arguments
+     */
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.err.println("Usage: java main.ParserClient SOCKET [ARGUMENT]...");
+            System.exit(ParserDaemon.PARSE_FAILURE_STATUS);
+        }
+        Response response;
+        try {
+            response = send(Path.of(args[0]), Path.of("").toAbsolutePath(), System.getenv(),
+                    Arrays.copyOfRange(args, 1, args.length));
+        } catch (IOException e) {
+            System.err.println("Error: Parser daemon cannot be reached: " + e.getMessage());
+            System.exit(ParserDaemon.HANDLER_FAILURE_STATUS);
+            return;
+        }
+        PrintStream out = response.status() == 0 ? System.out : System.err;
+        out.print(response.output());
+        out.flush();
+        System.exit(response.status());
+    }
+
+    /**
+     * This record is the response of a daemon.
+     *
+     * @param status the exit status
+     * @param output the output text
+     */
+    public record Response(int status, String output) {
+    }
+}
@@ -0,0 +1,328 @@
+/*
+ * This file is part of ProDisFuzz, modified on 18.10.26, 05:16.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+package main;
+
+import internal.daemon.DaemonProtocol;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+
+/**
+ * This class is a daemon that keeps a command line parser in a long-lived JVM and serves the command lines of clients
+ * that connect to it over a Unix domain socket, in the style of Nailgun. A client sends its arguments, its working
+ * directory and its environment, and receives an exit status and an output text, so a command line tool pays for
+ * starting a JVM only once instead of on every call. See {@link ParserClient} for a client.
+ * <p>
+ * Every connection is served by a virtual thread of its own, which parses the arguments like
+ * {@link SimpleCommandLineParser#parseNullDelimited(ByteBuffer)} and passes the parsed command to the handler. The
+ * handler's return value and everything it appends to its output are sent back to the client. A command line that
+ * cannot be parsed is answered with the status {@link #PARSE_FAILURE_STATUS} and the error and usage guidance of the
+ * parameter exception, and a handler that throws an exception is answered with the status
+ * {@link #HANDLER_FAILURE_STATUS}. Relative path values are resolved against the client's working directory, also if
+ * they are converted lazily inside the handler or on another thread.
+ * <p>
+ * A client must send its request within the daemon's read timeout, otherwise it is disconnected. At most the
+ * daemon's maximum number of connections are served at once, further clients wait until a connection ends.
+ * <p>
+ * Anyone who can connect to the socket can call the handler with the privileges of the daemon. Where the file system
+ * supports POSIX permissions, the socket is therefore bound inside a new directory that only its owner can access, made
+ * readable and writable by its owner only, and then linked to the socket file, so no other user can connect to it at
+ * any time. It should still be created in a directory that only its owner can access, such as the user's runtime
+ * directory. An output that does not fit into a response is truncated, see {@link DaemonProtocol#TRUNCATION_NOTE}.
+ */
+public class ParserDaemon implements Closeable {
+
+    /**
+     * The exit status that is sent if the command line cannot be parsed.
+     */
+    public static final int PARSE_FAILURE_STATUS = 2;
+    /**
+     * The exit status that is sent if the handler throws an exception.
+     */
+    public static final int HANDLER_FAILURE_STATUS = 1;
+    /**
+     * The default time a client has to send its request.
+     */
+    public static final Duration DEFAULT_READ_TIMEOUT = Duration.ofSeconds(10);
+    /**
+     * The default maximum number of connections that are served at once.
+     */
+    public static final int DEFAULT_MAX_CONNECTIONS = 64;
+    private static final long ACCEPT_RETRY_MILLIS = 100;
+    private final SimpleCommandLineParser parser;
+    private final Path socket;
+    private final Handler handler;
+    private final Duration readTimeout;
+    private final Semaphore connections;
+    private ServerSocketChannel server;
+    private Thread acceptor;
+
+    /**
+     * Instantiates a new daemon that is not started yet with the default read timeout and maximum number of
+     * connections.
+     *
+     * @param parser  the parser that parses the clients' command lines
+     * @param socket  the path of the socket file that is created when the daemon is started
+     * @param handler the handler that runs the parsed command lines
+     * @throws IllegalArgumentException if any argument is null
+     */
+    public ParserDaemon(SimpleCommandLineParser parser, Path socket, Handler handler) {
+        this(parser, socket, handler, DEFAULT_READ_TIMEOUT, DEFAULT_MAX_CONNECTIONS);
+    }
+
+    /**
+     * Instantiates a new daemon that is not started yet.
+     *
+     * @param parser         the parser that parses the clients' command lines
+     * @param socket         the path of the socket file that is created when the daemon is started
+     * @param handler        the handler that runs the parsed command lines
+     * @param readTimeout    the time a client has to send its request
+     * @param maxConnections the maximum number of connections that are served at once
+     * @throws IllegalArgumentException if any argument is null, the read timeout is not positive or the maximum number
+     *                                  of connections is less than 1
+     */
+    public ParserDaemon(SimpleCommandLineParser parser, Path socket, Handler handler, Duration readTimeout,
+                        int maxConnections) {
+        if (parser == null || socket == null || handler == null || readTimeout == null) {
+            throw new IllegalArgumentException("Parser, socket, handler and read timeout must not be null");
+        }
+        if (readTimeout.isNegative() || readTimeout.isZero()) {
+            throw new IllegalArgumentException("Read timeout must be positive");
+        }
+        if (maxConnections < 1) {
+            throw new IllegalArgumentException("Maximum number of connections must be at least 1");
+        }
+        this.parser = parser;
+        this.socket = socket;
+        this.handler = handler;
+        this.readTimeout = readTimeout;
+        connections = new Semaphore(maxConnections);
+    }
+
+    /**
+     * Creates the socket file and starts accepting connections. The socket file must not exist yet. Where the file
+     * system supports POSIX permissions, only the owner of the socket file can connect to it.
+     *
+     * @throws IOException           if the socket cannot be created
+     * @throws IllegalStateException if the daemon has already been started
+     */
+    public synchronized void start() throws IOException {
+        if (server != null) {
+            throw new IllegalStateException("Daemon has already been started");
+        }
+        ServerSocketChannel channel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        try {
+            Path parent = socket.toAbsolutePath().getParent();
+            if (Files.getFileStore(parent).supportsFileAttributeView("posix")) {
+                bindPrivately(channel, parent);
+            } else {
+                channel.bind(UnixDomainSocketAddress.of(socket));
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        server = channel;
+        acceptor = Thread.ofVirtual().name("parser-daemon").start(() -> accept(channel));
+    }
+
+    /**
+     * Binds the given channel to the socket file without a moment in which another user can connect to it. The channel
+     * is bound to a socket in a new directory that only its owner can access, the socket is made readable and writable
+     * by its owner only, and it is then hard linked to the socket file. The link fails if the socket file exists. The
+     * new directory is deleted afterward, the bound socket stays reachable through the socket file.
+     *
+     * @param channel the server's channel
+     * @param parent  the directory of the socket file
+     * @throws IOException if the socket cannot be created or the socket file exists
+     */
+    private void bindPrivately(ServerSocketChannel channel, Path parent) throws IOException {
+        Path directory = Files.createTempDirectory(parent, ".parser-daemon",
+                PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+        Path bound = directory.resolve("socket");
+        try {
+            channel.bind(UnixDomainSocketAddress.of(bound));
+            Files.setPosixFilePermissions(bound, PosixFilePermissions.fromString("rw-------"));
+            Files.createLink(socket, bound);
+        } finally {
+            Files.deleteIfExists(bound);
+            Files.delete(directory);
+        }
+    }
+
+    /**
+     * Stops accepting connections and deletes the socket file. Connections that have already been accepted are served
+     * until their end.
+     *
+     * @throws IOException if the socket cannot be closed or the socket file cannot be deleted
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (server == null) {
+            return;
+        }
+        server.close();
+        // The acceptor may wait for a connection to end
+        acceptor.interrupt();
+        try {
+            acceptor.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        server = null;
+        Files.deleteIfExists(socket);
+    }
+
+    /**
+     * Accepts connections until the given channel is closed and serves every connection on a virtual thread. A new
+     * connection is only accepted while fewer than the maximum number of connections are served, and an error that
+     * does not close the channel, like running out of file descriptors, is retried after a short delay.
+     *
+     * @param channel the server's channel
+     */
+    private void accept(ServerSocketChannel channel) {
+        while (channel.isOpen()) {
+            try {
+                connections.acquire();
+            } catch (InterruptedException e) {
+                // The daemon is closed
+                return;
+            }
+            SocketChannel client;
+            try {
+                client = channel.accept();
+            } catch (IOException e) {
+                connections.release();
+                if (!channel.isOpen()) {
+                    return;
+                }
+                try {
+                    Thread.sleep(ACCEPT_RETRY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+                continue;
+            }
+            Thread.ofVirtual().name("parser-daemon-client").start(() -> serve(client));
+        }
+    }
+
+    /**
+     * Reads the request of the given client, runs it and writes the response. The connection is closed afterward, and
+     * it is closed early if the client does not send its request within the read timeout.
+     *
+     * @param client the client's channel
+     */
+    private void serve(SocketChannel client) {
+        try (client) {
+            Thread deadline = Thread.ofVirtual().name("parser-daemon-deadline").start(() -> closeLater(client));
+            ByteBuffer arguments;
+            Path workingDirectory;
+            Map<String, String> environment;
+            try {
+                arguments = DaemonProtocol.readFrame(client);
+                workingDirectory = DaemonProtocol.decodeWorkingDirectory(DaemonProtocol.readFrame(client));
+                environment = DaemonProtocol.decodeEnvironment(DaemonProtocol.readFrame(client));
+            } finally {
+                deadline.interrupt();
+            }
+            StringBuilder output = new StringBuilder();
+            int status = run(arguments, new Request(workingDirectory, environment), output);
+            DaemonProtocol.writeResponse(client, status, output);
+        } catch (IOException ignored) {
+            // A client that breaks the protocol, disconnects early or is too slow only loses its own connection
+        } finally {
+            connections.release();
+        }
+    }
+
+    /**
+     * Closes the given client's channel after the read timeout unless the current thread is interrupted before.
+     *
+     * @param client the client's channel
+     */
+    private void closeLater(SocketChannel client) {
+        try {
+            Thread.sleep(readTimeout.toMillis());
+            client.close();
+        } catch (InterruptedException | IOException ignored) {
+            // The request has been read in time or the channel is already closed
+        }
+    }
+
+    /**
+     * Parses the given arguments and passes the parsed command to the handler. Relative paths are resolved against the
+     * client's working directory.
+     *
+     * @param arguments the NUL terminated arguments
+     * @param request   the client's working directory and environment
+     * @param output    the output that is sent to the client
+     * @return the exit status that is sent to the client
+     */
+    private int run(ByteBuffer arguments, Request request, StringBuilder output) {
+        try {
+            return handler.handle(parser.parseNullDelimited(arguments, request.workingDirectory()), request, output);
+        } catch (ParameterException e) {
+            output.append(e.getMessage());
+            return PARSE_FAILURE_STATUS;
+        } catch (Exception e) {
+            output.append("Error: ").append(e.getMessage()).append(System.lineSeparator());
+            return HANDLER_FAILURE_STATUS;
+        }
+    }
+
+    /**
+     * This interface represents the code that runs a parsed command line on behalf of a client.
+     */
+    @FunctionalInterface
+    public interface Handler {
+
+        /**
+         * Runs the given parsed command line. A parameter exception, like the one thrown by
+         * {@link ParsedCommand#getChecked(Parameter)} for an invalid value that is converted lazily, is answered like a
+         * command line that cannot be parsed.
+         *
+         * @param command the parsed command line
+         * @param request the client's working directory and environment
+         * @param out     the output that is sent to the client
+         * @return the exit status that is sent to the client
+         * @throws Exception if the command line cannot be run
+         */
+        int handle(ParsedCommand command, Request request, Appendable out) throws Exception;
+    }
+
+    /**
+     * This record describes the client that sent a command line.
+     *
+     * @param workingDirectory the client's absolute working directory
+     * @param environment      the client's environment variables
+     */
+    public record Request(Path workingDirectory, Map<String, String> environment) {
+
+        /**
+         * Instantiates a new request with an unmodifiable copy of the given environment variables.
+         *
+         * @param workingDirectory the client's absolute working directory
+         * @param environment      the client's environment variables
+         */
+        public Request {
+            environment = Map.copyOf(environment);
+        }
+    }
+}
@@ -0,0 +1,272 @@
+/*
+ * This file is part of ProDisFuzz, modified on 18.10.26, 05:13.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+package main;
+
+import internal.corpus.LineCursor;
+
+import java.io.BufferedReader;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
+
+/**
+ * This class is an interactive shell that reads command lines from an input stream, parses every line against the
+ * parser's command and its subcommands, and passes the parsed command to a handler, so one JVM serves a whole session
+ * of commands. Every line is split into its arguments like {@link SimpleCommandLineParser#parseLine(CharSequence)}. A
+ * line that ends with a backslash that escapes nothing or inside a quote that is not closed is continued on the next
+ * line, like in a POSIX shell. Blank lines and lines whose first non-blank character
+ * is '#' are ignored. The line "help" prints the usage of the command, and the line "exit" ends the session, unless
+ * the command has a subcommand of that name. A line that cannot be parsed prints the error and the usage guidance,
+ * whose usage blocks are rendered once and then taken from the help menu's cache.
+ * <p>
+ * All lines of a session are parsed against the compiled command of the parser and split by one reused cursor, so a
+ * line only allocates its own text, the arguments that must be copied and the parsed result. Every line is split once
+ * while it is parsed: the cursor reads the continuation lines of a command line only when the line ends in the middle
+ * of an argument, and it continues that argument without splitting the lines before again. The parsed results are not
+ * reused, because the handler may keep them. A shell can run several sessions at once, for example one per connection.
+ */
+public class ParserShell {
+
+    private static final String CONTINUATION_PROMPT = "... ";
+    private final SimpleCommandLineParser parser;
+    private final Handler handler;
+    private volatile String prompt = "> ";
+
+    /**
+     * Instantiates a new shell.
+     *
+     * @param parser  the parser that parses the command lines
+     * @param handler the handler that runs the parsed command lines
+     * @throws IllegalArgumentException if any argument is null
+     */
+    public ParserShell(SimpleCommandLineParser parser, Handler handler) {
+        if (parser == null || handler == null) {
+            throw new IllegalArgumentException("Parser and handler must not be null");
+        }
+        this.parser = parser;
+        this.handler = handler;
+    }
+
+    /**
+     * Returns the prompt that is printed before every command line.
+     *
+     * @return the prompt
+     */
+    public String getPrompt() {
+        return prompt;
+    }
+
+    /**
+     * Sets the prompt that is printed before every command line. By default, the prompt is "&gt; ". An empty prompt
+     * is useful if the command lines are not typed by a user but read from a file.
+     *
+     * @param prompt the prompt
+     */
+    public void setPrompt(String prompt) {
+        if (prompt == null) {
+            throw new IllegalArgumentException("Prompt must not be null");
+        }
+        this.prompt = prompt;
+    }
+
+    /**
+     * Runs a session that reads UTF-8 encoded command lines from the given input until its end or until the line
+     * "exit". The prompts and the handler's output are written to the given output, the errors are written to the
+     * given error output. Outputs that are flushable are flushed after every command line and when the session ends,
+     * so a user sees every prompt and result immediately. The input is not closed.
+     *
+     * @param in  the input the command lines are read from
+     * @param out the output the prompts and the handler's output are written to
+     * @param err the output the errors are written to
+     * @return the number of command lines that could not be parsed, that made the handler throw an exception or for
+     *         which the handler returned a status other than 0
+     * @throws IOException if the input cannot be read or an output cannot be written
+     */
+    public int run(InputStream in, Appendable out, Appendable err) throws IOException {
+        if (in == null || out == null || err == null) {
+            throw new IllegalArgumentException("Input and outputs must not be null");
+        }
+        // The reader is not closed, because that would close the input
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        LineCursor cursor = new LineCursor("");
+        ContinuationReader continuation = new ContinuationReader(reader, out);
+        int failures = 0;
+        out.append(prompt);
+        flush(out);
+        try {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (isBuiltin(line, "exit")) {
+                    break;
+                }
+                cursor.reset(line, continuation);
+                if (!execute(line, cursor, out, err)) {
+                    failures++;
+                }
+                flush(err);
+                if (continuation.isEnded()) {
+                    break;
+                }
+                out.append(prompt);
+                flush(out);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        flush(err);
+        flush(out);
+        return failures;
+    }
+
+    /**
+     * Parses the command line that is split by the given cursor and passes the parsed command to the handler. The
+     * cursor reads all continuation lines of the command line, even if the command line cannot be parsed.
+     *
+     * @param line   the first line of the command line
+     * @param cursor the cursor that is positioned before the first argument of the command line
+     * @param out    the output the handler's output is written to
+     * @param err    the output the errors are written to
+     * @return true if the command line is ignored or was run successfully
+     * @throws IOException if an output cannot be written
+     */
+    private boolean execute(String line, LineCursor cursor, Appendable out, Appendable err) throws IOException {
+        if (isIgnored(line)) {
+            return true;
+        }
+        if (isBuiltin(line, "help")) {
+            parser.printHelp(out);
+            return true;
+        }
+        ParsedCommand command;
+        try {
+            command = parser.parseLine(cursor);
+        } catch (ParameterException e) {
+            while (cursor.advance()) {
+                // The rest of the command line, including its continuation lines, is skipped
+            }
+            err.append(e.getMessage());
+            return false;
+        }
+        try {
+            return handler.handle(command, out) == 0;
+        } catch (Exception e) {
+            err.append("Error: ").append(e.getMessage()).append(System.lineSeparator());
+            return false;
+        }
+    }
+
+    /**
+     * Returns whether the given command line is blank or a comment.
+     *
+     * @param line the command line
+     * @return true if the line has no non-blank character or its first non-blank character is '#'
+     */
+    private static boolean isIgnored(CharSequence line) {
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c != ' ' && c != '\t' && c != '\r' && c != '\n') {
+                return c == '#';
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether the given command line is the given built-in command. A built-in command is shadowed by a
+     * subcommand of the same name, which is looked up in the compiled command's index of subcommand names.
+     *
+     * @param line the command line
+     * @param name the built-in command's name
+     * @return true if the line only consists of the name and the command has no subcommand of that name
+     */
+    private boolean isBuiltin(String line, String name) {
+        return line.strip().equals(name) && !parser.hasSubcommand(name);
+    }
+
+    /**
+     * Flushes the given output if it is flushable.
+     *
+     * @param out the output
+     * @throws IOException if the output cannot be flushed
+     */
+    private static void flush(Appendable out) throws IOException {
+        if (out instanceof Flushable flushable) {
+            flushable.flush();
+        }
+    }
+
+    /**
+     * This class reads the lines that continue a command line of a session. It prints the continuation prompt before
+     * every line and remembers whether the input ended while a command line was continued.
+     */
+    private static final class ContinuationReader implements Supplier<String> {
+
+        private final BufferedReader reader;
+        private final Appendable out;
+        private boolean ended;
+
+        /**
+         * Instantiates a new continuation reader.
+         *
+         * @param reader the reader the command lines are read from
+         * @param out    the output the continuation prompt is written to
+         */
+        private ContinuationReader(BufferedReader reader, Appendable out) {
+            this.reader = reader;
+            this.out = out;
+        }
+
+        /**
+         * Reads the next line that continues a command line after printing the continuation prompt.
+         *
+         * @return the next line or null if the input has ended
+         * @throws UncheckedIOException if the input cannot be read or the output cannot be written
+         */
+        @Override
+        public String get() {
+            try {
+                out.append(CONTINUATION_PROMPT);
+                flush(out);
+                String result = reader.readLine();
+                ended = result == null;
+                return result;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Returns whether the input ended while a command line was continued.
+         *
+         * @return true if the input has ended
+         */
+        private boolean isEnded() {
+            return ended;
+        }
+    }
+
+    /**
+     * This interface represents the code that runs a parsed command line of a session.
+     */
+    @FunctionalInterface
+    public interface Handler {
+
+        /**
+         * Runs the given parsed command line. The handler usually dispatches on the name of the parsed subcommand.
+         *
+         * @param command the parsed command line
+         * @param out     the output of the session
+         * @return the command line's status, which is 0 if the command line was run successfully
+         * @throws Exception if the command line cannot be run
+         */
+        int handle(ParsedCommand command, Appendable out) throws Exception;
+    }
+}
@@ -1,6 +1,6 @@
 /*
- * This file is part of ProDisFuzz, modified on 29.04.25, 20:47.
- * Copyright (c) 2013-2025 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This file is part of ProDisFuzz, modified on 18.10.26, 05:17.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
  * This work is free. You can redistribute it and/or modify it under the
  * terms of the Do What The Fuck You Want To Public License, Version 2,
  * as published by Sam Hocevar. See the COPYING file for more details.
@@ -9,23 +9,75 @@
 package main;
 
 import internal.commands.InternalCommand;
-import internal.commands.InternalSubcommand;
+import internal.corpus.ArgumentCursor;
+import internal.corpus.ArgumentReader;
+import internal.corpus.ByteCursor;
+import internal.corpus.CorpusReader;
+import internal.corpus.CorpusSubscription;
+import internal.corpus.ExpandedArguments;
+import internal.corpus.LineCursor;
+import internal.corpus.SourceCursor;
 import internal.help.Menu;
 import internal.parameters.AbstractParameter;
+import internal.parsing.InternalParsedChain;
+import internal.parsing.InternalParsedColumns;
+import internal.parsing.InternalParsedCommand;
+import internal.parsing.InternalParsedSubcommand;
+import internal.schema.CompiledCommand;
+import internal.schema.CompiledSubcommand;
 
-import java.util.*;
-import java.util.regex.Pattern;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * This class represents the command line parser, which handles the command, its subcommands and parameters used in a
  * command line call. The format of this string is as follows: COMMAND SUBCOMMAND --key1 value1 --key2 value2…
+ * <p>
+ * A parser instance is thread-safe and can be shared by any number of threads, including virtual threads. Setting the
+ * command publishes an immutable compiled form of it, and every parse call works on the compiled form and the settings
+ * that are current when the call starts. Parsing takes no locks and keeps no state in the parser, so parse calls are
+ * reentrant and never block each other. A command line parsed by one thread is not affected by a command or setting
+ * that is changed by another thread at the same time. The returned results are not shared with other parse calls and
+ * can be handed to other threads through any safe publication mechanism, such as a concurrent collection or a future.
+ * Results that are converted lazily convert their values under their own lock, so they can be read by several threads
+ * at once. Subcommands and parameters can be added to the command by other threads at any time, but they are only
+ * considered when parsing after the command is set again.
  */
 @SuppressWarnings("WeakerAccess")
 public class SimpleCommandLineParser {
 
-    private final static Pattern PARAMETER_FORMAT = Pattern.compile("--.+");
-    private InternalCommand command;
+    private static final int PROCESSORS = Runtime.getRuntime().availableProcessors();
+    private static final int CHUNKS_PER_PROCESSOR = 4;
+    private static final int MIN_CHUNK_SIZE = 256;
+    /**
+     * The argument that separates two segments of a chained command line if the second segment depends on the first.
+     */
+    public static final String SEQUENTIAL_DELIMITER = "+";
+    /**
+     * The argument that separates two segments of a chained command line if the segments are independent of each
+     * other.
+     */
+    public static final String PARALLEL_DELIMITER = "++";
+    private volatile CompiledCommand compiled;
     private final Menu helpMenu;
+    private volatile boolean lazyConversion;
+    private volatile boolean captureStackTrace = true;
+    private volatile boolean argumentFiles;
 
     /**
      * Creates a command line parser.
@@ -40,13 +92,16 @@ public class SimpleCommandLineParser {
      * @return the command
      */
     public Command getCommand() {
-        return command;
+        CompiledCommand compiled = this.compiled;
+        return compiled == null ? null : compiled.getSource();
     }
 
     /**
      * Sets the command of this parser instance. Usually the command is the name of the executable file (or jar file)
      * that the user will call on the command line. Since this file name does not change and is always the same for
-     * every call, you can only define one single command.
+     * every call, you can only define one single command. The command is compiled into an immutable form that is used
+     * by all subsequent parse calls. Changes to the command after it has been set are therefore not considered when
+     * parsing until the command is set again. The help menu's cached usage blocks of the previous command are dropped.
      *
      * @param command the command
      */
@@ -54,7 +109,81 @@ public class SimpleCommandLineParser {
         if (command.getClass() != InternalCommand.class) {
             throw new IllegalArgumentException("Command was not created by the command line parser");
         }
-        this.command = (InternalCommand) command;
+        compiled = new CompiledCommand((InternalCommand) command);
+        helpMenu.clear();
+    }
+
+    /**
+     * Returns whether values are converted lazily.
+     *
+     * @return true if values are converted on first access instead of during parsing
+     * @see #setLazyConversion(boolean)
+     */
+    public boolean isLazyConversion() {
+        return lazyConversion;
+    }
+
+    /**
+     * Sets whether values are converted lazily. By default, every user-provided value is converted and validated while
+     * the command line is parsed, so an invalid value makes the parsing fail. With lazy conversion, the parsing only
+     * checks the structure of the command line and records the user-provided strings. A value is converted and
+     * validated on the first access through the parsed command and is then cached, so values that are never read are
+     * never converted. An invalid value is then reported at access time, as a parameter exception by
+     * {@link ParsedParameter#getCheckedValue()} and {@link ParsedSubcommand#getChecked(Parameter)}, and as an illegal
+     * state exception by all other accessors.
+     *
+     * @param lazyConversion true if values shall be converted on first access instead of during parsing
+     */
+    public void setLazyConversion(boolean lazyConversion) {
+        this.lazyConversion = lazyConversion;
+    }
+
+    /**
+     * Returns whether parameter exceptions thrown by {@link #parse(String...)} capture a stack trace.
+     *
+     * @return true if stack traces are captured
+     */
+    public boolean isCaptureStackTrace() {
+        return captureStackTrace;
+    }
+
+    /**
+     * Sets whether parameter exceptions thrown by {@link #parse(String...)} capture a stack trace. By default, stack
+     * traces are captured. Callers that expect many invalid command lines and only check the exceptions' error codes
+     * can skip capturing them to make failed parse calls cheaper.
+     *
+     * @param captureStackTrace true if stack traces shall be captured
+     */
+    public void setCaptureStackTrace(boolean captureStackTrace) {
+        this.captureStackTrace = captureStackTrace;
+    }
+
+    /**
+     * Returns whether arguments that start with '@' are expanded as argument files.
+     *
+     * @return true if argument files are expanded
+     * @see #setArgumentFiles(boolean)
+     */
+    public boolean isArgumentFiles() {
+        return argumentFiles;
+    }
+
+    /**
+     * Sets whether arguments that start with '@' are expanded as argument files by {@link #parse(String...)} and
+     * {@link #tryParse(String...)}. By default, all arguments are taken literally. With argument files, an argument
+     * that consists of '@' followed by a path is replaced by the arguments in the file at that path, which lets callers
+     * pass more arguments than the operating system allows on a command line. The file is UTF-8 encoded text with any
+     * number of arguments per line, which are split and quoted like the lines of {@link #parseLines(Path, Consumer)}.
+     * An argument that starts with "@@" is passed with one '@' less, so "@@x" is the literal argument "@x". Argument
+     * files are not expanded recursively. The file is mapped into memory and its arguments are passed to the
+     * parser one at a time, so they are never collected into an array. The index of a failure refers to the arguments
+     * after the expansion. A file that cannot be read results in a failure with the error code
+     * {@link ErrorCode#INVALID_ARGUMENT_FILE} and the file's path as name.
+     *
+     * @param argumentFiles true if argument files shall be expanded
+     */
+    public void setArgumentFiles(boolean argumentFiles) {
+        this.argumentFiles = argumentFiles;
     }
 
     /**
@@ -63,124 +192,944 @@ public class SimpleCommandLineParser {
      * @return the usage help
      */
     public String printHelp() {
-        return helpMenu.printUsage(command);
+        return helpMenu.printUsage(getCommand());
+    }
+
+    /**
+     * Prints formatted usage information to the given output. This only works if the command is already specified.
+     * Unlike {@link #printHelp()}, the usage information is written to the output while it is rendered, so it is never
+     * built as one large string.
+     *
+     * @param out the output the usage help is written to
+     * @throws IOException if the usage help cannot be written to the output
+     */
+    public void printHelp(Appendable out) throws IOException {
+        helpMenu.printUsage(getCommand(), out);
     }
 
     /**
      * Parses a given command line. If no errors occur during the parsing, the parsed arguments will be accessible under
-     * the returned command. Otherwise a parameter exception is thrown.
+     * the returned command. Otherwise a parameter exception is thrown. The command line is parsed against the compiled
+     * form of the command, which is shared by all parse calls, so the cost of parsing grows with the number of given
+     * arguments and not with the number of defined parameters. The given arguments are walked in place: they are
+     * neither copied nor split into substrings, and keys are matched against the parameters' names directly inside
+     * the arguments. A successful parse therefore allocates nothing but the returned result and the converted values.
      *
      * @param args the user-provided arguments
      * @return the parsed command including all of its parsed children (parameters or subcommand incl. its parameters)
      * @throws ParameterException if the command line arguments could not be parsed successfully, The exception's
      *                            message contains the formatted error and usage guidance according to the error's
-     *                            nature.
+     *                            nature. The message is only rendered when it is requested, the exception's error code,
+     *                            argument index and name describe the error without rendering it.
      */
     public ParsedCommand parse(String... args) throws ParameterException {
-        InternalCommand result = command.copy();
-        List<String> arguments = new LinkedList<>(Arrays.asList(args));
+        CompiledCommand compiled = this.compiled;
+        if (argumentFiles && ExpandedArguments.containsFile(args)) {
+            ExpandedArguments expanded = new ExpandedArguments(args);
+            ArgumentCursor cursor = new SourceCursor(expanded);
+            Object result = parseArgumentFiles(compiled, expanded, cursor, lazyConversion);
+            if (result instanceof ParseResult.Failure failure) {
+                throw createException(compiled, failure, cursor, null, captureStackTrace);
+            }
+            return (ParsedCommand) result;
+        }
+        Object result = parseArguments(compiled, args, lazyConversion);
+        if (result instanceof ParseResult.Failure failure) {
+            throw createException(compiled, failure, args, captureStackTrace);
+        }
+        return (ParsedCommand) result;
+    }
 
-        // If a subcommand must be present, check for its existence
-        if (!command.getSubcommands().isEmpty()) {
+    /**
+     * Parses a given command line like {@link #parse(String...)}, but does not throw an exception if the command line
+     * cannot be parsed. Instead, the returned failure contains the error code and the index of the offending argument.
+     * Neither an exception nor a message or usage guidance is created for a failure, which makes this method suitable
+     * for callers that expect many invalid command lines.
+     *
+     * @param args the user-provided arguments
+     * @return a success that holds the parsed command or a failure that describes the error
+     */
+    public ParseResult tryParse(String... args) {
+        if (argumentFiles && ExpandedArguments.containsFile(args)) {
+            ExpandedArguments expanded = new ExpandedArguments(args);
+            return toResult(parseArgumentFiles(compiled, expanded, new SourceCursor(expanded), lazyConversion));
+        }
+        return toResult(parseArguments(compiled, args, lazyConversion));
+    }
 
-            // Parse the subcommand
-            try {
-                result.add(parseSubcommand(arguments).copy());
-            } catch (ParameterException e) {
-                throw new ParameterException(helpMenu.printUsage(command, e.getMessage()));
+    /**
+     * Parses a command line that chains several invocations of the command in one call, like "fetch --id 1 + transform
+     * --mode x ++ store --path y", so that a script that runs several subcommands in a row starts only one JVM. The
+     * arguments are split into segments at the delimiters {@value #SEQUENTIAL_DELIMITER} and
+     * {@value #PARALLEL_DELIMITER}, and every segment is parsed like {@link #parse(String...)}, so it has its own
+     * subcommand and is validated against that subcommand's parameters. A delimiter is only recognized where a
+     * subcommand or a parameter's key is expected, so a parameter's value may equal a delimiter. A segment that follows
+     * {@value #PARALLEL_DELIMITER} is marked as independent of the segment before it, which allows the caller to run
+     * the two segments in parallel. A command line without delimiters is parsed into a chain of one segment. Argument
+     * files are not expanded in chained command lines.
+     * <p>
+     * The segments are parsed in place, so the arguments are neither copied nor split into arrays of their own. Parsing
+     * stops at the first segment that cannot be parsed, and the index of the failure refers to all given arguments.
+     *
+     * @param args the user-provided arguments
+     * @return the parsed segments in the order of the command line
+     * @throws ParameterException if a segment could not be parsed successfully. The exception's message contains the
+     *                            formatted error and the usage guidance of the segment's subcommand.
+     */
+    public ParsedChain parseChain(String... args) throws ParameterException {
+        CompiledCommand compiled = this.compiled;
+        boolean lazyConversion = this.lazyConversion;
+        InternalParsedChain chain = new InternalParsedChain();
+        boolean parallel = false;
+        int from = 0;
+        while (true) {
+            int to = findSegmentEnd(compiled, args, from);
+            Object result = parseArguments(compiled, args, from, to, lazyConversion);
+            if (result instanceof ParseResult.Failure failure) {
+                throw createException(compiled, failure, from == to ? null : args[from],
+                        failure.index() < 0 || failure.index() >= to ? null : args[failure.index()], null,
+                        captureStackTrace);
             }
+            chain.add((ParsedCommand) result, parallel);
+            if (to == args.length) {
+                return chain;
+            }
+            parallel = args[to].equals(PARALLEL_DELIMITER);
+            from = to + 1;
+        }
+    }
 
-            InternalSubcommand subcommand = result.getSubcommand();
+    /**
+     * Returns the end of the segment of a chained command line that starts at the given index. The arguments are
+     * walked like the parser walks them, first the subcommand if the command has subcommands and then the parameters'
+     * keys, skipping their values, until a delimiter takes the place of a subcommand or a key.
+     *
+     * @param compiled the compiled command
+     * @param args     the user-provided arguments
+     * @param from     the index of the segment's first argument
+     * @return the index of the delimiter that ends the segment or the number of arguments if the segment is the last
+     */
+    private static int findSegmentEnd(CompiledCommand compiled, String[] args, int from) {
+        int i = from;
+        if (compiled.hasSubcommands() && i < args.length && !isDelimiter(args[i])) {
+            i++;
+        }
+        while (i < args.length && !isDelimiter(args[i])) {
+            i += 2;
+        }
+        return Math.min(i, args.length);
+    }
 
-            try {
-                // Parse all parameters of the subcommand
-                parseParameters(arguments, subcommand.getParameters());
-            } catch (ParameterException e) {
-                throw new ParameterException(
-                        helpMenu.printUsage(command, command.getSubcommand(subcommand.getName()), e.getMessage()));
-            }
+    /**
+     * Returns whether the given argument separates two segments of a chained command line.
+     *
+     * @param arg the argument
+     * @return true if the argument is {@value #SEQUENTIAL_DELIMITER} or {@value #PARALLEL_DELIMITER}
+     */
+    private static boolean isDelimiter(String arg) {
+        return SEQUENTIAL_DELIMITER.equals(arg) || PARALLEL_DELIMITER.equals(arg);
+    }
+
+    /**
+     * Parses a command line that is given as one line of text, like "run --input "/data/my file" --threads 8". The line
+     * is split into its arguments with the quoting and escaping rules of a POSIX shell: arguments are separated by
+     * spaces, tabs and line breaks, text in single quotes is taken literally, text in double quotes is taken literally
+     * except that a backslash escapes a dollar sign, a backtick, a double quote, a backslash or a line feed, and
+     * outside of quotes a backslash escapes the following character. A backslash before a line break joins the lines.
+     * Variables, commands and globs are not expanded, and argument files are not expanded either. Apart from that, the
+     * command line is parsed like {@link #parse(String...)}, and the index of a failure refers to the split arguments.
+     * <p>
+     * The line is split while it is parsed, so the arguments are never collected into an array. An argument that is a
+     * contiguous part of the line, because it has no escapes and at most one quoted text, is not copied: keys are
+     * matched and integer and boolean values are converted directly inside the line. Only string, path and double
+     * values and arguments with escapes are copied into strings of their own.
+     *
+     * @param commandLine the user-provided command line
+     * @return the parsed command including all of its parsed children (parameters or subcommand incl. its parameters)
+     * @throws ParameterException if the command line could not be parsed successfully
+     */
+    public ParsedCommand parseLine(CharSequence commandLine) throws ParameterException {
+        return parseLine(new LineCursor(commandLine));
+    }
+
+    /**
+     * Parses the command line that is split by the given line cursor like {@link #parseLine(CharSequence)}, so that
+     * callers which parse many lines can reuse one cursor.
+     *
+     * @param cursor the cursor that is positioned before the first argument of the user-provided command line
+     * @return the parsed command including all of its parsed children (parameters or subcommand incl. its parameters)
+     * @throws ParameterException if the command line could not be parsed successfully
+     */
+    ParsedCommand parseLine(LineCursor cursor) throws ParameterException {
+        CompiledCommand compiled = this.compiled;
+        Object result = parseInMemory(compiled, cursor, null, lazyConversion);
+        if (result instanceof ParseResult.Failure failure) {
+            throw createException(compiled, failure, cursor, null, captureStackTrace);
+        }
+        return (ParsedCommand) result;
+    }
+
+    /**
+     * Returns whether the command that command lines are parsed against has a subcommand with the given name. The
+     * name is looked up in the compiled command, so the lookup does not iterate over the subcommands.
+     *
+     * @param name the subcommand's name
+     * @return true if a command is set and it has a subcommand with the given name
+     */
+    boolean hasSubcommand(String name) {
+        CompiledCommand compiled = this.compiled;
+        return compiled != null && compiled.getSubcommand(name) != null;
+    }
+
+    /**
+     * Parses a command line that is given as one line of text like {@link #parseLine(CharSequence)}, but does not
+     * throw an exception if the command line cannot be parsed. Instead, the returned failure contains the error code
+     * and the index of the offending argument.
+     *
+     * @param commandLine the user-provided command line
+     * @return a success that holds the parsed command or a failure that describes the error
+     */
+    public ParseResult tryParseLine(CharSequence commandLine) {
+        return toResult(parseInMemory(compiled, new LineCursor(commandLine), null, lazyConversion));
+    }
+
+    /**
+     * Parses a command line whose arguments are read from the given channel and terminated by NUL bytes, like the
+     * arguments that "xargs -0" passes to a command. The arguments are UTF-8 encoded and taken literally, so they may
+     * contain spaces, quotes and line breaks, and two consecutive NUL bytes are an empty argument. The last argument
+     * does not need to be terminated. If the channel is a file channel of a regular file, the rest of the file is
+     * mapped into memory, otherwise the channel is read in chunks. Either way the arguments are passed to the parser
+     * one at a time, so they are never collected into an array. Apart from that, the command line is parsed like
+     * {@link #parse(String...)}. Parsing stops at the first error, so the channel is not necessarily read until its
+     * end. The channel must be a blocking channel, and it is not closed.
+     *
+     * @param channel the channel that contains the arguments
+     * @return the parsed command including all of its parsed children (parameters or subcommand incl. its parameters)
+     * @throws ParameterException if the command line arguments could not be parsed successfully
+     * @throws IOException        if the channel cannot be read, an argument is not valid UTF-8 or an argument is
+     *                            longer than 1,048,576 bytes
+     * @see #parseStandardInput()
+     */
+    public ParsedCommand parseNullDelimited(ReadableByteChannel channel) throws ParameterException, IOException {
+        CompiledCommand compiled = this.compiled;
+        ArgumentCursor cursor = new SourceCursor(new ArgumentReader(channel, true));
+        Object result = parseArguments(compiled, cursor, null, lazyConversion);
+        if (result instanceof ParseResult.Failure failure) {
+            throw createException(compiled, failure, cursor, null, captureStackTrace);
+        }
+        return (ParsedCommand) result;
+    }
+
+    /**
+     * Parses a command line whose arguments are read from the given channel and terminated by NUL bytes like
+     * {@link #parseNullDelimited(ReadableByteChannel)}, but does not throw an exception if the command line cannot be
+     * parsed. Instead, the returned failure contains the error code and the index of the offending argument.
+     *
+     * @param channel the channel that contains the arguments
+     * @return a success that holds the parsed command or a failure that describes the error
+     * @throws IOException if the channel cannot be read, an argument is not valid UTF-8 or an argument is longer than
+     *                     1,048,576 bytes
+     */
+    public ParseResult tryParseNullDelimited(ReadableByteChannel channel) throws IOException {
+        return toResult(parseArguments(compiled, new SourceCursor(new ArgumentReader(channel, true)), null,
+                lazyConversion));
+    }
+
+    /**
+     * Parses a command line whose arguments are UTF-8 encoded and terminated by NUL bytes between the position and the
+     * limit of the given buffer, like a frame received from a socket or the contents of "/proc/&lt;pid&gt;/cmdline"
+     * after the program's name. The last argument does not need to be terminated, and two consecutive NUL bytes are an
+     * empty argument. Apart from that, the command line is parsed like {@link #parse(String...)}.
+     * <p>
+     * The arguments are never decoded as a whole: the subcommand and the keys are matched against the UTF-8 encoding
+     * of the names inside the buffer, and integer and boolean values are converted from their bytes. Only string, path
+     * and double values, values that are converted lazily and the arguments named by a failure are decoded. A value
+     * that is not valid UTF-8 is an invalid value, and a key or subcommand that is not valid UTF-8 is unknown. The
+     * buffer may be a direct buffer, its position and limit are not changed, and the returned result does not refer
+     * to it, so the buffer can be reused as soon as this method returns.
+     *
+     * @param arguments the buffer that contains the arguments
+     * @return the parsed command including all of its parsed children (parameters or subcommand incl. its parameters)
+     * @throws ParameterException if the command line arguments could not be parsed successfully
+     */
+    public ParsedCommand parseNullDelimited(ByteBuffer arguments) throws ParameterException {
+        return parseNullDelimited(arguments, null);
+    }
+
+    /**
+     * Parses a command line whose arguments are UTF-8 encoded and terminated by NUL bytes in the given buffer like
+     * {@link #parseNullDelimited(ByteBuffer)}, but resolves relative path values against the given working directory,
+     * also if they are converted lazily.
+     *
+     * @param arguments        the buffer that contains the arguments
+     * @param workingDirectory the absolute working directory or null for the working directory of the process
+     * @return the parsed command including all of its parsed children (parameters or subcommand incl. its parameters)
+     * @throws ParameterException if the command line arguments could not be parsed successfully
+     */
+    ParsedCommand parseNullDelimited(ByteBuffer arguments, Path workingDirectory) throws ParameterException {
+        CompiledCommand compiled = this.compiled;
+        ByteCursor cursor = createCursor(arguments);
+        Object result = parseInMemory(compiled, cursor, workingDirectory, lazyConversion);
+        if (result instanceof ParseResult.Failure failure) {
+            throw createException(compiled, failure, cursor, workingDirectory, captureStackTrace);
+        }
+        return (ParsedCommand) result;
+    }
+
+    /**
+     * Parses a command line whose arguments are UTF-8 encoded and terminated by NUL bytes in the given range of the
+     * given array like {@link #parseNullDelimited(ByteBuffer)}.
+     *
+     * @param arguments the array that contains the arguments
+     * @param offset    the index of the range's first byte
+     * @param length    the number of bytes in the range
+     * @return the parsed command including all of its parsed children (parameters or subcommand incl. its parameters)
+     * @throws ParameterException        if the command line arguments could not be parsed successfully
+     * @throws IndexOutOfBoundsException if the range is not within the array
+     */
+    public ParsedCommand parseNullDelimited(byte[] arguments, int offset, int length) throws ParameterException {
+        return parseNullDelimited(wrap(arguments, offset, length));
+    }
+
+    /**
+     * Parses a command line whose arguments are UTF-8 encoded and terminated by NUL bytes in the given buffer like
+     * {@link #parseNullDelimited(ByteBuffer)}, but does not throw an exception if the command line cannot be parsed.
+     * Instead, the returned failure contains the error code and the index of the offending argument.
+     *
+     * @param arguments the buffer that contains the arguments
+     * @return a success that holds the parsed command or a failure that describes the error
+     */
+    public ParseResult tryParseNullDelimited(ByteBuffer arguments) {
+        return toResult(parseInMemory(compiled, createCursor(arguments), null, lazyConversion));
+    }
+
+    /**
+     * Parses a command line whose arguments are UTF-8 encoded and terminated by NUL bytes in the given range of the
+     * given array like {@link #tryParseNullDelimited(ByteBuffer)}.
+     *
+     * @param arguments the array that contains the arguments
+     * @param offset    the index of the range's first byte
+     * @param length    the number of bytes in the range
+     * @return a success that holds the parsed command or a failure that describes the error
+     * @throws IndexOutOfBoundsException if the range is not within the array
+     */
+    public ParseResult tryParseNullDelimited(byte[] arguments, int offset, int length) {
+        return tryParseNullDelimited(wrap(arguments, offset, length));
+    }
+
+    /**
+     * Creates a cursor over the arguments between the position and the limit of the given buffer.
+     *
+     * @param arguments the buffer that contains the arguments
+     * @return the cursor
+     * @throws IllegalArgumentException if the given buffer is null
+     */
+    private static ByteCursor createCursor(ByteBuffer arguments) {
+        if (arguments == null) {
+            throw new IllegalArgumentException("Arguments must not be null");
+        }
+        return new ByteCursor(arguments, arguments.position(), arguments.limit());
+    }
+
+    /**
+     * Wraps the given range of the given array into a buffer whose position and limit are the range's bounds.
+     *
+     * @param arguments the array that contains the arguments
+     * @param offset    the index of the range's first byte
+     * @param length    the number of bytes in the range
+     * @return the buffer
+     * @throws IllegalArgumentException  if the given array is null
+     * @throws IndexOutOfBoundsException if the range is not within the array
+     */
+    private static ByteBuffer wrap(byte[] arguments, int offset, int length) {
+        if (arguments == null) {
+            throw new IllegalArgumentException("Arguments must not be null");
+        }
+        return ByteBuffer.wrap(arguments, offset, length);
+    }
+
+    /**
+     * Parses a command line whose arguments are read from the standard input of the process and terminated by NUL
+     * bytes like {@link #parseNullDelimited(ReadableByteChannel)}, for example "find . -print0 | java -jar app.jar".
+     * If the standard input is redirected from a file, the file is mapped into memory. The standard input is not
+     * closed.
+     *
+     * @return the parsed command including all of its parsed children (parameters or subcommand incl. its parameters)
+     * @throws ParameterException if the command line arguments could not be parsed successfully
+     * @throws IOException        if the standard input cannot be read, an argument is not valid UTF-8 or an argument
+     *                            is longer than 1,048,576 bytes
+     */
+    public ParsedCommand parseStandardInput() throws ParameterException, IOException {
+        // The stream is not closed, because that would close the standard input of the process
+        return parseNullDelimited(new FileInputStream(FileDescriptor.in).getChannel());
+    }
 
-            // Check if all parameters have values not null. A null value means that a mandatory parameter was not
-            // being set via the command line parameters
-            for (Parameter<?> parameter : subcommand.getParameters()) {
-                if (parameter.getValue() == null) {
-                    String error = "Parameter '" + parameter.getName() + "' is missing";
-                    throw new ParameterException(
-                            helpMenu.printUsage(command, command.getSubcommand(subcommand.getName()), error));
+    /**
+     * Parses the given command lines in parallel on the common fork/join pool. This is equivalent to calling
+     * {@link #tryParse(String...)} for every command line, so a command line that cannot be parsed results in a failure
+     * and does not affect the other command lines. All command lines are parsed against the same compiled command and
+     * settings.
+     *
+     * @param argsList the user-provided arguments of every command line
+     * @return the results in the order of the given command lines
+     * @see #parseAll(List, Executor)
+     */
+    public List<ParseResult> parseAll(List<String[]> argsList) {
+        return parseAll(argsList, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Parses the given command lines in parallel on the given executor. This is equivalent to calling
+     * {@link #tryParse(String...)} for every command line, so a command line that cannot be parsed results in a failure
+     * and does not affect the other command lines. The command lines are split into chunks of consecutive command
+     * lines, and every chunk is parsed by one task of the executor. All tasks parse against the same compiled command
+     * and settings and write their results into a separate range of the returned list, so they never contend with each
+     * other. This method returns when all tasks have completed.
+     *
+     * @param argsList the user-provided arguments of every command line
+     * @param executor the executor that parses the chunks
+     * @return the results in the order of the given command lines
+     * @throws IllegalArgumentException if the given list or executor is null
+     */
+    public List<ParseResult> parseAll(List<String[]> argsList, Executor executor) {
+        if (argsList == null) {
+            throw new IllegalArgumentException("Arguments must not be null");
+        }
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor must not be null");
+        }
+        CompiledCommand compiled = this.compiled;
+        boolean lazyConversion = this.lazyConversion;
+        ParseResult[] results = new ParseResult[argsList.size()];
+        int chunkSize = Math.max(MIN_CHUNK_SIZE,
+                (results.length + CHUNKS_PER_PROCESSOR * PROCESSORS - 1) / (CHUNKS_PER_PROCESSOR * PROCESSORS));
+        CompletableFuture<?>[] chunks = new CompletableFuture<?>[(results.length + chunkSize - 1) / chunkSize];
+        for (int i = 0; i < chunks.length; i++) {
+            int from = i * chunkSize;
+            int to = Math.min(from + chunkSize, results.length);
+            chunks[i] = CompletableFuture.runAsync(() -> {
+                for (int j = from; j < to; j++) {
+                    results[j] = toResult(parseArguments(compiled, argsList.get(j), lazyConversion));
                 }
+            }, executor);
+        }
+        try {
+            CompletableFuture.allOf(chunks).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
             }
+            throw e;
+        }
+        return Arrays.asList(results);
+    }
 
-        } else {
+    /**
+     * Parses the command lines of the given stream. This is equivalent to mapping every command line with
+     * {@link #tryParse(String...)}, so the returned stream is parallel if the given stream is parallel, and it keeps
+     * the order of the given stream if that stream is ordered. All command lines are parsed against the compiled
+     * command and settings that are current when this method is called.
+     *
+     * @param args the user-provided arguments of every command line
+     * @return the lazily populated stream of results
+     * @throws IllegalArgumentException if the given stream is null
+     */
+    public Stream<ParseResult> parseAll(Stream<String[]> args) {
+        if (args == null) {
+            throw new IllegalArgumentException("Arguments must not be null");
+        }
+        CompiledCommand compiled = this.compiled;
+        boolean lazyConversion = this.lazyConversion;
+        return args.map(arguments -> toResult(parseArguments(compiled, arguments, lazyConversion)));
+    }
 
-            try {
-                // Parse all parameters of the command
-                parseParameters(arguments, result.getParameters());
-            } catch (ParameterException e) {
-                throw new ParameterException(helpMenu.printUsage(command, e.getMessage()));
+    /**
+     * Parses the given command lines and stores the values of the given parameters in columns. Instead of one parsed
+     * command per command line, the result holds one array per parameter, with one element per command line, and a
+     * bitmap of the command lines that have a value for the parameter. Integer, double and boolean values are stored
+     * unboxed, so the memory that is used for the result grows only with the number of command lines and parameters.
+     * A command line that cannot be parsed is recorded as a failure and has no value in any column. The parameters may
+     * belong to the command or to any of its subcommands; a column only has values for the command lines that chose
+     * the parameter's subcommand. The values are always converted during parsing, regardless of lazy conversion.
+     *
+     * @param argsList   the user-provided arguments of every command line
+     * @param parameters the parameters whose values are stored in columns
+     * @return the columns
+     * @throws IllegalArgumentException if the given list is null or if a parameter is null, is given more than once or
+     *                                  is not part of the command or one of its subcommands
+     */
+    public ParsedColumns parseColumns(List<String[]> argsList, Parameter<?>... parameters) {
+        if (argsList == null) {
+            throw new IllegalArgumentException("Arguments must not be null");
+        }
+        CompiledCommand compiled = this.compiled;
+        InternalParsedColumns result = new InternalParsedColumns(compiled, argsList.size(), parameters);
+        int row = 0;
+        for (String[] args : argsList) {
+            Object parsed = parseArguments(compiled, args, false);
+            if (parsed instanceof ParseResult.Failure failure) {
+                result.setFailure(row, failure);
+            } else {
+                result.set(row, (InternalParsedCommand) parsed);
             }
+            row++;
+        }
+        return result;
+    }
 
-            // Check if all parameters have values not null. A null value means that a mandatory parameter was not
-            // being set via the command line parameters
-            for (Parameter<?> parameter : result.getParameters()) {
-                if (parameter.getValue() == null) {
-                    String error = "Parameter '" + parameter.getName() + "' is missing";
-                    throw new ParameterException(helpMenu.printUsage(command, error));
-                }
+    /**
+     * Parses the command lines of the given file and passes every result to the given consumer. The file is UTF-8
+     * encoded text with one command line per line. Every line is split into its arguments at spaces and tabs; text in
+     * single quotes is taken literally, text in double quotes is taken literally except for the escaped characters \"
+     * and \\, and outside of quotes a backslash escapes the following character. Like {@link #tryParse(String...)}, a
+     * command line that cannot be parsed results in a failure and does not stop the parsing. The file is read in chunks
+     * of a fixed size and every result is passed to the consumer as soon as its line is parsed, so the memory that is
+     * used does not depend on the size of the file.
+     *
+     * @param file     the file that contains the command lines
+     * @param consumer the consumer the results are passed to in the order of the lines
+     * @throws IOException if the file cannot be read, is not valid UTF-8 or has a line that is longer than 1,048,576
+     *                     bytes
+     */
+    public void parseLines(Path file, Consumer<? super ParseResult> consumer) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("File must not be null");
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            parseLines(channel, consumer);
+        }
+    }
+
+    /**
+     * Parses the command lines that are read from the given channel and passes every result to the given consumer like
+     * {@link #parseLines(Path, Consumer)}. The channel must be a blocking channel. It is read until its end, but it is
+     * not closed.
+     *
+     * @param channel  the channel that contains the command lines
+     * @param consumer the consumer the results are passed to in the order of the lines
+     * @throws IOException if the channel cannot be read, the command lines are not valid UTF-8 or a line is longer than
+     *                     1,048,576 bytes
+     */
+    public void parseLines(ReadableByteChannel channel, Consumer<? super ParseResult> consumer) throws IOException {
+        if (consumer == null) {
+            throw new IllegalArgumentException("Consumer must not be null");
+        }
+        CompiledCommand compiled = this.compiled;
+        boolean lazyConversion = this.lazyConversion;
+        CorpusReader reader = new CorpusReader(channel);
+        for (String[] args = reader.next(); args != null; args = reader.next()) {
+            consumer.accept(toResult(parseArguments(compiled, args, lazyConversion)));
+        }
+    }
+
+    /**
+     * Parses the command lines that are read from the given channel like {@link #parseLines(Path, Consumer)} and
+     * delivers every result to the given subscriber. The subscriber controls how many lines are read: a line is only
+     * read and parsed when the subscriber has requested a result, and it is delivered in the thread that requested it.
+     * So only the lines that are requested are ever read, and a slow subscriber never causes results to pile up. The
+     * subscription completes after the last line, or fails with an I/O exception if the channel cannot be read, the
+     * command lines are not valid UTF-8 or a line is longer than 1,048,576 bytes. The channel must be a blocking
+     * channel. It is closed when the subscription ends, including when the subscription is cancelled.
+     *
+     * @param channel    the channel that contains the command lines
+     * @param subscriber the subscriber the results are delivered to in the order of the lines
+     */
+    public void parseLines(ReadableByteChannel channel, Flow.Subscriber<? super ParseResult> subscriber) {
+        if (subscriber == null) {
+            throw new IllegalArgumentException("Subscriber must not be null");
+        }
+        CompiledCommand compiled = this.compiled;
+        boolean lazyConversion = this.lazyConversion;
+        new CorpusSubscription<>(new CorpusReader(channel), channel,
+                args -> toResult(parseArguments(compiled, args, lazyConversion)), subscriber).start();
+    }
+
+    /**
+     * Wraps the given outcome of parsing a command line into a parse result.
+     *
+     * @param result either the parsed command or the failure that describes the error
+     * @return the parse result
+     */
+    private static ParseResult toResult(Object result) {
+        if (result instanceof ParseResult.Failure failure) {
+            return failure;
+        }
+        return new ParseResult.Success((ParsedCommand) result);
+    }
+
+    /**
+     * Parses a given command line without throwing an exception if the command line cannot be parsed.
+     *
+     * @param compiled       the compiled command
+     * @param args           the user-provided arguments
+     * @param lazyConversion true if the values shall be converted on first access instead of during parsing
+     * @return either the parsed command or the failure that describes the error
+     */
+    private static Object parseArguments(CompiledCommand compiled, String[] args, boolean lazyConversion) {
+        return parseArguments(compiled, args, 0, args.length, lazyConversion);
+    }
+
+    /**
+     * Parses the given range of command line arguments like {@link #parseArguments(CompiledCommand, String[], boolean)}
+     * as if the range were the whole command line. The index of a failure refers to all given arguments.
+     *
+     * @param compiled       the compiled command
+     * @param args           the user-provided arguments
+     * @param from           the index of the range's first argument
+     * @param to             the index after the range's last argument
+     * @param lazyConversion true if the values shall be converted on first access instead of during parsing
+     * @return either the parsed command or the failure that describes the error
+     */
+    private static Object parseArguments(CompiledCommand compiled, String[] args, int from, int to,
+                                         boolean lazyConversion) {
+        // If a subcommand must be present, check for its existence
+        if (compiled.hasSubcommands()) {
+            if (from == to || (to - from == 1 && args[from].isEmpty())) {
+                return new ParseResult.Failure(ErrorCode.NO_SUBCOMMAND, from, null);
+            }
+            CompiledSubcommand schema = compiled.getSubcommand(args[from]);
+            if (schema == null) {
+                return new ParseResult.Failure(ErrorCode.UNKNOWN_SUBCOMMAND, from, args[from]);
             }
 
+            // Parse all parameters of the subcommand
+            InternalParsedSubcommand subcommand = new InternalParsedSubcommand(schema);
+            ParseResult.Failure failure = parseParameters(args, from + 1, to, subcommand, lazyConversion);
+            if (failure != null) {
+                return failure;
+            }
+            return new InternalParsedCommand(compiled, subcommand);
         }
 
+        // Parse all parameters of the command
+        InternalParsedCommand result = new InternalParsedCommand(compiled, null);
+        ParseResult.Failure failure = parseParameters(args, from, to, result, lazyConversion);
+        if (failure != null) {
+            return failure;
+        }
         return result;
     }
 
     /**
-     * Parses the parameters of the command line arguments. A parameter must have the structure "--key value". If either
-     * the argument format is invalid, an argument contains a parameter name that is not in the given allowed parameter
-     * names, or an argument's value cannot be parsed to the predefined parameter type, a parameter exception is
-     * thrown.
+     * Parses the parameters of the command line arguments, starting at the given index. A parameter must have the
+     * structure "--key value". If either the argument format is invalid, an argument contains a parameter name that is
+     * not in the given allowed parameter names, an argument's value cannot be parsed to the predefined parameter type,
+     * or a mandatory parameter is missing, a failure is returned. With lazy conversion, the values are recorded without
+     * converting them.
      *
-     * @param arguments  the user-provided command line arguments
-     * @param parameters the parameters that are allowed
-     * @throws ParameterException if an arguments contain an unknown parameter name, an argument format is invalid, or a
-     *                            argument's value cannot be parsed into the parameter's type
+     * @param args           the user-provided command line arguments
+     * @param from           the index of the first parameter's key
+     * @param to             the index after the last parameter's value
+     * @param result         the result the parsed values are written to
+     * @param lazyConversion true if the values shall be recorded instead of converted
+     * @return the failure that describes the error or null if all parameters are parsed successfully
      */
-    private void parseParameters(List<String> arguments, Set<Parameter<?>> parameters) throws ParameterException {
-        Iterator<String> iterator = arguments.iterator();
-        while (iterator.hasNext()) {
-            String arg = iterator.next();
-            if (!PARAMETER_FORMAT.matcher(arg).matches()) {
-                throw new ParameterException("Parameter '%s' has no valid format", arg);
+    private static ParseResult.Failure parseParameters(String[] args, int from, int to,
+                                                       InternalParsedSubcommand result, boolean lazyConversion) {
+        for (int i = from; i < to; i += 2) {
+            String arg = args[i];
+            if (!ArgumentCursor.isParameterFormat(arg, 0, arg.length())) {
+                return new ParseResult.Failure(ErrorCode.INVALID_FORMAT, i, null);
+            }
+            if (i + 1 == to) {
+                return new ParseResult.Failure(ErrorCode.MISSING_VALUE, i, arg.substring(2));
             }
-            String key = arg.substring(2);
-            if (!iterator.hasNext()) {
-                throw new ParameterException("Parameter '%s' has no value", key);
+            String value = args[i + 1];
+            ParseResult.Failure failure = parseParameter(arg, 0, arg.length(), value, 0,
+                    value == null ? 0 : value.length(), i, result, lazyConversion);
+            if (failure != null) {
+                return failure;
             }
-            String value = iterator.next();
-            parameters.stream().filter(p -> p.getName().equals(key)).findFirst()
-                    .map(parameter -> (AbstractParameter<?>) parameter)
-                    .orElseThrow(() -> new ParameterException("Unknown parameter '%s'", key)).setValue(value);
         }
+        return checkMandatoryParameters(result);
     }
 
     /**
-     * Parses the subcommand of the command line arguments. The subcommand must be at index 0 of the given arguments. If
-     * either the given arguments are empty or the first argument does not contain any of the predefined given
-     * subcommands, a parameter exception is thrown.
+     * Parses a command line whose arguments are read by the given cursor like
+     * {@link #parseArguments(CompiledCommand, String[], boolean)}. The arguments are regions of the cursor's strings,
+     * so they are matched and converted without creating substrings where possible.
      *
-     * @param arguments the user-provided command line arguments
-     * @return the subcommand of the command line
-     * @throws ParameterException if the given arguments do not contain a subcommand at the first index
+     * @param compiled         the compiled command
+     * @param cursor           the cursor that reads the user-provided arguments
+     * @param workingDirectory the absolute working directory that relative paths are resolved against or null for the
+     *                         working directory of the process
+     * @param lazyConversion   true if the values shall be converted on first access instead of during parsing
+     * @return either the parsed command or the failure that describes the error
+     * @throws IOException if the arguments cannot be read
      */
-    private InternalSubcommand parseSubcommand(List<String> arguments) throws ParameterException {
-        if (arguments.isEmpty() || (arguments.size() == 1 && arguments.getFirst().isEmpty())) {
-            throw new ParameterException("No subcommand found");
+    private static Object parseArguments(CompiledCommand compiled, ArgumentCursor cursor, Path workingDirectory,
+                                         boolean lazyConversion) throws IOException {
+        // If a subcommand must be present, check for its existence
+        if (compiled.hasSubcommands()) {
+            if (!cursor.advance() || (cursor.getFrom() == cursor.getTo() && !cursor.hasMore())) {
+                return new ParseResult.Failure(ErrorCode.NO_SUBCOMMAND, 0, null);
+            }
+            CompiledSubcommand schema = cursor.findSubcommand(compiled);
+            if (schema == null) {
+                return new ParseResult.Failure(ErrorCode.UNKNOWN_SUBCOMMAND, 0, cursor.getCurrent());
+            }
+
+            // Parse all parameters of the subcommand
+            InternalParsedSubcommand subcommand = new InternalParsedSubcommand(schema, workingDirectory);
+            ParseResult.Failure failure = parseParameters(cursor, subcommand, lazyConversion);
+            if (failure != null) {
+                return failure;
+            }
+            return new InternalParsedCommand(compiled, subcommand, workingDirectory);
         }
-        String subcommandName = arguments.removeFirst();
-        InternalSubcommand result = command.getSubcommand(subcommandName);
-        if (result == null) {
-            throw new ParameterException("Unknown subcommand '%s'", arguments.getFirst());
+
+        // Parse all parameters of the command
+        InternalParsedCommand result = new InternalParsedCommand(compiled, null, workingDirectory);
+        ParseResult.Failure failure = parseParameters(cursor, result, lazyConversion);
+        if (failure != null) {
+            return failure;
         }
         return result;
     }
 
+    /**
+     * Parses the parameters whose arguments are read by the given cursor like
+     * {@link #parseParameters(String[], int, int, InternalParsedSubcommand, boolean)}.
+     *
+     * @param cursor         the cursor that reads the user-provided arguments, positioned before the first parameter's
+     *                       key
+     * @param result         the result the parsed values are written to
+     * @param lazyConversion true if the values shall be recorded instead of converted
+     * @return the failure that describes the error or null if all parameters are parsed successfully
+     * @throws IOException if the arguments cannot be read
+     */
+    private static ParseResult.Failure parseParameters(ArgumentCursor cursor, InternalParsedSubcommand result,
+                                                       boolean lazyConversion) throws IOException {
+        CompiledSubcommand schema = result.getSchema();
+        while (cursor.advance()) {
+            int index = cursor.getIndex();
+            if (!cursor.isParameterFormat()) {
+                return new ParseResult.Failure(ErrorCode.INVALID_FORMAT, index, null);
+            }
+            // The key is looked up before the cursor moves on to the value, but a missing value is reported first
+            int ordinal = cursor.findParameter(schema);
+            String unknown = ordinal < 0 ? cursor.getParameterName() : null;
+            if (!cursor.advance()) {
+                return new ParseResult.Failure(ErrorCode.MISSING_VALUE, index, cursor.getParameterName());
+            }
+            if (ordinal < 0) {
+                return new ParseResult.Failure(ErrorCode.UNKNOWN_PARAMETER, index, unknown);
+            }
+            AbstractParameter<?> parameter = schema.getParameter(ordinal);
+            // A missing value is rejected by the conversion, so it is never deferred
+            String value = lazyConversion ? cursor.getValue() : null;
+            if (value != null) {
+                result.setRaw(ordinal, value);
+            } else if (!cursor.tryConvert(parameter, result, ordinal)) {
+                return new ParseResult.Failure(ErrorCode.INVALID_VALUE, index + 1, parameter.getName());
+            }
+        }
+        return checkMandatoryParameters(result);
+    }
+
+    /**
+     * Parses a command line whose arguments may contain argument files. The argument files are closed afterward.
+     *
+     * @param compiled       the compiled command
+     * @param expanded       the arguments that expand the argument files
+     * @param cursor         the cursor that reads the expanded arguments
+     * @param lazyConversion true if the values shall be converted on first access instead of during parsing
+     * @return either the parsed command or the failure that describes the error
+     */
+    private static Object parseArgumentFiles(CompiledCommand compiled, ExpandedArguments expanded,
+                                             ArgumentCursor cursor, boolean lazyConversion) {
+        try (expanded) {
+            return parseArguments(compiled, cursor, null, lazyConversion);
+        } catch (IOException e) {
+            return new ParseResult.Failure(ErrorCode.INVALID_ARGUMENT_FILE, cursor.getIndex() + 1,
+                    expanded.getFile());
+        }
+    }
+
+    /**
+     * Parses a command line whose arguments are held in memory, like a line or a buffer, so the given cursor never
+     * reads from a channel.
+     *
+     * @param compiled         the compiled command
+     * @param cursor           the cursor over the user-provided command line
+     * @param workingDirectory the absolute working directory that relative paths are resolved against or null for the
+     *                         working directory of the process
+     * @param lazyConversion   true if the values shall be converted on first access instead of during parsing
+     * @return either the parsed command or the failure that describes the error
+     */
+    private static Object parseInMemory(CompiledCommand compiled, ArgumentCursor cursor, Path workingDirectory,
+                                        boolean lazyConversion) {
+        try {
+            return parseArguments(compiled, cursor, workingDirectory, lazyConversion);
+        } catch (IOException e) {
+            throw new IllegalStateException("In-memory cursor must not throw an I/O exception", e);
+        }
+    }
+
+    /**
+     * Parses the value of one parameter. The key and the value are regions of strings, and the value is converted
+     * without creating a substring if the parameter's type allows it. With lazy conversion, the value is recorded
+     * without converting it.
+     *
+     * @param key            the string containing the parameter's key, which has the format "--key"
+     * @param keyFrom        the start index of the key
+     * @param keyTo          the end index of the key
+     * @param value          the string containing the parameter's value or null if the value is null
+     * @param valueFrom      the start index of the value
+     * @param valueTo        the end index of the value
+     * @param index          the index of the parameter's key
+     * @param result         the result the parsed value is written to
+     * @param lazyConversion true if the value shall be recorded instead of converted
+     * @return the failure that describes the error or null if the parameter is parsed successfully
+     */
+    private static ParseResult.Failure parseParameter(String key, int keyFrom, int keyTo, String value, int valueFrom,
+                                                      int valueTo, int index, InternalParsedSubcommand result,
+                                                      boolean lazyConversion) {
+        CompiledSubcommand schema = result.getSchema();
+        int ordinal = schema.getNameIndex().find(key, keyFrom + 2, keyTo);
+        if (ordinal < 0) {
+            return new ParseResult.Failure(ErrorCode.UNKNOWN_PARAMETER, index, key.substring(keyFrom + 2, keyTo));
+        }
+        AbstractParameter<?> parameter = schema.getParameter(ordinal);
+        // A missing value is rejected by the conversion, so it is never deferred
+        if (lazyConversion && value != null) {
+            result.setRaw(ordinal, value.substring(valueFrom, valueTo));
+        } else if (value == null ? !parameter.tryConvert(null, result, ordinal) :
+                !parameter.tryConvert(value, valueFrom, valueTo, result, ordinal)) {
+            return new ParseResult.Failure(ErrorCode.INVALID_VALUE, index + 1, parameter.getName());
+        }
+        return null;
+    }
+
+    /**
+     * Checks if all mandatory parameters have been set via the command line parameters.
+     *
+     * @param result the result the parsed values are written to
+     * @return the failure that names the first missing mandatory parameter or null if no mandatory parameter is missing
+     */
+    private static ParseResult.Failure checkMandatoryParameters(InternalParsedSubcommand result) {
+        String missing = result.getMissingParameter();
+        if (missing != null) {
+            return new ParseResult.Failure(ErrorCode.MISSING_PARAMETER, -1, missing);
+        }
+        return null;
+    }
+
+    /**
+     * Creates the parameter exception for the given failure. The exception's message contains the formatted error and
+     * the usage guidance of the command or, if the error refers to a subcommand's parameters, of the subcommand. The
+     * message is only rendered when it is requested.
+     *
+     * @param compiled          the compiled command the command line was parsed against
+     * @param failure           the failure that describes the error
+     * @param args              the user-provided command line arguments
+     * @param captureStackTrace true if the exception shall capture a stack trace
+     * @return the parameter exception
+     */
+    private ParameterException createException(CompiledCommand compiled, ParseResult.Failure failure, String[] args,
+                                               boolean captureStackTrace) {
+        return createException(compiled, failure, args.length == 0 ? null : args[0],
+                failure.index() < 0 || failure.index() >= args.length ? null : args[failure.index()], null,
+                captureStackTrace);
+    }
+
+    /**
+     * Creates the parameter exception for the given failure of a command line whose arguments were read by the given
+     * cursor like {@link #createException(CompiledCommand, ParseResult.Failure, String[], boolean)}. The cursor stops
+     * at the offending argument, so it still holds it.
+     *
+     * @param compiled          the compiled command the command line was parsed against
+     * @param failure           the failure that describes the error
+     * @param cursor            the cursor that read the user-provided command line arguments
+     * @param workingDirectory  the absolute working directory that relative paths were resolved against or null for
+     *                          the working directory of the process
+     * @param captureStackTrace true if the exception shall capture a stack trace
+     * @return the parameter exception
+     */
+    private ParameterException createException(CompiledCommand compiled, ParseResult.Failure failure,
+                                               ArgumentCursor cursor, Path workingDirectory,
+                                               boolean captureStackTrace) {
+        return createException(compiled, failure, cursor.getFirstArgument(),
+                failure.index() == cursor.getIndex() ? cursor.getCurrent() : null, workingDirectory,
+                captureStackTrace);
+    }
+
+    /**
+     * Creates the parameter exception for the given failure from the arguments that describe it. The error of an
+     * invalid value is taken right away, so the message describes the value as it was when the parsing failed. The
+     * usage guidance is rendered from the compiled command, so later changes to the command are not visible in it.
+     *
+     * @param compiled          the compiled command the command line was parsed against
+     * @param failure           the failure that describes the error
+     * @param subcommand        the first user-provided argument, which names the subcommand, or null if there is none
+     * @param argument          the offending argument or null if the error is not caused by a single argument
+     * @param workingDirectory  the absolute working directory that relative paths were resolved against or null for
+     *                          the working directory of the process
+     * @param captureStackTrace true if the exception shall capture a stack trace
+     * @return the parameter exception
+     */
+    private ParameterException createException(CompiledCommand compiled, ParseResult.Failure failure,
+                                               String subcommand, String argument, Path workingDirectory,
+                                               boolean captureStackTrace) {
+        CompiledSubcommand schema = compiled;
+        if (compiled.hasSubcommands() && failure.errorCode() != ErrorCode.NO_SUBCOMMAND &&
+                failure.errorCode() != ErrorCode.UNKNOWN_SUBCOMMAND && subcommand != null) {
+            // An argument file that cannot be read may precede the subcommand, so the subcommand may be unknown
+            CompiledSubcommand found = compiled.getSubcommand(subcommand);
+            schema = found == null ? compiled : found;
+        }
+        String conversionError = failure.errorCode() == ErrorCode.INVALID_VALUE ?
+                getConversionError(schema, schema.getOrdinal(failure.name()), argument, workingDirectory) : null;
+        CompiledSubcommand errorSchema = schema;
+        return new ParameterException(failure.errorCode(), failure.index(), failure.name(),
+                () -> renderError(compiled, errorSchema, failure, argument, conversionError), captureStackTrace);
+    }
+
+    /**
+     * Renders the message of a parameter exception, which consists of the formatted error and the usage guidance of the
+     * command or, if the given compiled subcommand is not the compiled command, of the subcommand.
+     *
+     * @param compiled        the compiled command the command line was parsed against
+     * @param schema          the compiled command or subcommand the error refers to
+     * @param failure         the failure that describes the error
+     * @param argument        the offending argument or null if the error is not caused by a single argument
+     * @param conversionError the error of converting the offending value or null if the error is not an invalid value
+     * @return the exception's message
+     */
+    private String renderError(CompiledCommand compiled, CompiledSubcommand schema, ParseResult.Failure failure,
+                               String argument, String conversionError) {
+        String error = switch (failure.errorCode()) {
+            case NO_SUBCOMMAND -> "No subcommand found";
+            case UNKNOWN_SUBCOMMAND -> "Unknown subcommand '" + failure.name() + "'";
+            case INVALID_FORMAT -> "Parameter '" + argument + "' has no valid format";
+            case MISSING_VALUE -> "Parameter '" + failure.name() + "' has no value";
+            case UNKNOWN_PARAMETER -> "Unknown parameter '" + failure.name() + "'";
+            case INVALID_VALUE -> conversionError;
+            case MISSING_PARAMETER -> "Parameter '" + failure.name() + "' is missing";
+            case INVALID_ARGUMENT_FILE -> "Argument file '" + failure.name() + "' cannot be read";
+        };
+        return helpMenu.printUsage(compiled, schema, error);
+    }
+
+    /**
+     * Returns the error message of converting the given invalid value to the type of the parameter with the given
+     * ordinal. A relative path is resolved against the given working directory like during the parsing.
+     *
+     * @param schema           the compiled command or subcommand the parameter belongs to
+     * @param ordinal          the parameter's ordinal
+     * @param value            the value that could not be converted
+     * @param workingDirectory the absolute working directory or null for the working directory of the process
+     * @return the conversion's error message
+     */
+    private static String getConversionError(CompiledSubcommand schema, int ordinal, String value,
+                                             Path workingDirectory) {
+        AbstractParameter<?> parameter = schema.getParameter(ordinal);
+        try {
+            parameter.convert(value, new InternalParsedSubcommand(schema, workingDirectory), ordinal);
+        } catch (ParameterException e) {
+            return e.getMessage();
+        }
+        // The value may have become valid in the meantime, e.g. if it is a path that was created by another thread
+        return "The parameter '" + parameter.getName() + "'s value is not valid";
+    }
 }
@@ -1,6 +1,6 @@
 /*
- * This file is part of ProDisFuzz, modified on 04.04.20, 23:34.
- * Copyright (c) 2013-2020 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This file is part of ProDisFuzz, modified on 18.10.26, 03:47.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
  * This work is free. You can redistribute it and/or modify it under the
  * terms of the Do What The Fuck You Want To Public License, Version 2,
  * as published by Sam Hocevar. See the COPYING file for more details.
@@ -8,6 +8,7 @@
 
 package main;
 
+import java.util.Collection;
 import java.util.Set;
 
 /**
@@ -24,13 +25,26 @@ public interface Subcommand {
     Set<Parameter<?>> getParameters();
 
     /**
-     * Adds a parameter to this subcommand.
+     * Adds a parameter to this subcommand. Parameters can be added by several threads at once; of several threads that
+     * add parameters with the same name, exactly one succeeds.
      *
      * @param parameter the parameter to be added
      * @return true if this subcommand did not already contain the given parameter
      */
     boolean add(Parameter<?> parameter);
 
+    /**
+     * Adds all given parameters to this subcommand. This is equivalent to adding the parameters one by one, but all
+     * parameters are checked before any of them is added. The time needed grows linearly with the number of given
+     * parameters, so this is the preferred way to build subcommands with many parameters.
+     *
+     * @param parameters the parameters to be added
+     * @return true if this subcommand did not already contain at least one of the given parameters
+     * @throws IllegalArgumentException if the given collection is null or contains a parameter that is null or was not
+     *                                  created by the command line parser
+     */
+    boolean addAll(Collection<? extends Parameter<?>> parameters);
+
     /**
      * Returns the description of this subcommand.
      *
@@ -0,0 +1,93 @@
+/*
+ * This file is part of ProDisFuzz, modified on 18.10.26, 04:56.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package benchmarks;
+
+import internal.schema.NameIndex;
+import main.Command;
+import main.CommandFactory;
+import main.ParameterException;
+import main.ParameterFactory;
+import main.SimpleCommandLineParser;
+import main.Subcommand;
+
+/**
+ * This class is a benchmark that measures the cost of resolving parameter names and of parsing the same command line
+ * against subcommands with a growing number of parameters. Since every key is resolved through the subcommand's name
+ * index, the cost per lookup is expected to stay flat. The benchmark is not part of the test suite and must be started
+ * manually.
+ */
+public final class NameLookupBenchmark {
+
+    private static final int[] PARAMETER_COUNTS = {10, 100, 1000, 10000};
+    private static final int ITERATIONS = 200_000;
+
+    /**
+     * Instantiates a new benchmark.
+     */
+    private NameLookupBenchmark() {
+    }
+
+    /**
+     * Runs the benchmark and prints the average time per lookup and per parse for every number of parameters.
+     *
+     * @param args ignored
+     * @throws ParameterException if a command line cannot be parsed
+     */
+    public static void main(String[] args) throws ParameterException {
+        for (int round = 0; round < 2; round++) {
+            for (int count : PARAMETER_COUNTS) {
+                SimpleCommandLineParser parser = createParser(count);
+                String[] arguments = {"subcommand", "--option" + (count - 1), "1", "--option" + (count / 2), "2",
+                        "--option0", "3", "--option" + (count / 3), "4"};
+                String[] names = new String[count];
+                for (int i = 0; i < count; i++) {
+                    names[i] = "option" + i;
+                }
+                NameIndex nameIndex = new NameIndex(names);
+
+                long start = System.nanoTime();
+                long sum = 0;
+                for (int i = 0; i < ITERATIONS; i++) {
+                    for (int j = 1; j < arguments.length; j += 2) {
+                        sum += nameIndex.find(arguments[j], 2, arguments[j].length());
+                    }
+                }
+                long lookupNanos = (System.nanoTime() - start) / ITERATIONS / (arguments.length / 2);
+
+                start = System.nanoTime();
+                for (int i = 0; i < ITERATIONS; i++) {
+                    sum += parser.parse(arguments).getSubcommand().getName().length();
+                }
+                long parseNanos = (System.nanoTime() - start) / ITERATIONS;
+                if (round > 0) {
+                    System.out.printf("%6d parameters: %4d ns/lookup %6d ns/parse (%d)%n", count, lookupNanos,
+                            parseNanos, sum);
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates a parser with a single subcommand that has the given number of optional integer parameters.
+     *
+     * @param count the number of parameters
+     * @return the parser
+     */
+    private static SimpleCommandLineParser createParser(int count) {
+        Command command = CommandFactory.createCommand("command", "The benchmarked command");
+        Subcommand subcommand = CommandFactory.createSubcommand("subcommand", "The benchmarked subcommand");
+        for (int i = 0; i < count; i++) {
+            subcommand.add(ParameterFactory.createIntegerParameter("option" + i, "An option").makeOptional(0));
+        }
+        command.add(subcommand);
+        SimpleCommandLineParser result = new SimpleCommandLineParser();
+        result.setCommand(command);
+        return result;
+    }
+}
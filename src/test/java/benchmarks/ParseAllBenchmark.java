@@ -0,0 +1,139 @@
+/*
+ * This file is part of ProDisFuzz, modified on 18.10.26, 03:49.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package benchmarks;
+
+import main.Command;
+import main.CommandFactory;
+import main.ParameterFactory;
+import main.ParseResult;
+import main.SimpleCommandLineParser;
+import main.Subcommand;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * This class measures how the throughput of parsing a batch of command lines with
+ * {@link SimpleCommandLineParser#parseAll(List, java.util.concurrent.Executor)} scales with the number of cores. The
+ * batch is parsed on fork/join pools with a parallelism from one up to the number of available processors, and the
+ * throughput and speedup relative to one core are printed for every parallelism. The number of command lines can be
+ * given as the first argument.
+ */
+public final class ParseAllBenchmark {
+
+    private static final int SUBCOMMANDS = 8;
+    private static final int PARAMETERS = 16;
+    private static final int ROUNDS = 5;
+
+    /**
+     * Instantiates a new benchmark.
+     */
+    private ParseAllBenchmark() {
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args the number of command lines, 500,000 by default
+     */
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        SimpleCommandLineParser commandLine = new SimpleCommandLineParser();
+        commandLine.setCommand(createCommand());
+        List<String[]> argsList = createArguments(count);
+
+        double baseline = 0;
+        int processors = Runtime.getRuntime().availableProcessors();
+        for (int parallelism = 1; parallelism <= processors; parallelism = nextParallelism(parallelism, processors)) {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            // The first round warms up the pool's threads and the compiled code
+            long best = Long.MAX_VALUE;
+            for (int round = 0; round <= ROUNDS; round++) {
+                long start = System.nanoTime();
+                List<ParseResult> results = commandLine.parseAll(argsList, pool);
+                long time = System.nanoTime() - start;
+                if (results.size() != count) {
+                    throw new IllegalStateException("Unexpected number of results");
+                }
+                if (round > 0) {
+                    best = Math.min(best, time);
+                }
+            }
+            pool.shutdown();
+            double throughput = count / (best / 1e9);
+            if (parallelism == 1) {
+                baseline = throughput;
+            }
+            System.out.printf("%3d cores: %,12.0f command lines/s, speedup %5.2f%n", parallelism, throughput,
+                    throughput / baseline);
+        }
+    }
+
+    /**
+     * Creates a command with several subcommands, each of which has mandatory and optional parameters of all types.
+     *
+     * @return the command
+     */
+    private static Command createCommand() {
+        Command command = CommandFactory.createCommand("benchmark", "Benchmark command");
+        for (int i = 0; i < SUBCOMMANDS; i++) {
+            Subcommand subcommand = CommandFactory.createSubcommand("subcommand" + i, "Benchmark subcommand");
+            for (int j = 0; j < PARAMETERS; j += 4) {
+                subcommand.add(ParameterFactory.createIntegerParameter("integer" + j, "Integer parameter"));
+                subcommand.add(ParameterFactory.createDoubleParameter("double" + j, "Double parameter")
+                        .makeOptional(0.5));
+                subcommand.add(ParameterFactory.createBooleanParameter("boolean" + j, "Boolean parameter")
+                        .makeOptional(false));
+                subcommand.add(ParameterFactory.createStringParameter("string" + j, "String parameter"));
+            }
+            command.add(subcommand);
+        }
+        return command;
+    }
+
+    /**
+     * Creates the given number of command lines for the benchmark command. Every hundredth command line has an invalid
+     * value.
+     *
+     * @param count the number of command lines
+     * @return the command lines
+     */
+    private static List<String[]> createArguments(int count) {
+        List<String[]> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            List<String> args = new ArrayList<>();
+            args.add("subcommand" + i % SUBCOMMANDS);
+            for (int j = 0; j < PARAMETERS; j += 4) {
+                args.add("--integer" + j);
+                args.add(i % 100 == 0 ? "invalid" : Integer.toString(i + j));
+                args.add("--double" + j);
+                args.add(Double.toString(i / 3.0));
+                args.add("--boolean" + j);
+                args.add(Boolean.toString(i % 2 == 0));
+                args.add("--string" + j);
+                args.add("value" + i);
+            }
+            result.add(args.toArray(new String[0]));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the next parallelism to measure, which is the double of the given parallelism, but at most the number of
+     * available processors.
+     *
+     * @param parallelism the current parallelism
+     * @param processors  the number of available processors
+     * @return the next parallelism or a number greater than the number of processors if all are measured
+     */
+    private static int nextParallelism(int parallelism, int processors) {
+        return parallelism == processors ? processors + 1 : Math.min(parallelism * 2, processors);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * This file is part of ProDisFuzz, modified on 18.10.26, 03:58.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package benchmarks;
+
+import internal.corpus.ByteTokenizer;
+
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * This class measures the throughput of splitting a corpus of command lines into their arguments with a
+ * {@link ByteTokenizer} that scans eight bytes at a time compared to one that scans byte by byte. The corpus is held in
+ * memory, so only the tokenizing is measured. The size of the corpus in megabytes can be given as the first argument.
+ */
+public final class TokenizerBenchmark {
+
+    private static final int ROUNDS = 5;
+
+    /**
+     * Instantiates a new benchmark.
+     */
+    private TokenizerBenchmark() {
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args the size of the corpus in megabytes, 64 by default
+     * @throws CharacterCodingException if the corpus is not valid UTF-8
+     */
+    public static void main(String[] args) throws CharacterCodingException {
+        int megabytes = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        byte[] corpus = createCorpus(megabytes << 20);
+        double scalar = measure(new ByteTokenizer(false), corpus);
+        double words = measure(new ByteTokenizer(true), corpus);
+        System.out.printf("byte by byte: %,8.1f MB/s%n", scalar);
+        System.out.printf("word scanning: %,8.1f MB/s, speedup %5.2f%n", words, words / scalar);
+    }
+
+    /**
+     * Tokenizes the given corpus line by line several times and returns the best throughput.
+     *
+     * @param byteTokenizer the tokenizer
+     * @param corpus        the corpus
+     * @return the throughput in megabytes per second
+     * @throws CharacterCodingException if the corpus is not valid UTF-8
+     */
+    private static double measure(ByteTokenizer byteTokenizer, byte[] corpus) throws CharacterCodingException {
+        // The first round warms up the compiled code
+        long best = Long.MAX_VALUE;
+        long arguments = 0;
+        for (int round = 0; round <= ROUNDS; round++) {
+            long start = System.nanoTime();
+            int from = 0;
+            while (from < corpus.length) {
+                int to = byteTokenizer.indexOf(corpus, from, corpus.length, (byte) '\n');
+                arguments += byteTokenizer.tokenize(corpus, from, to).length;
+                from = to + 1;
+            }
+            long time = System.nanoTime() - start;
+            if (round > 0) {
+                best = Math.min(best, time);
+            }
+        }
+        if (arguments == 0) {
+            throw new IllegalStateException("Corpus has no arguments");
+        }
+        return corpus.length / (best / 1e9) / (1 << 20);
+    }
+
+    /**
+     * Creates a corpus of at least the given size. Every line is terminated by a line feed, and every tenth line has a
+     * quoted argument.
+     *
+     * @param size the minimal size in bytes
+     * @return the corpus
+     */
+    private static byte[] createCorpus(int size) {
+        StringBuilder result = new StringBuilder(size + 256);
+        for (int i = 0; result.length() < size; i++) {
+            result.append("subcommand").append(i % 8).append(" --integer ").append(i).append(" --double ")
+                    .append(i / 3.0).append(" --boolean ").append(i % 2 == 0).append(" --string ");
+            result.append(i % 10 == 0 ? "'quoted value " + i + "'" : "value" + i).append('\n');
+        }
+        return result.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
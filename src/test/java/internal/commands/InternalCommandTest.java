@@ -1,6 +1,6 @@
 /*
- * This file is part of ProDisFuzz, modified on 30.10.24, 23:21.
- * Copyright (c) 2013-2024 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This file is part of ProDisFuzz, modified on 18.10.26, 04:55.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
  * This work is free. You can redistribute it and/or modify it under the
  * terms of the Do What The Fuck You Want To Public License, Version 2,
  * as published by Sam Hocevar. See the COPYING file for more details.
@@ -16,7 +16,15 @@ import main.Parameter;
 import main.Subcommand;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.testng.Assert.*;
 
@@ -65,6 +73,21 @@ public class InternalCommandTest {
                 "subcommanddescription1");
     }
 
+    @Test
+    public void testGetSubcommands3() {
+        InternalCommand internalCommand = new InternalCommand("commandname", "commanddescription");
+        assertTrue(internalCommand.add(new InternalSubcommand("subcommandname2", "subcommanddescription2")));
+        assertTrue(internalCommand.add(new InternalSubcommand("subcommandname1", "subcommanddescription1")));
+        Set<Subcommand> subcommands = internalCommand.getSubcommands();
+        assertSame(internalCommand.getSubcommands(), subcommands);
+        assertThrows(UnsupportedOperationException.class,
+                () -> subcommands.add(new InternalSubcommand("subcommandname3", "subcommanddescription3")));
+        assertTrue(internalCommand.add(new InternalSubcommand("subcommandname0", "subcommanddescription0")));
+        assertEquals(subcommands.size(), 2);
+        assertEquals(internalCommand.getSubcommands().stream().map(Subcommand::getName).toList(),
+                List.of("subcommandname0", "subcommandname1", "subcommandname2"));
+    }
+
     // Add parameter
 
     @Test
@@ -101,25 +124,97 @@ public class InternalCommandTest {
     }
 
     @Test
-    public void testCopy() {
+    public void testAdd9() throws Exception {
+        InternalCommand internalCommand = new InternalCommand("commandname", "commanddescription");
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            // Every name is added by two tasks
+            String name = "subcommandname" + i / 2;
+            futures.add(executor.submit(() -> {
+                start.await();
+                return internalCommand.add(new InternalSubcommand(name, "subcommanddescription"));
+            }));
+        }
+        start.countDown();
+        int added = 0;
+        for (Future<Boolean> future : futures) {
+            added += future.get() ? 1 : 0;
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+        assertEquals(added, 100);
+        assertEquals(internalCommand.getSubcommands().size(), 100);
+        assertNotNull(internalCommand.getSubcommand("subcommandname99"));
+    }
+
+    @Test
+    public void testAdd10() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        for (int i = 0; i < 200; i++) {
+            InternalCommand internalCommand = new InternalCommand("commandname", "commanddescription");
+            CountDownLatch start = new CountDownLatch(1);
+            Future<Boolean> subcommandAdded = executor.submit(() -> {
+                start.await();
+                try {
+                    return internalCommand.add(new InternalSubcommand("subcommandname", "subcommanddescription"));
+                } catch (IllegalStateException ignored) {
+                    return false;
+                }
+            });
+            Future<Boolean> parameterAdded = executor.submit(() -> {
+                start.await();
+                try {
+                    return internalCommand.add(new StringParameter("parametername", "parameterdescription"));
+                } catch (IllegalStateException ignored) {
+                    return false;
+                }
+            });
+            start.countDown();
+            assertNotEquals(subcommandAdded.get(), parameterAdded.get());
+            assertNotEquals(internalCommand.getSubcommands().isEmpty(), internalCommand.getParameters().isEmpty());
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+    }
+
+    @Test
+    public void testAddAll() {
         InternalCommand internalCommand = new InternalCommand("commandname", "commanddescription");
-        assertTrue(internalCommand.add(
-                new StringParameter("parametername1", "parameterdescription1").makeOptional("parametervalue")));
-        assertTrue(internalCommand.add(new BooleanParameter("parametername2", "parameterdescription2")));
-        InternalCommand copy = internalCommand.copy();
-        assertEquals(copy.getName(), "commandname");
-        assertEquals(copy.getDescription(), "commanddescription");
-        assertEquals(copy.getParameters().size(), 2);
-        assertNotNull(copy.getStringParameter("parametername1"));
-        assertNotNull(copy.getBooleanParameter("parametername2"));
-        assertEquals(copy.getParameters().stream().filter(parameter -> parameter.getName().equals("parametername1"))
-                .findFirst().get().getDescription(), "parameterdescription1");
-        assertEquals(copy.getParameters().stream().filter(parameter -> parameter.getName().equals("parametername1"))
-                .findFirst().get().getValue(), "parametervalue");
-        assertEquals(copy.getParameters().stream().filter(parameter -> parameter.getName().equals("parametername2"))
-                .findFirst().get().getDescription(), "parameterdescription2");
-        assertNull(copy.getParameters().stream().filter(parameter -> parameter.getName().equals("parametername2"))
-                .findFirst().get().getValue());
+        assertTrue(internalCommand.addAll(List.of(new IntegerParameter("parametername1", "parameterdescription1"),
+                new BooleanParameter("parametername2", "parameterdescription2"))));
+        assertEquals(internalCommand.getParameters().size(), 2);
+        assertThrows(IllegalStateException.class,
+                () -> internalCommand.add(new InternalSubcommand("subcommandname", "subcommanddescription")));
+    }
+
+    @Test
+    public void testAddAll1() {
+        InternalCommand internalCommand = new InternalCommand("commandname", "commanddescription");
+        assertTrue(internalCommand.add(new InternalSubcommand("subcommandname", "subcommanddescription")));
+        assertThrows(IllegalStateException.class, () -> internalCommand.addAll(
+                List.of(new StringParameter("parametername", "parameterdescription"))));
+    }
+
+    @Test
+    public void testGetVersion() {
+        InternalCommand internalCommand = new InternalCommand("commandname", "commanddescription");
+        InternalSubcommand internalSubcommand = new InternalSubcommand("subcommandname", "subcommanddescription");
+        long version = internalCommand.getVersion();
+        assertTrue(internalCommand.add(internalSubcommand));
+        assertTrue(internalCommand.getVersion() > version);
+        version = internalCommand.getVersion();
+        IntegerParameter parameter = new IntegerParameter("parametername", "parameterdescription");
+        internalSubcommand.add(parameter);
+        assertTrue(internalCommand.getVersion() > version);
+        version = internalCommand.getVersion();
+        parameter.makeOptional(1);
+        assertTrue(internalCommand.getVersion() > version);
+
+        // Other commands are not affected
+        InternalCommand other = new InternalCommand("commandname", "commanddescription");
+        assertEquals(other.getVersion(), 0);
     }
 
     @Test
@@ -153,14 +248,16 @@ public class InternalCommandTest {
     @Test
     public void testGetSubcommand() {
         InternalCommand internalCommand = new InternalCommand("commandname", "commanddescription");
-        assertNull(internalCommand.getSubcommand());
+        assertNull(internalCommand.getSubcommand("subcommandname"));
+        assertNull(internalCommand.getSubcommand(null));
     }
 
     @Test
     public void testGetSubcommand1() {
         InternalCommand internalCommand = new InternalCommand("commandname", "commanddescription");
         assertTrue(internalCommand.add(new InternalSubcommand("subcommandname", "subcommanddescription")));
-        assertNotNull(internalCommand.getSubcommand());
+        assertNotNull(internalCommand.getSubcommand("subcommandname"));
+        assertNull(internalCommand.getSubcommand("subcommandname1"));
     }
 
     @Test
@@ -171,7 +268,7 @@ public class InternalCommandTest {
             internalCommand.add(new InternalSubcommand("subcommandname", "subcommanddescription"));
         } catch (IllegalStateException ignored) {
         }
-        assertNull(internalCommand.getSubcommand());
+        assertNull(internalCommand.getSubcommand("subcommandname"));
     }
 
     static class DummyParameter implements Parameter<Boolean> {
@@ -214,6 +311,11 @@ public class InternalCommandTest {
             return false;
         }
 
+        @Override
+        public boolean addAll(Collection<? extends Parameter<?>> parameters) {
+            return false;
+        }
+
         @Override
         public String getDescription() {
             return null;
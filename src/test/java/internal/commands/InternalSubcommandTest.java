@@ -1,6 +1,6 @@
 /*
- * This file is part of ProDisFuzz, modified on 02.11.24, 10:25.
- * Copyright (c) 2013-2024 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This file is part of ProDisFuzz, modified on 18.10.26, 05:14.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
  * This work is free. You can redistribute it and/or modify it under the
  * terms of the Do What The Fuck You Want To Public License, Version 2,
  * as published by Sam Hocevar. See the COPYING file for more details.
@@ -13,6 +13,15 @@ import main.Parameter;
 import org.testng.annotations.Test;
 
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.testng.Assert.*;
 
@@ -142,6 +151,93 @@ public class InternalSubcommandTest {
         assertThrows(IllegalArgumentException.class, () -> internalSubcommand.add(null));
     }
 
+    @Test
+    public void testAdd8() throws Exception {
+        InternalSubcommand internalSubcommand = new InternalSubcommand("subcommandname", "subcommanddescription");
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int task = 0; task < 16; task++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                // All tasks add the same names, so every name must be added by exactly one of them
+                int added = 0;
+                for (int i = 0; i < 1000; i++) {
+                    if (internalSubcommand.add(new IntegerParameter("parametername" + i, "parameterdescription"))) {
+                        added++;
+                    }
+                }
+                return added;
+            }));
+        }
+        start.countDown();
+        int added = 0;
+        for (Future<Integer> future : futures) {
+            added += future.get();
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+        assertEquals(added, 1000);
+        assertEquals(internalSubcommand.getParameters().size(), 1000);
+        assertNotNull(internalSubcommand.getIntegerParameter("parametername999"));
+    }
+
+    @Test
+    public void testAddAll() {
+        InternalSubcommand internalSubcommand = new InternalSubcommand("subcommandname", "subcommanddescription");
+        assertTrue(internalSubcommand.addAll(List.of(new IntegerParameter("parametername1", "parameterdescription1"),
+                new BooleanParameter("parametername2", "parameterdescription2"),
+                new StringParameter("parametername3", "parameterdescription3"),
+                new PathParameter("parametername4", "parameterdescription4", false),
+                new DoubleParameter("parametername5", "parameterdescription5"))));
+        assertEquals(internalSubcommand.getParameters().size(), 5);
+        assertNotNull(internalSubcommand.getIntegerParameter("parametername1"));
+        assertNotNull(internalSubcommand.getBooleanParameter("parametername2"));
+        assertNotNull(internalSubcommand.getStringParameter("parametername3"));
+        assertNotNull(internalSubcommand.getPathParameter("parametername4"));
+        assertNotNull(internalSubcommand.getDoubleParameter("parametername5"));
+    }
+
+    @Test
+    public void testAddAll1() {
+        InternalSubcommand internalSubcommand = new InternalSubcommand("subcommandname", "subcommanddescription");
+        assertTrue(internalSubcommand.add(new IntegerParameter("parametername1", "parameterdescription1")));
+        assertTrue(internalSubcommand.addAll(List.of(new BooleanParameter("parametername1", "parameterdescription2"),
+                new StringParameter("parametername2", "parameterdescription3"),
+                new DoubleParameter("parametername2", "parameterdescription4"))));
+        assertEquals(internalSubcommand.getParameters().size(), 2);
+        assertNotNull(internalSubcommand.getIntegerParameter("parametername1"));
+        assertNotNull(internalSubcommand.getStringParameter("parametername2"));
+        assertNull(internalSubcommand.getBooleanParameter("parametername1"));
+        assertNull(internalSubcommand.getDoubleParameter("parametername2"));
+        assertFalse(internalSubcommand.addAll(
+                List.of(new BooleanParameter("parametername1", "parameterdescription5"))));
+        assertFalse(internalSubcommand.addAll(List.of()));
+    }
+
+    @Test
+    public void testAddAll2() {
+        InternalSubcommand internalSubcommand = new InternalSubcommand("subcommandname", "subcommanddescription");
+        assertThrows(IllegalArgumentException.class, () -> internalSubcommand.addAll(null));
+        assertThrows(IllegalArgumentException.class, () -> internalSubcommand.addAll(
+                Arrays.asList(new IntegerParameter("parametername1", "parameterdescription1"), null)));
+        assertThrows(IllegalArgumentException.class, () -> internalSubcommand.addAll(
+                List.of(new IntegerParameter("parametername1", "parameterdescription1"), new DummyParameter())));
+        assertEquals(internalSubcommand.getParameters().size(), 0);
+    }
+
+    @Test
+    public void testAddAll3() {
+        InternalSubcommand internalSubcommand = new InternalSubcommand("subcommandname", "subcommanddescription");
+        List<Parameter<?>> parameters = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            parameters.add(new StringParameter("parametername" + i, "parameterdescription"));
+        }
+        assertTrue(internalSubcommand.addAll(parameters));
+        assertEquals(internalSubcommand.getParameters().size(), 100_000);
+        assertNotNull(internalSubcommand.getStringParameter("parametername99999"));
+    }
+
     @Test
     public void testGetDescription() {
         InternalSubcommand internalSubcommand = new InternalSubcommand("subcommandname", "subcommanddescription");
@@ -191,6 +287,21 @@ public class InternalSubcommandTest {
         assertTrue(internalSubcommand.getParameters().contains(parameter10));
     }
 
+    @Test
+    public void testGetParameters2() {
+        InternalSubcommand internalSubcommand = new InternalSubcommand("subcommandname", "subcommanddescription");
+        assertTrue(internalSubcommand.add(new StringParameter("parametername2", "parameterdescription2")));
+        assertTrue(internalSubcommand.add(new IntegerParameter("parametername1", "parameterdescription1")));
+        Set<Parameter<?>> parameters = internalSubcommand.getParameters();
+        assertSame(internalSubcommand.getParameters(), parameters);
+        assertThrows(UnsupportedOperationException.class,
+                () -> parameters.add(new BooleanParameter("parametername3", "parameterdescription3")));
+        assertTrue(internalSubcommand.add(new DoubleParameter("parametername0", "parameterdescription0")));
+        assertEquals(parameters.size(), 2);
+        assertEquals(internalSubcommand.getParameters().stream().map(Parameter::getName).toList(),
+                List.of("parametername0", "parametername1", "parametername2"));
+    }
+
     @Test
     public void testGetIntegerParameter() {
         InternalSubcommand internalSubcommand = new InternalSubcommand("subcommandname", "subcommanddescription");
@@ -263,79 +374,20 @@ public class InternalSubcommandTest {
     }
 
     @Test
-    public void testCopy() {
+    public void testGetVersion() {
         InternalSubcommand internalSubcommand = new InternalSubcommand("subcommandname", "subcommanddescription");
-        assertTrue(internalSubcommand.add(
-                new StringParameter("parametername1", "parameterdescription1").makeOptional("p1")));
-        assertTrue(internalSubcommand.add(new StringParameter("parametername2", "parameterdescription2")));
-        assertTrue(internalSubcommand.add(
-                new IntegerParameter("parametername3", "parameterdescription3").makeOptional(3)));
-        assertTrue(internalSubcommand.add(new IntegerParameter("parametername4", "parameterdescription4")));
-        assertTrue(internalSubcommand.add(
-                new BooleanParameter("parametername5", "parameterdescription5").makeOptional(true)));
-        assertTrue(internalSubcommand.add(new BooleanParameter("parametername6", "parameterdescription6")));
-        assertTrue(internalSubcommand.add(
-                new PathParameter("parametername7", "parameterdescription7", false).makeOptional(Path.of("p7"))));
-        assertTrue(internalSubcommand.add(new PathParameter("parametername8", "parameterdescription8", false)));
-        assertTrue(internalSubcommand.add(
-                new DoubleParameter("parametername9", "parameterdescription9").makeOptional(9.9)));
-        assertTrue(internalSubcommand.add(new DoubleParameter("parametername10", "parameterdescription10")));
-
-        InternalSubcommand copy = internalSubcommand.copy();
-
-        assertEquals(copy.getName(), "subcommandname");
-        assertEquals(copy.getDescription(), "subcommanddescription");
-        assertEquals(copy.getParameters().size(), 10);
-
-        assertEquals(copy.getParameters().stream().filter(parameter -> parameter.getName().equals("parametername1"))
-                .findFirst().get().getDescription(), "parameterdescription1");
-        assertEquals(copy.getParameters().stream().filter(parameter -> parameter.getName().equals("parametername1"))
-                .findFirst().get().getValue(), "p1");
-
-        assertEquals(copy.getParameters().stream().filter(parameter -> parameter.getName().equals("parametername2"))
-                .findFirst().get().getDescription(), "parameterdescription2");
-        assertNull(copy.getParameters().stream().filter(parameter -> parameter.getName().equals("parametername2"))
-                .findFirst().get().getValue(), null);
-
-        assertEquals(copy.getParameters().stream().filter(parameter -> parameter.getName().equals("parametername3"))
-                .findFirst().get().getDescription(), "parameterdescription3");
-        assertEquals(copy.getParameters().stream().filter(parameter -> parameter.getName().equals("parametername3"))
-                .findFirst().get().getValue(), 3);
-
-        assertEquals(copy.getParameters().stream().filter(parameter -> parameter.getName().equals("parametername4"))
-                .findFirst().get().getDescription(), "parameterdescription4");
-        assertNull(copy.getParameters().stream().filter(parameter -> parameter.getName().equals("parametername4"))
-                .findFirst().get().getValue(), null);
-
-        assertEquals(copy.getParameters().stream().filter(parameter -> parameter.getName().equals("parametername5"))
-                .findFirst().get().getDescription(), "parameterdescription5");
-        assertEquals(copy.getParameters().stream().filter(parameter -> parameter.getName().equals("parametername5"))
-                .findFirst().get().getValue(), true);
-
-        assertEquals(copy.getParameters().stream().filter(parameter -> parameter.getName().equals("parametername6"))
-                .findFirst().get().getDescription(), "parameterdescription6");
-        assertNull(copy.getParameters().stream().filter(parameter -> parameter.getName().equals("parametername6"))
-                .findFirst().get().getValue(), null);
-
-        assertEquals(copy.getParameters().stream().filter(parameter -> parameter.getName().equals("parametername7"))
-                .findFirst().get().getDescription(), "parameterdescription7");
-        assertEquals(copy.getParameters().stream().filter(parameter -> parameter.getName().equals("parametername7"))
-                .findFirst().get().getValue(), Path.of("p7"));
-
-        assertEquals(copy.getParameters().stream().filter(parameter -> parameter.getName().equals("parametername8"))
-                .findFirst().get().getDescription(), "parameterdescription8");
-        assertNull(copy.getParameters().stream().filter(parameter -> parameter.getName().equals("parametername8"))
-                .findFirst().get().getValue(), null);
-
-        assertEquals(copy.getParameters().stream().filter(parameter -> parameter.getName().equals("parametername9"))
-                .findFirst().get().getDescription(), "parameterdescription9");
-        assertEquals(copy.getParameters().stream().filter(parameter -> parameter.getName().equals("parametername9"))
-                .findFirst().get().getValue(), 9.9);
-
-        assertEquals(copy.getParameters().stream().filter(parameter -> parameter.getName().equals("parametername10"))
-                .findFirst().get().getDescription(), "parameterdescription10");
-        assertNull(copy.getParameters().stream().filter(parameter -> parameter.getName().equals("parametername10"))
-                .findFirst().get().getValue(), null);
+        IntegerParameter parameter = new IntegerParameter("parametername1", "parameterdescription1");
+        long version = internalSubcommand.getVersion();
+        assertTrue(internalSubcommand.add(parameter));
+        assertTrue(internalSubcommand.getVersion() > version);
+        version = internalSubcommand.getVersion();
+        assertFalse(internalSubcommand.add(new IntegerParameter("parametername1", "parameterdescription1")));
+        assertEquals(internalSubcommand.getVersion(), version);
+        parameter.makeOptional(1);
+        assertTrue(internalSubcommand.getVersion() > version);
+        version = internalSubcommand.getVersion();
+        assertTrue(internalSubcommand.addAll(List.of(new BooleanParameter("parametername2", "parameterdescription2"))));
+        assertTrue(internalSubcommand.getVersion() > version);
     }
 
     static class DummyParameter implements Parameter<Boolean> {
@@ -0,0 +1,171 @@
+/*
+ * This file is part of ProDisFuzz, modified on 18.10.26, 04:49.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package internal.corpus;
+
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.MalformedInputException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.testng.Assert.*;
+
+public class ArgumentReaderTest {
+
+    @Test
+    public void testNext() throws IOException {
+        ArgumentReader argumentReader = new ArgumentReader(channel("--a\0b c\n\0\0--d"), true);
+        assertEquals(readAll(argumentReader), List.of("--a", "b c\n", "", "--d"));
+        assertFalse(argumentReader.hasNext());
+        assertThrows(NoSuchElementException.class, argumentReader::next);
+    }
+
+    @Test
+    public void testNext1() throws IOException {
+        ArgumentReader argumentReader =
+                new ArgumentReader(channel("--a 'b c'\n\n  \r\n--d \"e\" --f\ng\n"), false);
+        assertEquals(readAll(argumentReader), List.of("--a", "b c", "--d", "e", "--f", "g"));
+    }
+
+    @Test
+    public void testNext2() throws IOException {
+        // Arguments are split across the chunks of a channel and the windows of a file
+        StringBuilder arguments = new StringBuilder();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            arguments.append("--näme").append(i).append('\0').append("välüe😀".repeat(i % 5)).append('\0');
+            expected.add("--näme" + i);
+            expected.add("välüe😀".repeat(i % 5));
+        }
+        Path file = Files.createTempFile(null, null);
+        Files.writeString(file, arguments);
+        for (int size = 1; size < 12; size++) {
+            assertEquals(readAll(new ArgumentReader(channel(arguments.toString()), true, 1, size)), expected);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                assertEquals(readAll(new ArgumentReader(channel, true, size, 1)), expected);
+            }
+        }
+        Files.delete(file);
+    }
+
+    @Test
+    public void testNext3() throws IOException {
+        // A file channel is mapped from its current position
+        Path file = Files.createTempFile(null, null);
+        Files.writeString(file, "skipped\0--a\0b");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            channel.position(8);
+            assertEquals(readAll(new ArgumentReader(channel, true)), List.of("--a", "b"));
+        }
+        Files.delete(file);
+    }
+
+    @Test
+    public void testNext4() throws IOException {
+        byte[] bytes = {'a', 0, (byte) 0xC3};
+        ArgumentReader argumentReader1 = new ArgumentReader(Channels.newChannel(new ByteArrayInputStream(bytes)), true);
+        assertEquals(argumentReader1.next(), "a");
+        assertThrows(MalformedInputException.class, argumentReader1::next);
+
+        ArgumentReader argumentReader2 =
+                new ArgumentReader(channel("a\0" + "x".repeat(ArgumentReader.MAX_SEGMENT_LENGTH + 1)), true);
+        assertEquals(argumentReader2.next(), "a");
+        assertThrows(IOException.class, argumentReader2::next);
+    }
+
+    @Test
+    public void testNext5() throws IOException {
+        // A file of more than 100 MB is read through memory mapping without collecting its arguments
+        Path file = Files.createTempFile(null, null);
+        byte[] block = "--parametername\0value\0".repeat(4096).getBytes(StandardCharsets.US_ASCII);
+        int blocks = (100 << 20) / block.length + 1;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            for (int i = 0; i < blocks; i++) {
+                channel.write(ByteBuffer.wrap(block));
+            }
+            channel.write(ByteBuffer.wrap("--last\0välüe".getBytes(StandardCharsets.UTF_8)));
+        }
+        assertTrue(Files.size(file) > 100 << 20);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ArgumentReader argumentReader = new ArgumentReader(channel, true, 16 << 20, 1);
+            long count = 0;
+            String last = null;
+            while (argumentReader.hasNext()) {
+                last = argumentReader.next();
+                count++;
+            }
+            assertEquals(count, blocks * 4096L * 2 + 2);
+            assertEquals(last, "välüe");
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testNext6() throws IOException {
+        // A file of procfs reports a size of 0, so it is read until its end instead of being mapped
+        Path file = Path.of("/proc/self/cmdline");
+        if (!Files.isReadable(file)) {
+            return;
+        }
+        List<String> expected = List.of(new String(Files.readAllBytes(file), StandardCharsets.UTF_8).split("\0"));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            assertEquals(channel.size(), 0);
+            assertEquals(readAll(new ArgumentReader(channel, true)), expected);
+        }
+        Path empty = Files.createTempFile(null, null);
+        try (FileChannel channel = FileChannel.open(empty, StandardOpenOption.READ)) {
+            assertEquals(readAll(new ArgumentReader(channel, true)), List.of());
+        }
+        Files.delete(empty);
+    }
+
+    @Test
+    public void testArgumentReader() {
+        assertThrows(IllegalArgumentException.class, () -> new ArgumentReader(null, true));
+        assertThrows(IllegalArgumentException.class, () -> new ArgumentReader(channel(""), true, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new ArgumentReader(channel(""), true, 1, 0));
+    }
+
+    /**
+     * Reads all arguments of the given reader.
+     *
+     * @param argumentReader the argument reader
+     * @return the arguments
+     * @throws IOException if the arguments cannot be read
+     */
+    private static List<String> readAll(ArgumentReader argumentReader) throws IOException {
+        List<String> result = new ArrayList<>();
+        while (argumentReader.hasNext()) {
+            result.add(argumentReader.next());
+        }
+        return result;
+    }
+
+    /**
+     * Returns a channel that contains the given text as UTF-8. The channel is not a file channel.
+     *
+     * @param text the text
+     * @return the channel
+     */
+    private static ReadableByteChannel channel(String text) {
+        return Channels.newChannel(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * This file is part of ProDisFuzz, modified on 18.10.26, 04:41.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package internal.corpus;
+
+import internal.commands.InternalCommand;
+import internal.commands.InternalSubcommand;
+import internal.parameters.IntegerParameter;
+import internal.parameters.StringParameter;
+import internal.parsing.InternalParsedSubcommand;
+import internal.schema.CompiledCommand;
+import internal.schema.CompiledSubcommand;
+import org.testng.annotations.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+public class ByteCursorTest {
+
+    @Test
+    public void testAdvance() {
+        assertEquals(split("a\0bc\0\0d"), List.of("a", "bc", "", "d"));
+        assertEquals(split("a\0bc\0"), List.of("a", "bc"));
+        assertEquals(split("\0"), List.of(""));
+        assertEquals(split("\0\0"), List.of("", ""));
+        assertEquals(split(""), List.of());
+        assertEquals(split("a b\nä\0'c'"), List.of("a b\nä", "'c'"));
+    }
+
+    @Test
+    public void testAdvance1() {
+        // Arguments that are longer than a word are searched a word at a time
+        String argument = "x".repeat(100);
+        assertEquals(split(argument + "\0" + argument + "y\0z"), List.of(argument, argument + "y", "z"));
+    }
+
+    @Test
+    public void testAdvance2() {
+        byte[] encoded = "skip\0--a\0ä\0rest".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer bytes = ByteBuffer.allocateDirect(encoded.length).put(encoded).position(0);
+        ByteCursor byteCursor = new ByteCursor(bytes, 5, 12);
+        assertEquals(byteCursor.getIndex(), -1);
+        assertNull(byteCursor.getCurrent());
+        assertNull(byteCursor.getFirstArgument());
+        assertTrue(byteCursor.hasMore());
+        assertTrue(byteCursor.advance());
+        assertSame(byteCursor.getBytes(), bytes);
+        assertEquals(byteCursor.getFrom(), 5);
+        assertEquals(byteCursor.getTo(), 8);
+        assertTrue(byteCursor.advance());
+        assertEquals(byteCursor.getCurrent(), "ä");
+        assertEquals(byteCursor.getFirstArgument(), "--a");
+        assertEquals(byteCursor.getIndex(), 1);
+        assertFalse(byteCursor.hasMore());
+        assertFalse(byteCursor.advance());
+        assertEquals(bytes.position(), 0);
+    }
+
+    @Test
+    public void testFindParameter() {
+        IntegerParameter parameter1 = new IntegerParameter("parametername1", "parameterdescription1");
+        StringParameter parameter2 = new StringParameter("pärametername2", "parameterdescription2");
+        InternalSubcommand subcommand = new InternalSubcommand("sübcommandname", "subcommanddescription");
+        subcommand.add(parameter1);
+        subcommand.add(parameter2);
+        InternalCommand command = new InternalCommand("commandname", "commanddescription");
+        command.add(subcommand);
+        CompiledCommand compiledCommand = new CompiledCommand(command);
+        CompiledSubcommand schema = compiledCommand.getSubcommand("sübcommandname");
+        InternalParsedSubcommand parsedSubcommand = new InternalParsedSubcommand(schema);
+
+        byte[] encoded = "sübcommandname\0--parametername1\0006\0--pärametername2\0x\0--wröng\0"
+                .getBytes(StandardCharsets.UTF_8);
+        ByteBuffer bytes = ByteBuffer.allocate(encoded.length + 1).put(encoded).put((byte) 0xFF);
+        ByteCursor byteCursor = new ByteCursor(bytes, 0, bytes.capacity());
+        assertTrue(byteCursor.advance());
+        assertNull(byteCursor.getText());
+        assertSame(byteCursor.findSubcommand(compiledCommand), schema);
+        assertFalse(byteCursor.isParameterFormat());
+        assertTrue(byteCursor.advance());
+        assertTrue(byteCursor.isParameterFormat());
+        assertEquals(byteCursor.findParameter(schema), schema.getOrdinal(parameter1));
+        assertTrue(byteCursor.advance());
+        assertEquals(byteCursor.getValue(), "6");
+        assertTrue(byteCursor.tryConvert(parameter1, parsedSubcommand, schema.getOrdinal(parameter1)));
+        assertEquals(parsedSubcommand.getInt(parameter1), 6);
+        assertTrue(byteCursor.advance());
+        assertEquals(byteCursor.findParameter(schema), schema.getOrdinal(parameter2));
+        assertEquals(byteCursor.getParameterName(), "pärametername2");
+        assertTrue(byteCursor.advance());
+        assertTrue(byteCursor.advance());
+        assertEquals(byteCursor.findParameter(schema), -1);
+        assertEquals(byteCursor.getParameterName(), "wröng");
+        // A value that is not valid UTF-8 cannot be recorded or converted
+        assertTrue(byteCursor.advance());
+        assertNull(byteCursor.getValue());
+        assertFalse(byteCursor.tryConvert(parameter2, parsedSubcommand, schema.getOrdinal(parameter2)));
+        assertFalse(byteCursor.tryConvert(parameter1, parsedSubcommand, schema.getOrdinal(parameter1)));
+    }
+
+    @Test
+    public void testIsParameterFormat() {
+        assertEquals(formats("--a\0--\0-a\0--ä\0--a\nb\0--a\u0085\0--a\u2028\0--a\u2029\0--\u20ac"),
+                List.of(true, false, false, true, false, false, false, false, true));
+    }
+
+    @Test
+    public void testByteCursor() {
+        assertThrows(IllegalArgumentException.class, () -> new ByteCursor(null, 0, 0));
+        ByteBuffer bytes = ByteBuffer.wrap(new byte[8]).limit(4);
+        assertThrows(IndexOutOfBoundsException.class, () -> new ByteCursor(bytes, 0, 5));
+        assertThrows(IndexOutOfBoundsException.class, () -> new ByteCursor(bytes, 3, 2));
+    }
+
+    /**
+     * Returns for every NUL terminated argument of the given UTF-8 encoded text whether it is a parameter's key.
+     *
+     * @param text the text
+     * @return whether the arguments are keys
+     */
+    private static List<Boolean> formats(String text) {
+        byte[] encoded = text.getBytes(StandardCharsets.UTF_8);
+        ByteCursor byteCursor = new ByteCursor(ByteBuffer.wrap(encoded), 0, encoded.length);
+        List<Boolean> result = new ArrayList<>();
+        while (byteCursor.advance()) {
+            result.add(byteCursor.isParameterFormat());
+        }
+        return result;
+    }
+
+    /**
+     * Splits the given UTF-8 encoded text into its NUL terminated arguments.
+     *
+     * @param text the text
+     * @return the arguments
+     */
+    private static List<String> split(String text) {
+        byte[] encoded = text.getBytes(StandardCharsets.UTF_8);
+        ByteCursor byteCursor = new ByteCursor(ByteBuffer.wrap(encoded), 0, encoded.length);
+        List<String> result = new ArrayList<>();
+        while (byteCursor.advance()) {
+            result.add(byteCursor.getCurrent());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * This file is part of ProDisFuzz, modified on 18.10.26, 04:53.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package internal.corpus;
+
+import org.testng.annotations.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.MalformedInputException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+public class ByteTokenizerTest {
+
+    @Test
+    public void testTokenize() throws CharacterCodingException {
+        for (boolean wordScanning : new boolean[]{true, false}) {
+            ByteTokenizer byteTokenizer = new ByteTokenizer(wordScanning);
+            assertEquals(tokenize(byteTokenizer, "sub --parametername1 value1\t --parametername2\r"),
+                    new String[]{"sub", "--parametername1", "value1", "--parametername2"});
+            assertEquals(tokenize(byteTokenizer, "   "), new String[]{});
+            assertEquals(tokenize(byteTokenizer, ""), new String[]{});
+        }
+    }
+
+    @Test
+    public void testTokenize1() throws CharacterCodingException {
+        for (boolean wordScanning : new boolean[]{true, false}) {
+            ByteTokenizer byteTokenizer = new ByteTokenizer(wordScanning);
+            assertEquals(tokenize(byteTokenizer, "--a 'b \"c\" \\d' --e \"f 'g' \\\" \\\\ \\h\""),
+                    new String[]{"--a", "b \"c\" \\d", "--e", "f 'g' \" \\ \\h"});
+            assertEquals(tokenize(byteTokenizer, "--a\\ b pre'fix 'suffix\"\"x"),
+                    new String[]{"--a b", "prefix suffixx"});
+            assertEquals(tokenize(byteTokenizer, "'' \"\""), new String[]{"", ""});
+            assertEquals(tokenize(byteTokenizer, "\"\\$a \\` \\b\" '\\$'"), new String[]{"$a ` \\b", "\\$"});
+        }
+    }
+
+    @Test
+    public void testTokenize2() throws CharacterCodingException {
+        // Unclosed quotes extend to the end of the line and a trailing backslash is kept
+        for (boolean wordScanning : new boolean[]{true, false}) {
+            ByteTokenizer byteTokenizer = new ByteTokenizer(wordScanning);
+            assertEquals(tokenize(byteTokenizer, "--a 'b c"), new String[]{"--a", "b c"});
+            assertEquals(tokenize(byteTokenizer, "--a \"b c"), new String[]{"--a", "b c"});
+            assertEquals(tokenize(byteTokenizer, "--a b\\"), new String[]{"--a", "b\\"});
+            assertEquals(tokenize(byteTokenizer, "\\"), new String[]{"\\"});
+        }
+    }
+
+    @Test
+    public void testTokenize3() throws CharacterCodingException {
+        for (boolean wordScanning : new boolean[]{true, false}) {
+            ByteTokenizer byteTokenizer = new ByteTokenizer(wordScanning);
+            assertEquals(tokenize(byteTokenizer, "--näme välüe😀 'ünicode wörds'"),
+                    new String[]{"--näme", "välüe😀", "ünicode wörds"});
+            assertEquals(tokenize(byteTokenizer, "--a!b#c$d%e&f(g) h!#$%&!#$%&!#$% !"),
+                    new String[]{"--a!b#c$d%e&f(g)", "h!#$%&!#$%&!#$%", "!"});
+            // The delimiters must be found at every position of a word
+            for (int i = 0; i < 20; i++) {
+                String argument = "x".repeat(i);
+                assertEquals(tokenize(byteTokenizer, argument + " " + argument + "'q'"),
+                        i == 0 ? new String[]{"q"} : new String[]{argument, argument + "q"});
+            }
+        }
+    }
+
+    @Test
+    public void testTokenize4() {
+        for (boolean wordScanning : new boolean[]{true, false}) {
+            ByteTokenizer byteTokenizer = new ByteTokenizer(wordScanning);
+            byte[] bytes = {'-', '-', 'a', 'b', 'c', 'd', 'e', 'f', 'g', (byte) 0xC3, ' ', '1'};
+            assertThrows(MalformedInputException.class, () -> byteTokenizer.tokenize(bytes, 0, bytes.length));
+        }
+    }
+
+    @Test
+    public void testTokenize5() throws CharacterCodingException {
+        // Only the given range is tokenized
+        for (boolean wordScanning : new boolean[]{true, false}) {
+            ByteTokenizer byteTokenizer = new ByteTokenizer(wordScanning);
+            byte[] bytes = "ignored --a 'b c' ignored".getBytes(StandardCharsets.UTF_8);
+            assertEquals(byteTokenizer.tokenize(bytes, 8, 17), new String[]{"--a", "b c"});
+        }
+    }
+
+    @Test
+    public void testTokenize6() throws CharacterCodingException {
+        // A range is split with the rules of a line cursor, including escaped line feeds
+        String[] lines = {"a \"x\\$y\"", "a\\\nb \"c\\\nd\" e\\\r\nf", "a\nb\r\n\"c\nd\" 'e\nf'",
+                "'a \"b\" \\c $d'", "\"a 'b' \\\" \\\\ \\$ \\` \\c\"", "a\\ b \\'c\\\" d\\\\", "a \"b \\\" c", "a b\\",
+                "a\\\r b\\\r", "pre'fix 'suffix\"\"x '' \"\""};
+        for (boolean wordScanning : new boolean[]{true, false}) {
+            ByteTokenizer byteTokenizer = new ByteTokenizer(wordScanning);
+            for (String line : lines) {
+                LineCursor lineCursor = new LineCursor(line);
+                List<String> expected = new ArrayList<>();
+                while (lineCursor.advance()) {
+                    expected.add(lineCursor.getCurrent());
+                }
+                assertEquals(tokenize(byteTokenizer, line), expected.toArray(new String[0]), line);
+            }
+            assertEquals(tokenize(byteTokenizer, "a \"x\\$y\""), new String[]{"a", "x$y"});
+            assertEquals(tokenize(byteTokenizer, "a\\\nb \"c\\\nd\" \"e\nf\""), new String[]{"ab", "cd", "e\nf"});
+        }
+    }
+
+    @Test
+    public void testIndexOf() {
+        for (boolean wordScanning : new boolean[]{true, false}) {
+            ByteTokenizer byteTokenizer = new ByteTokenizer(wordScanning);
+            byte[] bytes = "abcdefghijklmnopqrstuvwxyzä\n".getBytes(StandardCharsets.UTF_8);
+            for (int i = 0; i < 26; i++) {
+                assertEquals(byteTokenizer.indexOf(bytes, 0, bytes.length, (byte) ('a' + i)), i);
+                assertEquals(byteTokenizer.indexOf(bytes, i, bytes.length, (byte) ('a' + i)), i);
+                assertEquals(byteTokenizer.indexOf(bytes, i + 1, bytes.length, (byte) ('a' + i)), -1);
+            }
+            assertEquals(byteTokenizer.indexOf(bytes, 0, bytes.length, (byte) '\n'), bytes.length - 1);
+            assertEquals(byteTokenizer.indexOf(bytes, 0, bytes.length - 1, (byte) '\n'), -1);
+            assertEquals(byteTokenizer.indexOf(bytes, 0, bytes.length, (byte) 0xC3), 26);
+        }
+    }
+
+    @Test
+    public void testIndexOf1() {
+        for (boolean wordScanning : new boolean[]{true, false}) {
+            ByteTokenizer byteTokenizer = new ByteTokenizer(wordScanning);
+            byte[] bytes = "abcdefghijklmnopqrstuvwxyz\0".getBytes(StandardCharsets.UTF_8);
+            ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+            for (int i = 0; i < 26; i++) {
+                assertEquals(byteTokenizer.indexOf(buffer, 0, bytes.length, (byte) ('a' + i)), i);
+                assertEquals(byteTokenizer.indexOf(buffer, i + 1, bytes.length, (byte) ('a' + i)), -1);
+            }
+            assertEquals(byteTokenizer.indexOf(buffer, 0, bytes.length, (byte) 0), bytes.length - 1);
+            assertEquals(buffer.position(), 0);
+        }
+    }
+
+    @Test
+    public void testDecode() throws CharacterCodingException {
+        ByteTokenizer byteTokenizer = new ByteTokenizer(true);
+        byte[] bytes = "--a 'b' välüe😀".getBytes(StandardCharsets.UTF_8);
+        assertEquals(byteTokenizer.decode(bytes, 0, bytes.length), "--a 'b' välüe😀");
+        assertEquals(byteTokenizer.decode(bytes, 2, 3), "a");
+        assertThrows(MalformedInputException.class, () -> byteTokenizer.decode(new byte[]{(byte) 0xC3}, 0, 1));
+    }
+
+    /**
+     * Tokenizes the given text encoded as UTF-8.
+     *
+     * @param byteTokenizer the tokenizer
+     * @param text          the text
+     * @return the arguments
+     * @throws CharacterCodingException if the text is not valid UTF-8
+     */
+    private static String[] tokenize(ByteTokenizer byteTokenizer, String text) throws CharacterCodingException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        return byteTokenizer.tokenize(bytes, 0, bytes.length);
+    }
+}
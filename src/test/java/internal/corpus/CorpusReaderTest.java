@@ -0,0 +1,129 @@
+/*
+ * This file is part of ProDisFuzz, modified on 18.10.26, 04:53.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package internal.corpus;
+
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.MalformedInputException;
+import java.nio.charset.StandardCharsets;
+
+import static org.testng.Assert.*;
+
+public class CorpusReaderTest {
+
+    @Test
+    public void testNext() throws IOException {
+        CorpusReader corpusReader =
+                new CorpusReader(channel("sub --a 1  --b\t2\r\n\n   \n--c 3\n--d   4"));
+        assertEquals(corpusReader.next(), new String[]{"sub", "--a", "1", "--b", "2"});
+        assertEquals(corpusReader.next(), new String[]{});
+        assertEquals(corpusReader.next(), new String[]{});
+        assertEquals(corpusReader.next(), new String[]{"--c", "3"});
+        assertEquals(corpusReader.next(), new String[]{"--d", "4"});
+        assertNull(corpusReader.next());
+        assertNull(corpusReader.next());
+        assertEquals(corpusReader.getLineNumber(), 5);
+    }
+
+    @Test
+    public void testNext1() throws IOException {
+        CorpusReader corpusReader = new CorpusReader(channel("--a 1\n--b 2\n"));
+        assertEquals(corpusReader.next(), new String[]{"--a", "1"});
+        assertEquals(corpusReader.next(), new String[]{"--b", "2"});
+        assertNull(corpusReader.next());
+        assertEquals(corpusReader.getLineNumber(), 2);
+    }
+
+    @Test
+    public void testNext2() throws IOException {
+        CorpusReader corpusReader = new CorpusReader(channel(""));
+        assertNull(corpusReader.next());
+        assertEquals(corpusReader.getLineNumber(), 0);
+    }
+
+    @Test
+    public void testNext3() throws IOException {
+        // Multi-byte characters are split across the chunks
+        StringBuilder corpus = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            corpus.append("--näme").append(i).append(" välüe😀").append(i).append('\n');
+        }
+        for (int chunkSize = 1; chunkSize < 12; chunkSize++) {
+            CorpusReader corpusReader = new CorpusReader(channel(corpus.toString()), chunkSize, chunkSize % 2 == 0);
+            for (int i = 0; i < 1000; i++) {
+                assertEquals(corpusReader.next(), new String[]{"--näme" + i, "välüe😀" + i});
+            }
+            assertNull(corpusReader.next());
+        }
+    }
+
+    @Test
+    public void testNext4() throws IOException {
+        byte[] bytes = {'-', '-', 'a', ' ', (byte) 0xC3, ' ', '1', '\n'};
+        CorpusReader corpusReader = new CorpusReader(Channels.newChannel(new ByteArrayInputStream(bytes)));
+        assertThrows(MalformedInputException.class, corpusReader::next);
+    }
+
+    @Test
+    public void testNext5() throws IOException {
+        CorpusReader corpusReader =
+                new CorpusReader(channel("--a 1\n" + "x".repeat(CorpusReader.MAX_LINE_LENGTH + 1)));
+        assertEquals(corpusReader.next(), new String[]{"--a", "1"});
+        assertThrows(IOException.class, corpusReader::next);
+    }
+
+    @Test
+    public void testNext6() throws IOException {
+        CorpusReader corpusReader =
+                new CorpusReader(channel("--a 'b c' --d \"e \\\" f\"\n--g h\\ i\n"), 4, true);
+        assertEquals(corpusReader.next(), new String[]{"--a", "b c", "--d", "e \" f"});
+        assertEquals(corpusReader.next(), new String[]{"--g", "h i"});
+        assertNull(corpusReader.next());
+    }
+
+    @Test
+    public void testNext7() throws IOException {
+        // A line that is longer than the chunk size grows the buffer
+        String argument = "y".repeat(100_000);
+        CorpusReader corpusReader = new CorpusReader(channel("--a " + argument + "\n--b c\n"), 16, true);
+        assertEquals(corpusReader.next(), new String[]{"--a", argument});
+        assertEquals(corpusReader.next(), new String[]{"--b", "c"});
+        assertNull(corpusReader.next());
+    }
+
+    @Test
+    public void testNext8() throws IOException {
+        // Every line feed ends a line, so an escaped line feed or an open quote does not continue an argument
+        CorpusReader corpusReader = new CorpusReader(channel("--a b\\\n--c \"d\n e\"\n"));
+        assertEquals(corpusReader.next(), new String[]{"--a", "b\\"});
+        assertEquals(corpusReader.next(), new String[]{"--c", "d"});
+        assertEquals(corpusReader.next(), new String[]{"e"});
+        assertNull(corpusReader.next());
+    }
+
+    @Test
+    public void testCorpusReader() {
+        assertThrows(IllegalArgumentException.class, () -> new CorpusReader(null));
+        assertThrows(IllegalArgumentException.class, () -> new CorpusReader(channel(""), 0, true));
+    }
+
+    /**
+     * Returns a channel that contains the given text as UTF-8.
+     *
+     * @param text the text
+     * @return the channel
+     */
+    private static ReadableByteChannel channel(String text) {
+        return Channels.newChannel(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)));
+    }
+}
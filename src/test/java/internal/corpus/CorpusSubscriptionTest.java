@@ -0,0 +1,153 @@
+/*
+ * This file is part of ProDisFuzz, modified on 18.10.26, 03:58.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package internal.corpus;
+
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+
+import static org.testng.Assert.*;
+
+public class CorpusSubscriptionTest {
+
+    @Test
+    public void testRequest() {
+        ReadableByteChannel channel = channel("a\nb\nc\n");
+        CorpusReader reader = new CorpusReader(channel);
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        new CorpusSubscription<>(reader, channel, args -> args[0], subscriber).start();
+        assertTrue(subscriber.items.isEmpty());
+        assertEquals(reader.getLineNumber(), 0);
+
+        subscriber.subscription.request(2);
+        assertEquals(subscriber.items, List.of("a", "b"));
+        assertEquals(reader.getLineNumber(), 2);
+        assertFalse(subscriber.completed);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+        assertEquals(subscriber.items, List.of("a", "b", "c"));
+        assertTrue(subscriber.completed);
+        assertNull(subscriber.error);
+        assertFalse(channel.isOpen());
+    }
+
+    @Test
+    public void testRequest1() {
+        // Requesting inside onNext must not grow the call stack
+        ReadableByteChannel channel = channel("line\n".repeat(200_000));
+        RecordingSubscriber subscriber = new RecordingSubscriber(1) {
+            @Override
+            public void onNext(String item) {
+                count++;
+                subscription.request(1);
+            }
+        };
+        new CorpusSubscription<>(new CorpusReader(channel), channel, args -> args[0], subscriber).start();
+        assertEquals(subscriber.count, 200_000);
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    public void testRequest2() {
+        ReadableByteChannel channel = channel("a\n");
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        new CorpusSubscription<>(new CorpusReader(channel), channel, args -> args[0], subscriber).start();
+        subscriber.subscription.request(0);
+        assertTrue(subscriber.error instanceof IllegalArgumentException);
+        assertFalse(channel.isOpen());
+        subscriber.subscription.request(1);
+        assertTrue(subscriber.items.isEmpty());
+    }
+
+    @Test
+    public void testRequest3() {
+        byte[] bytes = {'a', '\n', (byte) 0xFF, '\n'};
+        ReadableByteChannel channel = Channels.newChannel(new ByteArrayInputStream(bytes));
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+        new CorpusSubscription<>(new CorpusReader(channel, 4, true), channel, args -> args[0], subscriber).start();
+        assertEquals(subscriber.items, List.of("a"));
+        assertNotNull(subscriber.error);
+        assertFalse(subscriber.completed);
+    }
+
+    @Test
+    public void testCancel() {
+        ReadableByteChannel channel = channel("a\nb\nc\n");
+        RecordingSubscriber subscriber = new RecordingSubscriber(1);
+        new CorpusSubscription<>(new CorpusReader(channel), channel, args -> args[0], subscriber).start();
+        assertEquals(subscriber.items, List.of("a"));
+        subscriber.subscription.cancel();
+        assertFalse(channel.isOpen());
+        subscriber.subscription.request(5);
+        assertEquals(subscriber.items, List.of("a"));
+        assertFalse(subscriber.completed);
+        assertNull(subscriber.error);
+    }
+
+    /**
+     * Returns a channel that contains the given text as UTF-8.
+     *
+     * @param text the text
+     * @return the channel
+     */
+    private static ReadableByteChannel channel(String text) {
+        return Channels.newChannel(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * This class is a subscriber that records all signals and requests a fixed number of items on subscription.
+     */
+    private static class RecordingSubscriber implements Flow.Subscriber<String> {
+
+        private final long initialRequest;
+        final List<String> items = new ArrayList<>();
+        Flow.Subscription subscription;
+        Throwable error;
+        boolean completed;
+        int count;
+
+        /**
+         * Instantiates a new recording subscriber.
+         *
+         * @param initialRequest the number of items requested on subscription or 0 if no items shall be requested
+         */
+        RecordingSubscriber(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (initialRequest > 0) {
+                subscription.request(initialRequest);
+            }
+        }
+
+        @Override
+        public void onNext(String item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * This file is part of ProDisFuzz, modified on 18.10.26, 05:17.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package internal.corpus;
+
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.testng.Assert.*;
+
+public class ExpandedArgumentsTest {
+
+    @Test
+    public void testNext() throws IOException {
+        Path file1 = Files.createTempFile(null, null);
+        Files.writeString(file1, "--b 'c d'\n--e @nested\n");
+        Path file2 = Files.createTempFile(null, null);
+        try (ExpandedArguments expandedArguments =
+                     new ExpandedArguments("sub", "@" + file1, "@" + file2, "@", null, "--f", "@" + file1)) {
+            List<String> result = new ArrayList<>();
+            while (expandedArguments.hasNext()) {
+                result.add(expandedArguments.next());
+            }
+            assertEquals(result, Arrays.asList("sub", "--b", "c d", "--e", "@nested", "@", null, "--f",
+                    "--b", "c d", "--e", "@nested"));
+            assertEquals(expandedArguments.getFile(), file1.toString());
+            assertThrows(NoSuchElementException.class, expandedArguments::next);
+        }
+        Files.delete(file1);
+        Files.delete(file2);
+    }
+
+    @Test
+    public void testNext1() throws IOException {
+        Path file = Files.createTempFile(null, null);
+        Files.delete(file);
+        try (ExpandedArguments expandedArguments = new ExpandedArguments("--a", "@" + file)) {
+            assertEquals(expandedArguments.next(), "--a");
+            assertThrows(NoSuchFileException.class, expandedArguments::hasNext);
+            assertEquals(expandedArguments.getFile(), file.toString());
+        }
+    }
+
+    @Test
+    public void testNext2() throws IOException {
+        // A leading "@@" escapes the '@' of an argument that is not a file, also if a file of that name exists
+        Path file = Files.createTempFile(null, null);
+        Files.writeString(file, "--b @@c\n");
+        try (ExpandedArguments expandedArguments =
+                     new ExpandedArguments("@@" + file, "@@", "@@@x", "a@@b", "@" + file)) {
+            List<String> result = new ArrayList<>();
+            while (expandedArguments.hasNext()) {
+                result.add(expandedArguments.next());
+            }
+            assertEquals(result, List.of("@" + file, "@", "@@x", "a@@b", "--b", "@@c"));
+        }
+        Files.delete(file);
+    }
+
+    @Test
+    public void testContainsFile() {
+        assertTrue(ExpandedArguments.containsFile("--a", "@file"));
+        assertTrue(ExpandedArguments.containsFile("--a", "@@"));
+        assertFalse(ExpandedArguments.containsFile("--a", "@", "a@b", null));
+        assertFalse(ExpandedArguments.containsFile());
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * This file is part of ProDisFuzz, modified on 18.10.26, 05:13.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package internal.corpus;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+public class LineCursorTest {
+
+    @Test
+    public void testAdvance() {
+        assertEquals(split("run --input \"/data/my file\" --threads 8"),
+                List.of("run", "--input", "/data/my file", "--threads", "8"));
+        assertEquals(split("  a\t b\r\n c  "), List.of("a", "b", "c"));
+        assertEquals(split(""), List.of());
+        assertEquals(split(" \t"), List.of());
+    }
+
+    @Test
+    public void testAdvance1() {
+        assertEquals(split("'a \"b\" \\c $d'"), List.of("a \"b\" \\c $d"));
+        assertEquals(split("\"a 'b' \\\" \\\\ \\$ \\` \\c\""), List.of("a 'b' \" \\ $ ` \\c"));
+        assertEquals(split("a\\ b \\'c\\\" d\\\\"), List.of("a b", "'c\"", "d\\"));
+        assertEquals(split("pre'fix 'suffix\"\"x '' \"\""), List.of("prefix suffixx", "", ""));
+        assertEquals(split("a\\\nb \"c\\\nd\" e\\\r\nf"), List.of("ab", "cd", "ef"));
+    }
+
+    @Test
+    public void testAdvance2() {
+        // Unclosed quotes extend to the end of the line and a trailing backslash is kept
+        assertEquals(split("a 'b c"), List.of("a", "b c"));
+        assertEquals(split("a \"b \\\" c"), List.of("a", "b \" c"));
+        assertEquals(split("a b\\"), List.of("a", "b\\"));
+        assertEquals(split("\\"), List.of("\\"));
+    }
+
+    @Test
+    public void testAdvance3() {
+        // Arguments that are contiguous in the line are regions of the line
+        String line = "--a 'b c' \"d\" e\\ f ''g";
+        LineCursor lineCursor = new LineCursor(line);
+        assertTrue(lineCursor.advance());
+        assertSame(lineCursor.getText(), line);
+        assertEquals(lineCursor.getFrom(), 0);
+        assertEquals(lineCursor.getTo(), 3);
+        assertTrue(lineCursor.advance());
+        assertSame(lineCursor.getText(), line);
+        assertEquals(lineCursor.getCurrent(), "b c");
+        assertTrue(lineCursor.advance());
+        assertSame(lineCursor.getText(), line);
+        assertEquals(lineCursor.getCurrent(), "d");
+        assertTrue(lineCursor.advance());
+        assertNotSame(lineCursor.getText(), line);
+        assertEquals(lineCursor.getCurrent(), "e f");
+        assertTrue(lineCursor.advance());
+        assertSame(lineCursor.getText(), line);
+        assertEquals(lineCursor.getCurrent(), "g");
+        assertFalse(lineCursor.hasMore());
+        assertFalse(lineCursor.advance());
+        assertEquals(lineCursor.getIndex(), 4);
+        assertEquals(lineCursor.getFirstArgument(), "--a");
+    }
+
+    @Test
+    public void testReset() {
+        LineCursor lineCursor = new LineCursor("--a b\\ c");
+        while (lineCursor.advance()) {
+            assertNotNull(lineCursor.getCurrent());
+        }
+        lineCursor.reset("d 'e f'");
+        assertEquals(lineCursor.getIndex(), -1);
+        assertNull(lineCursor.getFirstArgument());
+        assertTrue(lineCursor.advance());
+        assertEquals(lineCursor.getCurrent(), "d");
+        assertTrue(lineCursor.advance());
+        assertEquals(lineCursor.getCurrent(), "e f");
+        assertFalse(lineCursor.advance());
+        assertEquals(lineCursor.getFirstArgument(), "d");
+        lineCursor.reset("");
+        assertFalse(lineCursor.hasMore());
+        assertThrows(IllegalArgumentException.class, () -> lineCursor.reset(null));
+    }
+
+    @Test
+    public void testReset1() {
+        // Continued lines are split as if they were joined by line feeds
+        assertEquals(splitContinued("a \\", "b"), List.of("a", "b"));
+        assertEquals(splitContinued("a 'b", "c' d"), List.of("a", "b\nc", "d"));
+        assertEquals(splitContinued("x'", "", "'y"), List.of("x\n\ny"));
+        assertEquals(splitContinued("\"b\\", "c\""), List.of("bc"));
+        assertEquals(splitContinued("\"b\\\\", "c\""), List.of("b\\\nc"));
+        assertEquals(splitContinued("a\\b \"c", "d\\", "e\" f"), List.of("ab", "c\nde", "f"));
+        assertEquals(splitContinued("a b"), List.of("a", "b"));
+
+        // At the end of the continuation lines, the last line is followed by a line feed only
+        assertEquals(splitContinued("a\\"), List.of("a"));
+        assertEquals(splitContinued("'a"), List.of("a\n"));
+        LineCursor lineCursor = new LineCursor("");
+        lineCursor.reset("a 'b", () -> null);
+        assertTrue(lineCursor.advance());
+        assertTrue(lineCursor.advance());
+        assertEquals(lineCursor.getCurrent(), "b\n");
+        assertEquals(lineCursor.getIndex(), 1);
+        assertTrue(lineCursor.isIncomplete());
+        lineCursor.reset("a \\", () -> "b");
+        assertTrue(lineCursor.advance());
+        assertTrue(lineCursor.advance());
+        assertEquals(lineCursor.getCurrent(), "b");
+        assertFalse(lineCursor.advance());
+        assertFalse(lineCursor.isIncomplete());
+        assertEquals(lineCursor.getFirstArgument(), "a");
+    }
+
+    @Test
+    public void testIsIncomplete() {
+        assertFalse(isIncomplete("run --name 'a\\'"));
+        assertFalse(isIncomplete("run --name a\\\\"));
+        assertFalse(isIncomplete("run --name \"a\\\\\""));
+        assertFalse(isIncomplete("run \\a"));
+        assertFalse(isIncomplete(""));
+        assertTrue(isIncomplete("run --name a\\"));
+        assertTrue(isIncomplete("run --name 'a"));
+        assertTrue(isIncomplete("run --name \"a\\\""));
+        assertTrue(isIncomplete("run --name 'a\\"));
+        LineCursor lineCursor = new LineCursor("a\\");
+        while (lineCursor.advance()) {
+            assertNotNull(lineCursor.getCurrent());
+        }
+        assertTrue(lineCursor.isIncomplete());
+        lineCursor.reset("a");
+        assertFalse(lineCursor.isIncomplete());
+    }
+
+    @Test
+    public void testLineCursor() {
+        assertThrows(IllegalArgumentException.class, () -> new LineCursor(null));
+        LineCursor lineCursor = new LineCursor(new StringBuilder("a b"));
+        assertTrue(lineCursor.advance());
+        assertEquals(lineCursor.getCurrent(), "a");
+    }
+
+    /**
+     * Returns whether the given line ends in the middle of an argument after all of its arguments have been read.
+     *
+     * @param line the line
+     * @return true if the line ends with a trailing backslash or an unclosed quote
+     */
+    private static boolean isIncomplete(String line) {
+        LineCursor lineCursor = new LineCursor(line);
+        while (lineCursor.advance()) {
+            assertNotNull(lineCursor.getCurrent());
+        }
+        return lineCursor.isIncomplete();
+    }
+
+    /**
+     * Splits the given line into its arguments.
+     *
+     * @param line the line
+     * @return the arguments
+     */
+    private static List<String> split(String line) {
+        LineCursor lineCursor = new LineCursor(line);
+        List<String> result = new ArrayList<>();
+        while (lineCursor.advance()) {
+            result.add(lineCursor.getCurrent());
+        }
+        return result;
+    }
+
+    /**
+     * Splits the given line, which is continued by the given continuation lines, into its arguments.
+     *
+     * @param line          the line
+     * @param continuations the lines that continue the line
+     * @return the arguments
+     */
+    private static List<String> splitContinued(String line, String... continuations) {
+        Iterator<String> iterator = List.of(continuations).iterator();
+        LineCursor lineCursor = new LineCursor("");
+        lineCursor.reset(line, () -> iterator.hasNext() ? iterator.next() : null);
+        List<String> result = new ArrayList<>();
+        while (lineCursor.advance()) {
+            result.add(lineCursor.getCurrent());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * This file is part of ProDisFuzz, modified on 18.10.26, 04:41.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package internal.corpus;
+
+import internal.commands.InternalCommand;
+import internal.commands.InternalSubcommand;
+import internal.parameters.IntegerParameter;
+import internal.parsing.InternalParsedSubcommand;
+import internal.schema.CompiledCommand;
+import internal.schema.CompiledSubcommand;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+
+import static org.testng.Assert.*;
+
+public class SourceCursorTest {
+
+    @Test
+    public void testAdvance() throws IOException {
+        SourceCursor sourceCursor = new SourceCursor(new ExpandedArguments("a", "b"));
+        assertEquals(sourceCursor.getIndex(), -1);
+        assertNull(sourceCursor.getFirstArgument());
+        assertNull(sourceCursor.getCurrent());
+        assertTrue(sourceCursor.hasMore());
+
+        assertTrue(sourceCursor.advance());
+        assertEquals(sourceCursor.getIndex(), 0);
+        assertEquals(sourceCursor.getFirstArgument(), "a");
+        assertEquals(sourceCursor.getCurrent(), "a");
+
+        assertTrue(sourceCursor.advance());
+        assertEquals(sourceCursor.getIndex(), 1);
+        assertEquals(sourceCursor.getFirstArgument(), "a");
+        assertEquals(sourceCursor.getCurrent(), "b");
+        assertFalse(sourceCursor.hasMore());
+
+        assertFalse(sourceCursor.advance());
+        assertEquals(sourceCursor.getIndex(), 1);
+        assertEquals(sourceCursor.getCurrent(), "b");
+    }
+
+    @Test
+    public void testFindParameter() throws IOException {
+        IntegerParameter parameter = new IntegerParameter("parametername", "parameterdescription");
+        InternalSubcommand subcommand = new InternalSubcommand("subcommandname", "subcommanddescription");
+        subcommand.add(parameter);
+        InternalCommand command = new InternalCommand("commandname", "commanddescription");
+        command.add(subcommand);
+        CompiledCommand compiledCommand = new CompiledCommand(command);
+        CompiledSubcommand schema = compiledCommand.getSubcommand("subcommandname");
+
+        SourceCursor sourceCursor =
+                new SourceCursor(new ExpandedArguments("subcommandname", "--parametername", "6", "--wrong", "x"));
+        assertTrue(sourceCursor.advance());
+        assertSame(sourceCursor.findSubcommand(compiledCommand), schema);
+        assertFalse(sourceCursor.isParameterFormat());
+        assertTrue(sourceCursor.advance());
+        assertTrue(sourceCursor.isParameterFormat());
+        assertEquals(sourceCursor.findParameter(schema), 0);
+        assertEquals(sourceCursor.getParameterName(), "parametername");
+        assertTrue(sourceCursor.advance());
+        assertEquals(sourceCursor.getValue(), "6");
+        InternalParsedSubcommand parsedSubcommand = new InternalParsedSubcommand(schema);
+        assertTrue(sourceCursor.tryConvert(parameter, parsedSubcommand, 0));
+        assertEquals(parsedSubcommand.getInt(parameter), 6);
+        assertTrue(sourceCursor.advance());
+        assertEquals(sourceCursor.findParameter(schema), -1);
+        assertEquals(sourceCursor.getParameterName(), "wrong");
+        assertTrue(sourceCursor.advance());
+        assertNull(sourceCursor.findSubcommand(compiledCommand));
+        assertFalse(sourceCursor.tryConvert(parameter, parsedSubcommand, 0));
+    }
+
+    @Test
+    public void testIsParameterFormat() {
+        assertTrue(ArgumentCursor.isParameterFormat("--a", 0, 3));
+        assertTrue(ArgumentCursor.isParameterFormat("x--ab", 1, 4));
+        assertFalse(ArgumentCursor.isParameterFormat("--", 0, 2));
+        assertFalse(ArgumentCursor.isParameterFormat("-a", 0, 2));
+        assertFalse(ArgumentCursor.isParameterFormat("--a\nb", 0, 5));
+        assertFalse(ArgumentCursor.isParameterFormat("--a\u2028", 0, 4));
+    }
+
+    @Test
+    public void testSourceCursor() {
+        assertThrows(IllegalArgumentException.class, () -> new SourceCursor(null));
+    }
+}
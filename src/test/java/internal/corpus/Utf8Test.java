@@ -0,0 +1,52 @@
+/*
+ * This file is part of ProDisFuzz, modified on 18.10.26, 04:16.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package internal.corpus;
+
+import org.testng.annotations.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.testng.Assert.*;
+
+public class Utf8Test {
+
+    @Test
+    public void testIsAscii() {
+        ByteBuffer bytes = ByteBuffer.wrap("abcä".getBytes(StandardCharsets.UTF_8));
+        assertTrue(Utf8.isAscii(bytes, 0, 3));
+        assertTrue(Utf8.isAscii(bytes, 1, 1));
+        assertFalse(Utf8.isAscii(bytes, 0, 4));
+        assertFalse(Utf8.isAscii(bytes, 4, 5));
+    }
+
+    @Test
+    public void testDecode() {
+        byte[] encoded = "x--näme 😀".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer direct = ByteBuffer.allocateDirect(encoded.length).put(encoded);
+        ByteBuffer sliced = ByteBuffer.wrap(encoded, 1, encoded.length - 1).slice();
+        for (ByteBuffer bytes : new ByteBuffer[]{ByteBuffer.wrap(encoded), direct}) {
+            assertEquals(Utf8.decode(bytes, 1, 3), "--");
+            assertEquals(Utf8.decode(bytes, 1, encoded.length), "--näme 😀");
+            assertEquals(Utf8.decode(bytes, 2, 2), "");
+            assertNull(Utf8.decode(bytes, 1, 5));
+            assertNull(Utf8.decode(bytes, 10, 12));
+        }
+        assertEquals(Utf8.decode(sliced, 0, 3), "--n");
+        assertEquals(direct.position(), encoded.length);
+    }
+
+    @Test
+    public void testDecodeLenient() {
+        ByteBuffer bytes = ByteBuffer.wrap(new byte[]{'a', (byte) 0xC3, 'b', (byte) 0xC3, (byte) 0xA4});
+        assertEquals(Utf8.decodeLenient(bytes, 0, 3), "a\uFFFDb");
+        assertEquals(Utf8.decodeLenient(bytes, 2, 5), "bä");
+        assertEquals(Utf8.decodeLenient(bytes, 0, 1), "a");
+    }
+}
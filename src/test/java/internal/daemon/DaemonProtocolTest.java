@@ -0,0 +1,145 @@
+/*
+ * This file is part of ProDisFuzz, modified on 18.10.26, 05:16.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package internal.daemon;
+
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.*;
+
+public class DaemonProtocolTest {
+
+    @Test
+    public void testWriteRequest() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Map<String, String> environment = new LinkedHashMap<>();
+        environment.put("HOME", "/home/ä");
+        environment.put("EMPTY", "");
+        Path workingDirectory = Path.of("/tmp/dir").toAbsolutePath();
+        DaemonProtocol.writeRequest(Channels.newChannel(out), List.of("run", "--a", "x y", ""), workingDirectory,
+                environment);
+
+        ReadableByteChannel channel = Channels.newChannel(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(DaemonProtocol.decode(DaemonProtocol.readFrame(channel)), "run\0--a\0x y\0\0");
+        assertEquals(DaemonProtocol.decodeWorkingDirectory(DaemonProtocol.readFrame(channel)), workingDirectory);
+        assertEquals(DaemonProtocol.decodeEnvironment(DaemonProtocol.readFrame(channel)), environment);
+        assertEquals(channel.read(ByteBuffer.allocate(1)), -1);
+    }
+
+    @Test
+    public void testWriteResponse() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DaemonProtocol.writeResponse(Channels.newChannel(out), 7, new StringBuilder("Error: ä\n"));
+        ReadableByteChannel channel = Channels.newChannel(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(DaemonProtocol.readInt(channel), 7);
+        assertEquals(DaemonProtocol.decode(DaemonProtocol.readFrame(channel)), "Error: ä\n");
+    }
+
+    @Test
+    public void testWriteResponse1() throws IOException {
+        // An output that does not fit into a frame is truncated without cutting a character
+        String output = "a" + "ä".repeat(DaemonProtocol.MAX_FRAME_LENGTH / 2);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DaemonProtocol.writeResponse(Channels.newChannel(out), 3, output);
+        ReadableByteChannel channel = Channels.newChannel(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(DaemonProtocol.readInt(channel), 3);
+        ByteBuffer frame = DaemonProtocol.readFrame(channel);
+        assertTrue(frame.remaining() <= DaemonProtocol.MAX_FRAME_LENGTH);
+        String truncated = DaemonProtocol.decode(frame);
+        assertTrue(truncated.endsWith(DaemonProtocol.TRUNCATION_NOTE));
+        String kept = truncated.substring(0, truncated.length() - DaemonProtocol.TRUNCATION_NOTE.length());
+        assertTrue(output.startsWith(kept));
+        assertTrue(kept.length() > DaemonProtocol.MAX_FRAME_LENGTH / 2 - DaemonProtocol.TRUNCATION_NOTE.length());
+    }
+
+    @Test
+    public void testReadFrame() throws IOException {
+        ByteBuffer frame = DaemonProtocol.readFrame(channel(0, 0, 0, 2, 'a', 'b', 'c'));
+        assertEquals(frame.position(), 0);
+        assertEquals(frame.limit(), 2);
+        assertEquals(DaemonProtocol.decode(frame), "ab");
+        assertEquals(DaemonProtocol.readFrame(channel(0, 0, 0, 0)).remaining(), 0);
+        assertThrows(EOFException.class, () -> DaemonProtocol.readFrame(channel(0, 0, 0, 3, 'a')));
+        assertThrows(EOFException.class, () -> DaemonProtocol.readFrame(channel(0, 0)));
+        assertThrows(IOException.class, () -> DaemonProtocol.readFrame(channel(1, 0, 0, 1)));
+        assertThrows(IOException.class, () -> DaemonProtocol.readFrame(channel(0xFF, 0xFF, 0xFF, 0xFF)));
+    }
+
+    @Test
+    public void testReadFrame1() throws IOException {
+        // A long frame is read in growing chunks
+        byte[] content = new byte[100_000];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(ByteBuffer.allocate(4).putInt(content.length).array());
+        out.write(content);
+        ByteBuffer frame = DaemonProtocol.readFrame(Channels.newChannel(new ByteArrayInputStream(out.toByteArray())));
+        assertEquals(frame.remaining(), content.length);
+        assertEquals(frame, ByteBuffer.wrap(content));
+        assertThrows(EOFException.class, () -> DaemonProtocol.readFrame(channel(0x01, 0, 0, 0, 'a')));
+    }
+
+    @Test
+    public void testDecode() {
+        assertThrows(CharacterCodingException.class,
+                () -> DaemonProtocol.decode(ByteBuffer.wrap(new byte[]{'a', (byte) 0xC3})));
+    }
+
+    @Test
+    public void testDecodeWorkingDirectory() {
+        assertThrows(IOException.class, () -> DaemonProtocol.decodeWorkingDirectory(utf8("relative/dir")));
+        assertThrows(IOException.class, () -> DaemonProtocol.decodeWorkingDirectory(utf8("/dir\0")));
+    }
+
+    @Test
+    public void testDecodeEnvironment() throws CharacterCodingException {
+        assertEquals(DaemonProtocol.decodeEnvironment(utf8("A=1\0B\0=x\0C=\0D=a=b\0A=2")),
+                Map.of("A", "2", "C", "", "D", "a=b"));
+        assertEquals(DaemonProtocol.decodeEnvironment(utf8("")), Map.of());
+    }
+
+    /**
+     * Returns a channel that contains the given bytes.
+     *
+     * @param bytes the bytes
+     * @return the channel
+     */
+    private static ReadableByteChannel channel(int... bytes) {
+        byte[] content = new byte[bytes.length];
+        for (int i = 0; i < bytes.length; i++) {
+            content[i] = (byte) bytes[i];
+        }
+        return Channels.newChannel(new ByteArrayInputStream(content));
+    }
+
+    /**
+     * Returns a buffer that contains the given text as UTF-8.
+     *
+     * @param text the text
+     * @return the buffer
+     */
+    private static ByteBuffer utf8(String text) {
+        return ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,6 +1,6 @@
 /*
- * This file is part of ProDisFuzz, modified on 29.04.25, 07:05.
- * Copyright (c) 2013-2025 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This file is part of ProDisFuzz, modified on 18.10.26, 05:14.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
  * This work is free. You can redistribute it and/or modify it under the
  * terms of the Do What The Fuck You Want To Public License, Version 2,
  * as published by Sam Hocevar. See the COPYING file for more details.
@@ -13,13 +13,16 @@ import internal.commands.InternalSubcommand;
 import internal.parameters.BooleanParameter;
 import internal.parameters.IntegerParameter;
 import internal.parameters.StringParameter;
+import internal.schema.CompiledCommand;
+import internal.schema.CompiledSubcommand;
 import org.testng.annotations.Test;
 
+import java.io.IOException;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.*;
 
 public class MenuTest {
 
@@ -316,4 +319,145 @@ public class MenuTest {
         assertEquals(helpMenu.printUsage(internalCommand, "texterror").lines().collect(Collectors.toList()), reference);
     }
 
+    @Test
+    public void testPrintUsage4() {
+        InternalCommand internalCommand = new InternalCommand("commandname", "commanddescription");
+        IntegerParameter parameter1 = new IntegerParameter("parametername1", "parameterdescription1");
+        internalCommand.add(parameter1);
+        Menu helpMenu = new Menu();
+
+        String usage = helpMenu.printUsage(internalCommand);
+        assertSame(helpMenu.printUsage(internalCommand), usage);
+        assertTrue(helpMenu.printUsage(internalCommand, "texterror").endsWith(usage));
+
+        internalCommand.add(new StringParameter("parametername2", "parameterdescription2"));
+        String usage1 = helpMenu.printUsage(internalCommand);
+        assertNotEquals(usage1, usage);
+        assertTrue(usage1.contains("--parametername2"));
+
+        parameter1.makeOptional(5);
+        String usage2 = helpMenu.printUsage(internalCommand);
+        assertNotEquals(usage2, usage1);
+        assertTrue(usage2.contains("The default value is '5'."));
+    }
+
+    @Test
+    public void testClear() {
+        InternalCommand internalCommand = new InternalCommand("commandname", "commanddescription");
+        InternalSubcommand internalSubcommand = new InternalSubcommand("subcommandname", "subcommanddescription");
+        internalCommand.add(internalSubcommand);
+        CompiledCommand compiledCommand = new CompiledCommand(internalCommand);
+        Menu helpMenu = new Menu();
+
+        String usage = helpMenu.printUsage(internalCommand);
+        String compiledUsage = helpMenu.printUsage(compiledCommand, compiledCommand, "texterror");
+        assertSame(helpMenu.printUsage(internalCommand), usage);
+        helpMenu.clear();
+        assertNotSame(helpMenu.printUsage(internalCommand), usage);
+        assertEquals(helpMenu.printUsage(internalCommand), usage);
+        assertEquals(helpMenu.printUsage(compiledCommand, compiledCommand, "texterror"), compiledUsage);
+    }
+
+    @Test
+    public void testPrintUsage5() {
+        InternalCommand internalCommand = new InternalCommand("commandname", "commanddescription");
+        InternalSubcommand internalSubcommand1 = new InternalSubcommand("subcommandname1", "subcommanddescription1");
+        InternalSubcommand internalSubcommand2 = new InternalSubcommand("subcommandname2", "subcommanddescription2");
+        internalSubcommand1.add(new BooleanParameter("parametername1", "parameterdescription1"));
+        internalSubcommand2.add(new BooleanParameter("parametername1", "parameterdescription1"));
+        internalCommand.add(internalSubcommand1);
+        internalCommand.add(internalSubcommand2);
+        Menu helpMenu = new Menu();
+
+        String usage1 = helpMenu.printUsage(internalCommand, internalSubcommand1, "texterror");
+        String usage2 = helpMenu.printUsage(internalCommand, internalSubcommand2, "texterror");
+        assertTrue(usage1.contains("subcommanddescription1"));
+        assertTrue(usage2.contains("subcommanddescription2"));
+        assertEquals(helpMenu.printUsage(internalCommand, internalSubcommand1, "texterror"), usage1);
+
+        internalSubcommand1.add(new BooleanParameter("parametername2", "parameterdescription2"));
+        assertTrue(helpMenu.printUsage(internalCommand, internalSubcommand1, "texterror").contains("--parametername2"));
+        assertEquals(helpMenu.printUsage(internalCommand, internalSubcommand2, "texterror"), usage2);
+    }
+
+    @Test
+    public void testPrintUsage6() throws IOException {
+        InternalCommand internalCommand = new InternalCommand("commandname", " a  b ");
+        internalCommand.add(new StringParameter("parametername1", "parameterdescription1   "));
+        internalCommand.add(new StringParameter("parametername2", "x".repeat(85)).makeOptional("c d"));
+        Menu helpMenu = new Menu();
+
+        List<String> reference = new LinkedList<>();
+        reference.add("Usage: java -jar commandname --parametername1 <value> [--parametername2 <value>]");
+        reference.add("");
+        reference.add("a b");
+        reference.add("");
+        reference.add("Options:");
+        reference.add("  --parametername1  parameterdescription1");
+        reference.add("  --parametername2  (Optional)");
+        reference.add("                    " + "x".repeat(85));
+        reference.add("                    The default value is 'c d'.");
+
+        StringBuilder streamed = new StringBuilder();
+        helpMenu.printUsage(internalCommand, streamed);
+        assertEquals(streamed.toString().lines().collect(Collectors.toList()), reference);
+        assertEquals(helpMenu.printUsage(internalCommand), streamed.toString());
+    }
+
+    @Test
+    public void testPrintUsage7() {
+        // Changing a command does not invalidate the cached usage blocks of another command
+        InternalCommand internalCommand1 = new InternalCommand("commandname1", "commanddescription1");
+        InternalCommand internalCommand2 = new InternalCommand("commandname2", "commanddescription2");
+        InternalSubcommand internalSubcommand = new InternalSubcommand("subcommandname", "subcommanddescription");
+        IntegerParameter parameter = new IntegerParameter("parametername1", "parameterdescription1");
+        internalSubcommand.add(parameter);
+        internalCommand1.add(internalSubcommand);
+        internalCommand2.add(new IntegerParameter("parametername2", "parameterdescription2"));
+        Menu helpMenu = new Menu();
+
+        String usage1 = helpMenu.printUsage(internalCommand1);
+        String usage2 = helpMenu.printUsage(internalCommand2);
+        internalCommand2.add(new StringParameter("parametername3", "parameterdescription3"));
+        assertSame(helpMenu.printUsage(internalCommand1), usage1);
+        assertTrue(helpMenu.printUsage(internalCommand2).contains("--parametername3"));
+        assertNotEquals(helpMenu.printUsage(internalCommand2), usage2);
+
+        // Changing a subcommand's parameter invalidates the usage blocks of the subcommand
+        String subcommandUsage = helpMenu.printUsage(internalCommand1, internalSubcommand, "texterror");
+        parameter.makeOptional(5);
+        assertNotEquals(helpMenu.printUsage(internalCommand1, internalSubcommand, "texterror"), subcommandUsage);
+        assertTrue(helpMenu.printUsage(internalCommand1, internalSubcommand, "texterror")
+                .contains("The default value is '5'."));
+    }
+
+    @Test
+    public void testPrintUsage8() {
+        InternalCommand internalCommand = new InternalCommand("commandname", "commanddescription");
+        InternalSubcommand internalSubcommand = new InternalSubcommand("subcommandname", "subcommanddescription");
+        internalSubcommand.add(new StringParameter("parametername1", "parameterdescription1").makeOptional("a"));
+        IntegerParameter parameter = new IntegerParameter("parametername2", "parameterdescription2");
+        internalSubcommand.add(parameter);
+        internalCommand.add(internalSubcommand);
+        CompiledCommand compiledCommand = new CompiledCommand(internalCommand);
+        CompiledSubcommand compiledSubcommand = compiledCommand.getSubcommand("subcommandname");
+        Menu helpMenu = new Menu();
+
+        String usage1 = helpMenu.printUsage(compiledCommand, compiledCommand, "texterror");
+        String usage2 = helpMenu.printUsage(compiledCommand, compiledSubcommand, "texterror");
+        assertEquals(usage1, helpMenu.printUsage(internalCommand, "texterror"));
+        assertEquals(usage2, helpMenu.printUsage(internalCommand, internalSubcommand, "texterror"));
+
+        // The usage blocks of a compiled command describe the command as it was compiled
+        parameter.makeOptional(5);
+        internalSubcommand.add(new BooleanParameter("parametername3", "parameterdescription3"));
+        internalCommand.add(new InternalSubcommand("subcommandname2", "subcommanddescription2"));
+        assertEquals(helpMenu.printUsage(compiledCommand, compiledCommand, "texterror"), usage1);
+        assertEquals(helpMenu.printUsage(compiledCommand, compiledSubcommand, "texterror"), usage2);
+        assertNotEquals(helpMenu.printUsage(internalCommand, "texterror"), usage1);
+        assertNotEquals(helpMenu.printUsage(internalCommand, internalSubcommand, "texterror"), usage2);
+        assertEquals(helpMenu.printUsage(new CompiledCommand(internalCommand),
+                        new CompiledCommand(internalCommand).getSubcommand("subcommandname"), "texterror"),
+                helpMenu.printUsage(internalCommand, internalSubcommand, "texterror"));
+    }
 }
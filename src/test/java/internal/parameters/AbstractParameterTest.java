@@ -1,6 +1,6 @@
 /*
- * This file is part of ProDisFuzz, modified on 04.04.20, 22:50.
- * Copyright (c) 2013-2020 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This file is part of ProDisFuzz, modified on 18.10.26, 03:20.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
  * This work is free. You can redistribute it and/or modify it under the
  * terms of the Do What The Fuck You Want To Public License, Version 2,
  * as published by Sam Hocevar. See the COPYING file for more details.
@@ -8,6 +8,7 @@
 
 package internal.parameters;
 
+import main.ParameterException;
 import org.testng.annotations.Test;
 
 import static org.testng.Assert.*;
@@ -52,6 +53,21 @@ public class AbstractParameterTest {
         assertEquals(parameter.getValue().intValue(), 6);
     }
 
+    @Test
+    public void testConvert() throws ParameterException {
+        AbstractParameter<Integer> parameter =
+                new IntegerParameter("parametername", "parameterdescription").makeOptional(6);
+        assertEquals(parameter.convert("7").intValue(), 7);
+        assertEquals(parameter.getValue().intValue(), 6);
+    }
+
+    @Test
+    public void testConvert1() {
+        AbstractParameter<Integer> parameter = new IntegerParameter("parametername", "parameterdescription", 0, 1);
+        assertThrows(ParameterException.class, () -> parameter.convert("2"));
+        assertNull(parameter.getValue());
+    }
+
     @Test
     public void testIsOptional() {
         AbstractParameter<Boolean> parameter = new BooleanParameter("parametername", "parameterdescription");
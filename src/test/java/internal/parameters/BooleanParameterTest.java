@@ -1,6 +1,6 @@
 /*
- * This file is part of ProDisFuzz, modified on 20.10.24, 17:01.
- * Copyright (c) 2013-2024 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This file is part of ProDisFuzz, modified on 18.10.26, 04:16.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
  * This work is free. You can redistribute it and/or modify it under the
  * terms of the Do What The Fuck You Want To Public License, Version 2,
  * as published by Sam Hocevar. See the COPYING file for more details.
@@ -10,6 +10,12 @@ package internal.parameters;
 
 import main.ParameterException;
 import org.testng.annotations.Test;
+import internal.commands.InternalSubcommand;
+import internal.parsing.InternalParsedSubcommand;
+import internal.schema.CompiledSubcommand;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 
 import static org.testng.Assert.*;
 
@@ -97,4 +103,67 @@ public class BooleanParameterTest {
         AbstractParameter<Boolean> parameter = new BooleanParameter("parametername", "parameterdescription");
         assertEquals(parameter.getAllowedValues(), "false|true");
     }
+
+    @Test
+    public void testConvertBoolean() throws ParameterException {
+        BooleanParameter parameter = new BooleanParameter("parametername", "parameterdescription");
+        assertTrue(parameter.convertBoolean("TRUE"));
+        assertFalse(parameter.convertBoolean("false"));
+        assertThrows(ParameterException.class, () -> parameter.convertBoolean("yes"));
+    }
+
+    @Test
+    public void testTryConvert() {
+        BooleanParameter parameter = new BooleanParameter("parametername", "parameterdescription");
+        InternalParsedSubcommand result = createResult(parameter);
+        assertTrue(parameter.tryConvert("TRUE", result, 0));
+        assertEquals(result.getValue(0), true);
+        assertTrue(parameter.tryConvert("false", result, 0));
+        assertEquals(result.getValue(0), false);
+        assertFalse(parameter.tryConvert("1", result, 0));
+        assertFalse(parameter.tryConvert(" ", result, 0));
+        assertFalse(parameter.tryConvert(null, result, 0));
+    }
+
+    @Test
+    public void testTryConvert1() {
+        // The value is converted inside the region without a substring
+        BooleanParameter parameter = new BooleanParameter("parametername", "parameterdescription");
+        InternalParsedSubcommand result = createResult(parameter);
+        String line = "--parametername True FALSE truex";
+        assertTrue(parameter.tryConvert(line, 16, 20, result, 0));
+        assertEquals(result.getValue(0), true);
+        assertTrue(parameter.tryConvert(line, 21, 26, result, 0));
+        assertEquals(result.getValue(0), false);
+        assertFalse(parameter.tryConvert(line, 27, 32, result, 0));
+        assertFalse(parameter.tryConvert(line, 27, 30, result, 0));
+        assertFalse(parameter.tryConvert(line, 15, 20, result, 0));
+        assertEquals(result.getValue(0), false);
+    }
+
+    @Test
+    public void testTryConvert2() {
+        // The bytes are converted like the decoded value, and letters of other scripts are decoded first
+        BooleanParameter parameter = new BooleanParameter("parametername", "parameterdescription");
+        InternalParsedSubcommand result = createResult(parameter);
+        String[] values = {"true", "TRUE", "tRuE", "false", "FALSE", "fal\u017fe", "truex", "tru", "", "t\u00fcrue",
+                "4RUE", "f@lse"};
+        for (String value : values) {
+            byte[] encoded = ("--" + value + "\0").getBytes(StandardCharsets.UTF_8);
+            ByteBuffer bytes = ByteBuffer.allocateDirect(encoded.length).put(encoded);
+            InternalParsedSubcommand expected = createResult(parameter);
+            boolean valid = parameter.tryConvert(value, expected, 0);
+            assertEquals(parameter.tryConvert(bytes, 2, encoded.length - 1, result, 0), valid, value);
+            if (valid) {
+                assertEquals(result.getValue(0), expected.getValue(0), value);
+            }
+        }
+        assertFalse(parameter.tryConvert(ByteBuffer.wrap(new byte[]{(byte) 0xFF, 'r', 'u', 'e'}), 0, 4, result, 0));
+    }
+
+    private static InternalParsedSubcommand createResult(AbstractParameter<?> parameter) {
+        InternalSubcommand internalSubcommand = new InternalSubcommand("subcommandname", "subcommanddescription");
+        internalSubcommand.add(parameter);
+        return new InternalParsedSubcommand(new CompiledSubcommand(internalSubcommand));
+    }
 }
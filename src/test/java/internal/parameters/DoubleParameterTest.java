@@ -1,6 +1,6 @@
 /*
- * This file is part of ProDisFuzz, modified on 26.10.24, 23:16.
- * Copyright (c) 2013-2024 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This file is part of ProDisFuzz, modified on 18.10.26, 03:35.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
  * This work is free. You can redistribute it and/or modify it under the
  * terms of the Do What The Fuck You Want To Public License, Version 2,
  * as published by Sam Hocevar. See the COPYING file for more details.
@@ -10,9 +10,11 @@ package internal.parameters;
 
 import main.ParameterException;
 import org.testng.annotations.Test;
+import internal.commands.InternalSubcommand;
+import internal.parsing.InternalParsedSubcommand;
+import internal.schema.CompiledSubcommand;
 
-import static org.testng.Assert.assertEquals;
-import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.*;
 
 public class DoubleParameterTest {
 
@@ -136,4 +138,51 @@ public class DoubleParameterTest {
         AbstractParameter<Double> parameter = new DoubleParameter("parametername", "parameterdescription", -1.9, 1.8);
         assertEquals(parameter.getAllowedValues(), "-1.9 to 1.8");
     }
+
+    @Test
+    public void testConvertDouble() throws ParameterException {
+        DoubleParameter parameter = new DoubleParameter("parametername", "parameterdescription", -1, 1);
+        assertEquals(parameter.convertDouble("-0.5"), -0.5);
+        assertThrows(ParameterException.class, () -> parameter.convertDouble("1.1"));
+        assertThrows(ParameterException.class, () -> parameter.convertDouble("a"));
+    }
+
+    @Test
+    public void testTryConvert() {
+        DoubleParameter parameter = new DoubleParameter("parametername", "parameterdescription", -1, 1);
+        InternalParsedSubcommand result = createResult(parameter);
+        assertTrue(parameter.tryConvert("-0.5", result, 0));
+        assertEquals(result.getValue(0), -0.5);
+        assertFalse(parameter.tryConvert("2", result, 0));
+        assertFalse(parameter.tryConvert("a", result, 0));
+        assertFalse(parameter.tryConvert(" ", result, 0));
+        assertFalse(parameter.tryConvert(null, result, 0));
+        assertEquals(result.getValue(0), -0.5);
+    }
+
+    @Test
+    public void testTryConvert1() {
+        DoubleParameter parameter = new DoubleParameter("parametername", "parameterdescription",
+                Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+        InternalParsedSubcommand result = createResult(parameter);
+        String[] values = {"0", "+1.5", "-1.5", "1.", ".5", ".", "-.", "1e5", "1E-5", "1e", "1e+", "1.e5", ".e5",
+                "1f", "1D", "1fd", " 1.5\t", "NaN", "-Infinity", "+NaN", "NaNd", "Infinityf", "inf", "0x1p1",
+                "0X1.8P-1d", "0x.8p1", "0x.p1", "0x1", "0x1p", "0xg", "1_0", "1e5.5", "\u0661", "--1", "e5"};
+        for (String value : values) {
+            boolean valid;
+            try {
+                Double.parseDouble(value);
+                valid = true;
+            } catch (NumberFormatException ignored) {
+                valid = false;
+            }
+            assertEquals(parameter.tryConvert(value, result, 0), valid, value);
+        }
+    }
+
+    private static InternalParsedSubcommand createResult(AbstractParameter<?> parameter) {
+        InternalSubcommand internalSubcommand = new InternalSubcommand("subcommandname", "subcommanddescription");
+        internalSubcommand.add(parameter);
+        return new InternalParsedSubcommand(new CompiledSubcommand(internalSubcommand));
+    }
 }
@@ -1,6 +1,6 @@
 /*
- * This file is part of ProDisFuzz, modified on 20.10.24, 15:58.
- * Copyright (c) 2013-2024 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This file is part of ProDisFuzz, modified on 18.10.26, 04:16.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
  * This work is free. You can redistribute it and/or modify it under the
  * terms of the Do What The Fuck You Want To Public License, Version 2,
  * as published by Sam Hocevar. See the COPYING file for more details.
@@ -10,9 +10,14 @@ package internal.parameters;
 
 import main.ParameterException;
 import org.testng.annotations.Test;
+import internal.commands.InternalSubcommand;
+import internal.parsing.InternalParsedSubcommand;
+import internal.schema.CompiledSubcommand;
 
-import static org.testng.Assert.assertEquals;
-import static org.testng.Assert.assertThrows;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.testng.Assert.*;
 
 public class IntegerParameterTest {
 
@@ -136,4 +141,97 @@ public class IntegerParameterTest {
         AbstractParameter<Integer> parameter = new IntegerParameter("parametername", "parameterdescription", -1, 1);
         assertEquals(parameter.getAllowedValues(), "-1 to 1");
     }
+
+    @Test
+    public void testConvertInt() throws ParameterException {
+        IntegerParameter parameter = new IntegerParameter("parametername", "parameterdescription", -1, 1);
+        assertEquals(parameter.convertInt("-1"), -1);
+        assertThrows(ParameterException.class, () -> parameter.convertInt("2"));
+        assertThrows(ParameterException.class, () -> parameter.convertInt("a"));
+    }
+
+    @Test
+    public void testTryConvert() {
+        IntegerParameter parameter = new IntegerParameter("parametername", "parameterdescription", -1, 1);
+        InternalParsedSubcommand result = createResult(parameter);
+        assertTrue(parameter.tryConvert("-1", result, 0));
+        assertEquals(result.getValue(0), -1);
+        assertFalse(parameter.tryConvert("2", result, 0));
+        assertFalse(parameter.tryConvert("a", result, 0));
+        assertFalse(parameter.tryConvert(" ", result, 0));
+        assertFalse(parameter.tryConvert(null, result, 0));
+        assertEquals(result.getValue(0), -1);
+    }
+
+    @Test
+    public void testTryConvert1() {
+        IntegerParameter parameter = new IntegerParameter("parametername", "parameterdescription");
+        InternalParsedSubcommand result = createResult(parameter);
+        String[] values = {"0", "+7", "-7", "+", "-", "1-", "007", "2147483647", "2147483648", "-2147483648",
+                "-2147483649", "99999999999999999999", "\u0661\u0662", "1 ", "0x1", "1.0"};
+        for (String value : values) {
+            boolean valid;
+            try {
+                result.setInt(0, Integer.parseInt(value));
+                valid = true;
+            } catch (NumberFormatException ignored) {
+                valid = false;
+            }
+            assertEquals(parameter.tryConvert(value, result, 0), valid, value);
+            if (valid) {
+                assertEquals(result.getValue(0), Integer.parseInt(value), value);
+            }
+        }
+    }
+
+    @Test
+    public void testTryConvert2() {
+        // The value is converted inside the region without a substring
+        IntegerParameter parameter = new IntegerParameter("parametername", "parameterdescription", -10, 100);
+        InternalParsedSubcommand result = createResult(parameter);
+        String line = "--parametername 42 -7 +8 101 x -";
+        assertTrue(parameter.tryConvert(line, 16, 18, result, 0));
+        assertEquals(result.getValue(0), 42);
+        assertTrue(parameter.tryConvert(line, 19, 21, result, 0));
+        assertEquals(result.getValue(0), -7);
+        assertTrue(parameter.tryConvert(line, 22, 24, result, 0));
+        assertEquals(result.getValue(0), 8);
+        assertFalse(parameter.tryConvert(line, 25, 28, result, 0));
+        assertFalse(parameter.tryConvert(line, 29, 30, result, 0));
+        assertFalse(parameter.tryConvert(line, 31, 32, result, 0));
+        assertFalse(parameter.tryConvert(line, 16, 16, result, 0));
+        assertFalse(parameter.tryConvert(line, 15, 18, result, 0));
+        assertEquals(result.getValue(0), 8);
+    }
+
+    @Test
+    public void testTryConvert3() {
+        // The bytes are converted like the decoded value, and digits of other scripts are decoded first
+        IntegerParameter parameter = new IntegerParameter("parametername", "parameterdescription");
+        InternalParsedSubcommand result = createResult(parameter);
+        String[] values = {"0", "+7", "-7", "+", "-", "1-", "007", "2147483647", "2147483648", "-2147483648",
+                "-2147483649", "99999999999999999999", "\u0661\u0662", "1 ", "0x1", "1.0", "", "\u00e4"};
+        for (String value : values) {
+            byte[] encoded = ("--" + value + "\0").getBytes(StandardCharsets.UTF_8);
+            ByteBuffer bytes = ByteBuffer.allocateDirect(encoded.length).put(encoded);
+            InternalParsedSubcommand expected = createResult(parameter);
+            boolean valid = parameter.tryConvert(value, expected, 0);
+            assertEquals(parameter.tryConvert(bytes, 2, encoded.length - 1, result, 0), valid, value);
+            if (valid) {
+                assertEquals(result.getValue(0), expected.getValue(0), value);
+            }
+        }
+        ByteBuffer bytes = ByteBuffer.wrap("101 42".getBytes(StandardCharsets.US_ASCII));
+        IntegerParameter rangeParameter = new IntegerParameter("parametername", "parameterdescription", -10, 100);
+        assertFalse(rangeParameter.tryConvert(bytes, 0, 3, result, 0));
+        assertTrue(rangeParameter.tryConvert(bytes, 4, 6, result, 0));
+        assertEquals(result.getValue(0), 42);
+        assertFalse(rangeParameter.tryConvert(ByteBuffer.wrap(new byte[]{(byte) 0xD9}), 0, 1, result, 0));
+    }
+
+    private static InternalParsedSubcommand createResult(AbstractParameter<?> parameter) {
+        InternalSubcommand internalSubcommand = new InternalSubcommand("subcommandname", "subcommanddescription");
+        internalSubcommand.add(parameter);
+        return new InternalParsedSubcommand(new CompiledSubcommand(internalSubcommand));
+    }
 }
@@ -1,6 +1,6 @@
 /*
- * This file is part of ProDisFuzz, modified on 23.10.24, 21:24.
- * Copyright (c) 2013-2024 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This file is part of ProDisFuzz, modified on 18.10.26, 04:46.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
  * This work is free. You can redistribute it and/or modify it under the
  * terms of the Do What The Fuck You Want To Public License, Version 2,
  * as published by Sam Hocevar. See the COPYING file for more details.
@@ -8,6 +8,9 @@
 
 package internal.parameters;
 
+import internal.commands.InternalSubcommand;
+import internal.parsing.InternalParsedSubcommand;
+import internal.schema.CompiledSubcommand;
 import main.ParameterException;
 import org.testng.annotations.Test;
 
@@ -86,6 +89,17 @@ public class PathParameterTest {
         assertThrows(ParameterException.class, () -> parameter.setValue(null));
     }
 
+    @Test
+    public void testSetValue8() {
+        AbstractParameter<Path> parameter = new PathParameter("parametername", "parameterdescription", false);
+        try {
+            parameter.setValue("a\0b");
+            fail();
+        } catch (ParameterException e) {
+            assertEquals(e.getMessage(), "The parameter 'parametername's value is not a valid path");
+        }
+    }
+
     @Test
     public void testCopy() {
         AbstractParameter<Path> parameter = new PathParameter("parametername", "parameterdescription", false);
@@ -117,4 +131,58 @@ public class PathParameterTest {
         assertEquals(parameter.getAllowedValues(), "");
     }
 
+    @Test
+    public void testTryConvert() throws IOException {
+        Path dummy = Files.createTempFile(null, null);
+        PathParameter parameter = new PathParameter("parametername", "parameterdescription", true);
+        InternalParsedSubcommand result = createResult(parameter, null);
+        assertTrue(parameter.tryConvert(dummy.toString(), result, 0));
+        assertEquals(result.getValue(0), dummy.toAbsolutePath().normalize());
+        assertFalse(parameter.tryConvert(dummy + "nonexistent", result, 0));
+        assertFalse(parameter.tryConvert("", result, 0));
+        assertFalse(parameter.tryConvert(null, result, 0));
+        assertFalse(parameter.tryConvert("\0", result, 0));
+        assertEquals(result.getValue(0), dummy.toAbsolutePath().normalize());
+        Files.delete(dummy);
+    }
+
+    @Test
+    public void testConvert() throws ParameterException, IOException {
+        PathParameter parameter = new PathParameter("parametername", "parameterdescription", true);
+        Path directory = Files.createTempDirectory(null);
+        Path dummy = Files.createFile(directory.resolve("dummy"));
+        assertEquals(parameter.convert("dummy", directory), dummy);
+        assertEquals(parameter.convert("./x/../dummy", directory), dummy);
+        assertEquals(parameter.convert(dummy.toString(), directory), dummy);
+        try {
+            parameter.convert("dummy", null);
+            fail();
+        } catch (ParameterException e) {
+            assertEquals(e.getMessage(),
+                    "The parameter 'parametername's value must point to an existing file or directory");
+        }
+        InternalParsedSubcommand result = createResult(parameter, directory);
+        assertTrue(parameter.tryConvert("dummy", result, 0));
+        assertEquals(result.getValue(0), dummy);
+        assertFalse(parameter.tryConvert("dummy", createResult(parameter, null), 0));
+        // Lazily converted values are resolved against the result's working directory on any thread
+        InternalParsedSubcommand lazy = createResult(parameter, directory);
+        lazy.setRaw(0, "dummy");
+        assertEquals(lazy.getValue(0), dummy);
+        Files.delete(dummy);
+        Files.delete(directory);
+    }
+
+    /**
+     * Creates an empty result for a subcommand that only has the given parameter.
+     *
+     * @param parameter        the parameter
+     * @param workingDirectory the working directory of the result or null for the working directory of the process
+     * @return the result
+     */
+    private static InternalParsedSubcommand createResult(AbstractParameter<?> parameter, Path workingDirectory) {
+        InternalSubcommand internalSubcommand = new InternalSubcommand("subcommandname", "subcommanddescription");
+        internalSubcommand.add(parameter);
+        return new InternalParsedSubcommand(new CompiledSubcommand(internalSubcommand), workingDirectory);
+    }
 }
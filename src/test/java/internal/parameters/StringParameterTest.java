@@ -1,6 +1,6 @@
 /*
- * This file is part of ProDisFuzz, modified on 21.10.24, 08:43.
- * Copyright (c) 2013-2024 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This file is part of ProDisFuzz, modified on 18.10.26, 04:16.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
  * This work is free. You can redistribute it and/or modify it under the
  * terms of the Do What The Fuck You Want To Public License, Version 2,
  * as published by Sam Hocevar. See the COPYING file for more details.
@@ -10,9 +10,14 @@ package internal.parameters;
 
 import main.ParameterException;
 import org.testng.annotations.Test;
+import internal.commands.InternalSubcommand;
+import internal.parsing.InternalParsedSubcommand;
+import internal.schema.CompiledSubcommand;
 
-import static org.testng.Assert.assertEquals;
-import static org.testng.Assert.assertThrows;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.testng.Assert.*;
 
 public class StringParameterTest {
 
@@ -127,4 +132,40 @@ public class StringParameterTest {
                 new StringParameter("parametername", "parameterdescription", "test3", "  ", "test1");
         assertEquals(parameter.getAllowedValues(), "  |test1|test3");
     }
+
+    @Test
+    public void testTryConvert() {
+        StringParameter parameter = new StringParameter("parametername", "parameterdescription", "a", "b");
+        InternalParsedSubcommand result = createResult(parameter);
+        assertTrue(parameter.tryConvert("a", result, 0));
+        assertEquals(result.getValue(0), "a");
+        assertFalse(parameter.tryConvert("c", result, 0));
+        assertFalse(parameter.tryConvert("", result, 0));
+        assertFalse(parameter.tryConvert(null, result, 0));
+        assertTrue(parameter.tryConvert("xay", 1, 2, result, 0));
+        assertEquals(result.getValue(0), "a");
+        assertFalse(parameter.tryConvert("xay", 1, 1, result, 0));
+        assertEquals(result.getValue(0), "a");
+    }
+
+    @Test
+    public void testTryConvert1() {
+        // The bytes are decoded before they are converted
+        StringParameter parameter = new StringParameter("parametername", "parameterdescription");
+        InternalParsedSubcommand result = createResult(parameter);
+        ByteBuffer bytes = ByteBuffer.wrap("x\0v\u00e4lue\0".getBytes(StandardCharsets.UTF_8));
+        assertTrue(parameter.tryConvert(bytes, 2, 8, result, 0));
+        assertEquals(result.getValue(0), "v\u00e4lue");
+        assertTrue(parameter.tryConvert(bytes, 0, 1, result, 0));
+        assertEquals(result.getValue(0), "x");
+        assertFalse(parameter.tryConvert(bytes, 1, 1, result, 0));
+        assertFalse(parameter.tryConvert(bytes, 2, 4, result, 0));
+        assertEquals(result.getValue(0), "x");
+    }
+
+    private static InternalParsedSubcommand createResult(AbstractParameter<?> parameter) {
+        InternalSubcommand internalSubcommand = new InternalSubcommand("subcommandname", "subcommanddescription");
+        internalSubcommand.add(parameter);
+        return new InternalParsedSubcommand(new CompiledSubcommand(internalSubcommand));
+    }
 }
@@ -0,0 +1,65 @@
+/*
+ * This file is part of ProDisFuzz, modified on 18.10.26, 04:28.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+package internal.parsing;
+
+import internal.commands.InternalCommand;
+import internal.schema.CompiledCommand;
+import main.ParsedCommand;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+public class InternalParsedChainTest {
+
+    private final CompiledCommand compiledCommand =
+            new CompiledCommand(new InternalCommand("commandname", "commanddescription"));
+
+    @Test
+    public void testAdd() {
+        InternalParsedChain parsedChain = new InternalParsedChain();
+        ParsedCommand command1 = new InternalParsedCommand(compiledCommand, null);
+        ParsedCommand command2 = new InternalParsedCommand(compiledCommand, null);
+        assertThrows(IllegalArgumentException.class, () -> parsedChain.add(command1, true));
+        parsedChain.add(command1, false);
+        parsedChain.add(command2, true);
+        assertEquals(parsedChain.size(), 2);
+        assertSame(parsedChain.get(0), command1);
+        assertSame(parsedChain.get(1), command2);
+        assertEquals(parsedChain.getCommands(), List.of(command1, command2));
+        assertThrows(UnsupportedOperationException.class, () -> parsedChain.getCommands().clear());
+    }
+
+    @Test
+    public void testIsParallel() {
+        InternalParsedChain parsedChain = new InternalParsedChain();
+        for (int i = 0; i < 10; i++) {
+            parsedChain.add(new InternalParsedCommand(compiledCommand, null), i % 3 != 0);
+        }
+        for (int i = 0; i < 10; i++) {
+            assertEquals(parsedChain.isParallel(i), i % 3 != 0);
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> parsedChain.isParallel(10));
+        assertThrows(IndexOutOfBoundsException.class, () -> parsedChain.isParallel(-1));
+    }
+
+    @Test
+    public void testGetStages() {
+        InternalParsedChain parsedChain = new InternalParsedChain();
+        assertEquals(parsedChain.getStages(), List.of());
+        ParsedCommand[] commands = new ParsedCommand[6];
+        boolean[] parallel = {false, false, true, true, false, true};
+        for (int i = 0; i < commands.length; i++) {
+            commands[i] = new InternalParsedCommand(compiledCommand, null);
+            parsedChain.add(commands[i], parallel[i]);
+        }
+        assertEquals(parsedChain.getStages(), List.of(List.of(commands[0]), List.of(commands[1], commands[2],
+                commands[3]), List.of(commands[4], commands[5])));
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * This file is part of ProDisFuzz, modified on 18.10.26, 05:04.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package internal.parsing;
+
+import internal.commands.InternalCommand;
+import internal.commands.InternalSubcommand;
+import internal.parameters.BooleanParameter;
+import internal.parameters.DoubleParameter;
+import internal.parameters.IntegerParameter;
+import internal.parameters.StringParameter;
+import internal.schema.CompiledCommand;
+import internal.schema.CompiledSubcommand;
+import main.ErrorCode;
+import main.ParseResult;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+public class InternalParsedColumnsTest {
+
+    private final IntegerParameter parameter1 = new IntegerParameter("parametername1", "parameterdescription1");
+    private final DoubleParameter parameter2 = new DoubleParameter("parametername2", "parameterdescription2");
+    private final BooleanParameter parameter3 = new BooleanParameter("parametername3", "parameterdescription3");
+    private final StringParameter parameter4 = new StringParameter("parametername4", "parameterdescription4");
+
+    private CompiledCommand createSchema() {
+        InternalCommand internalCommand = new InternalCommand("commandname", "commanddescription");
+        InternalSubcommand internalSubcommand1 = new InternalSubcommand("subcommandname1", "subcommanddescription1");
+        internalSubcommand1.add(parameter1);
+        internalSubcommand1.add(parameter2);
+        internalSubcommand1.add(parameter3);
+        internalCommand.add(internalSubcommand1);
+        InternalSubcommand internalSubcommand2 = new InternalSubcommand("subcommandname2", "subcommanddescription2");
+        internalSubcommand2.add(parameter4);
+        internalCommand.add(internalSubcommand2);
+        return new CompiledCommand(internalCommand);
+    }
+
+    @Test
+    public void testSet() {
+        CompiledCommand compiledCommand = createSchema();
+        InternalParsedColumns parsedColumns =
+                new InternalParsedColumns(compiledCommand, 100, parameter1, parameter2, parameter3, parameter4);
+        InternalParsedSubcommand parsedSubcommand1 =
+                new InternalParsedSubcommand(compiledCommand.getSubcommand("subcommandname1"));
+        parsedSubcommand1.setInt(compiledCommand.getSubcommand("subcommandname1").getOrdinal(parameter1), 6);
+        parsedSubcommand1.setDouble(compiledCommand.getSubcommand("subcommandname1").getOrdinal(parameter2), 1.5);
+        parsedSubcommand1.setBoolean(compiledCommand.getSubcommand("subcommandname1").getOrdinal(parameter3), true);
+        parsedColumns.set(70, new InternalParsedCommand(compiledCommand, parsedSubcommand1));
+        InternalParsedSubcommand parsedSubcommand2 =
+                new InternalParsedSubcommand(compiledCommand.getSubcommand("subcommandname2"));
+        parsedSubcommand2.setValue(0, "a");
+        parsedColumns.set(3, new InternalParsedCommand(compiledCommand, parsedSubcommand2));
+
+        assertEquals(parsedColumns.size(), 100);
+        assertEquals(parsedColumns.getInts(parameter1)[70], 6);
+        assertEquals(parsedColumns.getDoubles(parameter2)[70], 1.5);
+        assertTrue(parsedColumns.getBooleans(parameter3)[70]);
+        assertNull(parsedColumns.getStrings(parameter4)[70]);
+        assertEquals(parsedColumns.getStrings(parameter4)[3], "a");
+        assertEquals(parsedColumns.getInts(parameter1)[3], 0);
+        assertTrue(parsedColumns.isPresent(parameter1, 70));
+        assertFalse(parsedColumns.isPresent(parameter1, 3));
+        assertTrue(parsedColumns.isPresent(parameter4, 3));
+        assertFalse(parsedColumns.isPresent(parameter4, 70));
+        assertEquals(parsedColumns.getPresence(parameter1), new long[]{0, 1L << 6});
+        assertEquals(parsedColumns.getPresence(parameter4), new long[]{1L << 3, 0});
+    }
+
+    @Test
+    public void testSet1() {
+        InternalCommand internalCommand = new InternalCommand("commandname", "commanddescription");
+        InternalSubcommand internalSubcommand1 = new InternalSubcommand("subcommandname1", "subcommanddescription1");
+        internalSubcommand1.add(parameter4);
+        internalSubcommand1.add(parameter1);
+        internalCommand.add(internalSubcommand1);
+        InternalSubcommand internalSubcommand2 = new InternalSubcommand("subcommandname2", "subcommanddescription2");
+        internalSubcommand2.add(parameter1);
+        internalCommand.add(internalSubcommand2);
+        CompiledCommand compiledCommand = new CompiledCommand(internalCommand);
+        InternalParsedColumns parsedColumns = new InternalParsedColumns(compiledCommand, 2, parameter1);
+        CompiledSubcommand schema1 = compiledCommand.getSubcommand("subcommandname1");
+        InternalParsedSubcommand parsedSubcommand1 = new InternalParsedSubcommand(schema1);
+        parsedSubcommand1.setInt(schema1.getOrdinal(parameter1), 1);
+        parsedColumns.set(0, new InternalParsedCommand(compiledCommand, parsedSubcommand1));
+        CompiledSubcommand schema2 = compiledCommand.getSubcommand("subcommandname2");
+        InternalParsedSubcommand parsedSubcommand2 = new InternalParsedSubcommand(schema2);
+        parsedSubcommand2.setInt(schema2.getOrdinal(parameter1), 2);
+        parsedColumns.set(1, new InternalParsedCommand(compiledCommand, parsedSubcommand2));
+
+        assertEquals(parsedColumns.getInts(parameter1), new int[]{1, 2});
+        assertTrue(parsedColumns.isPresent(parameter1, 0));
+        assertTrue(parsedColumns.isPresent(parameter1, 1));
+    }
+
+    @Test
+    public void testSetFailure() {
+        InternalParsedColumns parsedColumns = new InternalParsedColumns(createSchema(), 1000, parameter1);
+        for (int i = 0; i < 1000; i += 3) {
+            parsedColumns.setFailure(i, new ParseResult.Failure(ErrorCode.INVALID_VALUE, i, "parametername1"));
+        }
+        assertEquals(parsedColumns.getFailureCount(), 334);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(parsedColumns.isSuccess(i), i % 3 != 0);
+            if (i % 3 == 0) {
+                assertEquals(parsedColumns.getFailure(i).index(), i);
+            } else {
+                assertNull(parsedColumns.getFailure(i));
+            }
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> parsedColumns.isSuccess(1000));
+        assertThrows(IndexOutOfBoundsException.class, () -> parsedColumns.isSuccess(-1));
+    }
+
+    @Test
+    public void testInternalParsedColumns() {
+        CompiledCommand compiledCommand = createSchema();
+        assertThrows(IllegalArgumentException.class, () -> new InternalParsedColumns(compiledCommand, 1,
+                new IntegerParameter("parametername1", "parameterdescription1")));
+        assertThrows(IllegalArgumentException.class,
+                () -> new InternalParsedColumns(compiledCommand, 1, parameter1, parameter1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new InternalParsedColumns(compiledCommand, 1, parameter1, null));
+        InternalParsedColumns parsedColumns = new InternalParsedColumns(compiledCommand, 1, parameter1);
+        assertThrows(IllegalArgumentException.class, () -> parsedColumns.getStrings(parameter4));
+    }
+}
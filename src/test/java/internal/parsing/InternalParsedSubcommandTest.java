@@ -0,0 +1,196 @@
+/*
+ * This file is part of ProDisFuzz, modified on 18.10.26, 04:43.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package internal.parsing;
+
+import internal.commands.InternalSubcommand;
+import internal.parameters.BooleanParameter;
+import internal.parameters.DoubleParameter;
+import internal.parameters.IntegerParameter;
+import internal.parameters.PathParameter;
+import internal.parameters.StringParameter;
+import internal.schema.CompiledSubcommand;
+import main.ParameterException;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+public class InternalParsedSubcommandTest {
+
+    private static CompiledSubcommand createSchema() {
+        InternalSubcommand internalSubcommand = new InternalSubcommand("subcommandname", "subcommanddescription");
+        internalSubcommand.add(new IntegerParameter("parametername1", "parameterdescription1"));
+        internalSubcommand.add(new BooleanParameter("parametername2", "parameterdescription2"));
+        internalSubcommand.add(new StringParameter("parametername3", "parameterdescription3").makeOptional("a"));
+        return new CompiledSubcommand(internalSubcommand);
+    }
+
+    @Test
+    public void testGetValue() {
+        InternalParsedSubcommand parsedSubcommand = new InternalParsedSubcommand(createSchema());
+        assertNull(parsedSubcommand.getValue(0));
+        assertEquals(parsedSubcommand.getValue(2), "a");
+        parsedSubcommand.setValue(2, "b");
+        assertEquals(parsedSubcommand.getValue(2), "b");
+    }
+
+    @Test
+    public void testGetValue1() {
+        CompiledSubcommand schema = createSchema();
+        InternalParsedSubcommand parsedSubcommand1 = new InternalParsedSubcommand(schema);
+        InternalParsedSubcommand parsedSubcommand2 = new InternalParsedSubcommand(schema);
+        parsedSubcommand1.setValue(0, 1);
+        parsedSubcommand2.setValue(0, 2);
+        assertEquals(parsedSubcommand1.getIntegerParameter("parametername1").getValue().intValue(), 1);
+        assertEquals(parsedSubcommand2.getIntegerParameter("parametername1").getValue().intValue(), 2);
+    }
+
+    @Test
+    public void testGetValue2() {
+        InternalSubcommand internalSubcommand = new InternalSubcommand("subcommandname", "subcommanddescription");
+        for (int i = 100; i < 200; i++) {
+            internalSubcommand.add(new IntegerParameter("parametername" + i, "parameterdescription" + i));
+        }
+        InternalParsedSubcommand parsedSubcommand =
+                new InternalParsedSubcommand(new CompiledSubcommand(internalSubcommand));
+        parsedSubcommand.setInt(70, 7);
+        assertNull(parsedSubcommand.getValue(6));
+        assertEquals(parsedSubcommand.getValue(70), 7);
+        assertEquals(parsedSubcommand.getMissingParameter(), "parametername100");
+        for (int i = 0; i < 100; i++) {
+            parsedSubcommand.setValue(i, i);
+        }
+        assertNull(parsedSubcommand.getMissingParameter());
+        assertEquals(parsedSubcommand.getInt("parametername164"), 64);
+    }
+
+    @Test
+    public void testSetRaw() throws ParameterException {
+        InternalParsedSubcommand parsedSubcommand = new InternalParsedSubcommand(createSchema());
+        parsedSubcommand.setRaw(0, "x");
+        parsedSubcommand.setRaw(1, "true");
+        parsedSubcommand.setRaw(2, "b");
+        assertNull(parsedSubcommand.getMissingParameter());
+        assertThrows(ParameterException.class, () -> parsedSubcommand.getCheckedValue(0));
+        assertThrows(IllegalStateException.class, () -> parsedSubcommand.getValue(0));
+        assertTrue(parsedSubcommand.getBoolean("parametername2"));
+        assertEquals(parsedSubcommand.getCheckedValue(2), "b");
+        parsedSubcommand.setRaw(0, "3");
+        assertEquals(parsedSubcommand.getIntegerParameter("parametername1").getCheckedValue().intValue(), 3);
+        assertEquals(parsedSubcommand.getInt("parametername1"), 3);
+    }
+
+    @Test
+    public void testSetRaw1() {
+        // A recorded value that is not a valid path fails like any other invalid value
+        InternalSubcommand internalSubcommand = new InternalSubcommand("subcommandname", "subcommanddescription");
+        PathParameter parameter = new PathParameter("parametername1", "parameterdescription1", false);
+        internalSubcommand.add(parameter);
+        InternalParsedSubcommand parsedSubcommand =
+                new InternalParsedSubcommand(new CompiledSubcommand(internalSubcommand));
+        parsedSubcommand.setRaw(0, "a\0b");
+        try {
+            parsedSubcommand.getChecked(parameter);
+            fail();
+        } catch (ParameterException e) {
+            assertEquals(e.getMessage(), "The parameter 'parametername1's value is not a valid path");
+        }
+        assertThrows(ParameterException.class, () -> parsedSubcommand.getCheckedValue(0));
+        assertThrows(IllegalStateException.class, () -> parsedSubcommand.get(parameter));
+        assertThrows(IllegalStateException.class, () -> parsedSubcommand.getValue(0));
+    }
+
+    @Test
+    public void testGetMissingParameter() {
+        InternalParsedSubcommand parsedSubcommand = new InternalParsedSubcommand(createSchema());
+        assertEquals(parsedSubcommand.getMissingParameter(), "parametername1");
+        parsedSubcommand.setValue(0, 1);
+        assertEquals(parsedSubcommand.getMissingParameter(), "parametername2");
+        parsedSubcommand.setValue(0, 2);
+        parsedSubcommand.setValue(1, true);
+        assertNull(parsedSubcommand.getMissingParameter());
+    }
+
+    @Test
+    public void testGetIntegerParameter() {
+        InternalParsedSubcommand parsedSubcommand = new InternalParsedSubcommand(createSchema());
+        parsedSubcommand.setValue(0, 1);
+        assertEquals(parsedSubcommand.getIntegerParameter("parametername1").getName(), "parametername1");
+        assertNull(parsedSubcommand.getIntegerParameter("parametername2"));
+        assertNull(parsedSubcommand.getIntegerParameter("parametername4"));
+    }
+
+    @Test
+    public void testGetStringParameter() {
+        InternalParsedSubcommand parsedSubcommand = new InternalParsedSubcommand(createSchema());
+        assertEquals(parsedSubcommand.getStringParameter("parametername3").getValue(), "a");
+        assertNull(parsedSubcommand.getStringParameter("parametername1"));
+        assertNull(parsedSubcommand.getPathParameter("parametername3"));
+        assertNull(parsedSubcommand.getDoubleParameter("parametername3"));
+        assertNull(parsedSubcommand.getBooleanParameter("parametername3"));
+    }
+
+    @Test
+    public void testGetInt() {
+        InternalParsedSubcommand parsedSubcommand = new InternalParsedSubcommand(createSchema());
+        parsedSubcommand.setInt(0, 7);
+        assertEquals(parsedSubcommand.getInt("parametername1"), 7);
+        assertEquals(parsedSubcommand.getIntegerParameter("parametername1").getValue().intValue(), 7);
+        assertThrows(IllegalArgumentException.class, () -> parsedSubcommand.getInt("parametername2"));
+        assertThrows(IllegalArgumentException.class, () -> parsedSubcommand.getInt("parametername4"));
+    }
+
+    @Test
+    public void testGetBoolean() {
+        InternalParsedSubcommand parsedSubcommand = new InternalParsedSubcommand(createSchema());
+        parsedSubcommand.setBoolean(1, true);
+        assertTrue(parsedSubcommand.getBoolean("parametername2"));
+        assertTrue(parsedSubcommand.getBooleanParameter("parametername2").getValue());
+        parsedSubcommand.setBoolean(1, false);
+        assertFalse(parsedSubcommand.getBoolean("parametername2"));
+        assertEquals(parsedSubcommand.getMissingParameter(), "parametername1");
+    }
+
+    @Test
+    public void testGetDouble() {
+        InternalSubcommand internalSubcommand = new InternalSubcommand("subcommandname", "subcommanddescription");
+        internalSubcommand.add(new DoubleParameter("parametername1", "parameterdescription1").makeOptional(-2.5));
+        internalSubcommand.add(new DoubleParameter("parametername2", "parameterdescription2"));
+        InternalParsedSubcommand parsedSubcommand =
+                new InternalParsedSubcommand(new CompiledSubcommand(internalSubcommand));
+        parsedSubcommand.setDouble(1, 0.25);
+        assertEquals(parsedSubcommand.getDouble("parametername1"), -2.5);
+        assertEquals(parsedSubcommand.getDouble("parametername2"), 0.25);
+        assertEquals(parsedSubcommand.getDoubleParameter("parametername1").getValue(), -2.5);
+        assertEquals(parsedSubcommand.getDoubleParameter("parametername2").getValue(), 0.25);
+    }
+
+    @Test
+    public void testGet() {
+        InternalSubcommand internalSubcommand = new InternalSubcommand("subcommandname", "subcommanddescription");
+        IntegerParameter parameter1 = new IntegerParameter("parametername1", "parameterdescription1");
+        BooleanParameter parameter2 = new BooleanParameter("parametername2", "parameterdescription2");
+        internalSubcommand.add(parameter1);
+        internalSubcommand.add(parameter2.makeOptional(true));
+        InternalParsedSubcommand parsedSubcommand =
+                new InternalParsedSubcommand(new CompiledSubcommand(internalSubcommand));
+        parsedSubcommand.setInt(0, 3);
+        assertEquals(parsedSubcommand.get(parameter1).intValue(), 3);
+        assertEquals(parsedSubcommand.getInt(parameter1), 3);
+        assertTrue(parsedSubcommand.get(parameter2));
+        assertTrue(parsedSubcommand.getBoolean(parameter2));
+        assertThrows(IllegalArgumentException.class,
+                () -> parsedSubcommand.get(new IntegerParameter("parametername3", "parameterdescription3")));
+    }
+
+    @Test
+    public void testGetName() {
+        InternalParsedSubcommand parsedSubcommand = new InternalParsedSubcommand(createSchema());
+        assertEquals(parsedSubcommand.getName(), "subcommandname");
+    }
+}
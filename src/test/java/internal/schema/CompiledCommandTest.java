@@ -0,0 +1,114 @@
+/*
+ * This file is part of ProDisFuzz, modified on 18.10.26, 04:38.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package internal.schema;
+
+import internal.commands.InternalCommand;
+import internal.commands.InternalSubcommand;
+import internal.parameters.IntegerParameter;
+import main.Subcommand;
+import org.testng.annotations.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+import static org.testng.Assert.*;
+
+public class CompiledCommandTest {
+
+    @Test
+    public void testHasSubcommands() {
+        InternalCommand internalCommand = new InternalCommand("commandname", "commanddescription");
+        internalCommand.add(new IntegerParameter("parametername", "parameterdescription"));
+        CompiledCommand compiledCommand = new CompiledCommand(internalCommand);
+        assertFalse(compiledCommand.hasSubcommands());
+        assertEquals(compiledCommand.size(), 1);
+    }
+
+    @Test
+    public void testHasSubcommands1() {
+        InternalCommand internalCommand = new InternalCommand("commandname", "commanddescription");
+        internalCommand.add(new InternalSubcommand("subcommandname", "subcommanddescription"));
+        CompiledCommand compiledCommand = new CompiledCommand(internalCommand);
+        assertTrue(compiledCommand.hasSubcommands());
+        assertEquals(compiledCommand.size(), 0);
+    }
+
+    @Test
+    public void testGetSubcommand() {
+        InternalCommand internalCommand = new InternalCommand("commandname", "commanddescription");
+        InternalSubcommand internalSubcommand = new InternalSubcommand("subcommandname", "subcommanddescription");
+        internalSubcommand.add(new IntegerParameter("parametername", "parameterdescription"));
+        internalCommand.add(internalSubcommand);
+        CompiledCommand compiledCommand = new CompiledCommand(internalCommand);
+        assertNotNull(compiledCommand.getSubcommand("subcommandname"));
+        assertEquals(compiledCommand.getSubcommand("subcommandname").getOrdinal("parametername"), 0);
+        assertNull(compiledCommand.getSubcommand("subcommandname2"));
+        assertNotNull(compiledCommand.getSubcommand("run subcommandname --a", 4, 18));
+        assertNull(compiledCommand.getSubcommand("run subcommandname --a", 4, 17));
+        ByteBuffer bytes = ByteBuffer.wrap("run\0subcommandname\0".getBytes(StandardCharsets.UTF_8));
+        assertNotNull(compiledCommand.getSubcommand(bytes, 4, 18));
+        assertNull(compiledCommand.getSubcommand(bytes, 4, 17));
+        assertNull(compiledCommand.getSubcommand(bytes, 0, 3));
+    }
+
+    @Test
+    public void testGetSubcommand1() {
+        InternalCommand internalCommand = new InternalCommand("commandname", "commanddescription");
+        CompiledCommand compiledCommand = new CompiledCommand(internalCommand);
+        internalCommand.add(new InternalSubcommand("subcommandname", "subcommanddescription"));
+        assertNull(compiledCommand.getSubcommand("subcommandname"));
+        assertSame(compiledCommand.getSource(), internalCommand);
+    }
+
+    @Test
+    public void testGetSubcommand2() {
+        // A subcommand that is registered while the command is compiled must not shift the compiled subcommands
+        InternalCommand internalCommand = new InternalCommand("commandname", "commanddescription") {
+            private int count;
+
+            @Override
+            public Set<Subcommand> getSubcommands() {
+                add(new InternalSubcommand("a" + count++, "subcommanddescription"));
+                return super.getSubcommands();
+            }
+        };
+        internalCommand.add(new InternalSubcommand("subcommandname", "subcommanddescription"));
+        CompiledCommand compiledCommand = new CompiledCommand(internalCommand);
+        assertEquals(compiledCommand.getSubcommand("subcommandname").getSource().getName(), "subcommandname");
+        assertEquals(compiledCommand.getSubcommand("a0").getSource().getName(), "a0");
+        assertNull(compiledCommand.getSubcommand("a1"));
+    }
+
+    @Test
+    public void testFindSchema() {
+        InternalCommand internalCommand = new InternalCommand("commandname", "commanddescription");
+        InternalSubcommand internalSubcommand1 = new InternalSubcommand("subcommandname1", "subcommanddescription1");
+        IntegerParameter parameter1 = new IntegerParameter("parametername", "parameterdescription");
+        internalSubcommand1.add(parameter1);
+        internalCommand.add(internalSubcommand1);
+        InternalSubcommand internalSubcommand2 = new InternalSubcommand("subcommandname2", "subcommanddescription2");
+        IntegerParameter parameter2 = new IntegerParameter("parametername", "parameterdescription");
+        internalSubcommand2.add(parameter2);
+        internalCommand.add(internalSubcommand2);
+        CompiledCommand compiledCommand = new CompiledCommand(internalCommand);
+        assertSame(compiledCommand.findSchema(parameter1), compiledCommand.getSubcommand("subcommandname1"));
+        assertSame(compiledCommand.findSchema(parameter2), compiledCommand.getSubcommand("subcommandname2"));
+        assertNull(compiledCommand.findSchema(new IntegerParameter("parametername", "parameterdescription")));
+    }
+
+    @Test
+    public void testFindSchema1() {
+        InternalCommand internalCommand = new InternalCommand("commandname", "commanddescription");
+        IntegerParameter parameter = new IntegerParameter("parametername", "parameterdescription");
+        internalCommand.add(parameter);
+        CompiledCommand compiledCommand = new CompiledCommand(internalCommand);
+        assertSame(compiledCommand.findSchema(parameter), compiledCommand);
+    }
+}
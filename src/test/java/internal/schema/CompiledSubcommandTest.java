@@ -0,0 +1,105 @@
+/*
+ * This file is part of ProDisFuzz, modified on 18.10.26, 03:29.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package internal.schema;
+
+import internal.commands.InternalSubcommand;
+import internal.parameters.BooleanParameter;
+import internal.parameters.IntegerParameter;
+import internal.parameters.PathParameter;
+import internal.parameters.StringParameter;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+public class CompiledSubcommandTest {
+
+    @Test
+    public void testGetOrdinal() {
+        InternalSubcommand internalSubcommand = new InternalSubcommand("subcommandname", "subcommanddescription");
+        internalSubcommand.add(new StringParameter("parametername3", "parameterdescription3"));
+        internalSubcommand.add(new IntegerParameter("parametername1", "parameterdescription1"));
+        internalSubcommand.add(new BooleanParameter("parametername2", "parameterdescription2"));
+        CompiledSubcommand compiledSubcommand = new CompiledSubcommand(internalSubcommand);
+        assertEquals(compiledSubcommand.size(), 3);
+        assertEquals(compiledSubcommand.getOrdinal("parametername1"), 0);
+        assertEquals(compiledSubcommand.getOrdinal("parametername2"), 1);
+        assertEquals(compiledSubcommand.getOrdinal("parametername3"), 2);
+        assertEquals(compiledSubcommand.getOrdinal("parametername4"), -1);
+        assertEquals(compiledSubcommand.getParameter(2).getName(), "parametername3");
+    }
+
+    @Test
+    public void testGetOrdinal1() {
+        IntegerParameter parameter1 = new IntegerParameter("parametername1", "parameterdescription1");
+        IntegerParameter parameter2 = new IntegerParameter("parametername2", "parameterdescription2");
+        InternalSubcommand internalSubcommand1 = new InternalSubcommand("subcommandname1", "subcommanddescription1");
+        internalSubcommand1.add(parameter1);
+        internalSubcommand1.add(parameter2);
+        InternalSubcommand internalSubcommand2 = new InternalSubcommand("subcommandname2", "subcommanddescription2");
+        internalSubcommand2.add(parameter2);
+        CompiledSubcommand compiledSubcommand1 = new CompiledSubcommand(internalSubcommand1);
+        CompiledSubcommand compiledSubcommand2 = new CompiledSubcommand(internalSubcommand2);
+        assertEquals(compiledSubcommand1.getOrdinal(parameter1), 0);
+        assertEquals(compiledSubcommand1.getOrdinal(parameter2), 1);
+        assertEquals(compiledSubcommand2.getOrdinal(parameter1), -1);
+        assertEquals(compiledSubcommand2.getOrdinal(parameter2), 0);
+        assertEquals(compiledSubcommand1.getOrdinal(new IntegerParameter("parametername1", "parameterdescription1")),
+                -1);
+        assertEquals(compiledSubcommand1.getOrdinal((main.Parameter<?>) null), -1);
+    }
+
+    @Test
+    public void testGetSlot() {
+        InternalSubcommand internalSubcommand = new InternalSubcommand("subcommandname", "subcommanddescription");
+        internalSubcommand.add(new StringParameter("parametername1", "parameterdescription1"));
+        internalSubcommand.add(new IntegerParameter("parametername2", "parameterdescription2"));
+        internalSubcommand.add(new BooleanParameter("parametername3", "parameterdescription3"));
+        internalSubcommand.add(new PathParameter("parametername4", "parameterdescription4", false));
+        CompiledSubcommand compiledSubcommand = new CompiledSubcommand(internalSubcommand);
+        assertEquals(compiledSubcommand.getSlot(0), 0);
+        assertEquals(compiledSubcommand.getSlot(1), ~0);
+        assertEquals(compiledSubcommand.getSlot(2), ~1);
+        assertEquals(compiledSubcommand.getSlot(3), 1);
+        assertEquals(compiledSubcommand.getPrimitiveCount(), 2);
+        assertEquals(compiledSubcommand.getReferenceCount(), 2);
+    }
+
+    @Test
+    public void testGetDefault() {
+        InternalSubcommand internalSubcommand = new InternalSubcommand("subcommandname", "subcommanddescription");
+        internalSubcommand.add(new StringParameter("parametername1", "parameterdescription1").makeOptional("a"));
+        internalSubcommand.add(new IntegerParameter("parametername2", "parameterdescription2"));
+        CompiledSubcommand compiledSubcommand = new CompiledSubcommand(internalSubcommand);
+        assertEquals(compiledSubcommand.getDefault(0), "a");
+        assertNull(compiledSubcommand.getDefault(1));
+        assertFalse(compiledSubcommand.isMandatory(0));
+        assertTrue(compiledSubcommand.isMandatory(1));
+        assertEquals(compiledSubcommand.getMandatoryCount(), 1);
+    }
+
+    @Test
+    public void testGetDefault1() {
+        InternalSubcommand internalSubcommand = new InternalSubcommand("subcommandname", "subcommanddescription");
+        StringParameter parameter = new StringParameter("parametername", "parameterdescription");
+        internalSubcommand.add(parameter.makeOptional("a"));
+        CompiledSubcommand compiledSubcommand = new CompiledSubcommand(internalSubcommand);
+        parameter.makeOptional("b");
+        internalSubcommand.add(new IntegerParameter("parametername2", "parameterdescription2"));
+        assertEquals(compiledSubcommand.getDefault(0), "a");
+        assertEquals(compiledSubcommand.size(), 1);
+    }
+
+    @Test
+    public void testGetName() {
+        InternalSubcommand internalSubcommand = new InternalSubcommand("subcommandname", "subcommanddescription");
+        CompiledSubcommand compiledSubcommand = new CompiledSubcommand(internalSubcommand);
+        assertEquals(compiledSubcommand.getName(), "subcommandname");
+        assertSame(compiledSubcommand.getSource(), internalSubcommand);
+    }
+}
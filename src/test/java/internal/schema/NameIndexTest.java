@@ -0,0 +1,76 @@
+/*
+ * This file is part of ProDisFuzz, modified on 18.10.26, 04:16.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package internal.schema;
+
+import org.testng.annotations.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.testng.Assert.assertEquals;
+
+public class NameIndexTest {
+
+    @Test
+    public void testFind() {
+        NameIndex nameIndex = new NameIndex("name1", "name2", "name3");
+        assertEquals(nameIndex.find("name1"), 0);
+        assertEquals(nameIndex.find("name2"), 1);
+        assertEquals(nameIndex.find("name3"), 2);
+        assertEquals(nameIndex.find("name4"), -1);
+        assertEquals(nameIndex.find(""), -1);
+    }
+
+    @Test
+    public void testFind1() {
+        NameIndex nameIndex = new NameIndex();
+        assertEquals(nameIndex.find("name1"), -1);
+        assertEquals(nameIndex.find(""), -1);
+    }
+
+    @Test
+    public void testFind2() {
+        NameIndex nameIndex = new NameIndex("name1", "name2");
+        assertEquals(nameIndex.find("--name2", 2, 7), 1);
+        assertEquals(nameIndex.find(new StringBuilder("--name2"), 2, 7), 1);
+        assertEquals(nameIndex.find("--name2", 1, 7), -1);
+        assertEquals(nameIndex.find("--name23", 2, 7), 1);
+        assertEquals(nameIndex.find("--name23", 2, 8), -1);
+    }
+
+    @Test
+    public void testFind4() {
+        // Names are matched against their UTF-8 encoding without decoding the bytes
+        NameIndex nameIndex = new NameIndex("name1", "n\u00e4me2", "\u540d\u524d3");
+        byte[] encoded = "--name1\0--n\u00e4me2\0\u540d\u524d3".getBytes(StandardCharsets.UTF_8);
+        for (ByteBuffer bytes : new ByteBuffer[]{ByteBuffer.wrap(encoded),
+                ByteBuffer.allocateDirect(encoded.length).put(encoded)}) {
+            assertEquals(nameIndex.find(bytes, 2, 7), 0);
+            assertEquals(nameIndex.find(bytes, 10, 16), 1);
+            assertEquals(nameIndex.find(bytes, 17, 24), 2);
+            assertEquals(nameIndex.find(bytes, 0, 7), -1);
+            assertEquals(nameIndex.find(bytes, 10, 15), -1);
+            assertEquals(nameIndex.find(bytes, 17, 17), -1);
+        }
+        assertEquals(new NameIndex().find(ByteBuffer.wrap(encoded), 2, 7), -1);
+    }
+
+    @Test
+    public void testFind3() {
+        String[] names = new String[10000];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = "name" + i;
+        }
+        NameIndex nameIndex = new NameIndex(names);
+        for (int i = 0; i < names.length; i++) {
+            assertEquals(nameIndex.find(names[i]), i);
+        }
+        assertEquals(nameIndex.find("name10000"), -1);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * This file is part of ProDisFuzz, modified on 18.10.26, 05:05.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package main;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.IllegalFormatException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.*;
+
+public class ParameterExceptionTest {
+
+    @Test
+    public void testGetMessage() {
+        ParameterException exception = new ParameterException("Parameter '%s' is %d", "parametername", 1);
+        assertEquals(exception.getMessage(), "Parameter 'parametername' is 1");
+        assertNull(exception.getErrorCode());
+        assertEquals(exception.getIndex(), -1);
+        assertNull(exception.getName());
+    }
+
+    @Test
+    public void testGetMessage1() {
+        AtomicInteger count = new AtomicInteger();
+        ParameterException exception = new ParameterException(ErrorCode.UNKNOWN_PARAMETER, 2, "parametername",
+                () -> "message" + count.incrementAndGet(), true);
+        assertEquals(count.get(), 0);
+        assertEquals(exception.getMessage(), "message1");
+        assertEquals(exception.getMessage(), "message1");
+        assertEquals(exception.getLocalizedMessage(), "message1");
+        assertEquals(count.get(), 1);
+    }
+
+    @Test
+    public void testGetMessage2() {
+        ParameterException exception = new ParameterException("Parameter %d", "parametername");
+        assertThrows(IllegalFormatException.class, exception::getMessage);
+    }
+
+    @Test
+    public void testGetMessage3() throws Exception {
+        AtomicInteger count = new AtomicInteger();
+        ParameterException exception = new ParameterException(ErrorCode.UNKNOWN_PARAMETER, 2, "parametername", () -> {
+            count.incrementAndGet();
+            Thread.onSpinWait();
+            return "message";
+        }, true);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                futures.add(executor.submit(exception::getMessage));
+            }
+            for (Future<String> future : futures) {
+                assertEquals(future.get(), "message");
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(count.get(), 1);
+    }
+
+    @Test
+    public void testGetErrorCode() {
+        ParameterException exception =
+                new ParameterException(ErrorCode.INVALID_VALUE, 3, "parametername", () -> "message", true);
+        assertEquals(exception.getErrorCode(), ErrorCode.INVALID_VALUE);
+        assertEquals(exception.getIndex(), 3);
+        assertEquals(exception.getName(), "parametername");
+    }
+
+    @Test
+    public void testGetStackTrace() {
+        ParameterException exception1 =
+                new ParameterException(ErrorCode.INVALID_VALUE, 3, "parametername", () -> "message", true);
+        ParameterException exception2 =
+                new ParameterException(ErrorCode.INVALID_VALUE, 3, "parametername", () -> "message", false);
+        assertTrue(exception1.getStackTrace().length > 0);
+        assertEquals(exception2.getStackTrace().length, 0);
+    }
+}
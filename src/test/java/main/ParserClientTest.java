@@ -0,0 +1,58 @@
+/*
+ * This file is part of ProDisFuzz, modified on 18.10.26, 04:21.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package main;
+
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.testng.Assert.*;
+
+public class ParserClientTest {
+
+    @Test
+    public void testSend() throws IOException {
+        SimpleCommandLineParser commandLine = new SimpleCommandLineParser();
+        Command command = CommandFactory.createCommand("commandname", "commanddescription");
+        command.add(ParameterFactory.createStringParameter("parametername", "parameterdescription"));
+        commandLine.setCommand(command);
+        Path directory = Files.createTempDirectory(null);
+        Path socket = directory.resolve("daemon.sock");
+        try (ParserDaemon daemon = new ParserDaemon(commandLine, socket, (parsed, request, out) -> {
+            out.append(parsed.getStringParameter("parametername").getValue()).append(' ')
+                    .append(request.workingDirectory().toString()).append(' ')
+                    .append(request.environment().toString());
+            return 0;
+        })) {
+            daemon.start();
+            assertEquals(ParserClient.send(socket, directory, Map.of("A", "1"), "--parametername", "x y"),
+                    new ParserClient.Response(0, "x y " + directory + " {A=1}"));
+            // A relative working directory is made absolute before it is sent
+            assertEquals(ParserClient.send(socket, Path.of(""), Map.of(), "--parametername", "z").output(),
+                    "z " + Path.of("").toAbsolutePath() + " {}");
+        }
+        Files.delete(directory);
+    }
+
+    @Test
+    public void testSend1() throws IOException {
+        Path directory = Files.createTempDirectory(null);
+        Path socket = directory.resolve("daemon.sock");
+        assertThrows(IOException.class, () -> ParserClient.send(socket, directory, Map.of(), "a"));
+        assertThrows(IllegalArgumentException.class, () -> ParserClient.send(null, directory, Map.of(), "a"));
+        assertThrows(IllegalArgumentException.class, () -> ParserClient.send(socket, null, Map.of(), "a"));
+        assertThrows(IllegalArgumentException.class, () -> ParserClient.send(socket, directory, null, "a"));
+        assertThrows(IllegalArgumentException.class,
+                () -> ParserClient.send(socket, directory, Map.of(), (String[]) null));
+        Files.delete(directory);
+    }
+}
@@ -0,0 +1,275 @@
+/*
+ * This file is part of ProDisFuzz, modified on 18.10.26, 05:16.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package main;
+
+import internal.daemon.DaemonProtocol;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.testng.Assert.*;
+
+public class ParserDaemonTest {
+
+    private final Parameter<Integer> threads = ParameterFactory.createIntegerParameter("threads", "threads");
+    private final Parameter<Path> input = ParameterFactory.createPathParameter("input", "input", true);
+
+    /**
+     * Creates a parser whose command has the subcommand "run" with the parameters "threads" and "input".
+     *
+     * @return the parser
+     */
+    private SimpleCommandLineParser createParser() {
+        SimpleCommandLineParser commandLine = new SimpleCommandLineParser();
+        Command command = CommandFactory.createCommand("commandname", "commanddescription");
+        Subcommand subcommand = CommandFactory.createSubcommand("run", "subcommanddescription");
+        subcommand.add(threads);
+        subcommand.add(input);
+        command.add(subcommand);
+        commandLine.setCommand(command);
+        return commandLine;
+    }
+
+    @Test
+    public void testStart() throws IOException {
+        Path directory = Files.createTempDirectory(null);
+        Path socket = directory.resolve("daemon.sock");
+        ParserDaemon daemon = new ParserDaemon(createParser(), socket, (command, request, out) -> 0);
+        daemon.start();
+        assertTrue(Files.exists(socket));
+        assertEquals(Files.getPosixFilePermissions(socket), PosixFilePermissions.fromString("rw-------"));
+        // The private directory the socket is bound in is deleted
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(files.toList(), List.of(socket));
+        }
+        assertThrows(IllegalStateException.class, daemon::start);
+
+        // A second daemon cannot take over the socket of a running daemon
+        ParserDaemon other = new ParserDaemon(createParser(), socket, (command, request, out) -> 0);
+        assertThrows(IOException.class, other::start);
+        other.close();
+
+        daemon.close();
+        assertFalse(Files.exists(socket));
+        daemon.close();
+        assertThrows(IOException.class, () -> ParserClient.send(socket, directory, Map.of(), "run"));
+        Files.delete(directory);
+    }
+
+    @Test
+    public void testHandle() throws IOException {
+        Path directory = Files.createTempDirectory(null);
+        Path file = Files.createFile(directory.resolve("file"));
+        Path socket = directory.resolve("daemon.sock");
+        try (ParserDaemon daemon = new ParserDaemon(createParser(), socket, (command, request, out) -> {
+            out.append("threads=").append(String.valueOf(command.getSubcommand().getInt(threads))).append('\n');
+            out.append("input=").append(command.getSubcommand().get(input).toString()).append('\n');
+            out.append("user=").append(request.environment().get("USER"));
+            return 3;
+        })) {
+            daemon.start();
+            // The relative path is resolved against the client's working directory
+            ParserClient.Response response = ParserClient.send(socket, directory, Map.of("USER", "ä"), "run",
+                    "--threads", "8", "--input", "file");
+            assertEquals(response, new ParserClient.Response(3, "threads=8\ninput=" + file + "\nuser=ä"));
+        }
+        Files.delete(file);
+        Files.delete(directory);
+    }
+
+    @Test
+    public void testHandle1() throws IOException {
+        Path directory = Files.createTempDirectory(null);
+        Path socket = directory.resolve("daemon.sock");
+        SimpleCommandLineParser commandLine = createParser();
+        try (ParserDaemon daemon = new ParserDaemon(commandLine, socket, (command, request, out) -> {
+            if (command.getSubcommand().getInt(threads) < 0) {
+                throw new IllegalStateException("Threads must not be negative");
+            }
+            command.getSubcommand().getChecked(input);
+            return 0;
+        })) {
+            daemon.start();
+            ParserClient.Response response = ParserClient.send(socket, directory, Map.of(), "run", "--threads");
+            assertEquals(response.status(), ParserDaemon.PARSE_FAILURE_STATUS);
+            assertTrue(response.output().startsWith("Error: Parameter 'threads' has no value"));
+            assertTrue(response.output().contains("Usage: java -jar commandname run"));
+
+            response = ParserClient.send(socket, directory, Map.of(), "run", "--threads", "-1", "--input", ".");
+            assertEquals(response, new ParserClient.Response(ParserDaemon.HANDLER_FAILURE_STATUS,
+                    "Error: Threads must not be negative" + System.lineSeparator()));
+
+            // A value that is converted lazily by the handler is reported like a parse failure
+            commandLine.setLazyConversion(true);
+            response = ParserClient.send(socket, directory, Map.of(), "run", "--threads", "1", "--input", "none");
+            assertEquals(response.status(), ParserDaemon.PARSE_FAILURE_STATUS);
+            assertTrue(response.output().contains("must point to an existing file or directory"));
+        }
+        Files.delete(directory);
+    }
+
+    @Test
+    public void testHandle2() throws Exception {
+        Path directory = Files.createTempDirectory(null);
+        Path socket = directory.resolve("daemon.sock");
+        try (ParserDaemon daemon = new ParserDaemon(createParser(), socket,
+                (command, request, out) -> command.getSubcommand().getInt(threads))) {
+            daemon.start();
+            ExecutorService executor = Executors.newFixedThreadPool(16);
+            List<Future<ParserClient.Response>> responses = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                String value = String.valueOf(i);
+                responses.add(executor.submit(() -> ParserClient.send(socket, directory, Map.of(), "run",
+                        "--threads", value, "--input", directory.toString())));
+            }
+            for (int i = 0; i < responses.size(); i++) {
+                assertEquals(responses.get(i).get(), new ParserClient.Response(i, ""));
+            }
+            executor.shutdown();
+        }
+        Files.delete(directory);
+    }
+
+    @Test
+    public void testHandle3() throws Exception {
+        Path directory = Files.createTempDirectory(null);
+        Path file = Files.createFile(directory.resolve("file"));
+        Path socket = directory.resolve("daemon.sock");
+        SimpleCommandLineParser commandLine = createParser();
+        commandLine.setLazyConversion(true);
+        try (ParserDaemon daemon = new ParserDaemon(commandLine, socket, (command, request, out) -> {
+            // A value that is converted lazily on another thread is still resolved against the client's directory
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            try {
+                out.append(executor.submit(() -> command.getSubcommand().get(input)).get().toString());
+            } finally {
+                executor.shutdown();
+            }
+            return 0;
+        })) {
+            daemon.start();
+            ParserClient.Response response = ParserClient.send(socket, directory, Map.of(), "run", "--threads",
+                    "1", "--input", "file");
+            assertEquals(response, new ParserClient.Response(0, file.toString()));
+        }
+        Files.delete(file);
+        Files.delete(directory);
+    }
+
+    @Test
+    public void testServe() throws IOException {
+        Path directory = Files.createTempDirectory(null);
+        Path socket = directory.resolve("daemon.sock");
+        try (ParserDaemon daemon = new ParserDaemon(createParser(), socket, (command, request, out) -> 0)) {
+            daemon.start();
+            // A client that breaks the protocol is disconnected without a response
+            try (SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+                channel.connect(UnixDomainSocketAddress.of(socket));
+                channel.write(ByteBuffer.allocate(4).putInt(-1).flip());
+                assertEquals(channel.read(ByteBuffer.allocate(1)), -1);
+            }
+            assertEquals(ParserClient.send(socket, directory, Map.of(), "run", "--threads", "1", "--input", ".")
+                    .status(), 0);
+        }
+        Files.delete(directory);
+    }
+
+    @Test
+    public void testServe1() throws IOException {
+        Path directory = Files.createTempDirectory(null);
+        Path socket = directory.resolve("daemon.sock");
+        try (ParserDaemon daemon = new ParserDaemon(createParser(), socket, (command, request, out) -> 0,
+                Duration.ofMillis(200), 4)) {
+            daemon.start();
+            // A client that does not send its complete request in time is disconnected without a response
+            try (SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+                channel.connect(UnixDomainSocketAddress.of(socket));
+                channel.write(ByteBuffer.allocate(5).putInt(DaemonProtocol.MAX_FRAME_LENGTH).put((byte) 'a').flip());
+                assertEquals(channel.read(ByteBuffer.allocate(1)), -1);
+            }
+            assertEquals(ParserClient.send(socket, directory, Map.of(), "run", "--threads", "1", "--input", ".")
+                    .status(), 0);
+        }
+        Files.delete(directory);
+    }
+
+    @Test
+    public void testServe2() throws Exception {
+        Path directory = Files.createTempDirectory(null);
+        Path socket = directory.resolve("daemon.sock");
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (ParserDaemon daemon = new ParserDaemon(createParser(), socket, (command, request, out) -> 0,
+                Duration.ofMinutes(1), 1)) {
+            daemon.start();
+            // A client waits while the only connection is taken by a client that has not sent its request yet
+            Future<ParserClient.Response> response;
+            try (SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+                channel.connect(UnixDomainSocketAddress.of(socket));
+                response = executor.submit(() -> ParserClient.send(socket, directory, Map.of(), "run", "--threads",
+                        "1", "--input", "."));
+                Thread.sleep(200);
+                assertFalse(response.isDone());
+            }
+            assertEquals(response.get().status(), 0);
+        } finally {
+            executor.shutdown();
+        }
+        Files.delete(directory);
+    }
+
+    @Test
+    public void testServe3() throws IOException {
+        Path directory = Files.createTempDirectory(null);
+        Path socket = directory.resolve("daemon.sock");
+        try (ParserDaemon daemon = new ParserDaemon(createParser(), socket, (command, request, out) -> {
+            out.append("a".repeat(DaemonProtocol.MAX_FRAME_LENGTH + 1));
+            return 5;
+        })) {
+            daemon.start();
+            // An output that does not fit into a response is truncated instead of dropping the response
+            ParserClient.Response response =
+                    ParserClient.send(socket, directory, Map.of(), "run", "--threads", "1", "--input", ".");
+            assertEquals(response.status(), 5);
+            assertTrue(response.output().endsWith(DaemonProtocol.TRUNCATION_NOTE));
+            assertEquals(response.output().length(), DaemonProtocol.MAX_FRAME_LENGTH);
+        }
+        Files.delete(directory);
+    }
+
+    @Test
+    public void testParserDaemon() {
+        Path socket = Path.of("daemon.sock");
+        assertThrows(IllegalArgumentException.class,
+                () -> new ParserDaemon(null, socket, (command, request, out) -> 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ParserDaemon(createParser(), null, (command, request, out) -> 0));
+        assertThrows(IllegalArgumentException.class, () -> new ParserDaemon(createParser(), socket, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ParserDaemon(createParser(), socket, (command, request, out) -> 0, null, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ParserDaemon(createParser(), socket, (command, request, out) -> 0, Duration.ZERO, 1));
+        assertThrows(IllegalArgumentException.class, () -> new ParserDaemon(createParser(), socket,
+                (command, request, out) -> 0, Duration.ofSeconds(1), 0));
+    }
+}
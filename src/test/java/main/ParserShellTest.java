@@ -0,0 +1,204 @@
+/*
+ * This file is part of ProDisFuzz, modified on 18.10.26, 05:13.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+package main;
+
+import org.testng.annotations.Test;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+public class ParserShellTest {
+
+    private final Parameter<Integer> threads = ParameterFactory.createIntegerParameter("threads", "threads")
+            .makeOptional(1);
+    private final Parameter<String> name = ParameterFactory.createStringParameter("name", "name").makeOptional("none");
+
+    /**
+     * Creates a parser whose command has the subcommand "run" with the parameters "threads" and "name".
+     *
+     * @param subcommandNames the names of additional subcommands without parameters
+     * @return the parser
+     */
+    private SimpleCommandLineParser createParser(String... subcommandNames) {
+        SimpleCommandLineParser commandLine = new SimpleCommandLineParser();
+        Command command = CommandFactory.createCommand("commandname", "commanddescription");
+        Subcommand subcommand = CommandFactory.createSubcommand("run", "subcommanddescription");
+        subcommand.add(threads);
+        subcommand.add(name);
+        command.add(subcommand);
+        for (String subcommandName : subcommandNames) {
+            command.add(CommandFactory.createSubcommand(subcommandName, "subcommanddescription"));
+        }
+        commandLine.setCommand(command);
+        return commandLine;
+    }
+
+    /**
+     * Returns an input stream that contains the given text as UTF-8.
+     *
+     * @param text the text
+     * @return the input stream
+     */
+    private static InputStream input(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testRun() throws IOException {
+        List<ParsedCommand> commands = new ArrayList<>();
+        ParserShell shell = new ParserShell(createParser(), (command, out) -> {
+            commands.add(command);
+            out.append(command.getSubcommand().get(name)).append('\n');
+            return 0;
+        });
+        StringBuilder out = new StringBuilder();
+        StringBuilder err = new StringBuilder();
+        assertEquals(shell.run(input("run --threads 2 --name 'a b'\nrun --threads 3 --name ä\n"), out, err), 0);
+        assertEquals(out.toString(), "> a b\n> ä\n> ");
+        assertEquals(err.toString(), "");
+        // Every line gets its own result, so the handler may keep it
+        assertEquals(commands.size(), 2);
+        assertEquals(commands.get(0).getSubcommand().getInt(threads), 2);
+        assertEquals(commands.get(1).getSubcommand().getInt(threads), 3);
+    }
+
+    @Test
+    public void testRun1() throws IOException {
+        ParserShell shell = new ParserShell(createParser(), (command, out) -> {
+            if (command.getSubcommand().getInt(threads) < 0) {
+                throw new IllegalStateException("Threads must not be negative");
+            }
+            return command.getSubcommand().getInt(threads);
+        });
+        StringBuilder out = new StringBuilder();
+        StringBuilder err = new StringBuilder();
+        assertEquals(shell.run(input("run --threads\nrun --threads -1\nrun --threads 4\nrun --threads 0\n"), out,
+                err), 3);
+        assertTrue(err.toString().startsWith("Error: Parameter 'threads' has no value"));
+        assertTrue(err.toString().contains("Usage: java -jar commandname run"));
+        assertTrue(err.toString().endsWith("Error: Threads must not be negative" + System.lineSeparator()));
+    }
+
+    @Test
+    public void testRun2() throws IOException {
+        // Continued lines, blank lines and comments
+        List<String> names = new ArrayList<>();
+        ParserShell shell = new ParserShell(createParser(), (command, out) -> {
+            names.add(command.getSubcommand().get(name));
+            return 0;
+        });
+        StringBuilder out = new StringBuilder();
+        StringBuilder err = new StringBuilder();
+        String session = "run --threads 1 \\\n--name a\\\\\n\n   \n  # run --name b\nrun --name c\\\n";
+        assertEquals(shell.run(input(session), out, err), 0);
+        assertEquals(names, List.of("a\\", "c"));
+        assertEquals(out.toString(), "> ... > > > > ... ");
+        assertEquals(err.toString(), "");
+    }
+
+    @Test
+    public void testRun4() throws IOException {
+        // Only a pending escape or an open quote continues a line
+        List<String> names = new ArrayList<>();
+        ParserShell shell = new ParserShell(createParser(), (command, out) -> {
+            names.add(command.getSubcommand().get(name));
+            return 0;
+        });
+        StringBuilder out = new StringBuilder();
+        StringBuilder err = new StringBuilder();
+        String session = "run --name 'a\\'\nrun --name \"b\nc\"\nrun --name 'd\\\ne'\nrun --name \"f\\\\\"\n# g\\\n";
+        assertEquals(shell.run(input(session), out, err), 0);
+        assertEquals(names, List.of("a\\", "b\nc", "d\\\ne", "f\\"));
+        assertEquals(out.toString(), "> > ... > ... > > > ");
+        assertEquals(err.toString(), "");
+    }
+
+    @Test
+    public void testRun3() throws IOException {
+        // The built-in commands end the session and print the usage
+        List<ParsedCommand> commands = new ArrayList<>();
+        ParserShell shell = new ParserShell(createParser(), (command, out) -> {
+            commands.add(command);
+            return 0;
+        });
+        shell.setPrompt("");
+        SimpleCommandLineParser commandLine = createParser();
+        StringBuilder out = new StringBuilder();
+        assertEquals(shell.run(input(" help \nexit\nrun --threads 1\n"), out, new StringBuilder()), 0);
+        assertEquals(out.toString(), commandLine.printHelp());
+        assertTrue(commands.isEmpty());
+
+        // Subcommands shadow the built-in commands
+        shell = new ParserShell(createParser("help", "exit"), (command, out1) -> {
+            commands.add(command);
+            return 0;
+        });
+        assertEquals(shell.run(input("help\nexit\n"), new StringBuilder(), new StringBuilder()), 0);
+        assertEquals(commands.size(), 2);
+        assertEquals(commands.get(0).getSubcommand().getName(), "help");
+        assertEquals(commands.get(1).getSubcommand().getName(), "exit");
+    }
+
+    @Test
+    public void testRun5() throws IOException {
+        // A command line that cannot be parsed skips its continuation lines
+        List<String> names = new ArrayList<>();
+        ParserShell shell = new ParserShell(createParser(), (command, out) -> {
+            names.add(command.getSubcommand().get(name));
+            return 0;
+        });
+        StringBuilder out = new StringBuilder();
+        StringBuilder err = new StringBuilder();
+        String session = "run --wrong 'a\nrun --name b' \\\n--name c\nrun --name \"d\n\ne\"\n";
+        assertEquals(shell.run(input(session), out, err), 1);
+        assertEquals(names, List.of("d\n\ne"));
+        assertEquals(out.toString(), "> ... ... > ... ... > ");
+        assertTrue(err.toString().startsWith("Error: Unknown parameter 'wrong'"));
+    }
+
+    @Test
+    public void testRun6() throws IOException {
+        // The outputs are flushed when the session ends
+        ParserShell shell = new ParserShell(createParser(), (command, out) -> {
+            out.append(command.getSubcommand().get(name));
+            return 0;
+        });
+        StringWriter out = new StringWriter();
+        BufferedWriter writer = new BufferedWriter(out);
+        assertEquals(shell.run(input("run --name a\nexit\nrun --name b\n"), writer, new StringBuilder()), 0);
+        assertEquals(out.toString(), "> a> ");
+        out.getBuffer().setLength(0);
+        assertEquals(shell.run(input("run --name 'c\n"), writer, new StringBuilder()), 0);
+        assertEquals(out.toString(), "> ... c\n");
+    }
+
+    @Test
+    public void testSetPrompt() {
+        ParserShell shell = new ParserShell(createParser(), (command, out) -> 0);
+        assertEquals(shell.getPrompt(), "> ");
+        shell.setPrompt("$ ");
+        assertEquals(shell.getPrompt(), "$ ");
+        assertThrows(IllegalArgumentException.class, () -> shell.setPrompt(null));
+    }
+
+    @Test
+    public void testParserShell() {
+        assertThrows(IllegalArgumentException.class, () -> new ParserShell(null, (command, out) -> 0));
+        assertThrows(IllegalArgumentException.class, () -> new ParserShell(createParser(), null));
+        ParserShell shell = new ParserShell(createParser(), (command, out) -> 0);
+        assertThrows(IllegalArgumentException.class, () -> shell.run(null, new StringBuilder(), new StringBuilder()));
+    }
+}
@@ -1,6 +1,6 @@
 /*
- * This file is part of ProDisFuzz, modified on 29.04.25, 07:03.
- * Copyright (c) 2013-2025 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This file is part of ProDisFuzz, modified on 18.10.26, 05:17.
+ * Copyright (c) 2013-2026 Volker Nebelung <vnebelung@prodisfuzz.net>
  * This work is free. You can redistribute it and/or modify it under the
  * terms of the Do What The Fuck You Want To Public License, Version 2,
  * as published by Sam Hocevar. See the COPYING file for more details.
@@ -8,11 +8,35 @@
 
 package main;
 
+import com.sun.management.ThreadMXBean;
+import org.testng.SkipException;
 import org.testng.annotations.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.testng.Assert.*;
 
@@ -291,6 +315,1181 @@ public class SimpleCommandLineParserTest {
         assertThrows(ParameterException.class, commandLine::parse);
     }
 
+    @Test
+    public void testParse14() throws ParameterException {
+        SimpleCommandLineParser commandLine = new SimpleCommandLineParser();
+        Command command = CommandFactory.createCommand("commandname", "commanddescription");
+        Subcommand subcommand = CommandFactory.createSubcommand("subcommandname", "subcommanddescription");
+        Parameter<Integer> parameter1 =
+                ParameterFactory.createIntegerParameter("parametername1", "parameterdescription1").makeOptional(5);
+        subcommand.add(parameter1);
+        command.add(subcommand);
+        commandLine.setCommand(command);
+
+        ParsedCommand parsedCommand1 = commandLine.parse("subcommandname", "--parametername1", "6");
+        ParsedCommand parsedCommand2 = commandLine.parse("subcommandname");
+
+        assertEquals(parsedCommand1.getSubcommand().getIntegerParameter("parametername1").getValue().intValue(), 6);
+        assertEquals(parsedCommand2.getSubcommand().getIntegerParameter("parametername1").getValue().intValue(), 5);
+        assertEquals(parameter1.getValue().intValue(), 5);
+    }
+
+    @Test
+    public void testParse15() throws ParameterException {
+        SimpleCommandLineParser commandLine = new SimpleCommandLineParser();
+        Command command = CommandFactory.createCommand("commandname", "commanddescription");
+        command.add(ParameterFactory.createStringParameter("parametername1", "parameterdescription1"));
+        commandLine.setCommand(command);
+        command.add(ParameterFactory.createStringParameter("parametername2", "parameterdescription2"));
+
+        ParsedCommand parsedCommand = commandLine.parse("--parametername1", "parametervalue1");
+
+        assertEquals(parsedCommand.getStringParameter("parametername1").getValue(), "parametervalue1");
+        assertNull(parsedCommand.getStringParameter("parametername2"));
+        assertThrows(ParameterException.class,
+                () -> commandLine.parse("--parametername1", "parametervalue1", "--parametername2", "value2"));
+
+        commandLine.setCommand(command);
+
+        assertThrows(ParameterException.class, () -> commandLine.parse("--parametername1", "parametervalue1"));
+    }
+
+    @Test
+    public void testParse16() throws ParameterException {
+        if (!(ManagementFactory.getThreadMXBean() instanceof ThreadMXBean threadMXBean) ||
+                !threadMXBean.isThreadAllocatedMemorySupported()) {
+            throw new SkipException("Measuring allocated memory is not supported");
+        }
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+        SimpleCommandLineParser commandLine = new SimpleCommandLineParser();
+        Command command = CommandFactory.createCommand("commandname", "commanddescription");
+        Subcommand subcommand = CommandFactory.createSubcommand("subcommandname", "subcommanddescription");
+        subcommand.add(ParameterFactory.createStringParameter("parametername1", "parameterdescription1"));
+        subcommand.add(ParameterFactory.createBooleanParameter("parametername2", "parameterdescription2"));
+        subcommand.add(ParameterFactory.createIntegerParameter("parametername3", "parameterdescription3"));
+        command.add(subcommand);
+        commandLine.setCommand(command);
+        String[] args = {"subcommandname", "--parametername1", "parametervalue1", "--parametername2", "true",
+                "--parametername3", "6"};
+
+        for (int i = 0; i < 20_000; i++) {
+            commandLine.parse(args);
+        }
+        long threadId = Thread.currentThread().threadId();
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 10_000; i++) {
+            commandLine.parse(args);
+        }
+        long allocated = (threadMXBean.getThreadAllocatedBytes(threadId) - before) / 10_000;
+
+        // The string value is not copied and the boolean and integer values are stored unboxed, so only the parsed
+        // command, the parsed subcommand and the subcommand's value arrays may be allocated
+        assertTrue(allocated <= 160, "A parse allocated " + allocated + " bytes");
+    }
+
+    @Test
+    public void testParse17() throws ParameterException {
+        SimpleCommandLineParser commandLine = new SimpleCommandLineParser();
+        Command command = CommandFactory.createCommand("commandname", "commanddescription");
+        Subcommand subcommand = CommandFactory.createSubcommand("subcommandname", "subcommanddescription");
+        subcommand.add(ParameterFactory.createIntegerParameter("parametername1", "parameterdescription1"));
+        subcommand.add(ParameterFactory.createDoubleParameter("parametername2", "parameterdescription2"));
+        subcommand.add(ParameterFactory.createBooleanParameter("parametername3", "parameterdescription3")
+                .makeOptional(true));
+        command.add(subcommand);
+        commandLine.setCommand(command);
+
+        ParsedCommand parsedCommand =
+                commandLine.parse("subcommandname", "--parametername1", "-6", "--parametername2", "1.5");
+
+        assertEquals(parsedCommand.getSubcommand().getInt("parametername1"), -6);
+        assertEquals(parsedCommand.getSubcommand().getDouble("parametername2"), 1.5);
+        assertTrue(parsedCommand.getSubcommand().getBoolean("parametername3"));
+        assertThrows(IllegalArgumentException.class, () -> parsedCommand.getSubcommand().getInt("parametername2"));
+        assertThrows(IllegalArgumentException.class, () -> parsedCommand.getInt("parametername1"));
+    }
+
+    @Test
+    public void testParse18() throws ParameterException {
+        SimpleCommandLineParser commandLine = new SimpleCommandLineParser();
+        Command command = CommandFactory.createCommand("commandname", "commanddescription");
+        Parameter<Integer> parameter1 =
+                ParameterFactory.createIntegerParameter("parametername1", "parameterdescription1");
+        Parameter<String> parameter2 =
+                ParameterFactory.createStringParameter("parametername2", "parameterdescription2").makeOptional("a");
+        Subcommand subcommand1 = CommandFactory.createSubcommand("subcommandname1", "subcommanddescription1");
+        subcommand1.add(parameter1);
+        subcommand1.add(parameter2);
+        command.add(subcommand1);
+        Subcommand subcommand2 = CommandFactory.createSubcommand("subcommandname2", "subcommanddescription2");
+        subcommand2.add(parameter2);
+        command.add(subcommand2);
+        commandLine.setCommand(command);
+
+        ParsedCommand parsedCommand1 = commandLine.parse("subcommandname1", "--parametername1", "6");
+        ParsedCommand parsedCommand2 = commandLine.parse("subcommandname2", "--parametername2", "b");
+
+        assertEquals(parsedCommand1.getSubcommand().get(parameter1).intValue(), 6);
+        assertEquals(parsedCommand1.getSubcommand().getInt(parameter1), 6);
+        assertEquals(parsedCommand1.getSubcommand().get(parameter2), "a");
+        assertEquals(parsedCommand2.getSubcommand().get(parameter2), "b");
+        assertThrows(IllegalArgumentException.class, () -> parsedCommand2.getSubcommand().get(parameter1));
+        assertThrows(IllegalArgumentException.class, () -> parsedCommand2.getSubcommand()
+                .get(ParameterFactory.createStringParameter("parametername2", "parameterdescription2")));
+    }
+
+    @Test
+    public void testParse19() throws ParameterException {
+        SimpleCommandLineParser commandLine = new SimpleCommandLineParser();
+        Command command = CommandFactory.createCommand("commandname", "commanddescription");
+        Parameter<Integer> parameter1 =
+                ParameterFactory.createIntegerParameter("parametername1", "parameterdescription1");
+        Parameter<Path> parameter2 =
+                ParameterFactory.createPathParameter("parametername2", "parameterdescription2", true);
+        Parameter<String> parameter3 =
+                ParameterFactory.createStringParameter("parametername3", "parameterdescription3");
+        command.add(parameter1);
+        command.add(parameter2);
+        command.add(parameter3);
+        commandLine.setCommand(command);
+        assertFalse(commandLine.isLazyConversion());
+        commandLine.setLazyConversion(true);
+        assertTrue(commandLine.isLazyConversion());
+
+        ParsedCommand parsedCommand =
+                commandLine.parse("--parametername1", "a", "--parametername2", "nonexistent", "--parametername3", "b");
+
+        assertEquals(parsedCommand.get(parameter3), "b");
+        assertThrows(IllegalStateException.class, () -> parsedCommand.get(parameter1));
+        assertThrows(IllegalStateException.class, () -> parsedCommand.getInt("parametername1"));
+        assertThrows(ParameterException.class, () -> parsedCommand.getChecked(parameter1));
+        assertThrows(ParameterException.class,
+                () -> parsedCommand.getPathParameter("parametername2").getCheckedValue());
+        assertThrows(ParameterException.class, () -> commandLine.parse("--parametername1", "a"));
+    }
+
+    @Test
+    public void testParse20() throws ParameterException {
+        SimpleCommandLineParser commandLine = new SimpleCommandLineParser();
+        Command command = CommandFactory.createCommand("commandname", "commanddescription");
+        Parameter<Integer> parameter1 =
+                ParameterFactory.createIntegerParameter("parametername1", "parameterdescription1");
+        Parameter<Path> parameter2 =
+                ParameterFactory.createPathParameter("parametername2", "parameterdescription2", false);
+        command.add(parameter1);
+        command.add(parameter2.makeOptional(Path.of("a")));
+        commandLine.setCommand(command);
+        commandLine.setLazyConversion(true);
+
+        ParsedCommand parsedCommand = commandLine.parse("--parametername1", "6", "--parametername2", "nonexistent");
+
+        assertEquals(parsedCommand.getInt(parameter1), 6);
+        assertEquals(parsedCommand.getChecked(parameter1).intValue(), 6);
+        Path path = parsedCommand.getPathParameter("parametername2").getCheckedValue();
+        assertEquals(path, Path.of("nonexistent").toAbsolutePath().normalize());
+        assertSame(parsedCommand.get(parameter2), path);
+    }
+
+    @Test
+    public void testParse21() {
+        SimpleCommandLineParser commandLine = new SimpleCommandLineParser();
+        Command command = CommandFactory.createCommand("commandname", "commanddescription");
+        command.add(ParameterFactory.createIntegerParameter("parametername1", "parameterdescription1"));
+        commandLine.setCommand(command);
+
+        try {
+            commandLine.parse("--parametername1", "a");
+            fail();
+        } catch (ParameterException e) {
+            assertEquals(e.getMessage().lines().findFirst().orElseThrow(),
+                    "Error: The parameter 'parametername1's value is not a valid integer");
+        }
+    }
+
+    @Test
+    public void testParse23() {
+        // A value that is not a valid path is rendered as an invalid value instead of failing to render
+        SimpleCommandLineParser commandLine = new SimpleCommandLineParser();
+        Command command = CommandFactory.createCommand("commandname", "commanddescription");
+        command.add(ParameterFactory.createPathParameter("parametername1", "parameterdescription1", false));
+        commandLine.setCommand(command);
+
+        try {
+            commandLine.parse("--parametername1", "a\0b");
+            fail();
+        } catch (ParameterException e) {
+            assertEquals(e.getErrorCode(), ErrorCode.INVALID_VALUE);
+            assertEquals(e.getIndex(), 1);
+            assertEquals(e.getMessage().lines().findFirst().orElseThrow(),
+                    "Error: The parameter 'parametername1's value is not a valid path");
+        }
+    }
+
+    @Test
+    public void testParse22() {
+        SimpleCommandLineParser commandLine = new SimpleCommandLineParser();
+        Command command = CommandFactory.createCommand("commandname", "commanddescription");
+        Subcommand subcommand = CommandFactory.createSubcommand("subcommandname", "subcommanddescription");
+        subcommand.add(ParameterFactory.createIntegerParameter("parametername1", "parameterdescription1"));
+        command.add(subcommand);
+        commandLine.setCommand(command);
+        assertTrue(commandLine.isCaptureStackTrace());
+        commandLine.setCaptureStackTrace(false);
+        assertFalse(commandLine.isCaptureStackTrace());
+
+        try {
+            commandLine.parse("subcommandname", "--parametername1", "a");
+            fail();
+        } catch (ParameterException e) {
+            assertEquals(e.getErrorCode(), ErrorCode.INVALID_VALUE);
+            assertEquals(e.getIndex(), 2);
+            assertEquals(e.getName(), "parametername1");
+            assertEquals(e.getStackTrace().length, 0);
+            assertEquals(e.getMessage().lines().findFirst().orElseThrow(),
+                    "Error: The parameter 'parametername1's value is not a valid integer");
+            assertTrue(e.getMessage().contains("Usage: java -jar commandname subcommandname"));
+        }
+
+        try {
+            commandLine.parse("wrong");
+            fail();
+        } catch (ParameterException e) {
+            assertEquals(e.getErrorCode(), ErrorCode.UNKNOWN_SUBCOMMAND);
+            assertEquals(e.getIndex(), 0);
+            assertEquals(e.getName(), "wrong");
+            assertEquals(e.getMessage().lines().findFirst().orElseThrow(), "Error: Unknown subcommand 'wrong'");
+        }
+    }
+
+    @Test
+    public void testParse24() {
+        // The message of an exception describes the command as it was when the command line was parsed
+        SimpleCommandLineParser commandLine = new SimpleCommandLineParser();
+        Command command = CommandFactory.createCommand("commandname", "commanddescription");
+        Subcommand subcommand = CommandFactory.createSubcommand("subcommandname", "subcommanddescription");
+        Parameter<Integer> parameter =
+                ParameterFactory.createIntegerParameter("parametername1", "parameterdescription1");
+        subcommand.add(parameter);
+        command.add(subcommand);
+        commandLine.setCommand(command);
+
+        try {
+            commandLine.parse("subcommandname", "--parametername1", "a");
+            fail();
+        } catch (ParameterException e) {
+            parameter.makeOptional(5);
+            subcommand.add(ParameterFactory.createStringParameter("parametername2", "parameterdescription2"));
+            assertEquals(e.getMessage().lines().findFirst().orElseThrow(),
+                    "Error: The parameter 'parametername1's value is not a valid integer");
+            assertTrue(e.getMessage().contains("--parametername1 <value>"));
+            assertFalse(e.getMessage().contains("The default value is '5'."));
+            assertFalse(e.getMessage().contains("--parametername2"));
+        }
+    }
+
+    @Test
+    public void testTryParse() {
+        SimpleCommandLineParser commandLine = new SimpleCommandLineParser();
+        Command command = CommandFactory.createCommand("commandname", "commanddescription");
+        Parameter<Integer> parameter1 =
+                ParameterFactory.createIntegerParameter("parametername1", "parameterdescription1");
+        command.add(parameter1);
+        command.add(ParameterFactory.createStringParameter("parametername2", "parameterdescription2"));
+        commandLine.setCommand(command);
+
+        ParseResult result = commandLine.tryParse("--parametername1", "6", "--parametername2", "a");
+        assertTrue(result.isSuccess());
+        assertEquals(((ParseResult.Success) result).command().getInt(parameter1), 6);
+
+        assertEquals(commandLine.tryParse("--parametername1", "6", "parametername2", "a"),
+                new ParseResult.Failure(ErrorCode.INVALID_FORMAT, 2, null));
+        assertEquals(commandLine.tryParse("--parametername1", "6", "--parametername2"),
+                new ParseResult.Failure(ErrorCode.MISSING_VALUE, 2, "parametername2"));
+        assertEquals(commandLine.tryParse("--parametername1", "6", "--parametername3", "a"),
+                new ParseResult.Failure(ErrorCode.UNKNOWN_PARAMETER, 2, "parametername3"));
+        assertEquals(commandLine.tryParse("--parametername2", "a", "--parametername1", "b"),
+                new ParseResult.Failure(ErrorCode.INVALID_VALUE, 3, "parametername1"));
+        assertEquals(commandLine.tryParse("--parametername2", "a"),
+                new ParseResult.Failure(ErrorCode.MISSING_PARAMETER, -1, "parametername1"));
+        assertFalse(commandLine.tryParse("--parametername2", "a").isSuccess());
+    }
+
+    @Test
+    public void testTryParse1() {
+        SimpleCommandLineParser commandLine = new SimpleCommandLineParser();
+        Command command = CommandFactory.createCommand("commandname", "commanddescription");
+        Subcommand subcommand = CommandFactory.createSubcommand("subcommandname", "subcommanddescription");
+        subcommand.add(ParameterFactory.createBooleanParameter("parametername1", "parameterdescription1"));
+        command.add(subcommand);
+        commandLine.setCommand(command);
+
+        assertTrue(commandLine.tryParse("subcommandname", "--parametername1", "true").isSuccess());
+        assertEquals(commandLine.tryParse(), new ParseResult.Failure(ErrorCode.NO_SUBCOMMAND, 0, null));
+        assertEquals(commandLine.tryParse("wrong", "--parametername1", "true"),
+                new ParseResult.Failure(ErrorCode.UNKNOWN_SUBCOMMAND, 0, "wrong"));
+        assertEquals(commandLine.tryParse("subcommandname", "--parametername1", "yes"),
+                new ParseResult.Failure(ErrorCode.INVALID_VALUE, 2, "parametername1"));
+    }
+
+    @Test
+    public void testParseConcurrently() throws Exception {
+        parseConcurrently(Executors.newFixedThreadPool(16));
+    }
+
+    @Test
+    public void testParseConcurrently1() throws Exception {
+        parseConcurrently(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    @Test
+    public void testParseConcurrently3() throws Exception {
+        // Subcommands that are registered while the command is set must never be compiled under another name
+        SimpleCommandLineParser commandLine = new SimpleCommandLineParser();
+        Command command = CommandFactory.createCommand("commandname", "commanddescription");
+        command.add(CommandFactory.createSubcommand("subcommandname", "subcommanddescription"));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            int thread = i;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int j = thread; j < 2000; j += 4) {
+                    command.add(CommandFactory.createSubcommand("subcommandname" + j, "subcommanddescription"));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (int i = 0; i < 200; i++) {
+            commandLine.setCommand(command);
+            for (int j = 0; j < 2000; j += 37) {
+                ParseResult result = commandLine.tryParse("subcommandname" + j);
+                if (result instanceof ParseResult.Success success) {
+                    assertEquals(success.command().getSubcommand().getName(), "subcommandname" + j);
+                } else {
+                    assertEquals(((ParseResult.Failure) result).errorCode(), ErrorCode.UNKNOWN_SUBCOMMAND);
+                }
+            }
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        commandLine.setCommand(command);
+        assertEquals(command.getSubcommands().size(), 2001);
+        assertTrue(commandLine.tryParse("subcommandname1999").isSuccess());
+    }
+
+    @Test
+    public void testParseConcurrently2() throws Exception {
+        SimpleCommandLineParser commandLine = new SimpleCommandLineParser();
+        Command command = CommandFactory.createCommand("commandname", "commanddescription");
+        Parameter<Integer> parameter1 =
+                ParameterFactory.createIntegerParameter("parametername1", "parameterdescription1");
+        Parameter<String> parameter2 =
+                ParameterFactory.createStringParameter("parametername2", "parameterdescription2");
+        command.add(parameter1);
+        command.add(parameter2);
+        commandLine.setCommand(command);
+        commandLine.setLazyConversion(true);
+        ParsedCommand parsedCommand = commandLine.parse("--parametername1", "6", "--parametername2", "a");
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return parsedCommand.getInt(parameter1) == 6 && parsedCommand.get(parameter2).equals("a");
+            }));
+        }
+        start.countDown();
+        for (Future<Boolean> future : futures) {
+            assertTrue(future.get());
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+    }
+
+    @Test
+    public void testParseAll() {
+        SimpleCommandLineParser commandLine = new SimpleCommandLineParser();
+        Command command = CommandFactory.createCommand("commandname", "commanddescription");
+        Parameter<Integer> parameter1 =
+                ParameterFactory.createIntegerParameter("parametername1", "parameterdescription1");
+        command.add(parameter1);
+        commandLine.setCommand(command);
+
+        List<String[]> argsList = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            argsList.add(i % 7 == 0 ? new String[]{"--parametername1", "x"} :
+                    new String[]{"--parametername1", Integer.toString(i)});
+        }
+        List<ParseResult> results = commandLine.parseAll(argsList);
+        assertEquals(results.size(), 10_000);
+        for (int i = 0; i < results.size(); i++) {
+            if (i % 7 == 0) {
+                assertEquals(results.get(i), new ParseResult.Failure(ErrorCode.INVALID_VALUE, 1, "parametername1"));
+            } else {
+                assertEquals(((ParseResult.Success) results.get(i)).command().getInt(parameter1), i);
+            }
+        }
+    }
+
+    @Test
+    public void testParseAll1() {
+        SimpleCommandLineParser commandLine = new SimpleCommandLineParser();
+        Command command = CommandFactory.createCommand("commandname", "commanddescription");
+        Subcommand subcommand = CommandFactory.createSubcommand("subcommandname", "subcommanddescription");
+        subcommand.add(ParameterFactory.createStringParameter("parametername1", "parameterdescription1"));
+        command.add(subcommand);
+        commandLine.setCommand(command);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<ParseResult> results = commandLine.parseAll(
+                List.of(new String[]{"subcommandname", "--parametername1", "a"}, new String[]{"wrong"},
+                        new String[]{}, new String[]{"subcommandname", "--parametername1", "b"}), executor);
+        executor.shutdown();
+        assertEquals(results.size(), 4);
+        assertEquals(((ParseResult.Success) results.get(0)).command().getSubcommand()
+                .getStringParameter("parametername1").getValue(), "a");
+        assertEquals(results.get(1), new ParseResult.Failure(ErrorCode.UNKNOWN_SUBCOMMAND, 0, "wrong"));
+        assertEquals(results.get(2), new ParseResult.Failure(ErrorCode.NO_SUBCOMMAND, 0, null));
+        assertEquals(((ParseResult.Success) results.get(3)).command().getSubcommand()
+                .getStringParameter("parametername1").getValue(), "b");
+        assertTrue(commandLine.parseAll(List.of(), executor).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> commandLine.parseAll((List<String[]>) null));
+        assertThrows(IllegalArgumentException.class, () -> commandLine.parseAll(List.of(), null));
+    }
+
+    @Test
+    public void testParseAll2() {
+        SimpleCommandLineParser commandLine = new SimpleCommandLineParser();
+        Command command = CommandFactory.createCommand("commandname", "commanddescription");
+        Parameter<Integer> parameter1 =
+                ParameterFactory.createIntegerParameter("parametername1", "parameterdescription1");
+        command.add(parameter1);
+        commandLine.setCommand(command);
+
+        List<ParseResult> results = commandLine.parseAll(IntStream.range(0, 10_000).parallel()
+                .mapToObj(i -> new String[]{"--parametername1", i % 7 == 0 ? "x" : Integer.toString(i)})).toList();
+        assertEquals(results.size(), 10_000);
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(results.get(i).isSuccess(), i % 7 != 0);
+            if (i % 7 != 0) {
+                assertEquals(((ParseResult.Success) results.get(i)).command().getInt(parameter1), i);
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> commandLine.parseAll((Stream<String[]>) null));
+    }
+
+    @Test
+    public void testParseColumns() {
+        SimpleCommandLineParser commandLine = new SimpleCommandLineParser();
+        Command command = CommandFactory.createCommand("commandname", "commanddescription");
+        Subcommand subcommand1 = CommandFactory.createSubcommand("subcommandname1", "subcommanddescription1");
+        Parameter<Integer> parameter1 =
+                ParameterFactory.createIntegerParameter("parametername1", "parameterdescription1");
+        Parameter<Boolean> parameter2 = ParameterFactory.createBooleanParameter("parametername2",
+                "parameterdescription2").makeOptional(true);
+        subcommand1.add(parameter1);
+        subcommand1.add(parameter2);
+        command.add(subcommand1);
+        Subcommand subcommand2 = CommandFactory.createSubcommand("subcommandname2", "subcommanddescription2");
+        Parameter<String> parameter3 =
+                ParameterFactory.createStringParameter("parametername3", "parameterdescription3");
+        subcommand2.add(parameter3);
+        command.add(subcommand2);
+        commandLine.setCommand(command);
+
+        List<String[]> argsList = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            argsList.add(switch (i % 3) {
+                case 0 -> new String[]{"subcommandname1", "--parametername1", Integer.toString(i)};
+                case 1 -> new String[]{"subcommandname2", "--parametername3", "value" + i};
+                default -> new String[]{"subcommandname1", "--parametername1", "x"};
+            });
+        }
+        ParsedColumns columns = commandLine.parseColumns(argsList, parameter1, parameter2, parameter3);
+        assertEquals(columns.size(), 10_000);
+        assertEquals(columns.getFailureCount(), 3333);
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(columns.isSuccess(i), i % 3 != 2);
+            assertEquals(columns.isPresent(parameter1, i), i % 3 == 0);
+            assertEquals(columns.isPresent(parameter2, i), i % 3 == 0);
+            assertEquals(columns.isPresent(parameter3, i), i % 3 == 1);
+            switch (i % 3) {
+                case 0 -> {
+                    assertEquals(columns.getInts(parameter1)[i], i);
+                    assertTrue(columns.getBooleans(parameter2)[i]);
+                }
+                case 1 -> assertEquals(columns.getStrings(parameter3)[i], "value" + i);
+                default -> assertEquals(columns.getFailure(i),
+                        new ParseResult.Failure(ErrorCode.INVALID_VALUE, 2, "parametername1"));
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> commandLine.parseColumns(null, parameter1));
+        assertThrows(IllegalArgumentException.class, () -> commandLine.parseColumns(argsList,
+                ParameterFactory.createStringParameter("parametername3", "parameterdescription3")));
+    }
+
+    @Test
+    public void testParseColumns1() {
+        SimpleCommandLineParser commandLine = new SimpleCommandLineParser();
+        Command command = CommandFactory.createCommand("commandname", "commanddescription");
+        Parameter<Integer> threads = ParameterFactory.createIntegerParameter("threads", "parameterdescription1");
+        Subcommand one = CommandFactory.createSubcommand("one", "subcommanddescription1");
+        one.add(ParameterFactory.createStringParameter("input", "parameterdescription2").makeOptional("a"));
+        one.add(threads);
+        command.add(one);
+        Subcommand two = CommandFactory.createSubcommand("two", "subcommanddescription2");
+        two.add(threads);
+        command.add(two);
+        commandLine.setCommand(command);
+
+        ParsedColumns columns = commandLine.parseColumns(List.of(new String[]{"one", "--threads", "1"},
+                new String[]{"two", "--threads", "2"}, new String[]{"one", "--threads", "3"}), threads);
+        assertEquals(columns.getFailureCount(), 0);
+        assertEquals(columns.getInts(threads), new int[]{1, 2, 3});
+        for (int i = 0; i < 3; i++) {
+            assertTrue(columns.isPresent(threads, i));
+        }
+    }
+
+    @Test
+    public void testParseChain() throws ParameterException {
+        SimpleCommandLineParser commandLine = new SimpleCommandLineParser();
+        Command command = CommandFactory.createCommand("commandname", "commanddescription");
+        Subcommand fetch = CommandFactory.createSubcommand("fetch", "subcommanddescription1");
+        Parameter<Integer> id = ParameterFactory.createIntegerParameter("id", "parameterdescription1");
+        fetch.add(id);
+        command.add(fetch);
+        Subcommand transform = CommandFactory.createSubcommand("transform", "subcommanddescription2");
+        Parameter<String> mode = ParameterFactory.createStringParameter("mode", "parameterdescription2");
+        transform.add(mode);
+        command.add(transform);
+        commandLine.setCommand(command);
+
+        ParsedChain chain = commandLine.parseChain("fetch", "--id", "1", "+", "transform", "--mode", "+", "++",
+                "fetch", "--id", "2", "++", "fetch", "--id", "3", "+", "transform", "--mode", "++");
+        assertEquals(chain.size(), 5);
+        assertEquals(chain.get(0).getSubcommand().getInt(id), 1);
+        // A delimiter in the place of a value is a value
+        assertEquals(chain.get(1).getSubcommand().get(mode), "+");
+        assertEquals(chain.get(2).getSubcommand().getInt(id), 2);
+        assertEquals(chain.get(3).getSubcommand().getInt(id), 3);
+        assertEquals(chain.get(4).getSubcommand().get(mode), "++");
+        assertEquals(chain.getCommands().stream().map(c -> c.getSubcommand().getName()).toList(),
+                List.of("fetch", "transform", "fetch", "fetch", "transform"));
+        for (int i = 0; i < chain.size(); i++) {
+            assertEquals(chain.isParallel(i), i == 2 || i == 3);
+        }
+        assertEquals(chain.getStages(), List.of(List.of(chain.get(0)), List.of(chain.get(1), chain.get(2),
+                chain.get(3)), List.of(chain.get(4))));
+
+        chain = commandLine.parseChain("transform", "--mode", "x");
+        assertEquals(chain.size(), 1);
+        assertFalse(chain.isParallel(0));
+        assertEquals(chain.get(0).getSubcommand().get(mode), "x");
+    }
+
+    @Test
+    public void testParseChain1() {
+        SimpleCommandLineParser commandLine = new SimpleCommandLineParser();
+        Command command = CommandFactory.createCommand("commandname", "commanddescription");
+        Subcommand fetch = CommandFactory.createSubcommand("fetch", "subcommanddescription1");
+        fetch.add(ParameterFactory.createIntegerParameter("id", "parameterdescription1"));
+        command.add(fetch);
+        Subcommand transform = CommandFactory.createSubcommand("transform", "subcommanddescription2");
+        transform.add(ParameterFactory.createStringParameter("mode", "parameterdescription2"));
+        command.add(transform);
+        commandLine.setCommand(command);
+
+        // Every segment is validated against its own subcommand and the index refers to all arguments
+        try {
+            commandLine.parseChain("fetch", "--id", "1", "+", "transform", "--id", "2");
+            fail();
+        } catch (ParameterException e) {
+            assertEquals(e.getErrorCode(), ErrorCode.UNKNOWN_PARAMETER);
+            assertEquals(e.getIndex(), 5);
+            assertTrue(e.getMessage().contains("Usage: java -jar commandname transform"));
+        }
+        try {
+            commandLine.parseChain("fetch", "--id", "1", "++", "fetch", "--id", "x");
+            fail();
+        } catch (ParameterException e) {
+            assertEquals(e.getErrorCode(), ErrorCode.INVALID_VALUE);
+            assertEquals(e.getIndex(), 6);
+        }
+        try {
+            commandLine.parseChain("fetch", "--id", "1", "+", "transform");
+            fail();
+        } catch (ParameterException e) {
+            assertEquals(e.getErrorCode(), ErrorCode.MISSING_PARAMETER);
+            assertTrue(e.getMessage().contains("Usage: java -jar commandname transform"));
+        }
+        try {
+            commandLine.parseChain("fetch", "--id", "1", "+");
+            fail();
+        } catch (ParameterException e) {
+            assertEquals(e.getErrorCode(), ErrorCode.NO_SUBCOMMAND);
+            assertEquals(e.getIndex(), 4);
+        }
+        try {
+            commandLine.parseChain("+", "fetch", "--id", "1");
+            fail();
+        } catch (ParameterException e) {
+            assertEquals(e.getErrorCode(), ErrorCode.NO_SUBCOMMAND);
+            assertEquals(e.getIndex(), 0);
+        }
+        try {
+            // The delimiter is the value of the parameter, so the segment does not end
+            commandLine.parseChain("fetch", "--id", "+", "fetch", "--id", "2");
+            fail();
+        } catch (ParameterException e) {
+            assertEquals(e.getErrorCode(), ErrorCode.INVALID_VALUE);
+            assertEquals(e.getIndex(), 2);
+        }
+    }
+
+    @Test
+    public void testParseChain2() throws ParameterException {
+        // A command without subcommands is chained as well
+        SimpleCommandLineParser commandLine = new SimpleCommandLineParser();
+        Command command = CommandFactory.createCommand("commandname", "commanddescription");
+        Parameter<Integer> parameter1 =
+                ParameterFactory.createIntegerParameter("parametername1", "parameterdescription1");
+        command.add(parameter1);
+        commandLine.setCommand(command);
+        commandLine.setLazyConversion(true);
+
+        ParsedChain chain = commandLine.parseChain("--parametername1", "1", "++", "--parametername1", "2");
+        assertEquals(chain.size(), 2);
+        assertEquals(chain.get(0).getInt(parameter1), 1);
+        assertEquals(chain.get(1).getInt(parameter1), 2);
+        assertTrue(chain.isParallel(1));
+        assertEquals(chain.getStages(), List.of(chain.getCommands()));
+    }
+
+    @Test
+    public void testParseLines() throws IOException {
+        SimpleCommandLineParser commandLine = new SimpleCommandLineParser();
+        Command command = CommandFactory.createCommand("commandname", "commanddescription");
+        Parameter<Integer> parameter1 =
+                ParameterFactory.createIntegerParameter("parametername1", "parameterdescription1");
+        command.add(parameter1);
+        commandLine.setCommand(command);
+
+        Path file = Files.createTempFile(null, null);
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            for (int i = 0; i < 100_000; i++) {
+                writer.write(i % 7 == 0 ? "--parametername1 x\n" : "--parametername1 " + i + "\n");
+            }
+        }
+        int[] count = new int[1];
+        commandLine.parseLines(file, result -> {
+            int i = count[0]++;
+            if (i % 7 == 0) {
+                assertEquals(result, new ParseResult.Failure(ErrorCode.INVALID_VALUE, 1, "parametername1"));
+            } else {
+                assertEquals(((ParseResult.Success) result).command().getInt(parameter1), i);
+            }
+        });
+        Files.delete(file);
+        assertEquals(count[0], 100_000);
+        assertThrows(IllegalArgumentException.class, () -> commandLine.parseLines((Path) null, result -> {
+        }));
+    }
+
+    @Test
+    public void testParseLines1() {
+        SimpleCommandLineParser commandLine = new SimpleCommandLineParser();
+        Command command = CommandFactory.createCommand("commandname", "commanddescription");
+        Subcommand subcommand = CommandFactory.createSubcommand("subcommandname", "subcommanddescription");
+        subcommand.add(ParameterFactory.createStringParameter("parametername1", "parameterdescription1"));
+        command.add(subcommand);
+        commandLine.setCommand(command);
+
+        ReadableByteChannel channel = Channels.newChannel(new ByteArrayInputStream(
+                "subcommandname --parametername1 a\nwrong\n\nsubcommandname --parametername1 b\n"
+                        .getBytes(StandardCharsets.UTF_8)));
+        List<ParseResult> results = new ArrayList<>();
+        boolean[] completed = new boolean[1];
+        commandLine.parseLines(channel, new Flow.Subscriber<>() {
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(ParseResult item) {
+                results.add(item);
+                subscription.request(1);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                fail("Unexpected error", throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                completed[0] = true;
+            }
+        });
+        assertTrue(completed[0]);
+        assertFalse(channel.isOpen());
+        assertEquals(results.size(), 4);
+        assertEquals(((ParseResult.Success) results.get(0)).command().getSubcommand()
+                .getStringParameter("parametername1").getValue(), "a");
+        assertEquals(results.get(1), new ParseResult.Failure(ErrorCode.UNKNOWN_SUBCOMMAND, 0, "wrong"));
+        assertEquals(results.get(2), new ParseResult.Failure(ErrorCode.NO_SUBCOMMAND, 0, null));
+        assertEquals(((ParseResult.Success) results.get(3)).command().getSubcommand()
+                .getStringParameter("parametername1").getValue(), "b");
+    }
+
+    @Test
+    public void testParseArgumentFiles() throws ParameterException, IOException {
+        SimpleCommandLineParser commandLine = new SimpleCommandLineParser();
+        Command command = CommandFactory.createCommand("commandname", "commanddescription");
+        Subcommand subcommand = CommandFactory.createSubcommand("subcommandname", "subcommanddescription");
+        subcommand.add(ParameterFactory.createIntegerParameter("parametername1", "parameterdescription1"));
+        subcommand.add(ParameterFactory.createStringParameter("parametername2", "parameterdescription2"));
+        command.add(subcommand);
+        commandLine.setCommand(command);
+        Path file = Files.createTempFile(null, null);
+        Files.writeString(file, "--parametername1 5\n--parametername2 'a b'\n");
+
+        // Argument files are not expanded by default
+        assertFalse(commandLine.isArgumentFiles());
+        assertEquals(commandLine.parse("subcommandname", "--parametername1", "1", "--parametername2", "@" + file)
+                .getSubcommand().getStringParameter("parametername2").getValue(), "@" + file);
+
+        commandLine.setArgumentFiles(true);
+        assertTrue(commandLine.isArgumentFiles());
+        ParsedSubcommand parsedSubcommand = commandLine.parse("subcommandname", "@" + file).getSubcommand();
+        assertEquals(parsedSubcommand.getIntegerParameter("parametername1").getValue(), 5);
+        assertEquals(parsedSubcommand.getStringParameter("parametername2").getValue(), "a b");
+        Files.writeString(file, "subcommandname --parametername1 7");
+        parsedSubcommand = commandLine.parse("@" + file, "--parametername2", "c").getSubcommand();
+        assertEquals(parsedSubcommand.getIntegerParameter("parametername1").getValue(), 7);
+        assertEquals(parsedSubcommand.getStringParameter("parametername2").getValue(), "c");
+
+        try {
+            commandLine.parse("@" + file, "--parametername1", "x");
+            fail();
+        } catch (ParameterException e) {
+            assertEquals(e.getErrorCode(), ErrorCode.INVALID_VALUE);
+            assertEquals(e.getIndex(), 4);
+            assertEquals(e.getMessage().lines().findFirst().orElseThrow(),
+                    "Error: The parameter 'parametername1's value is not a valid integer");
+        }
+        Files.delete(file);
+    }
+
+    @Test
+    public void testParseArgumentFiles1() {
+        SimpleCommandLineParser commandLine = new SimpleCommandLineParser();
+        Command command = CommandFactory.createCommand("commandname", "commanddescription");
+        Subcommand subcommand = CommandFactory.createSubcommand("subcommandname", "subcommanddescription");
+        subcommand.add(ParameterFactory.createIntegerParameter("parametername1", "parameterdescription1"));
+        command.add(subcommand);
+        commandLine.setCommand(command);
+        commandLine.setArgumentFiles(true);
+
+        assertEquals(commandLine.tryParse("subcommandname", "--parametername1", "1", "@missing"),
+                new ParseResult.Failure(ErrorCode.INVALID_ARGUMENT_FILE, 3, "missing"));
+        try {
+            commandLine.parse("@missing");
+            fail();
+        } catch (ParameterException e) {
+            assertEquals(e.getErrorCode(), ErrorCode.INVALID_ARGUMENT_FILE);
+            assertEquals(e.getIndex(), 0);
+            assertEquals(e.getName(), "missing");
+            assertEquals(e.getMessage().lines().findFirst().orElseThrow(),
+                    "Error: Argument file 'missing' cannot be read");
+        }
+    }
+
+    @Test
+    public void testParseArgumentFiles3() throws ParameterException {
+        // A leading "@@" passes a literal '@' instead of naming an argument file
+        SimpleCommandLineParser commandLine = new SimpleCommandLineParser();
+        Command command = CommandFactory.createCommand("commandname", "commanddescription");
+        Parameter<String> parameter1 =
+                ParameterFactory.createStringParameter("parametername1", "parameterdescription1");
+        command.add(parameter1);
+        commandLine.setCommand(command);
+        commandLine.setArgumentFiles(true);
+
+        assertEquals(commandLine.parse("--parametername1", "@@user").get(parameter1), "@user");
+        commandLine.setArgumentFiles(false);
+        assertEquals(commandLine.parse("--parametername1", "@@user").get(parameter1), "@@user");
+    }
+
+    @Test
+    public void testParseArgumentFiles2() throws ParameterException, IOException {
+        // An argument file of more than 100 MB is parsed without collecting its arguments
+        SimpleCommandLineParser commandLine = new SimpleCommandLineParser();
+        Command command = CommandFactory.createCommand("commandname", "commanddescription");
+        Parameter<Integer> parameter1 =
+                ParameterFactory.createIntegerParameter("parametername1", "parameterdescription1");
+        Parameter<String> parameter2 =
+                ParameterFactory.createStringParameter("parametername2", "parameterdescription2");
+        command.add(parameter1);
+        command.add(parameter2);
+        commandLine.setCommand(command);
+        commandLine.setArgumentFiles(true);
+
+        Path file = Files.createTempFile(null, null);
+        byte[] block = "--parametername1 1 --parametername2 value\n".repeat(4096).getBytes(StandardCharsets.US_ASCII);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            for (int i = 0; i <= (100 << 20) / block.length; i++) {
+                channel.write(ByteBuffer.wrap(block));
+            }
+            channel.write(ByteBuffer.wrap("--parametername2 'last välüe'".getBytes(StandardCharsets.UTF_8)));
+        }
+        try {
+            assertTrue(Files.size(file) > 100 << 20);
+            ParsedCommand parsedCommand = commandLine.parse("--parametername1", "2", "@" + file);
+            assertEquals(parsedCommand.getInt(parameter1), 1);
+            assertEquals(parsedCommand.getStringParameter("parametername2").getValue(), "last välüe");
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testParseLine() throws ParameterException {
+        SimpleCommandLineParser commandLine = new SimpleCommandLineParser();
+        Command command = CommandFactory.createCommand("commandname", "commanddescription");
+        Subcommand subcommand = CommandFactory.createSubcommand("run", "subcommanddescription");
+        subcommand.add(ParameterFactory.createStringParameter("input", "parameterdescription1"));
+        subcommand.add(ParameterFactory.createIntegerParameter("threads", "parameterdescription2"));
+        subcommand.add(ParameterFactory.createBooleanParameter("verbose", "parameterdescription3").makeOptional(false));
+        command.add(subcommand);
+        commandLine.setCommand(command);
+
+        ParsedSubcommand parsedSubcommand =
+                commandLine.parseLine("run --input \"/data/my file\" --threads 8 '--verbose' TRUE").getSubcommand();
+        assertEquals(parsedSubcommand.getName(), "run");
+        assertEquals(parsedSubcommand.getStringParameter("input").getValue(), "/data/my file");
+        assertEquals(parsedSubcommand.getIntegerParameter("threads").getValue(), 8);
+        assertTrue(parsedSubcommand.getBooleanParameter("verbose").getValue());
+
+        parsedSubcommand = commandLine.parseLine(new StringBuilder("run --threads \"1\"2 --input a\\ b\\\\c"))
+                .getSubcommand();
+        assertEquals(parsedSubcommand.getIntegerParameter("threads").getValue(), 12);
+        assertEquals(parsedSubcommand.getStringParameter("input").getValue(), "a b\\c");
+
+        commandLine.setLazyConversion(true);
+        parsedSubcommand = commandLine.parseLine("run --input 'x y' --threads 3").getSubcommand();
+        assertEquals(parsedSubcommand.getStringParameter("input").getValue(), "x y");
+        assertEquals(parsedSubcommand.getIntegerParameter("threads").getValue(), 3);
+    }
+
+    @Test
+    public void testParseLine1() {
+        SimpleCommandLineParser commandLine = new SimpleCommandLineParser();
+        Command command = CommandFactory.createCommand("commandname", "commanddescription");
+        Subcommand subcommand = CommandFactory.createSubcommand("run", "subcommanddescription");
+        subcommand.add(ParameterFactory.createIntegerParameter("threads", "parameterdescription1"));
+        command.add(subcommand);
+        commandLine.setCommand(command);
+
+        try {
+            commandLine.parseLine("run --threads 'eight'");
+            fail();
+        } catch (ParameterException e) {
+            assertEquals(e.getErrorCode(), ErrorCode.INVALID_VALUE);
+            assertEquals(e.getIndex(), 2);
+            assertEquals(e.getName(), "threads");
+            assertEquals(e.getMessage().lines().findFirst().orElseThrow(),
+                    "Error: The parameter 'threads's value is not a valid integer");
+            assertTrue(e.getMessage().contains("Usage: java -jar commandname run"));
+        }
+        try {
+            commandLine.parseLine("run 'threads' 8");
+            fail();
+        } catch (ParameterException e) {
+            assertEquals(e.getErrorCode(), ErrorCode.INVALID_FORMAT);
+            assertEquals(e.getMessage().lines().findFirst().orElseThrow(),
+                    "Error: Parameter 'threads' has no valid format");
+        }
+    }
+
+    @Test
+    public void testTryParseLine() {
+        SimpleCommandLineParser commandLine = new SimpleCommandLineParser();
+        Command command = CommandFactory.createCommand("commandname", "commanddescription");
+        Subcommand subcommand = CommandFactory.createSubcommand("run", "subcommanddescription");
+        subcommand.add(ParameterFactory.createIntegerParameter("threads", "parameterdescription1"));
+        command.add(subcommand);
+        commandLine.setCommand(command);
+
+        assertEquals(commandLine.tryParseLine("  "), new ParseResult.Failure(ErrorCode.NO_SUBCOMMAND, 0, null));
+        assertEquals(commandLine.tryParseLine("''"), new ParseResult.Failure(ErrorCode.NO_SUBCOMMAND, 0, null));
+        assertEquals(commandLine.tryParseLine("'run' x"), new ParseResult.Failure(ErrorCode.INVALID_FORMAT, 1, null));
+        assertEquals(commandLine.tryParseLine("\"walk\""),
+                new ParseResult.Failure(ErrorCode.UNKNOWN_SUBCOMMAND, 0, "walk"));
+        assertEquals(commandLine.tryParseLine("run --threads"),
+                new ParseResult.Failure(ErrorCode.MISSING_VALUE, 1, "threads"));
+        assertEquals(commandLine.tryParseLine("run '--thr\\eads' 1"),
+                new ParseResult.Failure(ErrorCode.UNKNOWN_PARAMETER, 1, "thr\\eads"));
+        assertEquals(commandLine.tryParseLine("run"),
+                new ParseResult.Failure(ErrorCode.MISSING_PARAMETER, -1, "threads"));
+        assertTrue(commandLine.tryParseLine("run --threads -3").isSuccess());
+        assertThrows(IllegalArgumentException.class, () -> commandLine.tryParseLine(null));
+    }
+
+    @Test
+    public void testParseNullDelimited() throws ParameterException, IOException {
+        SimpleCommandLineParser commandLine = new SimpleCommandLineParser();
+        Command command = CommandFactory.createCommand("commandname", "commanddescription");
+        Subcommand subcommand = CommandFactory.createSubcommand("subcommandname", "subcommanddescription");
+        subcommand.add(ParameterFactory.createIntegerParameter("parametername1", "parameterdescription1"));
+        subcommand.add(ParameterFactory.createStringParameter("parametername2", "parameterdescription2"));
+        command.add(subcommand);
+        commandLine.setCommand(command);
+
+        ParsedSubcommand parsedSubcommand = commandLine.parseNullDelimited(channel(
+                "subcommandname\0--parametername1\0003\0--parametername2\0a 'b'\nc\0")).getSubcommand();
+        assertEquals(parsedSubcommand.getIntegerParameter("parametername1").getValue(), 3);
+        assertEquals(parsedSubcommand.getStringParameter("parametername2").getValue(), "a 'b'\nc");
+
+        Path file = Files.createTempFile(null, null);
+        Files.writeString(file, "subcommandname\0--parametername2\0 \0--parametername1\0004");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            parsedSubcommand = commandLine.parseNullDelimited(channel).getSubcommand();
+            assertEquals(parsedSubcommand.getIntegerParameter("parametername1").getValue(), 4);
+            assertEquals(parsedSubcommand.getStringParameter("parametername2").getValue(), " ");
+        }
+        Files.delete(file);
+
+        try {
+            commandLine.parseNullDelimited(channel("subcommandname\0--parametername1\0x\0--parametername2\0a"));
+            fail();
+        } catch (ParameterException e) {
+            assertEquals(e.getErrorCode(), ErrorCode.INVALID_VALUE);
+            assertEquals(e.getIndex(), 2);
+            assertEquals(e.getMessage().lines().findFirst().orElseThrow(),
+                    "Error: The parameter 'parametername1's value is not a valid integer");
+            assertTrue(e.getMessage().contains("Usage: java -jar commandname subcommandname"));
+        }
+    }
+
+    @Test
+    public void testTryParseNullDelimited() throws IOException {
+        SimpleCommandLineParser commandLine = new SimpleCommandLineParser();
+        Command command = CommandFactory.createCommand("commandname", "commanddescription");
+        Subcommand subcommand = CommandFactory.createSubcommand("subcommandname", "subcommanddescription");
+        subcommand.add(ParameterFactory.createIntegerParameter("parametername1", "parameterdescription1"));
+        command.add(subcommand);
+        commandLine.setCommand(command);
+
+        assertEquals(commandLine.tryParseNullDelimited(channel("")),
+                new ParseResult.Failure(ErrorCode.NO_SUBCOMMAND, 0, null));
+        assertEquals(commandLine.tryParseNullDelimited(channel("\0")),
+                new ParseResult.Failure(ErrorCode.NO_SUBCOMMAND, 0, null));
+        assertEquals(commandLine.tryParseNullDelimited(channel("wrong\0")),
+                new ParseResult.Failure(ErrorCode.UNKNOWN_SUBCOMMAND, 0, "wrong"));
+        assertEquals(commandLine.tryParseNullDelimited(channel("subcommandname\0parametername1\0")),
+                new ParseResult.Failure(ErrorCode.INVALID_FORMAT, 1, null));
+        assertEquals(commandLine.tryParseNullDelimited(channel("subcommandname\0--parametername1")),
+                new ParseResult.Failure(ErrorCode.MISSING_VALUE, 1, "parametername1"));
+        assertEquals(commandLine.tryParseNullDelimited(channel("subcommandname\0--parametername9\0001")),
+                new ParseResult.Failure(ErrorCode.UNKNOWN_PARAMETER, 1, "parametername9"));
+        assertEquals(commandLine.tryParseNullDelimited(channel("subcommandname")),
+                new ParseResult.Failure(ErrorCode.MISSING_PARAMETER, -1, "parametername1"));
+        assertTrue(commandLine.tryParseNullDelimited(channel("subcommandname\0--parametername1\0001\0"))
+                .isSuccess());
+        assertThrows(IOException.class, () -> commandLine.tryParseNullDelimited(
+                Channels.newChannel(new ByteArrayInputStream(new byte[]{(byte) 0xFF}))));
+    }
+
+    @Test
+    public void testParseNullDelimited1() throws ParameterException {
+        SimpleCommandLineParser commandLine = new SimpleCommandLineParser();
+        Command command = CommandFactory.createCommand("commandname", "commanddescription");
+        Subcommand subcommand = CommandFactory.createSubcommand("s\u00fcbcommand", "subcommanddescription");
+        subcommand.add(ParameterFactory.createIntegerParameter("parametername1", "parameterdescription1"));
+        subcommand.add(ParameterFactory.createStringParameter("p\u00e4rameter2", "parameterdescription2"));
+        subcommand.add(ParameterFactory.createBooleanParameter("parametername3", "parameterdescription3")
+                .makeOptional(false));
+        command.add(subcommand);
+        commandLine.setCommand(command);
+
+        byte[] encoded = ("program\0s\u00fcbcommand\0--parametername1\0-3\0--p\u00e4rameter2\0a 'b'\nc\u00e4\0" +
+                "--parametername3\0TRUE\0").getBytes(StandardCharsets.UTF_8);
+        ParsedSubcommand parsedSubcommand =
+                commandLine.parseNullDelimited(encoded, 8, encoded.length - 8).getSubcommand();
+        assertEquals(parsedSubcommand.getName(), "s\u00fcbcommand");
+        assertEquals(parsedSubcommand.getIntegerParameter("parametername1").getValue(), -3);
+        assertEquals(parsedSubcommand.getStringParameter("p\u00e4rameter2").getValue(), "a 'b'\nc\u00e4");
+        assertTrue(parsedSubcommand.getBooleanParameter("parametername3").getValue());
+
+        ByteBuffer bytes = ByteBuffer.allocateDirect(encoded.length).put(encoded).position(8);
+        parsedSubcommand = commandLine.parseNullDelimited(bytes).getSubcommand();
+        assertEquals(parsedSubcommand.getIntegerParameter("parametername1").getValue(), -3);
+        assertEquals(parsedSubcommand.getStringParameter("p\u00e4rameter2").getValue(), "a 'b'\nc\u00e4");
+        assertEquals(bytes.position(), 8);
+        assertEquals(bytes.limit(), encoded.length);
+
+        // Lazily converted values do not refer to the buffer, which can be reused
+        commandLine.setLazyConversion(true);
+        ParsedCommand parsedCommand = commandLine.parseNullDelimited(bytes);
+        bytes.clear().put(new byte[encoded.length]);
+        parsedSubcommand = parsedCommand.getSubcommand();
+        assertEquals(parsedSubcommand.getIntegerParameter("parametername1").getValue(), -3);
+        assertEquals(parsedSubcommand.getStringParameter("p\u00e4rameter2").getValue(), "a 'b'\nc\u00e4");
+
+        commandLine.setLazyConversion(false);
+        try {
+            byte[] invalid = "s\u00fcbcommand\0--parametername1\0x\u00e4\0".getBytes(StandardCharsets.UTF_8);
+            commandLine.parseNullDelimited(invalid, 0, invalid.length);
+            fail();
+        } catch (ParameterException e) {
+            assertEquals(e.getErrorCode(), ErrorCode.INVALID_VALUE);
+            assertEquals(e.getIndex(), 2);
+            assertEquals(e.getMessage().lines().findFirst().orElseThrow(),
+                    "Error: The parameter 'parametername1's value is not a valid integer");
+            assertTrue(e.getMessage().contains("Usage: java -jar commandname s\u00fcbcommand"));
+        }
+        assertThrows(IllegalArgumentException.class, () -> commandLine.parseNullDelimited((ByteBuffer) null));
+        assertThrows(IllegalArgumentException.class, () -> commandLine.parseNullDelimited(null, 0, 0));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> commandLine.parseNullDelimited(encoded, 8, encoded.length));
+    }
+
+    @Test
+    public void testTryParseNullDelimited1() {
+        SimpleCommandLineParser commandLine = new SimpleCommandLineParser();
+        Command command = CommandFactory.createCommand("commandname", "commanddescription");
+        Subcommand subcommand = CommandFactory.createSubcommand("subcommandname", "subcommanddescription");
+        subcommand.add(ParameterFactory.createIntegerParameter("parametername1", "parameterdescription1"));
+        subcommand.add(ParameterFactory.createStringParameter("parametername2", "parameterdescription2")
+                .makeOptional("x"));
+        command.add(subcommand);
+        commandLine.setCommand(command);
+
+        assertEquals(commandLine.tryParseNullDelimited(bytes("")),
+                new ParseResult.Failure(ErrorCode.NO_SUBCOMMAND, 0, null));
+        assertEquals(commandLine.tryParseNullDelimited(bytes("\0")),
+                new ParseResult.Failure(ErrorCode.NO_SUBCOMMAND, 0, null));
+        assertEquals(commandLine.tryParseNullDelimited(bytes("wr\u00f6ng\0")),
+                new ParseResult.Failure(ErrorCode.UNKNOWN_SUBCOMMAND, 0, "wr\u00f6ng"));
+        assertEquals(commandLine.tryParseNullDelimited(bytes("subcommandname\0parametername1\0")),
+                new ParseResult.Failure(ErrorCode.INVALID_FORMAT, 1, null));
+        assertEquals(commandLine.tryParseNullDelimited(bytes("subcommandname\0--param\u2028eter\0001")),
+                new ParseResult.Failure(ErrorCode.INVALID_FORMAT, 1, null));
+        assertEquals(commandLine.tryParseNullDelimited(bytes("subcommandname\0--param\u0085eter\0001")),
+                new ParseResult.Failure(ErrorCode.INVALID_FORMAT, 1, null));
+        assertEquals(commandLine.tryParseNullDelimited(bytes("subcommandname\0--parametername1")),
+                new ParseResult.Failure(ErrorCode.MISSING_VALUE, 1, "parametername1"));
+        assertEquals(commandLine.tryParseNullDelimited(bytes("subcommandname\0--parametern\u00e4me9\0001")),
+                new ParseResult.Failure(ErrorCode.UNKNOWN_PARAMETER, 1, "parametern\u00e4me9"));
+        assertEquals(commandLine.tryParseNullDelimited(bytes("subcommandname")),
+                new ParseResult.Failure(ErrorCode.MISSING_PARAMETER, -1, "parametername1"));
+        assertTrue(commandLine.tryParseNullDelimited(bytes("subcommandname\0--parametername1\0001\0")).isSuccess());
+        assertTrue(commandLine.tryParseNullDelimited(bytes("subcommandname\0--parametername1\0\u0661\0"))
+                .isSuccess());
+
+        byte[] malformed =
+                "subcommandname\0--parametername1\0001\0--parametername2\0?".getBytes(StandardCharsets.UTF_8);
+        malformed[malformed.length - 1] = (byte) 0xC3;
+        assertEquals(commandLine.tryParseNullDelimited(malformed, 0, malformed.length),
+                new ParseResult.Failure(ErrorCode.INVALID_VALUE, 4, "parametername2"));
+        commandLine.setLazyConversion(true);
+        assertEquals(commandLine.tryParseNullDelimited(malformed, 0, malformed.length),
+                new ParseResult.Failure(ErrorCode.INVALID_VALUE, 4, "parametername2"));
+        assertTrue(commandLine.tryParseNullDelimited(malformed, 0, malformed.length - 18).isSuccess());
+    }
+
+    /**
+     * Returns a buffer that contains the given text as UTF-8.
+     *
+     * @param text the text
+     * @return the buffer
+     */
+    private static ByteBuffer bytes(String text) {
+        return ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns a channel that contains the given text as UTF-8. The channel is not a file channel.
+     *
+     * @param text the text
+     * @return the channel
+     */
+    private static ReadableByteChannel channel(String text) {
+        return Channels.newChannel(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Parses valid and invalid command lines with one shared parser from many tasks of the given executor, while the
+     * command is set again and again, and checks every result. The executor is shut down afterwards.
+     *
+     * @param executor the executor
+     * @throws Exception if a task fails
+     */
+    private static void parseConcurrently(ExecutorService executor) throws Exception {
+        SimpleCommandLineParser commandLine = new SimpleCommandLineParser();
+        Command command = CommandFactory.createCommand("commandname", "commanddescription");
+        Subcommand subcommand = CommandFactory.createSubcommand("subcommandname", "subcommanddescription");
+        subcommand.add(ParameterFactory.createIntegerParameter("parametername1", "parameterdescription1"));
+        subcommand.add(ParameterFactory.createStringParameter("parametername2", "parameterdescription2"));
+        subcommand.add(ParameterFactory.createBooleanParameter("parametername3", "parameterdescription3")
+                .makeOptional(false));
+        command.add(subcommand);
+        commandLine.setCommand(command);
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> futures = new ArrayList<>();
+        for (int task = 0; task < 256; task++) {
+            int from = task * 200;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = from; i < from + 200; i++) {
+                    if (i % 10 == 0) {
+                        try {
+                            commandLine.parse("subcommandname", "--parametername1", "x" + i, "--parametername2", "a");
+                            return false;
+                        } catch (ParameterException e) {
+                            if (e.getErrorCode() != ErrorCode.INVALID_VALUE || e.getIndex() != 2 ||
+                                    !e.getMessage().contains("subcommandname")) {
+                                return false;
+                            }
+                        }
+                        continue;
+                    }
+                    ParsedSubcommand parsedSubcommand = commandLine
+                            .parse("subcommandname", "--parametername1", Integer.toString(i), "--parametername2",
+                                    "value" + i, "--parametername3", Boolean.toString(i % 2 == 0)).getSubcommand();
+                    if (parsedSubcommand.getInt("parametername1") != i ||
+                            !parsedSubcommand.getStringParameter("parametername2").getValue().equals("value" + i) ||
+                            parsedSubcommand.getBoolean("parametername3") != (i % 2 == 0)) {
+                        return false;
+                    }
+                }
+                return true;
+            }));
+        }
+        start.countDown();
+        for (int i = 0; i < 100; i++) {
+            commandLine.setCommand(command);
+            commandLine.setCaptureStackTrace(i % 2 == 0);
+        }
+        for (Future<Boolean> future : futures) {
+            assertTrue(future.get());
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+    }
+
     @Test
     public void testPrintHelp() {
         SimpleCommandLineParser commandLine = new SimpleCommandLineParser();
@@ -392,4 +1591,22 @@ public class SimpleCommandLineParserTest {
         assertEquals(commandLine.printHelp().lines().collect(Collectors.toList()), reference);
     }
 
+    @Test
+    public void testPrintHelp1() throws IOException {
+        SimpleCommandLineParser commandLine = new SimpleCommandLineParser();
+        Command command = CommandFactory.createCommand("commandname", "commanddescription");
+        command.add(ParameterFactory.createIntegerParameter("parametername1", "parameterdescription1", 0, 9));
+        command.add(
+                ParameterFactory.createStringParameter("parametername2", "parameterdescription2").makeOptional("a"));
+        commandLine.setCommand(command);
+
+        StringBuilder streamed = new StringBuilder();
+        commandLine.printHelp(streamed);
+        String help = commandLine.printHelp();
+        assertEquals(streamed.toString(), help);
+
+        StringWriter cached = new StringWriter();
+        commandLine.printHelp(cached);
+        assertEquals(cached.toString(), help);
+    }
 }